@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.protocol;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reflective Gson against {@link ProtocolTypeAdapterFactory} for the requests and responses of
+ * <code>ngrok</code>'s API. Run with <code>make benchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolGsonBenchmark {
+
+    private static final int TUNNEL_COUNT = 50;
+
+    private Gson reflectiveGson;
+    private Gson adapterGson;
+    private String tunnelsJson;
+    private String agentStatusJson;
+    private CreateTunnel createTunnel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reflectiveGson = reflectiveGson();
+        adapterGson = adapterGson();
+
+        final StringBuilder tunnels = new StringBuilder("{\"tunnels\":[");
+        for (int i = 0; i < TUNNEL_COUNT; ++i) {
+            if (i > 0) {
+                tunnels.append(',');
+            }
+            tunnels.append(String.format("{\"ID\":\"%s\",\"name\":\"tunnel-%s\",\"uri\":\"/api/tunnels/tunnel-%s\","
+                + "\"public_url\":\"https://tunnel-%s.ngrok.app\",\"proto\":\"https\","
+                + "\"config\":{\"addr\":\"http://localhost:%s\",\"inspect\":true},"
+                + "\"metrics\":{\"conns\":{\"count\":0,\"gauge\":0,\"rate1\":0,\"rate5\":0,\"rate15\":0,\"p50\":0,"
+                + "\"p90\":0,\"p95\":0,\"p99\":0},\"http\":{\"count\":0,\"rate1\":0,\"rate5\":0,\"rate15\":0,"
+                + "\"p50\":0,\"p90\":0,\"p95\":0,\"p99\":0}}}", i, i, i, i, 8000 + i));
+        }
+        tunnelsJson = tunnels.append("],\"uri\":\"/api/tunnels\"}").toString();
+        agentStatusJson = "{\"status\":\"online\",\"agent_version\":\"3.20.0\","
+            + "\"session\":{\"legs\":[{\"region\":\"us\",\"latency\":\"12ms\"}]},\"uri\":\"/api/status\"}";
+        createTunnel = new CreateTunnel.Builder(true)
+            .withName("my-tunnel")
+            .withAddr(8080)
+            .withBindTls(true)
+            .withOAuth(new TunnelOAuth.Builder()
+                .withProvider("google")
+                .withAllowEmails(List.of("one@email"))
+                .build())
+            .withRequestHeader(new TunnelHeader.Builder().withAdd(List.of("req-addition")).build())
+            .withIpRestriction(new TunnelIPRestriction.Builder().withAllowCidrs(List.of("0.0.0.0/0")).build())
+            .withTrafficPolicy(Map.of("on_http_request", List.of()))
+            .build();
+    }
+
+    @Benchmark
+    public Tunnels deserializeTunnelsReflective() {
+        return reflectiveGson.fromJson(tunnelsJson, Tunnels.class);
+    }
+
+    @Benchmark
+    public Tunnels deserializeTunnelsAdapters() {
+        return adapterGson.fromJson(tunnelsJson, Tunnels.class);
+    }
+
+    @Benchmark
+    public AgentStatus deserializeAgentStatusReflective() {
+        return reflectiveGson.fromJson(agentStatusJson, AgentStatus.class);
+    }
+
+    @Benchmark
+    public AgentStatus deserializeAgentStatusAdapters() {
+        return adapterGson.fromJson(agentStatusJson, AgentStatus.class);
+    }
+
+    @Benchmark
+    public String serializeCreateTunnelReflective() {
+        return reflectiveGson.toJson(createTunnel);
+    }
+
+    @Benchmark
+    public String serializeCreateTunnelAdapters() {
+        return adapterGson.toJson(createTunnel);
+    }
+
+    /**
+     * The cost of the first request and response, with a new {@link Gson} that has not yet built its adapters.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public Tunnels firstUseReflective() {
+        final Gson gson = reflectiveGson();
+        gson.toJson(createTunnel);
+
+        return gson.fromJson(tunnelsJson, Tunnels.class);
+    }
+
+    /**
+     * See {@link #firstUseReflective()}.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public Tunnels firstUseAdapters() {
+        final Gson gson = adapterGson();
+        gson.toJson(createTunnel);
+
+        return gson.fromJson(tunnelsJson, Tunnels.class);
+    }
+
+    private static Gson reflectiveGson() {
+        return new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+    }
+
+    private static Gson adapterGson() {
+        return new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+            .create();
+    }
+}
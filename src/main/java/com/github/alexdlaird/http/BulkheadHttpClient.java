@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link HttpClient} that limits how many requests are in flight to each agent (each scheme, host, and port) at
+ * once. Requests beyond the limit wait in a bounded queue, ordered by {@link Priority} and then by arrival, so
+ * health checks and disconnects are admitted ahead of bulk creates. A request that finds the queue full, or that
+ * waits longer than the queue timeout, fails with a {@link HttpClientException} rather than adding to the agent's
+ * load. A {@link #stream(String, String, List, Map, ReadableByteChannel, long)} request stays in flight until the
+ * channel of its response is closed.
+ *
+ * <pre>
+ * final HttpClient httpClient = new BulkheadHttpClient.Builder(new DefaultHttpClient.Builder().build())
+ *     .withMaxInFlight(8)
+ *     .withMaxQueueDepth(100)
+ *     .withQueueTimeout(Duration.ofSeconds(5))
+ *     .build();
+ *
+ * final NgrokClient ngrokClient = new NgrokClient.Builder()
+ *     .withHttpClient(httpClient)
+ *     .build();
+ * </pre>
+ *
+ * <p>By default, <code>DELETE</code>s and <code>GET</code>s of <code>/api/status</code> are {@link Priority#HIGH},
+ * <code>POST</code>s are {@link Priority#LOW}, and all other requests are {@link Priority#NORMAL}, see
+ * {@link Builder#withClassifier(Classifier)}.
+ */
+public class BulkheadHttpClient implements HttpClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkheadHttpClient.class);
+
+    private final HttpClient delegate;
+    private final int maxInFlight;
+    private final int maxQueueDepth;
+    private final long queueTimeoutNanos;
+    private final Classifier classifier;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private BulkheadHttpClient(final Builder builder) {
+        this.delegate = builder.delegate;
+        this.maxInFlight = builder.maxInFlight;
+        this.maxQueueDepth = builder.maxQueueDepth;
+        this.queueTimeoutNanos = builder.queueTimeout.toNanos();
+        this.classifier = builder.classifier;
+    }
+
+    @Override
+    public <B> Response<B> get(final String url,
+                               final List<Parameter> parameters,
+                               final Map<String, String> additionalHeaders,
+                               final Class<B> clazz) {
+        return admit("GET", url, () -> delegate.get(url, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public void get(final String url,
+                    final List<Parameter> parameters,
+                    final Map<String, String> additionalHeaders,
+                    final Path dest,
+                    final int retries)
+        throws InterruptedException {
+        final Bulkhead bulkhead = acquire("GET", url);
+        try {
+            delegate.get(url, parameters, additionalHeaders, dest, retries);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Override
+    public <R, B> Response<B> post(final String url,
+                                   final R request,
+                                   final List<Parameter> parameters,
+                                   final Map<String, String> additionalHeaders,
+                                   final Class<B> clazz) {
+        return admit("POST", url, () -> delegate.post(url, request, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public <R, B> Response<B> put(final String url,
+                                  final R request,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        return admit("PUT", url, () -> delegate.put(url, request, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public <B> Response<B> delete(final String url,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        return admit("DELETE", url, () -> delegate.delete(url, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public Response<ReadableByteChannel> stream(final String method,
+                                                final String url,
+                                                final List<Parameter> parameters,
+                                                final Map<String, String> additionalHeaders,
+                                                final ReadableByteChannel body,
+                                                final long contentLength) {
+        final Bulkhead bulkhead = acquire(method, url);
+        final Response<ReadableByteChannel> response;
+        try {
+            response = delegate.stream(method, url, parameters, additionalHeaders, body, contentLength);
+        } catch (final RuntimeException | Error e) {
+            bulkhead.release();
+
+            throw e;
+        }
+        if (isNull(response.getBody())) {
+            bulkhead.release();
+
+            return response;
+        }
+
+        // The request is in flight until its body is read, so the permit is held until the channel is closed
+        return new Response<>(response.getStatusCode(), new ReleasingChannel(response.getBody(), bulkhead),
+            response.getBodyRaw(), response.getHeaderFields());
+    }
+
+    @Override
+    public void modifyConnection(final HttpURLConnection httpUrlConnection) {
+        delegate.modifyConnection(httpUrlConnection);
+    }
+
+    /**
+     * Get the client requests are made with.
+     */
+    public HttpClient getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get a snapshot of the stats for each agent requests have been made to, by its base URL (ex.
+     * <code>http://127.0.0.1:4040</code>).
+     */
+    public Map<String, Stats> getStats() {
+        final Map<String, Stats> stats = new HashMap<>();
+        for (final Map.Entry<String, Bulkhead> bulkhead : bulkheads.entrySet()) {
+            stats.put(bulkhead.getKey(), bulkhead.getValue().getStats());
+        }
+
+        return Map.copyOf(stats);
+    }
+
+    private <B> Response<B> admit(final String method,
+                                  final String url,
+                                  final Supplier<Response<B>> request) {
+        final Bulkhead bulkhead = acquire(method, url);
+        try {
+            return request.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Bulkhead acquire(final String method,
+                             final String url) {
+        final String baseUrl = baseUrl(url);
+        final Bulkhead bulkhead = bulkheads.computeIfAbsent(baseUrl, k -> new Bulkhead());
+        bulkhead.acquire(classifier.classify(method, url), baseUrl, url);
+
+        return bulkhead;
+    }
+
+    private static String baseUrl(final String url) {
+        try {
+            final URI uri = URI.create(url);
+            if (nonNull(uri.getScheme()) && nonNull(uri.getRawAuthority())) {
+                return String.format("%s://%s", uri.getScheme(), uri.getRawAuthority());
+            }
+        } catch (final IllegalArgumentException ignored) {
+        }
+
+        return url;
+    }
+
+    private static Priority defaultPriority(final String method,
+                                            final String url) {
+        if ("DELETE".equals(method) || ("GET".equals(method) && url.endsWith("/api/status"))) {
+            return Priority.HIGH;
+        } else if ("POST".equals(method)) {
+            return Priority.LOW;
+        } else {
+            return Priority.NORMAL;
+        }
+    }
+
+    private class Bulkhead {
+
+        private final PriorityQueue<Waiter> queue = new PriorityQueue<>(Comparator
+            .comparing((Waiter waiter) -> waiter.priority)
+            .thenComparingLong(waiter -> waiter.sequence));
+
+        private int inFlight;
+        private long sequence;
+        private long admitted;
+        private long rejected;
+        private long timedOut;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private synchronized void acquire(final Priority priority,
+                                          final String baseUrl,
+                                          final String url) {
+            if (inFlight < maxInFlight && queue.isEmpty()) {
+                ++inFlight;
+                ++admitted;
+
+                return;
+            }
+
+            if (queue.size() >= maxQueueDepth) {
+                ++rejected;
+                LOGGER.debug("Rejecting request, the queue for {} is full", baseUrl);
+
+                throw new HttpClientException(String.format("Too many requests are queued for %s.", baseUrl), null,
+                    url, -1, null);
+            }
+
+            final Waiter waiter = new Waiter(priority, sequence++);
+            queue.add(waiter);
+            final long start = System.nanoTime();
+            try {
+                while (inFlight >= maxInFlight || queue.peek() != waiter) {
+                    final long remaining = queueTimeoutNanos - (System.nanoTime() - start);
+                    if (remaining <= 0) {
+                        queue.remove(waiter);
+                        ++timedOut;
+                        notifyAll();
+
+                        throw new HttpClientException(String.format("Timed out waiting in the queue for %s.",
+                            baseUrl), null, url, -1, null);
+                    }
+
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (final InterruptedException e) {
+                queue.remove(waiter);
+                notifyAll();
+                Thread.currentThread().interrupt();
+
+                throw new HttpClientException(String.format("Interrupted waiting in the queue for %s.", baseUrl), e,
+                    url, -1, null);
+            }
+
+            queue.poll();
+            ++inFlight;
+            ++admitted;
+            final long waited = System.nanoTime() - start;
+            totalWaitNanos += waited;
+            maxWaitNanos = Math.max(maxWaitNanos, waited);
+
+            // Another permit may be free for the next waiter
+            notifyAll();
+        }
+
+        private synchronized void release() {
+            --inFlight;
+
+            notifyAll();
+        }
+
+        private synchronized Stats getStats() {
+            return new Stats(inFlight, queue.size(), admitted, rejected, timedOut,
+                Duration.ofNanos(admitted > 0 ? totalWaitNanos / admitted : 0), Duration.ofNanos(maxWaitNanos));
+        }
+    }
+
+    private static class ReleasingChannel implements ReadableByteChannel {
+
+        private final ReadableByteChannel channel;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingChannel(final ReadableByteChannel channel,
+                                 final Bulkhead bulkhead) {
+            this.channel = channel;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst)
+            throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close()
+            throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+
+    private static class Waiter {
+
+        private final Priority priority;
+        private final long sequence;
+
+        private Waiter(final Priority priority,
+                       final long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * The order in which queued requests are admitted, highest first.
+     */
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    /**
+     * Decides the {@link Priority} of a request.
+     */
+    @FunctionalInterface
+    public interface Classifier {
+
+        /**
+         * Get the priority of a request.
+         *
+         * @param method The HTTP method.
+         * @param url    The URL, without parameters.
+         * @return The priority.
+         */
+        Priority classify(final String method, final String url);
+    }
+
+    /**
+     * A snapshot of the requests admitted to an agent.
+     */
+    public static class Stats {
+
+        private final int inFlight;
+        private final int queueDepth;
+        private final long admitted;
+        private final long rejected;
+        private final long timedOut;
+        private final Duration averageWait;
+        private final Duration maxWait;
+
+        private Stats(final int inFlight,
+                      final int queueDepth,
+                      final long admitted,
+                      final long rejected,
+                      final long timedOut,
+                      final Duration averageWait,
+                      final Duration maxWait) {
+            this.inFlight = inFlight;
+            this.queueDepth = queueDepth;
+            this.admitted = admitted;
+            this.rejected = rejected;
+            this.timedOut = timedOut;
+            this.averageWait = averageWait;
+            this.maxWait = maxWait;
+        }
+
+        /**
+         * Get the number of requests in flight.
+         */
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * Get the number of requests waiting in the queue.
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * Get the number of requests admitted.
+         */
+        public long getAdmitted() {
+            return admitted;
+        }
+
+        /**
+         * Get the number of requests rejected because the queue was full.
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Get the number of requests that timed out waiting in the queue.
+         */
+        public long getTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * Get the average time admitted requests waited in the queue, including those that did not wait.
+         */
+        public Duration getAverageWait() {
+            return averageWait;
+        }
+
+        /**
+         * Get the longest time an admitted request waited in the queue.
+         */
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+    }
+
+    /**
+     * Builder for a {@link BulkheadHttpClient}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final HttpClient delegate;
+
+        private int maxInFlight = 16;
+        private int maxQueueDepth = 256;
+        private Duration queueTimeout = Duration.ofSeconds(10);
+        private Classifier classifier = BulkheadHttpClient::defaultPriority;
+
+        /**
+         * Construct a builder for a client that limits the requests of the given client.
+         *
+         * @param delegate The client requests are made with.
+         */
+        public Builder(final HttpClient delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * The max number of requests in flight to each agent, defaults to 16.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withMaxInFlight(final int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("\"maxInFlight\" must be greater than 0.");
+            }
+
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * The max number of requests waiting for each agent, beyond which requests are rejected, defaults to 256.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withMaxQueueDepth(final int maxQueueDepth) {
+            if (maxQueueDepth < 0) {
+                throw new IllegalArgumentException("\"maxQueueDepth\" must not be negative.");
+            }
+
+            this.maxQueueDepth = maxQueueDepth;
+            return this;
+        }
+
+        /**
+         * The max time a request waits in the queue before it fails, defaults to 10 seconds.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withQueueTimeout(final Duration queueTimeout) {
+            if (queueTimeout.isNegative()) {
+                throw new IllegalArgumentException("\"queueTimeout\" must not be negative.");
+            }
+
+            this.queueTimeout = queueTimeout;
+            return this;
+        }
+
+        /**
+         * Decides the priority of each request, see docs for {@link BulkheadHttpClient} for the default.
+         */
+        public Builder withClassifier(final Classifier classifier) {
+            this.classifier = Objects.requireNonNull(classifier);
+            return this;
+        }
+
+        /**
+         * Build the {@link BulkheadHttpClient}.
+         */
+        public BulkheadHttpClient build() {
+            return new BulkheadHttpClient(this);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A {@link ReadableByteChannel} over the remaining bytes of a caller's {@link ByteBuffer}, which is read without
+ * being copied.
+ */
+class ByteBufferChannel implements ReadableByteChannel {
+
+    private final ByteBuffer buffer;
+
+    private boolean open = true;
+
+    ByteBufferChannel(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public synchronized int read(final ByteBuffer dst)
+        throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        final int length = Math.min(buffer.remaining(), dst.remaining());
+        dst.put(buffer.slice().limit(length));
+        buffer.position(buffer.position() + length);
+
+        return length;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+    }
+}
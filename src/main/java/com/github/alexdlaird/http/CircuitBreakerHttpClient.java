@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link HttpClient} that stops calling an agent (each scheme, host, and port) that is failing. The outcomes of the
+ * most recent requests to each agent are kept in a sliding window, and once enough of them have failed, its circuit
+ * opens: requests fail immediately with a {@link HttpClientException} rather than waiting on the agent. After the open
+ * duration, the circuit is half-open, and a limited number of probe requests are let through. If they succeed the
+ * circuit closes, otherwise it opens again.
+ *
+ * <pre>
+ * final HttpClient httpClient = new CircuitBreakerHttpClient.Builder(new DefaultHttpClient.Builder().build())
+ *     .withFailureRateThreshold(0.5)
+ *     .withOpenDuration(Duration.ofSeconds(5))
+ *     .withListener((baseUrl, from, to) -&gt; LOGGER.warn("Circuit for {} is {}", baseUrl, to))
+ *     .build();
+ *
+ * final NgrokClient ngrokClient = new NgrokClient.Builder()
+ *     .withHttpClient(httpClient)
+ *     .build();
+ * </pre>
+ *
+ * <p>A request fails if it could not be completed (a {@link HttpClientException} with no status code, ex. the
+ * connection was refused or timed out), or the agent responded with a 5xx status. Other errors, such as a 404 for a
+ * tunnel that does not exist, show the agent is responsive, and are not counted as failures.
+ */
+public class CircuitBreakerHttpClient implements HttpClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerHttpClient.class);
+
+    private final HttpClient delegate;
+    private final int windowSize;
+    private final int minimumRequests;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final List<Listener> listeners;
+    private final LongSupplier nanoTime;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    private CircuitBreakerHttpClient(final Builder builder) {
+        this.delegate = builder.delegate;
+        this.windowSize = builder.windowSize;
+        this.minimumRequests = builder.minimumRequests;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.openDurationNanos = builder.openDuration.toNanos();
+        this.halfOpenProbes = builder.halfOpenProbes;
+        this.listeners = new CopyOnWriteArrayList<>(builder.listeners);
+        this.nanoTime = builder.nanoTime;
+    }
+
+    @Override
+    public <B> Response<B> get(final String url,
+                               final List<Parameter> parameters,
+                               final Map<String, String> additionalHeaders,
+                               final Class<B> clazz) {
+        return call(url, () -> delegate.get(url, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public void get(final String url,
+                    final List<Parameter> parameters,
+                    final Map<String, String> additionalHeaders,
+                    final Path dest,
+                    final int retries)
+        throws InterruptedException {
+        final String baseUrl = baseUrl(url);
+        final Circuit circuit = circuits.computeIfAbsent(baseUrl, k -> new Circuit());
+        final boolean probe = admit(circuit, baseUrl, url);
+        boolean failed = true;
+        try {
+            delegate.get(url, parameters, additionalHeaders, dest, retries);
+            failed = false;
+        } catch (final HttpClientException e) {
+            failed = isFailure(e.getStatusCode());
+
+            throw e;
+        } finally {
+            record(circuit, baseUrl, probe, failed);
+        }
+    }
+
+    @Override
+    public <R, B> Response<B> post(final String url,
+                                   final R request,
+                                   final List<Parameter> parameters,
+                                   final Map<String, String> additionalHeaders,
+                                   final Class<B> clazz) {
+        return call(url, () -> delegate.post(url, request, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public <R, B> Response<B> put(final String url,
+                                  final R request,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        return call(url, () -> delegate.put(url, request, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public <B> Response<B> delete(final String url,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        return call(url, () -> delegate.delete(url, parameters, additionalHeaders, clazz));
+    }
+
+    @Override
+    public Response<ReadableByteChannel> stream(final String method,
+                                                final String url,
+                                                final List<Parameter> parameters,
+                                                final Map<String, String> additionalHeaders,
+                                                final ReadableByteChannel body,
+                                                final long contentLength) {
+        return call(url, () -> delegate.stream(method, url, parameters, additionalHeaders, body, contentLength));
+    }
+
+    @Override
+    public void modifyConnection(final HttpURLConnection httpUrlConnection) {
+        delegate.modifyConnection(httpUrlConnection);
+    }
+
+    /**
+     * Get the client requests are made with.
+     */
+    public HttpClient getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get the state of the circuit for the agent with the given base URL (ex. <code>http://127.0.0.1:4040</code>),
+     * {@link State#CLOSED} if no requests have been made to it.
+     *
+     * @param baseUrl The base URL of the agent.
+     * @return The state.
+     */
+    public State getState(final String baseUrl) {
+        final Circuit circuit = circuits.get(baseUrl);
+
+        return isNull(circuit) ? State.CLOSED : circuit.getState();
+    }
+
+    /**
+     * Add a listener to be notified when a circuit changes state.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(final Listener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    private <B> Response<B> call(final String url,
+                                 final Supplier<Response<B>> request) {
+        final String baseUrl = baseUrl(url);
+        final Circuit circuit = circuits.computeIfAbsent(baseUrl, k -> new Circuit());
+        final boolean probe = admit(circuit, baseUrl, url);
+        boolean failed = true;
+        try {
+            final Response<B> response = request.get();
+            failed = isFailure(response.getStatusCode());
+
+            return response;
+        } catch (final HttpClientException e) {
+            failed = isFailure(e.getStatusCode());
+
+            throw e;
+        } finally {
+            record(circuit, baseUrl, probe, failed);
+        }
+    }
+
+    private boolean admit(final Circuit circuit,
+                          final String baseUrl,
+                          final String url) {
+        final List<State> transition = new ArrayList<>();
+        final Admission admission = circuit.admit(transition);
+        publish(baseUrl, transition);
+
+        if (admission == Admission.REJECTED) {
+            throw new HttpClientException(String.format("The circuit for %s is open.", baseUrl), null, url, -1,
+                null);
+        }
+
+        return admission == Admission.PROBE;
+    }
+
+    private void record(final Circuit circuit,
+                        final String baseUrl,
+                        final boolean probe,
+                        final boolean failed) {
+        final List<State> transition = new ArrayList<>();
+        circuit.record(probe, failed, transition);
+        publish(baseUrl, transition);
+    }
+
+    private void publish(final String baseUrl,
+                         final List<State> transition) {
+        if (transition.isEmpty()) {
+            return;
+        }
+
+        final State from = transition.get(0);
+        final State to = transition.get(1);
+        if (to == State.OPEN) {
+            LOGGER.warn("Circuit for {} is open, requests will fail fast", baseUrl);
+        } else {
+            LOGGER.info("Circuit for {} is {}", baseUrl, to);
+        }
+
+        for (final Listener listener : listeners) {
+            try {
+                listener.onStateChange(baseUrl, from, to);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("An error occurred in a circuit breaker listener", e);
+            }
+        }
+    }
+
+    private static boolean isFailure(final int statusCode) {
+        return statusCode < 0 || statusCode >= 500;
+    }
+
+    private static String baseUrl(final String url) {
+        try {
+            final URI uri = URI.create(url);
+            if (nonNull(uri.getScheme()) && nonNull(uri.getRawAuthority())) {
+                return String.format("%s://%s", uri.getScheme(), uri.getRawAuthority());
+            }
+        } catch (final IllegalArgumentException ignored) {
+        }
+
+        return url;
+    }
+
+    private class Circuit {
+
+        private final boolean[] outcomes = new boolean[windowSize];
+
+        private State state = State.CLOSED;
+        private int recorded;
+        private int next;
+        private int failures;
+        private long openedAt;
+        private int probesInFlight;
+        private int probesSucceeded;
+
+        private synchronized Admission admit(final List<State> transition) {
+            if (state == State.OPEN) {
+                if (nanoTime.getAsLong() - openedAt < openDurationNanos) {
+                    return Admission.REJECTED;
+                }
+
+                transition(State.HALF_OPEN, transition);
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight + probesSucceeded >= halfOpenProbes) {
+                    return Admission.REJECTED;
+                }
+                ++probesInFlight;
+
+                return Admission.PROBE;
+            }
+
+            return Admission.REQUEST;
+        }
+
+        private synchronized void record(final boolean probe,
+                                         final boolean failed,
+                                         final List<State> transition) {
+            if (probe) {
+                --probesInFlight;
+                if (state != State.HALF_OPEN) {
+                    return;
+                }
+
+                if (failed) {
+                    transition(State.OPEN, transition);
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    transition(State.CLOSED, transition);
+                }
+            } else if (state == State.CLOSED) {
+                if (recorded == windowSize) {
+                    failures -= outcomes[next] ? 1 : 0;
+                } else {
+                    ++recorded;
+                }
+                outcomes[next] = failed;
+                failures += failed ? 1 : 0;
+                next = (next + 1) % windowSize;
+
+                if (recorded >= minimumRequests && failures >= failureRateThreshold * recorded) {
+                    transition(State.OPEN, transition);
+                }
+            }
+        }
+
+        private synchronized State getState() {
+            return state;
+        }
+
+        private void transition(final State to,
+                                final List<State> transition) {
+            transition.clear();
+            transition.add(state);
+            transition.add(to);
+
+            state = to;
+            if (to == State.OPEN) {
+                openedAt = nanoTime.getAsLong();
+            }
+            if (to != State.HALF_OPEN) {
+                probesSucceeded = 0;
+            }
+            if (to == State.CLOSED) {
+                recorded = 0;
+                next = 0;
+                failures = 0;
+            }
+        }
+    }
+
+    private enum Admission {
+        REQUEST,
+        PROBE,
+        REJECTED
+    }
+
+    /**
+     * The state of an agent's circuit.
+     */
+    public enum State {
+        /**
+         * Requests are made, and their outcomes recorded.
+         */
+        CLOSED,
+        /**
+         * Requests fail immediately.
+         */
+        OPEN,
+        /**
+         * A limited number of probe requests are made to decide whether to close the circuit.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * A listener for circuit state changes. Events are delivered on the thread making the request that caused the
+     * change.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called when the circuit for an agent changes state.
+         *
+         * @param baseUrl The base URL of the agent.
+         * @param from    The previous state.
+         * @param to      The new state.
+         */
+        void onStateChange(final String baseUrl, final State from, final State to);
+    }
+
+    /**
+     * Builder for a {@link CircuitBreakerHttpClient}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final HttpClient delegate;
+        private final List<Listener> listeners = new ArrayList<>();
+
+        private int windowSize = 20;
+        private int minimumRequests = 5;
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenProbes = 1;
+        private LongSupplier nanoTime = System::nanoTime;
+
+        /**
+         * Construct a builder for a client that breaks the circuit for failing agents of the given client.
+         *
+         * @param delegate The client requests are made with.
+         */
+        public Builder(final HttpClient delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * The number of most recent requests to each agent whose outcomes are considered, defaults to 20.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withWindowSize(final int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("\"windowSize\" must be greater than 0.");
+            }
+
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * The number of requests that must be in the window before the circuit can open, defaults to 5.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withMinimumRequests(final int minimumRequests) {
+            if (minimumRequests < 1) {
+                throw new IllegalArgumentException("\"minimumRequests\" must be greater than 0.");
+            }
+
+            this.minimumRequests = minimumRequests;
+            return this;
+        }
+
+        /**
+         * The fraction of failed requests in the window at which the circuit opens, defaults to 0.5.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withFailureRateThreshold(final double failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("\"failureRateThreshold\" must be greater than 0 and at most 1.");
+            }
+
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * How long the circuit stays open before probe requests are let through, defaults to 10 seconds.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withOpenDuration(final Duration openDuration) {
+            if (openDuration.isNegative()) {
+                throw new IllegalArgumentException("\"openDuration\" must not be negative.");
+            }
+
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * The number of probe requests let through while half-open, all of which must succeed to close the circuit,
+         * defaults to 1.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withHalfOpenProbes(final int halfOpenProbes) {
+            if (halfOpenProbes < 1) {
+                throw new IllegalArgumentException("\"halfOpenProbes\" must be greater than 0.");
+            }
+
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        /**
+         * A listener to be notified when a circuit changes state.
+         */
+        public Builder withListener(final Listener listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
+        /**
+         * The time source, in nanoseconds, used to time how long a circuit has been open.
+         */
+        public Builder withNanoTime(final LongSupplier nanoTime) {
+            this.nanoTime = Objects.requireNonNull(nanoTime);
+            return this;
+        }
+
+        /**
+         * Build the {@link CircuitBreakerHttpClient}.
+         *
+         * @throws IllegalArgumentException The minimum requests is greater than the window size.
+         */
+        public CircuitBreakerHttpClient build() {
+            if (minimumRequests > windowSize) {
+                throw new IllegalArgumentException("\"minimumRequests\" must not be greater than \"windowSize\".");
+            }
+
+            return new CircuitBreakerHttpClient(this);
+        }
+    }
+}
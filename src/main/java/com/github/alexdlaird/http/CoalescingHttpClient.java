@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.net.HttpURLConnection;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link HttpClient} that coalesces identical <code>GET</code> requests. While a <code>GET</code> for a given URL,
+ * parameters, headers, and body class is in flight, identical <code>GET</code>s wait on it rather than making their
+ * own request, and all receive the same {@link Response} (or the same exception). With a TTL, a successful response
+ * is also served to identical <code>GET</code>s for that long after it is received, so a burst of polling becomes a
+ * single request. Any <code>POST</code>, <code>PUT</code>, or <code>DELETE</code> made through this client clears
+ * responses served by the TTL, and a response to a <code>GET</code> that overlapped one is not cached, so it never
+ * serves a response older than its own writes.
+ *
+ * <pre>
+ * final HttpClient httpClient = new CoalescingHttpClient.Builder(new DefaultHttpClient.Builder().build())
+ *     .withTtl(Duration.ofMillis(50))
+ *     .build();
+ *
+ * final NgrokClient ngrokClient = new NgrokClient.Builder()
+ *     .withHttpClient(httpClient)
+ *     .build();
+ * </pre>
+ *
+ * <p>Because waiters share the same {@link Response}, its body should be treated as read-only. File downloads,
+ * see {@link #get(String, List, Map, Path, int)}, are not coalesced.
+ */
+public class CoalescingHttpClient implements HttpClient {
+
+    private final HttpClient delegate;
+    private final long ttlNanos;
+    private final Map<List<Object>, CompletableFuture<Response<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    private CoalescingHttpClient(final Builder builder) {
+        this.delegate = builder.delegate;
+        this.ttlNanos = builder.ttl.toNanos();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <B> Response<B> get(final String url,
+                               final List<Parameter> parameters,
+                               final Map<String, String> additionalHeaders,
+                               final Class<B> clazz) {
+        final List<Object> key = key(url, parameters, additionalHeaders, clazz);
+
+        if (ttlNanos > 0) {
+            final Cached cached = cache.get(key);
+            if (nonNull(cached)) {
+                if (System.nanoTime() - cached.receivedAt < ttlNanos) {
+                    coalesced.incrementAndGet();
+
+                    return (Response<B>) cached.response;
+                }
+                cache.remove(key, cached);
+            }
+        }
+
+        final CompletableFuture<Response<?>> pending = new CompletableFuture<>();
+        final CompletableFuture<Response<?>> existing = inFlight.putIfAbsent(key, pending);
+        if (nonNull(existing)) {
+            coalesced.incrementAndGet();
+
+            try {
+                return (Response<B>) existing.join();
+            } catch (final CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+
+        try {
+            requests.incrementAndGet();
+            // A write that starts or finishes while this GET is in flight may not be reflected in its response
+            final long generation = writes.get();
+            final Response<B> response = delegate.get(url, parameters, additionalHeaders, clazz);
+            final long receivedAt = System.nanoTime();
+            if (ttlNanos > 0 && response.getStatusCode() < 400 && writes.get() == generation) {
+                cache.values().removeIf(cached -> receivedAt - cached.receivedAt >= ttlNanos);
+                cache.put(key, new Cached(response, receivedAt));
+            }
+            pending.complete(response);
+
+            return response;
+        } catch (final RuntimeException e) {
+            pending.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    @Override
+    public void get(final String url,
+                    final List<Parameter> parameters,
+                    final Map<String, String> additionalHeaders,
+                    final Path dest,
+                    final int retries)
+        throws InterruptedException {
+        delegate.get(url, parameters, additionalHeaders, dest, retries);
+    }
+
+    @Override
+    public <R, B> Response<B> post(final String url,
+                                   final R request,
+                                   final List<Parameter> parameters,
+                                   final Map<String, String> additionalHeaders,
+                                   final Class<B> clazz) {
+        written();
+        try {
+            return delegate.post(url, request, parameters, additionalHeaders, clazz);
+        } finally {
+            written();
+        }
+    }
+
+    @Override
+    public <R, B> Response<B> put(final String url,
+                                  final R request,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        written();
+        try {
+            return delegate.put(url, request, parameters, additionalHeaders, clazz);
+        } finally {
+            written();
+        }
+    }
+
+    @Override
+    public <B> Response<B> delete(final String url,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        written();
+        try {
+            return delegate.delete(url, parameters, additionalHeaders, clazz);
+        } finally {
+            written();
+        }
+    }
+
+    @Override
+    public Response<ReadableByteChannel> stream(final String method,
+                                                final String url,
+                                                final List<Parameter> parameters,
+                                                final Map<String, String> additionalHeaders,
+                                                final ReadableByteChannel body,
+                                                final long contentLength) {
+        final boolean write = !method.equals("GET");
+        if (write) {
+            written();
+        }
+        try {
+            return delegate.stream(method, url, parameters, additionalHeaders, body, contentLength);
+        } finally {
+            if (write) {
+                written();
+            }
+        }
+    }
+
+    @Override
+    public void modifyConnection(final HttpURLConnection httpUrlConnection) {
+        delegate.modifyConnection(httpUrlConnection);
+    }
+
+    /**
+     * Get the client requests are made with.
+     */
+    public HttpClient getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get the number of <code>GET</code>s that were made with the delegate.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Get the number of <code>GET</code>s that were served by an in-flight or recently received response, rather
+     * than making a request.
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    private void written() {
+        writes.incrementAndGet();
+        cache.clear();
+    }
+
+    private static List<Object> key(final String url,
+                                    final List<Parameter> parameters,
+                                    final Map<String, String> additionalHeaders,
+                                    final Class<?> clazz) {
+        final List<String> params = new ArrayList<>();
+        if (nonNull(parameters)) {
+            for (final Parameter parameter : parameters) {
+                params.add(parameter.getName());
+                params.add(parameter.getValue());
+            }
+        }
+        final Map<String, String> headers = isNull(additionalHeaders) ? Map.of() : new TreeMap<>(additionalHeaders);
+
+        return List.of(url, params, headers, clazz.getName());
+    }
+
+    private static class Cached {
+
+        private final Response<?> response;
+        private final long receivedAt;
+
+        private Cached(final Response<?> response,
+                       final long receivedAt) {
+            this.response = response;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    /**
+     * Builder for a {@link CoalescingHttpClient}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final HttpClient delegate;
+
+        private Duration ttl = Duration.ZERO;
+
+        /**
+         * Construct a builder for a client that coalesces the <code>GET</code>s of the given client.
+         *
+         * @param delegate The client requests are made with.
+         */
+        public Builder(final HttpClient delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * How long a successful response is served to identical <code>GET</code>s after it is received, defaults to
+         * {@link Duration#ZERO}, which only coalesces <code>GET</code>s that are in flight at the same time.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withTtl(final Duration ttl) {
+            if (ttl.isNegative()) {
+                throw new IllegalArgumentException("\"ttl\" must not be negative.");
+            }
+
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Build the {@link CoalescingHttpClient}.
+         */
+        public CoalescingHttpClient build() {
+            return new CoalescingHttpClient(this);
+        }
+    }
+}
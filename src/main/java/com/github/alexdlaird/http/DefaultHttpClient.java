@@ -6,6 +6,7 @@
 
 package com.github.alexdlaird.http;
 
+import com.github.alexdlaird.ngrok.protocol.ProtocolTypeAdapterFactory;
 import com.github.alexdlaird.util.StringUtils;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
@@ -18,16 +19,21 @@ import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static com.github.alexdlaird.util.StringUtils.isNotBlank;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -52,6 +58,16 @@ import static java.util.Objects.nonNull;
  *
  * final Response&lt;Map&gt; deleteResponse = httpClient.delete("http://localhost/pojo/id");
  * </pre>
+ *
+ * <p>{@link HttpInterceptor}s added with {@link Builder#withInterceptor(HttpInterceptor)} see each attempt,
+ * including <code>GET</code> retries, with the request's parameters already appended to its URL and its body already
+ * serialized.
+ *
+ * <p>Response bodies are only parsed when {@link Response#getBody()} is first called. For calls that only need the
+ * status code, pass {@link Void} as the body's class and the body is discarded without being buffered. Large bodies
+ * can be streamed without being buffered at all with
+ * {@link #stream(String, String, List, Map, ReadableByteChannel, long)}, which interceptors see with the body's
+ * channel, see {@link Request#isStreamed()}, and which is not retried.
  */
 public class DefaultHttpClient implements HttpClient {
 
@@ -62,14 +78,17 @@ public class DefaultHttpClient implements HttpClient {
     private final String contentType;
     private final int timeout;
     private final int retryCount;
+    private final List<HttpInterceptor> interceptors;
 
     private DefaultHttpClient(final Builder builder) {
         this.encoding = builder.encoding;
         this.contentType = builder.contentType;
         this.timeout = builder.timeout;
         this.retryCount = builder.retryCount;
+        this.interceptors = List.copyOf(builder.interceptors);
         this.gson = new GsonBuilder()
             .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
             .create();
     }
 
@@ -108,26 +127,7 @@ public class DefaultHttpClient implements HttpClient {
 
                 get(url, parameters, additionalHeaders, dest, retries + 1);
             } else {
-                String msg = "An unknown error occurred when downloading the file";
-
-                int statusCode = -1;
-                String errorResponse = null;
-                if (nonNull(httpUrlConnection)) {
-                    try {
-                        statusCode = httpUrlConnection.getResponseCode();
-                        if (nonNull(httpUrlConnection.getErrorStream())) {
-                            errorResponse = StringUtils.streamToString(httpUrlConnection.getErrorStream(),
-                                Charset.forName(encoding));
-                        }
-
-                        msg = String.format("An error occurred when downloading the file (%s): %s",
-                            httpUrlConnection.getResponseCode(),
-                            errorResponse);
-                    } catch (final IOException | NullPointerException ignored) {
-                    }
-                }
-
-                throw new HttpClientException(msg, e, url, statusCode, errorResponse);
+                throw httpClientException("downloading the file", httpUrlConnection, url, e);
             }
         } finally {
             if (nonNull(httpUrlConnection)) {
@@ -177,6 +177,34 @@ public class DefaultHttpClient implements HttpClient {
         }
     }
 
+    @Override
+    public Response<ReadableByteChannel> stream(final String method,
+                                                final String url,
+                                                final List<Parameter> parameters,
+                                                final Map<String, String> additionalHeaders,
+                                                final ReadableByteChannel body,
+                                                final long contentLength) {
+        final String streamUrl;
+        try {
+            streamUrl = urlWithParameters(url, parameters);
+        } catch (final UnsupportedEncodingException e) {
+            throw new HttpClientException(String.format("HTTP %s error", method), e);
+        }
+
+        if (interceptors.isEmpty()) {
+            return exchange(streamUrl, method, additionalHeaders, body, contentLength);
+        }
+
+        final Request request = new Request.Builder(method, streamUrl)
+            .withHeaders(additionalHeaders)
+            .withBody(body, contentLength)
+            .withResponseClass(ReadableByteChannel.class)
+            .withStreamed(true)
+            .build();
+
+        return new InterceptorChain(interceptors, request, this::exchange).proceed();
+    }
+
     private void appendDefaultsToConnection(final HttpURLConnection httpUrlConnection,
                                             final Map<String, String> additionalHeaders) {
         httpUrlConnection.setRequestProperty("Content-Type", contentType);
@@ -195,6 +223,14 @@ public class DefaultHttpClient implements HttpClient {
         }
     }
 
+    private String convertRequestBodyToString(final Object body) {
+        if (body instanceof String) {
+            return (String) body;
+        } else {
+            return convertRequestToString(body);
+        }
+    }
+
     private <T> T convertResponseFromString(final String response, final Class<T> clazz) {
         if (isNotBlank(response)) {
             try {
@@ -216,20 +252,19 @@ public class DefaultHttpClient implements HttpClient {
                                     final Class<B> clazz,
                                     final int retries)
         throws InterruptedException {
-        HttpURLConnection httpUrlConnection = null;
-
         try {
-            httpUrlConnection = createHttpUrlConnection(url);
+            if (interceptors.isEmpty()) {
+                return exchange(url, body, method, additionalHeaders, clazz);
+            }
 
-            try (final InputStream inputStream = getInputStream(httpUrlConnection, body, method, additionalHeaders)) {
-                final String responseBody = StringUtils.streamToString(inputStream, Charset.forName(encoding));
+            final Request request = new Request.Builder(method, url)
+                .withHeaders(additionalHeaders)
+                .withBody(body, isNull(body) ? 0 : body.getBytes(Charset.forName(encoding)).length)
+                .withResponseClass(clazz)
+                .build();
 
-                return new Response<>(httpUrlConnection.getResponseCode(),
-                    convertResponseFromString(responseBody, clazz),
-                    responseBody,
-                    httpUrlConnection.getHeaderFields());
-            }
-        } catch (final Exception e) {
+            return new InterceptorChain(interceptors, request, this::exchange).proceed();
+        } catch (final HttpClientException e) {
             if (method.equals("GET")
                 && retries < retryCount) {
                 LOGGER.warn("GET failed, retrying in 0.5 seconds ...");
@@ -237,25 +272,54 @@ public class DefaultHttpClient implements HttpClient {
 
                 return execute(url, body, method, additionalHeaders, clazz, retries + 1);
             } else {
-                String msg = "An unknown error occurred when performing the operation";
-
-                int statusCode = -1;
-                String errorResponse = null;
-                if (nonNull(httpUrlConnection)) {
-                    try {
-                        statusCode = httpUrlConnection.getResponseCode();
-                        errorResponse = StringUtils.streamToString(httpUrlConnection.getErrorStream(),
-                            Charset.forName(encoding));
-
-                        msg = String.format("An error occurred when performing the operation (%s): %s",
-                            httpUrlConnection.getResponseCode(),
-                            errorResponse);
-                    } catch (final IOException | NullPointerException ignored) {
+                throw e;
+            }
+        }
+    }
+
+    private Response<?> exchange(final Request request) {
+        try {
+            if (request.isStreamed()) {
+                return exchange(urlWithParameters(request.getUrl(), request.getParameters()), request.getMethod(),
+                    request.getHeaders(), request.getBodyChannel(), request.getBodySize());
+            }
+
+            return exchange(urlWithParameters(request.getUrl(), request.getParameters()),
+                convertRequestBodyToString(request.getBody()), request.getMethod(), request.getHeaders(),
+                request.getResponseClass());
+        } catch (final UnsupportedEncodingException e) {
+            throw new HttpClientException(String.format("HTTP %s error", request.getMethod()), e);
+        }
+    }
+
+    private <B> Response<B> exchange(final String url,
+                                     final String body,
+                                     final String method,
+                                     final Map<String, String> additionalHeaders,
+                                     final Class<B> clazz) {
+        HttpURLConnection httpUrlConnection = null;
+
+        try {
+            httpUrlConnection = createHttpUrlConnection(url);
+
+            try (final InputStream inputStream = getInputStream(httpUrlConnection, body, method, additionalHeaders)) {
+                if (clazz == Void.class) {
+                    if (nonNull(inputStream)) {
+                        inputStream.transferTo(OutputStream.nullOutputStream());
                     }
+
+                    return new Response<>(httpUrlConnection.getResponseCode(), null, null,
+                        httpUrlConnection.getHeaderFields());
                 }
 
-                throw new HttpClientException(msg, e, url, statusCode, errorResponse);
+                return new Response<>(httpUrlConnection.getResponseCode(),
+                    nonNull(inputStream) ? inputStream.readAllBytes() : null,
+                    Charset.forName(encoding),
+                    responseBody -> convertResponseFromString(responseBody, clazz),
+                    httpUrlConnection.getHeaderFields());
             }
+        } catch (final Exception e) {
+            throw httpClientException("performing the operation", httpUrlConnection, url, e);
         } finally {
             if (nonNull(httpUrlConnection)) {
                 httpUrlConnection.disconnect();
@@ -263,6 +327,57 @@ public class DefaultHttpClient implements HttpClient {
         }
     }
 
+    private Response<ReadableByteChannel> exchange(final String url,
+                                                   final String method,
+                                                   final Map<String, String> additionalHeaders,
+                                                   final ReadableByteChannel body,
+                                                   final long contentLength) {
+        HttpURLConnection httpUrlConnection = null;
+
+        try {
+            httpUrlConnection = createHttpUrlConnection(url);
+
+            final InputStream inputStream = getInputStream(httpUrlConnection, body, contentLength, method,
+                additionalHeaders);
+
+            // The connection is left open for the caller to read the body from, and is released when it is closed
+            return new Response<>(httpUrlConnection.getResponseCode(), Channels.newChannel(inputStream), null,
+                httpUrlConnection.getHeaderFields());
+        } catch (final Exception e) {
+            final HttpClientException httpClientException = httpClientException(
+                "performing the operation", httpUrlConnection, url, e);
+            if (nonNull(httpUrlConnection)) {
+                httpUrlConnection.disconnect();
+            }
+
+            throw httpClientException;
+        }
+    }
+
+    private HttpClientException httpClientException(final String operation,
+                                                    final HttpURLConnection httpUrlConnection,
+                                                    final String url,
+                                                    final Exception cause) {
+        String msg = String.format("An unknown error occurred when %s", operation);
+
+        int statusCode = -1;
+        String errorResponse = null;
+        if (nonNull(httpUrlConnection)) {
+            try {
+                statusCode = httpUrlConnection.getResponseCode();
+                if (nonNull(httpUrlConnection.getErrorStream())) {
+                    errorResponse = StringUtils.streamToString(httpUrlConnection.getErrorStream(),
+                        Charset.forName(encoding));
+                }
+
+                msg = String.format("An error occurred when %s (%s): %s", operation, statusCode, errorResponse);
+            } catch (final IOException | NullPointerException ignored) {
+            }
+        }
+
+        return new HttpClientException(msg, cause, url, statusCode, errorResponse);
+    }
+
     private <B> Response<B> execute(final String url,
                                     final String body,
                                     final String method,
@@ -277,6 +392,8 @@ public class DefaultHttpClient implements HttpClient {
      */
     public static class Builder {
 
+        private final List<HttpInterceptor> interceptors = new ArrayList<>();
+
         private String encoding = "UTF-8";
         private String contentType = "application/json";
         private int timeout = 4000;
@@ -314,6 +431,14 @@ public class DefaultHttpClient implements HttpClient {
             return this;
         }
 
+        /**
+         * An interceptor to add to the end of the chain each request attempt passes through.
+         */
+        public Builder withInterceptor(final HttpInterceptor interceptor) {
+            this.interceptors.add(Objects.requireNonNull(interceptor));
+            return this;
+        }
+
         /**
          * Build the {@link DefaultHttpClient}.
          */
@@ -368,6 +493,45 @@ public class DefaultHttpClient implements HttpClient {
         return stringBuilder.toString();
     }
 
+    private InputStream getInputStream(final HttpURLConnection httpUrlConnection,
+                                       final ReadableByteChannel body,
+                                       final long contentLength,
+                                       final String method,
+                                       final Map<String, String> additionalHeaders)
+        throws IOException {
+        if (isNull(body)) {
+            return getInputStream(httpUrlConnection, (String) null, method, additionalHeaders);
+        }
+
+        prepareConnection(httpUrlConnection, method, additionalHeaders);
+
+        httpUrlConnection.setDoOutput(true);
+        if (contentLength >= 0) {
+            httpUrlConnection.setFixedLengthStreamingMode(contentLength);
+        } else {
+            httpUrlConnection.setChunkedStreamingMode(0);
+        }
+        httpUrlConnection.connect();
+
+        try (final OutputStream outputStream = httpUrlConnection.getOutputStream()) {
+            Channels.newInputStream(body).transferTo(outputStream);
+        }
+
+        return httpUrlConnection.getInputStream();
+    }
+
+    private void prepareConnection(final HttpURLConnection httpUrlConnection,
+                                   final String method,
+                                   final Map<String, String> additionalHeaders)
+        throws IOException {
+        httpUrlConnection.setRequestMethod(method);
+        httpUrlConnection.setConnectTimeout(timeout);
+        httpUrlConnection.setReadTimeout(timeout);
+
+        appendDefaultsToConnection(httpUrlConnection, additionalHeaders);
+        modifyConnection(httpUrlConnection);
+    }
+
     /**
      * Initialize the connection with the given parameters, then return the provisioned input stream.
      *
@@ -383,12 +547,7 @@ public class DefaultHttpClient implements HttpClient {
                                          final String method,
                                          final Map<String, String> additionalHeaders)
         throws IOException {
-        httpUrlConnection.setRequestMethod(method);
-        httpUrlConnection.setConnectTimeout(timeout);
-        httpUrlConnection.setReadTimeout(timeout);
-
-        appendDefaultsToConnection(httpUrlConnection, additionalHeaders);
-        modifyConnection(httpUrlConnection);
+        prepareConnection(httpUrlConnection, method, additionalHeaders);
 
         if (isNotBlank(body)) {
             httpUrlConnection.setDoOutput(true);
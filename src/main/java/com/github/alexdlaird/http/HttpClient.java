@@ -1,16 +1,25 @@
 /*
- * Copyright (c) 2021-2024 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
 
 package com.github.alexdlaird.http;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * A simple interface for executing HTTP requests.
  */
@@ -136,6 +145,117 @@ public interface HttpClient {
         return delete(url, List.of(), Map.of());
     }
 
+    /**
+     * Perform an operation against an endpoint that streams its request body from the given channel and returns its
+     * response body as an open channel, so neither is buffered in memory. The response body is read in to buffers the
+     * caller manages, and the caller must close it when done. Streaming requests are not retried.
+     *
+     * <p>The default implementation makes a request without a body with the corresponding method of this client,
+     * such as {@link #get(String, List, Map, Class)}, and returns its buffered response body as a channel, so it
+     * works with any client but does not avoid buffering. {@link DefaultHttpClient} streams both bodies.
+     *
+     * @param method            The HTTP method.
+     * @param url               The URL on which to perform the operation.
+     * @param parameters        An arbitrary number of parameters to add to the URL.
+     * @param additionalHeaders Additional headers for the request.
+     * @param body              The channel the request body is read from, or <code>null</code> for no body.
+     * @param contentLength     The length of the request body in bytes, or -1 if it is not known.
+     * @return The results of the query, whose body is the open response body.
+     * @throws HttpClientException           An error has occurred while executing the HTTP request.
+     * @throws UnsupportedOperationException This client does not support streaming the request, such as one with a
+     *                                       body with the default implementation.
+     */
+    default Response<ReadableByteChannel> stream(final String method, final String url,
+                                                 final List<Parameter> parameters,
+                                                 final Map<String, String> additionalHeaders,
+                                                 final ReadableByteChannel body, final long contentLength) {
+        if (nonNull(body)) {
+            throw new UnsupportedOperationException(String.format("%s does not support streaming a request body.",
+                getClass().getName()));
+        }
+
+        final Response<Object> response;
+        switch (method) {
+            case "GET":
+                response = get(url, parameters, additionalHeaders, Object.class);
+                break;
+            case "POST":
+                response = post(url, null, parameters, additionalHeaders, Object.class);
+                break;
+            case "PUT":
+                response = put(url, null, parameters, additionalHeaders, Object.class);
+                break;
+            case "DELETE":
+                response = delete(url, parameters, additionalHeaders, Object.class);
+                break;
+            default:
+                throw new UnsupportedOperationException(String.format("%s does not support streaming HTTP method %s.",
+                    getClass().getName(), method));
+        }
+
+        final String bodyRaw = response.getBodyRaw();
+        final byte[] bytes = isNull(bodyRaw) ? new byte[0] : bodyRaw.getBytes(StandardCharsets.UTF_8);
+
+        return new Response<>(response.getStatusCode(), new ByteBufferChannel(ByteBuffer.wrap(bytes)), null,
+            response.getHeaderFields());
+    }
+
+    /**
+     * See {@link #stream(String, String, List, Map, ReadableByteChannel, long)}. The request body is the remaining
+     * bytes of the given buffer, and the buffer's position is advanced past them as they are sent.
+     */
+    default Response<ReadableByteChannel> stream(final String method, final String url, final ByteBuffer body) {
+        return stream(method, url, List.of(), Map.of(), isNull(body) ? null : new ByteBufferChannel(body),
+            isNull(body) ? -1 : body.remaining());
+    }
+
+    /**
+     * See {@link #stream(String, String, List, Map, ReadableByteChannel, long)}, with the request and response bodies
+     * as {@link InputStream}s.
+     */
+    default Response<InputStream> stream(final String method, final String url, final InputStream body) {
+        final Response<ReadableByteChannel> response = stream(method, url, List.of(), Map.of(),
+            isNull(body) ? null : Channels.newChannel(body), -1);
+
+        return new Response<>(response.getStatusCode(), Channels.newInputStream(response.getBody()), null,
+            response.getHeaderFields());
+    }
+
+    /**
+     * Perform <code>GET</code> operation that reads the response body in to the given buffer, which is managed by the
+     * caller and can be reused across requests. The buffer's position is advanced past the bytes read, so flip it
+     * before reading them back.
+     *
+     * @param url               The URL on which to perform the operation.
+     * @param parameters        An arbitrary number of parameters to add to the URL.
+     * @param additionalHeaders Additional headers for the request.
+     * @param dest              The buffer to read the response body in to.
+     * @return The results of the query, whose body is the given buffer.
+     * @throws HttpClientException           An error has occurred while executing the HTTP request, or the response
+     *                                       body did not fit in the buffer.
+     * @throws UnsupportedOperationException This client does not support streaming the request.
+     */
+    default Response<ByteBuffer> get(final String url, final List<Parameter> parameters,
+                                     final Map<String, String> additionalHeaders, final ByteBuffer dest) {
+        final Response<ReadableByteChannel> response = stream("GET", url, parameters, additionalHeaders, null, -1);
+
+        try (final ReadableByteChannel channel = response.getBody()) {
+            int read = 0;
+            while (dest.hasRemaining() && read >= 0) {
+                read = channel.read(dest);
+            }
+            if (read >= 0 && channel.read(ByteBuffer.allocate(1)) >= 0) {
+                throw new HttpClientException(String.format("The response body is larger than the buffer (%s bytes).",
+                    dest.capacity()), null, url, response.getStatusCode(), null);
+            }
+        } catch (final IOException e) {
+            throw new HttpClientException("An error occurred when reading the response body", e, url,
+                response.getStatusCode(), null);
+        }
+
+        return new Response<>(response.getStatusCode(), dest, null, response.getHeaderFields());
+    }
+
     /**
      * Override this method if you could like to extend {@link DefaultHttpClient} and perform customer HTTP operations
      * before {@link HttpURLConnection#connect()} is called on the instance of the passed in connection.
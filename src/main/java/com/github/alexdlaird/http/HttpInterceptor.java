@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+/**
+ * Intercepts requests made by a {@link HttpClient}. An interceptor sees the {@link Request} and passes it, or a
+ * modified copy, on with {@link Chain#proceed(Request)}, then sees the {@link Response} or the
+ * {@link HttpClientException} that results. An interceptor may also return a response without proceeding (ex. to serve
+ * it from a cache) or throw (ex. to inject a fault).
+ *
+ * <pre>
+ * final HttpInterceptor timing = chain -&gt; {
+ *     final long start = System.nanoTime();
+ *     try {
+ *         final Response&lt;?&gt; response = chain.proceed(chain.getRequest());
+ *         LOGGER.debug("{} {} returned {} in {} ms", chain.getRequest().getMethod(), chain.getRequest().getUrl(),
+ *             response.getStatusCode(), (System.nanoTime() - start) / 1_000_000);
+ *         return response;
+ *     } catch (final HttpClientException e) {
+ *         LOGGER.debug("{} {} failed in {} ms", chain.getRequest().getMethod(), chain.getRequest().getUrl(),
+ *             (System.nanoTime() - start) / 1_000_000, e);
+ *         throw e;
+ *     }
+ * };
+ * </pre>
+ *
+ * <p>Interceptors can be added to any client with {@link InterceptingHttpClient}, where they see each call once, or
+ * to {@link DefaultHttpClient.Builder#withInterceptor(HttpInterceptor)}, where they see each attempt, including
+ * retries, with the body already serialized.
+ */
+@FunctionalInterface
+public interface HttpInterceptor {
+
+    /**
+     * Intercept a request.
+     *
+     * @param chain The chain, from which the request is retrieved and passed on.
+     * @return The response, which must have a body of the request's {@link Request#getResponseClass()}.
+     * @throws HttpClientException An error has occurred while executing the HTTP request.
+     */
+    Response<?> intercept(final Chain chain);
+
+    /**
+     * The remaining interceptors, followed by the client that makes the request.
+     */
+    interface Chain {
+
+        /**
+         * Get the request, as passed on by the previous interceptor.
+         */
+        Request getRequest();
+
+        /**
+         * Pass the request to the next interceptor, or to the client to be made.
+         *
+         * @param request The request.
+         * @return The response.
+         * @throws HttpClientException An error has occurred while executing the HTTP request.
+         */
+        Response<?> proceed(final Request request);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.net.HttpURLConnection;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link HttpClient} that passes each request through a chain of {@link HttpInterceptor}s before making it with
+ * another client. Because interceptors only see {@link Request}s and {@link Response}s, they work with any
+ * {@link HttpClient} implementation.
+ *
+ * <pre>
+ * final HttpClient httpClient = new InterceptingHttpClient.Builder(new DefaultHttpClient.Builder().build())
+ *     .withInterceptor(tracing)
+ *     .withInterceptor(timing)
+ *     .build();
+ *
+ * final NgrokClient ngrokClient = new NgrokClient.Builder()
+ *     .withHttpClient(httpClient)
+ *     .build();
+ * </pre>
+ *
+ * <p>Interceptors run in the order they were added, and see each call once, regardless of retries made by the
+ * delegate. The request's body is the element to be serialized, so its size is unknown, except for streamed requests,
+ * see {@link Request#isStreamed()}. File downloads, see {@link #get(String, List, Map, Path, int)}, are not
+ * intercepted.
+ */
+public class InterceptingHttpClient implements HttpClient {
+
+    private final HttpClient delegate;
+    private final List<HttpInterceptor> interceptors;
+
+    private InterceptingHttpClient(final Builder builder) {
+        this.delegate = builder.delegate;
+        this.interceptors = List.copyOf(builder.interceptors);
+    }
+
+    @Override
+    public <B> Response<B> get(final String url,
+                               final List<Parameter> parameters,
+                               final Map<String, String> additionalHeaders,
+                               final Class<B> clazz) {
+        return intercept("GET", url, null, parameters, additionalHeaders, clazz);
+    }
+
+    @Override
+    public void get(final String url,
+                    final List<Parameter> parameters,
+                    final Map<String, String> additionalHeaders,
+                    final Path dest,
+                    final int retries)
+        throws InterruptedException {
+        delegate.get(url, parameters, additionalHeaders, dest, retries);
+    }
+
+    @Override
+    public <R, B> Response<B> post(final String url,
+                                   final R request,
+                                   final List<Parameter> parameters,
+                                   final Map<String, String> additionalHeaders,
+                                   final Class<B> clazz) {
+        return intercept("POST", url, request, parameters, additionalHeaders, clazz);
+    }
+
+    @Override
+    public <R, B> Response<B> put(final String url,
+                                  final R request,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        return intercept("PUT", url, request, parameters, additionalHeaders, clazz);
+    }
+
+    @Override
+    public <B> Response<B> delete(final String url,
+                                  final List<Parameter> parameters,
+                                  final Map<String, String> additionalHeaders,
+                                  final Class<B> clazz) {
+        return intercept("DELETE", url, null, parameters, additionalHeaders, clazz);
+    }
+
+    @Override
+    public Response<ReadableByteChannel> stream(final String method,
+                                                final String url,
+                                                final List<Parameter> parameters,
+                                                final Map<String, String> additionalHeaders,
+                                                final ReadableByteChannel body,
+                                                final long contentLength) {
+        final Request request = new Request.Builder(method, url)
+            .withParameters(parameters)
+            .withHeaders(additionalHeaders)
+            .withBody(body, contentLength)
+            .withResponseClass(ReadableByteChannel.class)
+            .withStreamed(true)
+            .build();
+
+        return new InterceptorChain(interceptors, request, this::exchange).proceed();
+    }
+
+    @Override
+    public void modifyConnection(final HttpURLConnection httpUrlConnection) {
+        delegate.modifyConnection(httpUrlConnection);
+    }
+
+    /**
+     * Get the client requests are made with.
+     */
+    public HttpClient getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get the interceptors, in the order they run.
+     */
+    public List<HttpInterceptor> getInterceptors() {
+        return interceptors;
+    }
+
+    private <B> Response<B> intercept(final String method,
+                                      final String url,
+                                      final Object body,
+                                      final List<Parameter> parameters,
+                                      final Map<String, String> additionalHeaders,
+                                      final Class<B> clazz) {
+        final Request request = new Request.Builder(method, url)
+            .withParameters(parameters)
+            .withHeaders(additionalHeaders)
+            .withBody(body, -1)
+            .withResponseClass(clazz)
+            .build();
+
+        return new InterceptorChain(interceptors, request, this::exchange).proceed();
+    }
+
+    private Response<?> exchange(final Request request) {
+        if (request.isStreamed()) {
+            return delegate.stream(request.getMethod(), request.getUrl(), request.getParameters(), request.getHeaders(),
+                request.getBodyChannel(), request.getBodySize());
+        }
+
+        switch (request.getMethod()) {
+            case "GET":
+                return delegate.get(request.getUrl(), request.getParameters(), request.getHeaders(),
+                    request.getResponseClass());
+            case "POST":
+                return delegate.post(request.getUrl(), request.getBody(), request.getParameters(),
+                    request.getHeaders(), request.getResponseClass());
+            case "PUT":
+                return delegate.put(request.getUrl(), request.getBody(), request.getParameters(),
+                    request.getHeaders(), request.getResponseClass());
+            case "DELETE":
+                return delegate.delete(request.getUrl(), request.getParameters(), request.getHeaders(),
+                    request.getResponseClass());
+            default:
+                throw new HttpClientException(String.format("HTTP method %s is not supported.", request.getMethod()),
+                    null, request.getUrl(), -1, null);
+        }
+    }
+
+    /**
+     * Builder for a {@link InterceptingHttpClient}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final HttpClient delegate;
+        private final List<HttpInterceptor> interceptors = new ArrayList<>();
+
+        /**
+         * Construct a builder for a client that intercepts the requests of the given client.
+         *
+         * @param delegate The client requests are made with.
+         */
+        public Builder(final HttpClient delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * An interceptor to add to the end of the chain.
+         */
+        public Builder withInterceptor(final HttpInterceptor interceptor) {
+            this.interceptors.add(Objects.requireNonNull(interceptor));
+            return this;
+        }
+
+        /**
+         * Build the {@link InterceptingHttpClient}.
+         */
+        public InterceptingHttpClient build() {
+            return new InterceptingHttpClient(this);
+        }
+    }
+}
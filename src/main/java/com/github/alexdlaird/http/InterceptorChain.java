@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@link HttpInterceptor.Chain} from a given interceptor onward, ending with the function that makes the request.
+ */
+class InterceptorChain implements HttpInterceptor.Chain {
+
+    private final List<HttpInterceptor> interceptors;
+    private final int index;
+    private final Request request;
+    private final Function<Request, Response<?>> exchange;
+
+    InterceptorChain(final List<HttpInterceptor> interceptors,
+                     final Request request,
+                     final Function<Request, Response<?>> exchange) {
+        this(interceptors, 0, request, exchange);
+    }
+
+    private InterceptorChain(final List<HttpInterceptor> interceptors,
+                             final int index,
+                             final Request request,
+                             final Function<Request, Response<?>> exchange) {
+        this.interceptors = interceptors;
+        this.index = index;
+        this.request = request;
+        this.exchange = exchange;
+    }
+
+    @Override
+    public Request getRequest() {
+        return request;
+    }
+
+    @Override
+    public Response<?> proceed(final Request request) {
+        if (index == interceptors.size()) {
+            return exchange.apply(request);
+        }
+
+        return interceptors.get(index).intercept(new InterceptorChain(interceptors, index + 1, request, exchange));
+    }
+
+    @SuppressWarnings("unchecked")
+    <B> Response<B> proceed() {
+        return (Response<B>) proceed(request);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An HTTP request, as seen by a {@link HttpInterceptor}. To change a request before passing it on, build a modified
+ * copy with {@link Builder#Builder(Request)}.
+ */
+public class Request {
+
+    private final String method;
+    private final String url;
+    private final List<Parameter> parameters;
+    private final Map<String, String> headers;
+    private final Object body;
+    private final long bodySize;
+    private final Class<?> responseClass;
+    private final boolean streamed;
+
+    private Request(final Builder builder) {
+        this.method = builder.method;
+        this.url = builder.url;
+        this.parameters = List.copyOf(builder.parameters);
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+        this.body = builder.body;
+        this.bodySize = builder.bodySize;
+        this.responseClass = builder.responseClass;
+        this.streamed = builder.streamed;
+    }
+
+    /**
+     * Get the HTTP method, ex. <code>GET</code>.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the URL.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the parameters to be added to the URL.
+     */
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Get the additional headers.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the body. For {@link InterceptingHttpClient}, this is the element to be serialized, and for interceptors
+     * added to {@link DefaultHttpClient}, it is the serialized <code>String</code>. For a streamed request, see
+     * {@link #isStreamed()}, it is the {@link ReadableByteChannel} the body is read from, which should not be read by
+     * an interceptor.
+     */
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * Get the size of the serialized body, in bytes, or <code>-1</code> if it has not been serialized yet, or is
+     * streamed with an unknown length.
+     */
+    public long getBodySize() {
+        return bodySize;
+    }
+
+    /**
+     * Whether this is a request made with {@link HttpClient#stream(String, String, List, Map, ReadableByteChannel,
+     * long)}, whose response's body is an open {@link ReadableByteChannel}.
+     */
+    public boolean isStreamed() {
+        return streamed;
+    }
+
+    ReadableByteChannel getBodyChannel() {
+        if (isNull(body) || body instanceof ReadableByteChannel) {
+            return (ReadableByteChannel) body;
+        }
+
+        throw new HttpClientException("The body of a streamed request must be a ReadableByteChannel.", null, url, -1,
+            null);
+    }
+
+    /**
+     * Get the class the response's body will be deserialized to.
+     */
+    public Class<?> getResponseClass() {
+        return responseClass;
+    }
+
+    /**
+     * Builder for a {@link Request}.
+     */
+    public static class Builder {
+
+        private final String method;
+        private final String url;
+
+        private List<Parameter> parameters = List.of();
+        private Map<String, String> headers = Map.of();
+        private Object body;
+        private long bodySize = -1;
+        private Class<?> responseClass = Map.class;
+        private boolean streamed;
+
+        /**
+         * Construct a builder for a request.
+         *
+         * @param method The HTTP method.
+         * @param url    The URL.
+         */
+        public Builder(final String method,
+                       final String url) {
+            this.method = Objects.requireNonNull(method);
+            this.url = Objects.requireNonNull(url);
+        }
+
+        /**
+         * Copy a {@link Request} in to a new Builder. Using this constructor will also build a new request.
+         *
+         * @param request The request to copy.
+         */
+        public Builder(final Request request) {
+            this.method = request.method;
+            this.url = request.url;
+            this.parameters = request.parameters;
+            this.headers = request.headers;
+            this.body = request.body;
+            this.bodySize = request.bodySize;
+            this.responseClass = request.responseClass;
+            this.streamed = request.streamed;
+        }
+
+        /**
+         * The parameters to be added to the URL.
+         */
+        public Builder withParameters(final List<Parameter> parameters) {
+            this.parameters = nonNull(parameters) ? parameters : List.of();
+            return this;
+        }
+
+        /**
+         * The additional headers.
+         */
+        public Builder withHeaders(final Map<String, String> headers) {
+            this.headers = nonNull(headers) ? headers : Map.of();
+            return this;
+        }
+
+        /**
+         * The body, and the size of it serialized, in bytes, or <code>-1</code> if unknown.
+         */
+        public Builder withBody(final Object body,
+                                final long bodySize) {
+            this.body = body;
+            this.bodySize = bodySize;
+            return this;
+        }
+
+        /**
+         * The class the response's body will be deserialized to.
+         */
+        public Builder withResponseClass(final Class<?> responseClass) {
+            this.responseClass = Objects.requireNonNull(responseClass);
+            return this;
+        }
+
+        /**
+         * Whether the request is streamed, its body being a {@link ReadableByteChannel} and its response's body an open
+         * {@link ReadableByteChannel}.
+         */
+        public Builder withStreamed(final boolean streamed) {
+            this.streamed = streamed;
+            return this;
+        }
+
+        /**
+         * Build the {@link Request}.
+         */
+        public Request build() {
+            return new Request(this);
+        }
+    }
+}
@@ -1,25 +1,42 @@
 /*
- * Copyright (c) 2021-2024 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
 
 package com.github.alexdlaird.http;
 
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * A response from the {@link HttpClient}.
+ *
+ * <p>A response constructed with
+ * {@link Response#Response(int, byte[], Charset, Function, Map) the raw bytes of its body} is lazy: the body is only
+ * decoded the first time {@link #getBody()} or {@link #getBodyRaw()} is called, so a caller that only checks
+ * {@link #getStatusCode()} never pays to decode it. {@link DefaultHttpClient} returns lazy responses, and discards
+ * the body entirely (without buffering it) when it is asked for a body of type {@link Void}.
  */
 public class Response<T> {
 
     private final int statusCode;
-    private final T body;
-    private final String bodyRaw;
+    private final byte[] bodyBytes;
+    private final Charset charset;
+    private final Function<String, T> decoder;
     private final Map<String, List<String>> headerFields;
 
+    private volatile String bodyRaw;
+    private volatile boolean decoded;
+    private volatile T body;
+
     /**
      * Construct a response.
      *
@@ -31,8 +48,30 @@ public class Response<T> {
     public Response(final int statusCode, final T body, final String bodyRaw,
                     final Map<String, List<String>> headerFields) {
         this.statusCode = statusCode;
-        this.body = body;
+        this.bodyBytes = null;
+        this.charset = null;
+        this.decoder = null;
+        this.headerFields = Collections.unmodifiableMap(headerFields);
         this.bodyRaw = bodyRaw;
+        this.body = body;
+        this.decoded = true;
+    }
+
+    /**
+     * Construct a lazy response, whose body is decoded from the given bytes the first time it is needed.
+     *
+     * @param statusCode   The response code.
+     * @param bodyBytes    The unparsed body of the response, or <code>null</code> if it had none.
+     * @param charset      The charset to decode the bytes of the body with.
+     * @param decoder      Parses the body, given the body decoded as a string.
+     * @param headerFields Header fields in the response.
+     */
+    public Response(final int statusCode, final byte[] bodyBytes, final Charset charset,
+                    final Function<String, T> decoder, final Map<String, List<String>> headerFields) {
+        this.statusCode = statusCode;
+        this.bodyBytes = bodyBytes;
+        this.charset = Objects.requireNonNull(charset);
+        this.decoder = Objects.requireNonNull(decoder);
         this.headerFields = Collections.unmodifiableMap(headerFields);
     }
 
@@ -44,9 +83,18 @@ public class Response<T> {
     }
 
     /**
-     * Get the body of the response.
+     * Get the body of the response, decoding it if this has not already been done.
      */
     public T getBody() {
+        if (!decoded) {
+            synchronized (this) {
+                if (!decoded) {
+                    body = decoder.apply(getBodyRaw());
+                    decoded = true;
+                }
+            }
+        }
+
         return body;
     }
 
@@ -54,7 +102,13 @@ public class Response<T> {
      * Get the raw body of the response (can be useful if parsing fails).
      */
     public String getBodyRaw() {
-        return bodyRaw;
+        String raw = bodyRaw;
+        if (isNull(raw) && nonNull(bodyBytes)) {
+            raw = new String(bodyBytes, charset);
+            bodyRaw = raw;
+        }
+
+        return raw;
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -20,22 +20,37 @@ import com.github.alexdlaird.ngrok.installer.ConfigVersion;
 import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
 import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.process.NgrokProcessRegistry;
 import com.github.alexdlaird.ngrok.protocol.ApiResponse;
 import com.github.alexdlaird.ngrok.protocol.BindTls;
 import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import com.github.alexdlaird.ngrok.protocol.Proto;
+import com.github.alexdlaird.ngrok.protocol.ProtocolTypeAdapterFactory;
 import com.github.alexdlaird.ngrok.protocol.Tunnel;
 import com.github.alexdlaird.ngrok.protocol.Tunnels;
 import com.github.alexdlaird.ngrok.protocol.Upstream;
 import com.github.alexdlaird.ngrok.protocol.Version;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,18 +70,49 @@ public class NgrokClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NgrokClient.class);
 
-    private final Map<String, Tunnel> currentTunnels = new HashMap<>();
+    // Bounds how many tunnels are re-created at once when restoring them
+    private static final int MAX_RESTORE_PARALLELISM = 8;
+
+    // Renders definitions to their wire form, so two can be compared field by field
+    private static final Gson DEFINITION_GSON = new GsonBuilder()
+        .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+        .create();
+
+    private final Map<String, Tunnel> currentTunnels = new ConcurrentHashMap<>();
+    private final Map<String, CreateTunnel> createTunnels = new ConcurrentHashMap<>();
+    private final Map<String, InFlightConnect> inFlightConnects = new ConcurrentHashMap<>();
 
     private final String javaNgrokVersion;
     private final JavaNgrokConfig javaNgrokConfig;
     private final NgrokProcess ngrokProcess;
     private final HttpClient httpClient;
+    private final boolean sharedNgrokProcess;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final Duration idleTimeout;
+    private final ScheduledExecutorService idleScheduler;
+    private final AtomicBoolean idleCheckScheduled = new AtomicBoolean();
+    private final TunnelStateFile tunnelStateFile;
+    // Tunnels don't outlive the process, so none are open to be returned by connect() once it exits
+    private final IntConsumer exitListener = exitCode -> currentTunnels.clear();
+
+    private volatile long lastActivity = System.nanoTime();
 
     private NgrokClient(final Builder builder) {
         this.javaNgrokVersion = builder.javaNgrokVersion;
         this.javaNgrokConfig = builder.javaNgrokConfig;
         this.ngrokProcess = builder.ngrokProcess;
         this.httpClient = builder.httpClient;
+        this.sharedNgrokProcess = builder.sharedNgrokProcess;
+        this.idleTimeout = builder.idleTimeout;
+        this.idleScheduler = nonNull(idleTimeout) ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "ngrok-idle");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.tunnelStateFile = nonNull(javaNgrokConfig.getTunnelStatePath())
+            ? new TunnelStateFile(javaNgrokConfig.getTunnelStatePath()) : null;
+
+        ngrokProcess.addExitListener(exitListener);
     }
 
     /**
@@ -101,43 +147,70 @@ public class NgrokClient {
      * {@link CreateTunnel.Builder#withBindTls(BindTls)} with {@link BindTls#TRUE} and a reference to the
      * <code>https</code> tunnel will be returned.
      *
+     * <p>Connects are de-duplicated by the tunnel's name, after it is loaded from config. If a tunnel with the same
+     * name and definition is already open, it is returned without calling <code>ngrok</code>'s API, and concurrent
+     * connects for the same name and definition share a single request, each receiving the same {@link Tunnel} (or
+     * the same error). A tunnel with the same name but a different definition is an error, as is one opened with
+     * the same name while it is still opening. A tunnel not opened by this client, such as a boot tunnel, is
+     * returned as it is.
+     *
      * @param createTunnel The tunnel definition.
      * @return The created Tunnel.
-     * @throws JavaNgrokException         The tunnel definition was invalid, the requested options are
-     *                                    incompatible with the configured config version, or the response was
-     *                                    incompatible with <code>java-ngrok</code>.
+     * @throws JavaNgrokException         The tunnel definition was invalid, a tunnel with the same name was opened
+     *                                    from a different definition, the requested options are incompatible with
+     *                                    the configured config version, or the response was incompatible with
+     *                                    <code>java-ngrok</code>.
      * @throws JavaNgrokHTTPException     An HTTP error occurred communicating with the <code>ngrok</code> API.
      * @throws JavaNgrokSecurityException The URL was not supported.
      */
     public Tunnel connect(final CreateTunnel createTunnel) {
+        touch();
+
         validateConfigVersionCompatibility(createTunnel);
 
         ngrokProcess.start();
 
         final CreateTunnel finalTunnel = interpolateTunnelDefinition(createTunnel);
+        final String name = finalTunnel.getName();
 
-        LOGGER.info("Opening tunnel named: {}", finalTunnel.getName());
+        final InFlightConnect created = new InFlightConnect(createTunnel);
+        final InFlightConnect inFlight = inFlightConnects.putIfAbsent(name, created);
+        if (nonNull(inFlight)) {
+            checkSameDefinition(name, inFlight.createTunnel, createTunnel);
 
-        final String apiPath = isV3() ? "/api/endpoints" : "/api/tunnels";
+            LOGGER.debug("Waiting on the in-flight connect for the tunnel named: {}", name);
 
-        final Response<Tunnel> response;
-        try {
-            response = httpClient.post(String.format("%s%s", ngrokProcess.getApiUrl(), apiPath), finalTunnel,
-                Tunnel.class);
-        } catch (final HttpClientException e) {
-            throw new JavaNgrokHTTPException(String.format("An error occurred when POSTing to create the tunnel %s.",
-                finalTunnel.getName()), e, e.getUrl(), e.getStatusCode(), e.getBody());
+            try {
+                return inFlight.tunnel.join();
+            } catch (final CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
         }
 
-        final Tunnel tunnel = response.getBody();
+        try {
+            Tunnel tunnel = getOpenTunnel(name);
+            if (nonNull(tunnel)) {
+                checkSameDefinition(name, createTunnels.get(tunnel.getPublicUrl()), createTunnel);
 
-        if (isV3() && isNull(tunnel.getUri()) && nonNull(tunnel.getName())) {
-            tunnel.setUri(String.format("/api/endpoints/%s", tunnel.getName()));
-        }
+                LOGGER.debug("Tunnel named {} is already open: {}", name, tunnel.getPublicUrl());
+            } else {
+                tunnel = createTunnel(finalTunnel, createTunnel);
+            }
 
-        currentTunnels.put(tunnel.getPublicUrl(), tunnel);
+            created.tunnel.complete(tunnel);
 
-        return tunnel;
+            return tunnel;
+        } catch (final RuntimeException e) {
+            created.tunnel.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            inFlightConnects.remove(name, created);
+
+            // Only an Error gets here without completing, and waiters must not be left blocked on it
+            created.tunnel.completeExceptionally(new JavaNgrokException(String.format(
+                "The connect for the tunnel named %s did not complete.", name)));
+        }
     }
 
     /**
@@ -186,6 +259,8 @@ public class NgrokClient {
      * @throws JavaNgrokSecurityException The URL was not supported.
      */
     public void disconnect(final String publicUrl) {
+        touch();
+
         // If ngrok is not running, there are no tunnels to disconnect
         if (!ngrokProcess.isRunning()) {
             LOGGER.trace("\"ngrokPath\" {} is not running a process", javaNgrokConfig.getNgrokPath());
@@ -209,11 +284,112 @@ public class NgrokClient {
         LOGGER.info("Disconnecting tunnel: {}", tunnel.getPublicUrl());
 
         try {
-            httpClient.delete(ngrokProcess.getApiUrl() + tunnel.getUri());
+            httpClient.delete(ngrokProcess.getApiUrl() + tunnel.getUri(), List.of(), Map.of(), Void.class);
         } catch (final HttpClientException e) {
             throw new JavaNgrokHTTPException(String.format("An error occurred when DELETing the tunnel %s.",
                 publicUrl), e, e.getUrl(), e.getStatusCode(), e.getBody());
         }
+
+        currentTunnels.remove(publicUrl);
+        if (nonNull(createTunnels.remove(publicUrl))) {
+            saveTunnelState();
+        }
+    }
+
+    /**
+     * Re-create every tunnel previously opened with {@link #connect(CreateTunnel)} (and not since disconnected) from
+     * its original {@link CreateTunnel}, in parallel. This is used to recover after the <code>ngrok</code> process
+     * has been restarted, see {@link NgrokSupervisor}. Tunnels without a fixed domain may be assigned a new public
+     * URL.
+     *
+     * <p>Tunnels that are still open are left as they are. A tunnel's definition is only replaced once it has been
+     * re-created, so those that fail are retried by the next call, and the tunnel state (see
+     * {@link JavaNgrokConfig#getTunnelStatePath()}) is saved once the restore finishes.
+     *
+     * <p>If <code>ngrok</code> is not running, calling this method will first start a process with
+     * {@link JavaNgrokConfig}.
+     *
+     * @return The re-created tunnels.
+     * @throws JavaNgrokException One or more tunnels could not be re-created, those that could are still returned by
+     *                            {@link #getTunnels()}.
+     */
+    public List<Tunnel> restoreTunnels() {
+        final Map<String, CreateTunnel> toRestore = new HashMap<>(createTunnels);
+        if (toRestore.isEmpty()) {
+            currentTunnels.clear();
+
+            return List.of();
+        }
+
+        ngrokProcess.start();
+
+        // Find which tunnels are still open, so only those that aren't are re-created
+        getTunnels();
+
+        LOGGER.info("Restoring {} tunnels", toRestore.size());
+
+        try {
+            return connectAll(toRestore, "An error occurred while restoring tunnels.");
+        } finally {
+            saveTunnelState();
+        }
+    }
+
+    /**
+     * Reload the snapshot of open tunnels from {@link JavaNgrokConfig#getTunnelStatePath()}, typically once on
+     * startup. The snapshot is verified against <code>ngrok</code> with a single {@link #getTunnels()}: tunnels that
+     * are still open (for instance, when attached to a <code>ngrok</code> process that outlived the previous JVM, see
+     * {@link JavaNgrokConfig.Builder#withAttach()}) are adopted as if opened by this client, and only those that are
+     * not are re-created, in parallel, from their original {@link CreateTunnel}. Tunnels without a fixed domain may
+     * be assigned a new public URL when re-created.
+     *
+     * <p>If <code>ngrok</code> is not running, calling this method will first start a process with
+     * {@link JavaNgrokConfig}.
+     *
+     * @return The tunnels in the snapshot, adopted or re-created. Empty if no tunnel state path is configured or there
+     *     is no snapshot.
+     * @throws JavaNgrokException One or more tunnels could not be re-created, those that could are still returned by
+     *                            {@link #getTunnels()}.
+     */
+    public List<Tunnel> restoreTunnelState() {
+        if (isNull(tunnelStateFile)) {
+            return List.of();
+        }
+
+        final Map<String, CreateTunnel> snapshot = tunnelStateFile.read();
+        if (snapshot.isEmpty()) {
+            return List.of();
+        }
+
+        getTunnels();
+
+        final List<Tunnel> restored = new ArrayList<>();
+        final Map<String, CreateTunnel> missing = new HashMap<>();
+        for (final Map.Entry<String, CreateTunnel> entry : snapshot.entrySet()) {
+            // The NgrokVersion is not snapshotted, so restore it from config
+            final CreateTunnel createTunnel = new CreateTunnel.Builder(entry.getValue())
+                .withNgrokVersion(javaNgrokConfig.getNgrokVersion())
+                .build();
+            // Missing tunnels are kept too, so those that can't be re-created are retried by restoreTunnels()
+            createTunnels.put(entry.getKey(), createTunnel);
+            final Tunnel tunnel = currentTunnels.get(entry.getKey());
+            if (nonNull(tunnel)) {
+                restored.add(tunnel);
+            } else {
+                missing.put(entry.getKey(), createTunnel);
+            }
+        }
+
+        LOGGER.info("Restored {} open tunnels from {}, re-creating {}", restored.size(),
+            tunnelStateFile.getPath(), missing.size());
+
+        try {
+            restored.addAll(connectAll(missing, "An error occurred while restoring tunnel state."));
+        } finally {
+            saveTunnelState();
+        }
+
+        return List.copyOf(restored);
     }
 
     /**
@@ -228,6 +404,12 @@ public class NgrokClient {
      * @throws JavaNgrokSecurityException The URL was not supported.
      */
     public List<Tunnel> getTunnels() {
+        touch();
+
+        return fetchTunnels();
+    }
+
+    private List<Tunnel> fetchTunnels() {
         ngrokProcess.start();
 
         final String apiPath = isV3() ? "/api/endpoints" : "/api/tunnels";
@@ -263,6 +445,8 @@ public class NgrokClient {
      * @throws JavaNgrokSecurityException The URL was not supported.
      */
     public void refreshMetrics(final Tunnel tunnel) {
+        touch();
+
         Response<Tunnel> latestTunnel = httpClient.get(String.format("%s%s", ngrokProcess.getApiUrl(),
             tunnel.getUri()), Tunnel.class);
 
@@ -276,11 +460,28 @@ public class NgrokClient {
     /**
      * Terminate the <code>ngrok</code> processes, if running. This method will not block, it will just issue a kill
      * request.
+     *
+     * <p>If this client was built with {@link Builder#withSharedNgrokProcess()}, this instead releases the client's
+     * reference to the shared process, which is only terminated once every client sharing it has released it. Releasing
+     * the last reference waits for the process to exit, see {@link NgrokProcessRegistry#release(NgrokProcess)}.
+     *
+     * <p>If this client was built with {@link Builder#withIdleTimeout(Duration)}, its idle checks are also shut down.
      */
     public void kill() {
-        ngrokProcess.stop();
+        if (sharedNgrokProcess) {
+            if (released.compareAndSet(false, true)) {
+                ngrokProcess.removeExitListener(exitListener);
+                NgrokProcessRegistry.getInstance().release(ngrokProcess);
+            }
+        } else {
+            ngrokProcess.stop();
+        }
+        if (nonNull(idleScheduler)) {
+            idleScheduler.shutdownNow();
+        }
 
         currentTunnels.clear();
+        createTunnels.clear();
     }
 
     /**
@@ -407,6 +608,200 @@ public class NgrokClient {
         return httpClient;
     }
 
+    /**
+     * Get how long <code>ngrok</code> may be idle before it is stopped, <code>null</code> if it is never stopped for
+     * being idle. See {@link Builder#withIdleTimeout(Duration)}.
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Get the {@link CreateTunnel} the open tunnel with the given public URL was created from by
+     * {@link #connect(CreateTunnel)}, <code>null</code> if it was not.
+     */
+    CreateTunnel getCreateTunnel(final String publicUrl) {
+        return createTunnels.get(publicUrl);
+    }
+
+    private Tunnel createTunnel(final CreateTunnel finalTunnel,
+                                final CreateTunnel createTunnel) {
+        LOGGER.info("Opening tunnel named: {}", finalTunnel.getName());
+
+        final String apiPath = isV3() ? "/api/endpoints" : "/api/tunnels";
+
+        final Response<Tunnel> response;
+        try {
+            response = httpClient.post(String.format("%s%s", ngrokProcess.getApiUrl(), apiPath), finalTunnel,
+                Tunnel.class);
+        } catch (final HttpClientException e) {
+            throw new JavaNgrokHTTPException(String.format("An error occurred when POSTing to create the tunnel %s.",
+                finalTunnel.getName()), e, e.getUrl(), e.getStatusCode(), e.getBody());
+        }
+
+        final Tunnel tunnel = response.getBody();
+
+        if (isV3() && isNull(tunnel.getUri()) && nonNull(tunnel.getName())) {
+            tunnel.setUri(String.format("/api/endpoints/%s", tunnel.getName()));
+        }
+
+        if (nonNull(tunnel.getPublicUrl())) {
+            currentTunnels.put(tunnel.getPublicUrl(), tunnel);
+            createTunnels.put(tunnel.getPublicUrl(), createTunnel);
+            saveTunnelState();
+        }
+
+        return tunnel;
+    }
+
+    private Tunnel getOpenTunnel(final String name) {
+        for (final Tunnel tunnel : currentTunnels.values()) {
+            if (name.equals(tunnel.getName())) {
+                return tunnel;
+            }
+        }
+
+        return null;
+    }
+
+    private void checkSameDefinition(final String name,
+                                     final CreateTunnel existing,
+                                     final CreateTunnel createTunnel) {
+        // Without a definition, the tunnel was not opened by this client, so there is nothing to compare
+        if (isNull(existing) || existing == createTunnel) {
+            return;
+        }
+
+        if (!DEFINITION_GSON.toJsonTree(existing).equals(DEFINITION_GSON.toJsonTree(createTunnel))) {
+            throw new JavaNgrokException(String.format("A tunnel named %s was already opened from a different "
+                                                       + "definition.", name));
+        }
+    }
+
+    private List<Tunnel> connectAll(final Map<String, CreateTunnel> toConnect,
+                                    final String errorMessage) {
+        if (toConnect.isEmpty()) {
+            return List.of();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(toConnect.size(),
+            MAX_RESTORE_PARALLELISM));
+        try {
+            final List<CompletableFuture<Tunnel>> futures = new ArrayList<>();
+            for (final Map.Entry<String, CreateTunnel> entry : toConnect.entrySet()) {
+                futures.add(CompletableFuture.supplyAsync(() -> reconnect(entry.getKey(), entry.getValue()),
+                    executor));
+            }
+
+            final List<Tunnel> connected = new ArrayList<>();
+            JavaNgrokException failure = null;
+            for (final CompletableFuture<Tunnel> future : futures) {
+                try {
+                    connected.add(future.join());
+                } catch (final CompletionException e) {
+                    if (isNull(failure)) {
+                        failure = new JavaNgrokException(errorMessage, e.getCause());
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+
+            if (nonNull(failure)) {
+                throw failure;
+            }
+
+            return List.copyOf(connected);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Tunnel reconnect(final String previousPublicUrl,
+                             final CreateTunnel createTunnel) {
+        final Tunnel tunnel = connect(createTunnel);
+
+        // The definition is now kept under the tunnel's new public URL, if it was assigned a different one
+        if (!previousPublicUrl.equals(tunnel.getPublicUrl())) {
+            createTunnels.remove(previousPublicUrl, createTunnel);
+        }
+
+        return tunnel;
+    }
+
+    private void saveTunnelState() {
+        if (nonNull(tunnelStateFile)) {
+            tunnelStateFile.write(createTunnels);
+        }
+    }
+
+    private void touch() {
+        if (isNull(idleTimeout)) {
+            return;
+        }
+
+        lastActivity = System.nanoTime();
+        if (idleCheckScheduled.compareAndSet(false, true)) {
+            scheduleIdleCheck(idleTimeout.toNanos());
+        }
+    }
+
+    private void scheduleIdleCheck(final long delayNanos) {
+        try {
+            idleScheduler.schedule(this::checkIdle, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            idleCheckScheduled.set(false);
+        }
+    }
+
+    private void checkIdle() {
+        // While tunnels are open, or ngrok isn't running, there is nothing to do until the next API call. A process
+        // held in the registry may be used by other clients, so only the registry stops it.
+        if (!ngrokProcess.isRunning() || !currentTunnels.isEmpty()
+            || NgrokProcessRegistry.getInstance().getReferenceCount(ngrokProcess) > 0) {
+            idleCheckScheduled.set(false);
+
+            return;
+        }
+
+        final long idle = System.nanoTime() - lastActivity;
+        if (idle < idleTimeout.toNanos()) {
+            scheduleIdleCheck(idleTimeout.toNanos() - idle);
+
+            return;
+        }
+
+        // Tunnels this client didn't open, such as boot tunnels, are only known to the agent
+        final boolean agentIdle;
+        try {
+            agentIdle = fetchTunnels().isEmpty();
+        } catch (final RuntimeException e) {
+            LOGGER.debug("An error occurred while checking whether ngrok is idle", e);
+            idleCheckScheduled.set(false);
+
+            return;
+        }
+        if (!agentIdle) {
+            idleCheckScheduled.set(false);
+
+            return;
+        }
+
+        // Check again, in case there were calls while asking the agent
+        final long idleSince = System.nanoTime() - lastActivity;
+        if (idleSince < idleTimeout.toNanos()) {
+            scheduleIdleCheck(idleTimeout.toNanos() - idleSince);
+
+            return;
+        }
+
+        idleCheckScheduled.set(false);
+
+        LOGGER.info("ngrok has had no tunnels or API calls for {}, stopping it until it is next used", idleTimeout);
+
+        ngrokProcess.stop();
+    }
+
     private synchronized CreateTunnel interpolateTunnelDefinition(final CreateTunnel createTunnel) {
         final boolean userAddrProvided = nonNull(createTunnel.getAddr());
         final boolean userProtoProvided = nonNull(createTunnel.getProto());
@@ -508,6 +903,16 @@ public class NgrokClient {
         return built;
     }
 
+    private static class InFlightConnect {
+
+        private final CreateTunnel createTunnel;
+        private final CompletableFuture<Tunnel> tunnel = new CompletableFuture<>();
+
+        private InFlightConnect(final CreateTunnel createTunnel) {
+            this.createTunnel = createTunnel;
+        }
+    }
+
     /**
      * Builder for a {@link NgrokClient}, see docs for that class for example usage.
      */
@@ -518,6 +923,8 @@ public class NgrokClient {
         private NgrokInstaller ngrokInstaller;
         private NgrokProcess ngrokProcess;
         private HttpClient httpClient;
+        private boolean sharedNgrokProcess;
+        private Duration idleTimeout;
 
         /**
          * The <code>java-ngrok</code> to use when interacting with the <code>ngrok</code> binary.
@@ -544,6 +951,17 @@ public class NgrokClient {
             return this;
         }
 
+        /**
+         * Share the <code>ngrok</code> process with other clients in this JVM that have the same
+         * <code>ngrokPath</code>, <code>configPath</code>, <code>authToken</code>, and <code>region</code>, rather
+         * than constructing a new one. See {@link NgrokProcessRegistry}. Ignored if
+         * {@link #withNgrokProcess(NgrokProcess)} is called.
+         */
+        public Builder withSharedNgrokProcess() {
+            this.sharedNgrokProcess = true;
+            return this;
+        }
+
         /**
          * The class used to make HTTP requests to <code>ngrok</code>'s APIs.
          */
@@ -552,6 +970,25 @@ public class NgrokClient {
             return this;
         }
 
+        /**
+         * Stop the <code>ngrok</code> process once it has had no open tunnels and no calls to
+         * {@link NgrokClient#connect(CreateTunnel)}, {@link NgrokClient#disconnect(String)},
+         * {@link NgrokClient#getTunnels()}, or {@link NgrokClient#refreshMetrics(Tunnel)} for the given duration, so
+         * idle hosts release its memory and sockets. The next call starts it again, reusing the already installed
+         * binary and, if unchanged, the already validated config. Not supported with
+         * {@link #withSharedNgrokProcess()}.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withIdleTimeout(final Duration idleTimeout) {
+            if (idleTimeout.isZero() || idleTimeout.isNegative()) {
+                throw new IllegalArgumentException("\"idleTimeout\" must be positive");
+            }
+
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
         /**
          * Build the {@link NgrokClient}.
          */
@@ -564,7 +1001,15 @@ public class NgrokClient {
             if (isNull(ngrokInstaller)) {
                 ngrokInstaller = new NgrokInstaller();
             }
-            if (isNull(ngrokProcess)) {
+            if (nonNull(ngrokProcess)) {
+                sharedNgrokProcess = false;
+            } else if (sharedNgrokProcess) {
+                if (nonNull(idleTimeout)) {
+                    throw new IllegalArgumentException("\"idleTimeout\" is not supported with a shared ngrok process");
+                }
+
+                ngrokProcess = NgrokProcessRegistry.getInstance().acquire(javaNgrokConfig, ngrokInstaller);
+            } else {
                 ngrokProcess = new NgrokProcess(javaNgrokConfig, ngrokInstaller);
             }
             if (isNull(httpClient)) {
@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.exception.JavaNgrokException;
+import com.github.alexdlaird.http.DefaultHttpClient;
+import com.github.alexdlaird.http.HttpClient;
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.installer.ConfigVersion;
+import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A pool of {@link NgrokClient}s, each managing its own <code>ngrok</code> process (a "shard") with its own generated
+ * config and <code>web_addr</code>, over which tunnels are spread. New tunnels are placed on a shard by a
+ * {@link TunnelPlacementStrategy}, and {@link #disconnect(String)} and {@link #refreshMetrics(Tunnel)} are routed to
+ * the shard that owns the tunnel.
+ *
+ * <pre>
+ * final NgrokClientPool ngrokClientPool = new NgrokClientPool.Builder()
+ *     .withShards(4)
+ *     .withPlacementStrategy(TunnelPlacementStrategy.consistentHash())
+ *     .build();
+ *
+ * final Tunnel tunnel = ngrokClientPool.connect(new CreateTunnel.Builder()
+ *     .withName("my-tunnel")
+ *     .withAddr(8000)
+ *     .build());
+ * </pre>
+ *
+ * <p>Shard <code>i</code>'s config is generated as <code>ngrok-shard-i.yml</code> in the pool's config directory,
+ * copied from {@link JavaNgrokConfig#getConfigPath()} (if it exists) with its <code>web_addr</code> set to
+ * <code>127.0.0.1:</code> the base web port plus <code>i</code>. A shard's <code>ngrok</code> process is started the
+ * first time a tunnel is placed on it.
+ *
+ * <p>Other per-process settings are derived per shard, too: {@link JavaNgrokConfig#getLogSpoolPath()} becomes the
+ * <code>shard-i</code> subdirectory, {@link JavaNgrokConfig#getTunnelStatePath()} gets a <code>-shard-i</code> suffix,
+ * and {@link JavaNgrokConfig#getBootTunnels()} are only started by shard <code>0</code>.
+ */
+public class NgrokClientPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NgrokClientPool.class);
+
+    private final List<Shard> shards;
+    private final TunnelPlacementStrategy placementStrategy;
+    private final Map<String, Shard> owners = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    private NgrokClientPool(final Builder builder) {
+        this.shards = List.copyOf(builder.shards);
+        this.placementStrategy = builder.placementStrategy;
+        this.executor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            final Thread thread = new Thread(runnable, "ngrok-client-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Establish a new <code>ngrok</code> tunnel on the shard chosen by the pool's {@link TunnelPlacementStrategy}.
+     * See {@link NgrokClient#connect(CreateTunnel)}.
+     *
+     * @param createTunnel The tunnel definition.
+     * @return The created Tunnel.
+     */
+    public Tunnel connect(final CreateTunnel createTunnel) {
+        final int index = placementStrategy.place(createTunnel, shards);
+        if (index < 0 || index >= shards.size()) {
+            throw new JavaNgrokException(String.format("The placement strategy chose shard %s, but the pool has %s.",
+                index, shards.size()));
+        }
+
+        final Shard shard = shards.get(index);
+
+        LOGGER.debug("Placing tunnel on shard {}", index);
+
+        final Tunnel tunnel = shard.ngrokClient.connect(createTunnel);
+        if (nonNull(tunnel.getPublicUrl())) {
+            shard.tunnels.put(tunnel.getPublicUrl(), tunnel);
+            owners.put(tunnel.getPublicUrl(), shard);
+        }
+
+        return tunnel;
+    }
+
+    /**
+     * Disconnect the <code>ngrok</code> tunnel for the given URL on the shard that owns it, if open. See
+     * {@link NgrokClient#disconnect(String)}.
+     *
+     * @param publicUrl The public URL of the tunnel to disconnect.
+     */
+    public void disconnect(final String publicUrl) {
+        Shard shard = owners.get(publicUrl);
+        if (isNull(shard)) {
+            getTunnels();
+
+            // One more check, if the given URL is still not owned by a shard, it is not active
+            shard = owners.get(publicUrl);
+            if (isNull(shard)) {
+                return;
+            }
+        }
+
+        shard.ngrokClient.disconnect(publicUrl);
+
+        shard.tunnels.remove(publicUrl);
+        owners.remove(publicUrl);
+    }
+
+    /**
+     * Get the latest metrics for the given {@link Tunnel} from the shard that owns it. See
+     * {@link NgrokClient#refreshMetrics(Tunnel)}.
+     *
+     * @param tunnel The Tunnel to update.
+     * @throws JavaNgrokException The tunnel is not owned by any shard in the pool.
+     */
+    public void refreshMetrics(final Tunnel tunnel) {
+        final Shard shard = owners.get(tunnel.getPublicUrl());
+        if (isNull(shard)) {
+            throw new JavaNgrokException(String.format("The tunnel %s is not owned by a shard in the pool.",
+                tunnel.getPublicUrl()));
+        }
+
+        shard.ngrokClient.refreshMetrics(tunnel);
+
+        shard.tunnels.put(tunnel.getPublicUrl(), tunnel);
+    }
+
+    /**
+     * Get a list of active <code>ngrok</code> tunnels across every running shard, queried in parallel. Shards whose
+     * <code>ngrok</code> process is not running have no tunnels, and are not started.
+     *
+     * @return The active <code>ngrok</code> tunnels.
+     * @throws JavaNgrokException One or more shards could not be queried.
+     */
+    public List<Tunnel> getTunnels() {
+        final Map<Shard, CompletableFuture<List<Tunnel>>> futures = new HashMap<>();
+        for (final Shard shard : shards) {
+            if (shard.ngrokClient.getNgrokProcess().isRunning()) {
+                futures.put(shard, CompletableFuture.supplyAsync(shard.ngrokClient::getTunnels, executor));
+            } else {
+                clearShard(shard);
+            }
+        }
+
+        final List<Tunnel> tunnels = new ArrayList<>();
+        JavaNgrokException failure = null;
+        for (final Map.Entry<Shard, CompletableFuture<List<Tunnel>>> entry : futures.entrySet()) {
+            final Shard shard = entry.getKey();
+            try {
+                final List<Tunnel> shardTunnels = entry.getValue().join();
+
+                clearShard(shard);
+                for (final Tunnel tunnel : shardTunnels) {
+                    if (nonNull(tunnel.getPublicUrl())) {
+                        shard.tunnels.put(tunnel.getPublicUrl(), tunnel);
+                        owners.put(tunnel.getPublicUrl(), shard);
+                    }
+                }
+                tunnels.addAll(shardTunnels);
+            } catch (final CompletionException e) {
+                if (isNull(failure)) {
+                    failure = new JavaNgrokException("An error occurred while getting the tunnels from a shard.",
+                        e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+
+        if (nonNull(failure)) {
+            throw failure;
+        }
+
+        tunnels.sort(Comparator.comparing(t -> nonNull(t.getProto()) ? t.getProto() : ""));
+        return List.copyOf(tunnels);
+    }
+
+    /**
+     * Terminate every shard's <code>ngrok</code> process, if running, and shut down the pool's threads. The pool
+     * can't be used once it's killed. See {@link NgrokClient#kill()}.
+     */
+    public void kill() {
+        for (final Shard shard : shards) {
+            shard.ngrokClient.kill();
+
+            clearShard(shard);
+        }
+
+        executor.shutdown();
+    }
+
+    /**
+     * Get the pool's shards.
+     */
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Get the strategy used to place new tunnels on shards.
+     */
+    public TunnelPlacementStrategy getPlacementStrategy() {
+        return placementStrategy;
+    }
+
+    private static Path getShardPath(final Path path,
+                                     final int index) {
+        return getSuffixedPath(path, String.format("shard-%s", index));
+    }
+
+    /**
+     * Get a sibling of the given file with the given suffix appended to its name, before its extension, ex.
+     * <code>tunnels-shard-0.json</code>, so an additional agent does not share it.
+     */
+    static Path getSuffixedPath(final Path path,
+                                final String suffix) {
+        final String fileName = path.getFileName().toString();
+        final int extension = fileName.lastIndexOf('.');
+
+        return path.resolveSibling(extension > 0
+            ? String.format("%s-%s%s", fileName.substring(0, extension), suffix, fileName.substring(extension))
+            : String.format("%s-%s", fileName, suffix));
+    }
+
+    /**
+     * Generate a config for an additional <code>ngrok</code> agent at the given path, copied from the base config's
+     * {@link JavaNgrokConfig#getConfigPath()} (if it exists) with its <code>web_addr</code> replaced.
+     */
+    static void installAgentConfig(final NgrokInstaller ngrokInstaller,
+                                   final JavaNgrokConfig javaNgrokConfig,
+                                   final Path configPath,
+                                   final String webAddr) {
+        final Map<String, Object> data = new HashMap<>();
+        if (Files.exists(javaNgrokConfig.getConfigPath())) {
+            data.putAll(ngrokInstaller.getNgrokConfig(javaNgrokConfig.getConfigPath(), false,
+                javaNgrokConfig.getNgrokVersion(), javaNgrokConfig.getConfigVersion()));
+        }
+
+        if (javaNgrokConfig.getConfigVersion() == ConfigVersion.V3) {
+            final Map<String, Object> agent = new HashMap<>();
+            if (data.get("agent") instanceof Map) {
+                ((Map<?, ?>) data.get("agent")).forEach((key, value) -> agent.put(String.valueOf(key), value));
+            }
+            agent.put("web_addr", webAddr);
+            data.put("agent", agent);
+        } else {
+            data.put("web_addr", webAddr);
+        }
+
+        try {
+            // Regenerate from scratch, so settings removed from the base config don't linger
+            Files.deleteIfExists(configPath);
+        } catch (final IOException e) {
+            throw new JavaNgrokException(String.format("An error occurred removing the stale config %s.",
+                configPath), e);
+        }
+
+        ngrokInstaller.installDefaultConfig(configPath, data, javaNgrokConfig.getNgrokVersion(),
+            javaNgrokConfig.getConfigVersion());
+    }
+
+    private void clearShard(final Shard shard) {
+        for (final String publicUrl : shard.tunnels.keySet()) {
+            owners.remove(publicUrl, shard);
+        }
+        shard.tunnels.clear();
+    }
+
+    /**
+     * A single <code>ngrok</code> process in a {@link NgrokClientPool}, and the tunnels the pool has placed on it.
+     */
+    public static class Shard {
+
+        private final int index;
+        private final NgrokClient ngrokClient;
+        private final Map<String, Tunnel> tunnels = new ConcurrentHashMap<>();
+
+        Shard(final int index,
+              final NgrokClient ngrokClient) {
+            this.index = index;
+            this.ngrokClient = ngrokClient;
+        }
+
+        /**
+         * Get the shard's index in the pool.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Get the client managing the shard's <code>ngrok</code> process.
+         */
+        public NgrokClient getNgrokClient() {
+            return ngrokClient;
+        }
+
+        /**
+         * Get the number of tunnels open on the shard.
+         */
+        public int getTunnelCount() {
+            return tunnels.size();
+        }
+
+        /**
+         * Get the number of connections open on the shard, the sum of its tunnels' last known <code>conns</code>
+         * {@link Tunnel.Metrics#getGauge()}. Metrics are updated by {@link NgrokClientPool#getTunnels()} and
+         * {@link NgrokClientPool#refreshMetrics(Tunnel)}.
+         */
+        public long getGauge() {
+            long gauge = 0;
+            for (final Tunnel tunnel : tunnels.values()) {
+                if (nonNull(tunnel.getMetrics()) && nonNull(tunnel.getMetrics().get("conns"))) {
+                    gauge += tunnel.getMetrics().get("conns").getGauge();
+                }
+            }
+
+            return gauge;
+        }
+
+        /**
+         * Get the tunnels open on the shard.
+         */
+        public List<Tunnel> getTunnels() {
+            return List.copyOf(tunnels.values());
+        }
+    }
+
+    /**
+     * Builder for a {@link NgrokClientPool}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final List<Shard> shards = new ArrayList<>();
+
+        private JavaNgrokConfig javaNgrokConfig;
+        private int shardCount = 2;
+        private int baseWebPort = 4040;
+        private Path configDirectory;
+        private TunnelPlacementStrategy placementStrategy;
+        private NgrokInstaller ngrokInstaller;
+        private HttpClient httpClient;
+
+        /**
+         * The <code>java-ngrok</code> config on which each shard's config is based.
+         */
+        public Builder withJavaNgrokConfig(final JavaNgrokConfig javaNgrokConfig) {
+            this.javaNgrokConfig = Objects.requireNonNull(javaNgrokConfig);
+            return this;
+        }
+
+        /**
+         * The number of shards, defaults to 2.
+         */
+        public Builder withShards(final int shardCount) {
+            if (shardCount < 1) {
+                throw new IllegalArgumentException("\"shardCount\" must be at least 1");
+            }
+
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * The web port of the first shard, each subsequent shard is given the next port. Defaults to 4040.
+         */
+        public Builder withBaseWebPort(final int baseWebPort) {
+            if (baseWebPort < 1 || baseWebPort > 65535) {
+                throw new IllegalArgumentException("\"baseWebPort\" must be a valid port");
+            }
+
+            this.baseWebPort = baseWebPort;
+            return this;
+        }
+
+        /**
+         * The directory in which each shard's config is generated. Defaults to the directory of
+         * {@link JavaNgrokConfig#getConfigPath()}.
+         */
+        public Builder withConfigDirectory(final Path configDirectory) {
+            this.configDirectory = Objects.requireNonNull(configDirectory);
+            return this;
+        }
+
+        /**
+         * The strategy used to place new tunnels on shards, defaults to
+         * {@link TunnelPlacementStrategy#leastTunnels()}.
+         */
+        public Builder withPlacementStrategy(final TunnelPlacementStrategy placementStrategy) {
+            this.placementStrategy = Objects.requireNonNull(placementStrategy);
+            return this;
+        }
+
+        /**
+         * The class used to download and install <code>ngrok</code>.
+         */
+        public Builder withNgrokInstaller(final NgrokInstaller ngrokInstaller) {
+            this.ngrokInstaller = Objects.requireNonNull(ngrokInstaller);
+            return this;
+        }
+
+        /**
+         * The class used to make HTTP requests to <code>ngrok</code>'s APIs.
+         */
+        public Builder withHttpClient(final HttpClient httpClient) {
+            this.httpClient = Objects.requireNonNull(httpClient);
+            return this;
+        }
+
+        /**
+         * Build the {@link NgrokClientPool}, generating each shard's config.
+         *
+         * @throws IllegalArgumentException The shards' web ports would exceed the valid range.
+         * @throws JavaNgrokException       A shard's config could not be generated.
+         */
+        public NgrokClientPool build() {
+            if (baseWebPort + shardCount - 1 > 65535) {
+                throw new IllegalArgumentException("\"baseWebPort\" plus \"shardCount\" exceeds the valid port range");
+            }
+
+            if (isNull(javaNgrokConfig)) {
+                javaNgrokConfig = new JavaNgrokConfig.Builder().build();
+            }
+            if (isNull(configDirectory)) {
+                configDirectory = javaNgrokConfig.getConfigPath().toAbsolutePath().getParent();
+            }
+            if (isNull(placementStrategy)) {
+                placementStrategy = TunnelPlacementStrategy.leastTunnels();
+            }
+            if (isNull(ngrokInstaller)) {
+                ngrokInstaller = new NgrokInstaller();
+            }
+            if (isNull(httpClient)) {
+                httpClient = new DefaultHttpClient.Builder().build();
+            }
+
+            shards.clear();
+            for (int i = 0; i < shardCount; ++i) {
+                final Path configPath = configDirectory.resolve(String.format("ngrok-shard-%s.yml", i));
+                installAgentConfig(ngrokInstaller, javaNgrokConfig, configPath,
+                    String.format("127.0.0.1:%s", baseWebPort + i));
+
+                final JavaNgrokConfig.Builder shardConfigBuilder = new JavaNgrokConfig.Builder(javaNgrokConfig)
+                    .withConfigPath(configPath)
+                    .withLockFilePath(configDirectory.resolve(String.format("java-ngrok-shard-%s.lock", i)));
+                // Each shard needs its own spool and state file, and only one can start the same boot tunnels
+                if (nonNull(javaNgrokConfig.getLogSpoolPath())) {
+                    shardConfigBuilder.withLogSpoolPath(javaNgrokConfig.getLogSpoolPath()
+                                                                       .resolve(String.format("shard-%s", i)));
+                }
+                if (nonNull(javaNgrokConfig.getTunnelStatePath())) {
+                    shardConfigBuilder.withTunnelStatePath(getShardPath(javaNgrokConfig.getTunnelStatePath(), i));
+                }
+                if (i > 0) {
+                    shardConfigBuilder.withBootTunnels(List.of());
+                }
+                final JavaNgrokConfig shardConfig = shardConfigBuilder.build();
+
+                shards.add(new Shard(i, new NgrokClient.Builder()
+                    .withJavaNgrokConfig(shardConfig)
+                    .withNgrokInstaller(ngrokInstaller)
+                    .withHttpClient(httpClient)
+                    .build()));
+            }
+
+            return new NgrokClientPool(this);
+        }
+    }
+}
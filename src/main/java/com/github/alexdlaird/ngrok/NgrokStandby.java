@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps a warm standby <code>ngrok</code> process alongside a primary {@link NgrokClient}'s, so that if the primary
+ * exits without being stopped, failover is instant rather than waiting on a restart and re-creating every tunnel.
+ *
+ * <p>Tunnels opened with {@link #connect(CreateTunnel)} are opened on both processes as pooled endpoints (see
+ * {@link CreateTunnel#isPoolingEnabled()}), so <code>ngrok</code> balances traffic between them while both are up and
+ * keeps serving from the standby when the primary goes away. Pooling requires a v3 endpoint with a fixed
+ * <code>url</code> or <code>domain</code>. When the active process exits, the standby is promoted to active (see
+ * {@link #getActive()}), and the exited process is restarted and its tunnels re-created in the background to become
+ * the new standby.
+ *
+ * <pre>
+ * final NgrokClient ngrokClient = new NgrokClient.Builder().build();
+ * final NgrokStandby ngrokStandby = new NgrokStandby.Builder(ngrokClient)
+ *     .withStandbyWebPort(4041)
+ *     .build();
+ *
+ * ngrokStandby.connect(new CreateTunnel.Builder()
+ *     .withUrl("https://my-domain.ngrok.dev")
+ *     .withUpstream("http://localhost:8000")
+ *     .build());
+ * </pre>
+ *
+ * <p>Do not also supervise the clients with a {@link NgrokSupervisor}, as both would try to recover the same process.
+ * Call {@link #close()} to stop managing the standby, which leaves both processes as they are.
+ */
+public class NgrokStandby implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NgrokStandby.class);
+
+    private final List<Listener> listeners;
+    private final Duration retryInterval;
+    private final Map<String, CreateTunnel> createTunnels = new HashMap<>();
+    private final Map<NgrokClient, IntConsumer> exitListeners = new IdentityHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ngrok-standby");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile NgrokClient active;
+    private volatile NgrokClient standby;
+    private volatile boolean standbyReady;
+    private volatile boolean closed;
+
+    private NgrokStandby(final Builder builder) {
+        this.active = builder.ngrokClient;
+        this.standby = builder.standbyNgrokClient;
+        this.listeners = new CopyOnWriteArrayList<>(builder.listeners);
+        this.retryInterval = builder.retryInterval;
+
+        watch(active);
+        watch(standby);
+    }
+
+    /**
+     * Get the client whose <code>ngrok</code> process is currently active. This changes when the standby is promoted.
+     */
+    public NgrokClient getActive() {
+        return active;
+    }
+
+    /**
+     * Get the client whose <code>ngrok</code> process is currently the standby.
+     */
+    public NgrokClient getStandby() {
+        return standby;
+    }
+
+    /**
+     * Whether the standby is running and mirrors every tunnel, so it is ready to be promoted.
+     */
+    public boolean isStandbyReady() {
+        return standbyReady;
+    }
+
+    /**
+     * Add a listener to be notified of standby events.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(final Listener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Establish a new pooled <code>ngrok</code> tunnel on the active process and, if it is ready, mirror it on the
+     * standby. See {@link NgrokClient#connect(CreateTunnel)}.
+     *
+     * @param createTunnel The tunnel definition, which is opened with pooling enabled.
+     * @return The tunnel created on the active process.
+     * @throws IllegalArgumentException The tunnel definition has neither a <code>url</code> nor a <code>domain</code>,
+     *                                  so the standby could not share its endpoint.
+     */
+    public Tunnel connect(final CreateTunnel createTunnel) {
+        // Only an endpoint with a fixed URL can be pooled, otherwise the mirror would get a different public URL
+        if (isNull(createTunnel.getUrl()) && isNull(createTunnel.getDomain())) {
+            throw new IllegalArgumentException("\"createTunnel\" must have a \"url\" or \"domain\" to be mirrored "
+                                               + "on the standby.");
+        }
+
+        final CreateTunnel pooled = new CreateTunnel.Builder(createTunnel)
+            .withPoolingEnabled(true)
+            .build();
+
+        final Tunnel tunnel = active.connect(pooled);
+
+        final NgrokClient mirror;
+        synchronized (this) {
+            if (nonNull(tunnel.getPublicUrl())) {
+                createTunnels.put(tunnel.getPublicUrl(), pooled);
+            }
+            mirror = standbyReady ? standby : null;
+        }
+
+        if (nonNull(mirror)) {
+            try {
+                mirror.connect(pooled);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("An error occurred mirroring a tunnel on the standby, it will be rebuilt", e);
+                standbyLost(mirror);
+            }
+        }
+
+        return tunnel;
+    }
+
+    /**
+     * Disconnect the <code>ngrok</code> tunnel for the given URL from both the active and standby processes.
+     *
+     * @param publicUrl The public URL of the tunnel to disconnect.
+     */
+    public void disconnect(final String publicUrl) {
+        synchronized (this) {
+            createTunnels.remove(publicUrl);
+        }
+
+        active.disconnect(publicUrl);
+
+        final NgrokClient mirror = standby;
+        if (mirror.getNgrokProcess().isRunning()) {
+            try {
+                mirror.disconnect(publicUrl);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("An error occurred disconnecting a tunnel from the standby, it will be rebuilt", e);
+                standbyLost(mirror);
+            }
+        }
+    }
+
+    /**
+     * Terminate both the active and standby <code>ngrok</code> processes, and stop managing the standby.
+     */
+    public void kill() {
+        close();
+
+        active.kill();
+        standby.kill();
+    }
+
+    /**
+     * Stop managing the standby. Both <code>ngrok</code> processes are left as they are.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            exitListeners.forEach((ngrokClient, exitListener) ->
+                ngrokClient.getNgrokProcess().removeExitListener(exitListener));
+            exitListeners.clear();
+        }
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void watch(final NgrokClient ngrokClient) {
+        final IntConsumer exitListener = exitCode -> processExited(ngrokClient, exitCode);
+        exitListeners.put(ngrokClient, exitListener);
+        ngrokClient.getNgrokProcess().addExitListener(exitListener);
+    }
+
+    private void processExited(final NgrokClient ngrokClient,
+                               final int exitCode) {
+        if (closed) {
+            return;
+        }
+
+        final NgrokClient promoted;
+        synchronized (this) {
+            if (ngrokClient == active && standbyReady) {
+                active = standby;
+                standby = ngrokClient;
+                standbyReady = false;
+                promoted = active;
+
+                LOGGER.warn("Active ngrok process exited with code {}, promoted the standby", exitCode);
+            } else if (ngrokClient == active) {
+                LOGGER.warn("Active ngrok process exited with code {}, but no standby was ready", exitCode);
+                scheduleRecover(Duration.ZERO);
+
+                return;
+            } else {
+                LOGGER.warn("Standby ngrok process exited with code {}, it will be rebuilt", exitCode);
+                standbyReady = false;
+                promoted = null;
+            }
+        }
+
+        if (nonNull(promoted)) {
+            publish(listener -> listener.onPromoted(promoted));
+        }
+
+        scheduleRebuild(Duration.ZERO);
+    }
+
+    private synchronized void standbyLost(final NgrokClient ngrokClient) {
+        if (ngrokClient == standby && standbyReady) {
+            standbyReady = false;
+            scheduleRebuild(Duration.ZERO);
+        }
+    }
+
+    private void scheduleRebuild(final Duration delay) {
+        schedule(this::rebuild, delay);
+    }
+
+    private void scheduleRecover(final Duration delay) {
+        schedule(this::recover, delay);
+    }
+
+    private void schedule(final Runnable task,
+                          final Duration delay) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            scheduler.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Standby was closed before a task could be scheduled");
+        }
+    }
+
+    private void rebuild() {
+        if (closed) {
+            return;
+        }
+
+        final NgrokClient ngrokClient = standby;
+        try {
+            ngrokClient.getNgrokProcess().start();
+
+            // Mirror every tunnel, looping in case more were connected while the standby was being rebuilt
+            final Map<String, CreateTunnel> mirrored = new HashMap<>();
+            while (true) {
+                final List<Map.Entry<String, CreateTunnel>> missing = new ArrayList<>();
+                synchronized (this) {
+                    for (final Map.Entry<String, CreateTunnel> entry : createTunnels.entrySet()) {
+                        if (mirrored.get(entry.getKey()) != entry.getValue()) {
+                            missing.add(Map.entry(entry.getKey(), entry.getValue()));
+                        }
+                    }
+
+                    if (missing.isEmpty()) {
+                        if (closed || ngrokClient != standby) {
+                            return;
+                        }
+
+                        standbyReady = true;
+                        break;
+                    }
+                }
+
+                for (final Map.Entry<String, CreateTunnel> entry : missing) {
+                    ngrokClient.connect(entry.getValue());
+                    mirrored.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            LOGGER.info("Standby ngrok process is ready with {} tunnels", mirrored.size());
+            publish(listener -> listener.onStandbyReady(ngrokClient));
+        } catch (final RuntimeException e) {
+            LOGGER.warn("An error occurred while rebuilding the standby ngrok process", e);
+            publish(listener -> listener.onStandbyFailed(e));
+
+            scheduleRebuild(retryInterval);
+        }
+    }
+
+    private void recover() {
+        if (closed) {
+            return;
+        }
+
+        final NgrokClient ngrokClient = active;
+        try {
+            ngrokClient.getNgrokProcess().start();
+
+            final List<CreateTunnel> toRecover;
+            synchronized (this) {
+                toRecover = List.copyOf(createTunnels.values());
+            }
+            for (final CreateTunnel createTunnel : toRecover) {
+                ngrokClient.connect(createTunnel);
+            }
+
+            LOGGER.info("Active ngrok process was restarted with {} tunnels", toRecover.size());
+        } catch (final RuntimeException e) {
+            LOGGER.warn("An error occurred while restarting the active ngrok process", e);
+            publish(listener -> listener.onStandbyFailed(e));
+
+            scheduleRecover(retryInterval);
+        }
+    }
+
+    private void publish(final Consumer<Listener> event) {
+        for (final Listener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("An error occurred in a standby listener", e);
+            }
+        }
+    }
+
+    /**
+     * A listener for standby events. Events are delivered on a background thread, and all methods default to doing
+     * nothing.
+     */
+    public interface Listener {
+
+        /**
+         * The active <code>ngrok</code> process exited, and the standby was promoted in its place.
+         *
+         * @param active The newly active client.
+         */
+        default void onPromoted(final NgrokClient active) {
+        }
+
+        /**
+         * The standby <code>ngrok</code> process is running and mirrors every tunnel.
+         *
+         * @param standby The standby client.
+         */
+        default void onStandbyReady(final NgrokClient standby) {
+        }
+
+        /**
+         * Starting a <code>ngrok</code> process, or re-creating its tunnels, failed. It will be retried.
+         *
+         * @param cause The cause.
+         */
+        default void onStandbyFailed(final Throwable cause) {
+        }
+    }
+
+    /**
+     * Builder for a {@link NgrokStandby}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final NgrokClient ngrokClient;
+        private final List<Listener> listeners = new ArrayList<>();
+
+        private NgrokClient standbyNgrokClient;
+        private int standbyWebPort = 4041;
+        private Duration retryInterval = Duration.ofSeconds(5);
+
+        /**
+         * Construct a builder for a standby of the given primary client.
+         *
+         * @param ngrokClient The primary client.
+         */
+        public Builder(final NgrokClient ngrokClient) {
+            this.ngrokClient = Objects.requireNonNull(ngrokClient);
+        }
+
+        /**
+         * The client to use as the standby. If not given, one is built from the primary's {@link JavaNgrokConfig},
+         * with a generated <code>ngrok-standby.yml</code> config alongside the primary's, whose <code>web_addr</code>
+         * uses {@link #withStandbyWebPort(int)}.
+         */
+        public Builder withStandbyNgrokClient(final NgrokClient standbyNgrokClient) {
+            this.standbyNgrokClient = Objects.requireNonNull(standbyNgrokClient);
+            return this;
+        }
+
+        /**
+         * The web port of the generated standby config, defaults to 4041.
+         */
+        public Builder withStandbyWebPort(final int standbyWebPort) {
+            if (standbyWebPort < 1 || standbyWebPort > 65535) {
+                throw new IllegalArgumentException("\"standbyWebPort\" must be a valid port");
+            }
+
+            this.standbyWebPort = standbyWebPort;
+            return this;
+        }
+
+        /**
+         * The interval between attempts to rebuild a process that failed, defaults to 5 seconds.
+         */
+        public Builder withRetryInterval(final Duration retryInterval) {
+            if (retryInterval.isNegative()) {
+                throw new IllegalArgumentException("\"retryInterval\" cannot be negative");
+            }
+
+            this.retryInterval = retryInterval;
+            return this;
+        }
+
+        /**
+         * A listener to be notified of standby events.
+         */
+        public Builder withListener(final Listener listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
+        /**
+         * Build the {@link NgrokStandby}. The standby <code>ngrok</code> process is started in the background.
+         */
+        public NgrokStandby build() {
+            if (isNull(standbyNgrokClient)) {
+                final JavaNgrokConfig javaNgrokConfig = ngrokClient.getJavaNgrokConfig();
+                final Path configDirectory = javaNgrokConfig.getConfigPath().toAbsolutePath().getParent();
+                final Path configPath = configDirectory.resolve("ngrok-standby.yml");
+                NgrokClientPool.installAgentConfig(ngrokClient.getNgrokProcess().getNgrokInstaller(),
+                    javaNgrokConfig, configPath, String.format("127.0.0.1:%s", standbyWebPort));
+
+                final JavaNgrokConfig.Builder standbyConfigBuilder = new JavaNgrokConfig.Builder(javaNgrokConfig)
+                    .withConfigPath(configPath)
+                    .withLockFilePath(configDirectory.resolve("java-ngrok-standby.lock"))
+                    .withBootTunnels(List.of());
+                // The standby needs its own spool and state file, and must not start the primary's boot tunnels
+                if (nonNull(javaNgrokConfig.getLogSpoolPath())) {
+                    standbyConfigBuilder.withLogSpoolPath(javaNgrokConfig.getLogSpoolPath().resolve("standby"));
+                }
+                if (nonNull(javaNgrokConfig.getTunnelStatePath())) {
+                    standbyConfigBuilder.withTunnelStatePath(NgrokClientPool.getSuffixedPath(
+                        javaNgrokConfig.getTunnelStatePath(), "standby"));
+                }
+
+                standbyNgrokClient = new NgrokClient.Builder()
+                    .withJavaNgrokConfig(standbyConfigBuilder.build())
+                    .withNgrokInstaller(ngrokClient.getNgrokProcess().getNgrokInstaller())
+                    .withHttpClient(ngrokClient.getHttpClient())
+                    .build();
+            }
+
+            final NgrokStandby ngrokStandby = new NgrokStandby(this);
+            ngrokStandby.scheduleRebuild(Duration.ZERO);
+
+            return ngrokStandby;
+        }
+    }
+}
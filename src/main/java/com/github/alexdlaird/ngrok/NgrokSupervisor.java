@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Supervises a {@link NgrokClient}'s <code>ngrok</code> process, restarting it when it exits without being stopped
+ * (for instance, if it crashes or is killed externally) and then re-creating every tunnel that was open from its
+ * original {@link CreateTunnel}, see {@link NgrokClient#restoreTunnels()}. Restarts, and retries of tunnels that
+ * could not be re-created, are governed by a {@link RestartPolicy}, and {@link Listener}s are notified of each step.
+ *
+ * <pre>
+ * final NgrokClient ngrokClient = new NgrokClient.Builder().build();
+ * final NgrokSupervisor ngrokSupervisor = new NgrokSupervisor.Builder(ngrokClient)
+ *     .withRestartPolicy(new NgrokSupervisor.RestartPolicy.Builder()
+ *         .withMaxRestarts(3)
+ *         .withWindow(Duration.ofMinutes(1))
+ *         .build())
+ *     .withListener(new NgrokSupervisor.Listener() {
+ *         &#64;Override
+ *         public void onRestored(final List&lt;Tunnel&gt; tunnels) {
+ *             // Publish the new public URLs
+ *         }
+ *     })
+ *     .build();
+ * </pre>
+ *
+ * <p>Call {@link #close()} to stop supervising, which does not stop the <code>ngrok</code> process.
+ */
+public class NgrokSupervisor implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NgrokSupervisor.class);
+
+    private final NgrokClient ngrokClient;
+    private final RestartPolicy restartPolicy;
+    private final List<Listener> listeners;
+    private final LongSupplier nanoTime;
+    private final IntConsumer exitListener = this::processExited;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ngrok-supervisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Deque<Long> restarts = new ArrayDeque<>();
+    private int attempt;
+    private volatile boolean closed;
+
+    private NgrokSupervisor(final Builder builder) {
+        this.ngrokClient = builder.ngrokClient;
+        this.restartPolicy = builder.restartPolicy;
+        this.listeners = new CopyOnWriteArrayList<>(builder.listeners);
+        this.nanoTime = builder.nanoTime;
+
+        ngrokClient.getNgrokProcess().addExitListener(exitListener);
+    }
+
+    /**
+     * Get the client being supervised.
+     */
+    public NgrokClient getNgrokClient() {
+        return ngrokClient;
+    }
+
+    /**
+     * Get the policy governing restarts.
+     */
+    public RestartPolicy getRestartPolicy() {
+        return restartPolicy;
+    }
+
+    /**
+     * Add a listener to be notified of supervision events.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(final Listener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Stop supervising the <code>ngrok</code> process. The process itself is left as it is.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        ngrokClient.getNgrokProcess().removeExitListener(exitListener);
+        scheduler.shutdownNow();
+    }
+
+    private void processExited(final int exitCode) {
+        if (closed) {
+            return;
+        }
+
+        LOGGER.warn("ngrok process exited with code {}, supervisor will restart it", exitCode);
+        publish(listener -> listener.onExit(exitCode));
+
+        scheduleRestart();
+    }
+
+    private synchronized void scheduleRestart() {
+        if (closed) {
+            return;
+        }
+
+        final long now = nanoTime.getAsLong();
+        while (!restarts.isEmpty() && now - restarts.peekFirst() >= restartPolicy.getWindow().toNanos()) {
+            restarts.removeFirst();
+        }
+        if (restarts.size() >= restartPolicy.getMaxRestarts()) {
+            LOGGER.error("ngrok process was restarted {} times in {}, supervisor is giving up",
+                restarts.size(), restartPolicy.getWindow());
+            publish(Listener::onGaveUp);
+
+            return;
+        }
+        restarts.addLast(now);
+
+        final Duration backoff = restartPolicy.getBackoff(attempt);
+        ++attempt;
+        try {
+            scheduler.schedule(this::restart, backoff.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Supervisor was closed before a restart could be scheduled");
+        }
+    }
+
+    private void restart() {
+        if (closed) {
+            return;
+        }
+
+        final int restartAttempt;
+        synchronized (this) {
+            restartAttempt = attempt;
+        }
+        publish(listener -> listener.onRestarting(restartAttempt));
+
+        final NgrokProcess ngrokProcess = ngrokClient.getNgrokProcess();
+        try {
+            ngrokProcess.start();
+            final List<Tunnel> tunnels = ngrokClient.restoreTunnels();
+
+            synchronized (this) {
+                attempt = 0;
+            }
+            LOGGER.info("ngrok process was restarted and {} tunnels were restored", tunnels.size());
+            publish(listener -> listener.onRestored(tunnels));
+        } catch (final RuntimeException e) {
+            LOGGER.warn("An error occurred while restarting the ngrok process", e);
+            publish(listener -> listener.onRestartFailed(e));
+
+            // If the process came up but some tunnels failed, the retry leaves the process running and only
+            // re-creates the tunnels that are still missing
+            scheduleRestart();
+        }
+    }
+
+    private void publish(final Consumer<Listener> event) {
+        for (final Listener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("An error occurred in a supervisor listener", e);
+            }
+        }
+    }
+
+    /**
+     * A listener for supervision events. Events are delivered on a background thread, and all methods default to
+     * doing nothing.
+     */
+    public interface Listener {
+
+        /**
+         * The <code>ngrok</code> process exited without being stopped.
+         *
+         * @param exitCode The process's exit code.
+         */
+        default void onExit(final int exitCode) {
+        }
+
+        /**
+         * The <code>ngrok</code> process is about to be restarted.
+         *
+         * @param attempt The number of consecutive restart attempts, starting at <code>1</code>.
+         */
+        default void onRestarting(final int attempt) {
+        }
+
+        /**
+         * The <code>ngrok</code> process was restarted, and its tunnels were re-created.
+         *
+         * @param tunnels The re-created tunnels.
+         */
+        default void onRestored(final List<Tunnel> tunnels) {
+        }
+
+        /**
+         * Restarting the <code>ngrok</code> process, or re-creating its tunnels, failed. The attempt is retried, as
+         * governed by the {@link RestartPolicy}.
+         *
+         * @param cause The cause.
+         */
+        default void onRestartFailed(final Throwable cause) {
+        }
+
+        /**
+         * The {@link RestartPolicy}'s max restarts were reached, so the <code>ngrok</code> process will not be
+         * restarted again until it next exits after the window has passed.
+         */
+        default void onGaveUp() {
+        }
+    }
+
+    /**
+     * The policy governing when {@link NgrokSupervisor} restarts <code>ngrok</code>: an exponential backoff between
+     * consecutive attempts, and a max number of restarts within a sliding window.
+     */
+    public static class RestartPolicy {
+
+        private final Duration initialBackoff;
+        private final Duration maxBackoff;
+        private final double multiplier;
+        private final int maxRestarts;
+        private final Duration window;
+
+        private RestartPolicy(final Builder builder) {
+            this.initialBackoff = builder.initialBackoff;
+            this.maxBackoff = builder.maxBackoff;
+            this.multiplier = builder.multiplier;
+            this.maxRestarts = builder.maxRestarts;
+            this.window = builder.window;
+        }
+
+        /**
+         * Get the backoff before the first restart attempt.
+         */
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        /**
+         * Get the max backoff between restart attempts.
+         */
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        /**
+         * Get the multiplier applied to the backoff after each consecutive failed attempt.
+         */
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        /**
+         * Get the max number of restarts within {@link #getWindow()}.
+         */
+        public int getMaxRestarts() {
+            return maxRestarts;
+        }
+
+        /**
+         * Get the sliding window in which restarts are counted.
+         */
+        public Duration getWindow() {
+            return window;
+        }
+
+        /**
+         * Get the backoff before the given restart attempt.
+         *
+         * @param attempt The number of consecutive attempts so far, starting at <code>0</code>.
+         * @return The backoff.
+         */
+        public Duration getBackoff(final int attempt) {
+            final double nanos = initialBackoff.toNanos() * Math.pow(multiplier, attempt);
+            if (nanos >= maxBackoff.toNanos()) {
+                return maxBackoff;
+            }
+
+            return Duration.ofNanos((long) nanos);
+        }
+
+        /**
+         * Builder for a {@link RestartPolicy}.
+         */
+        public static class Builder {
+
+            private Duration initialBackoff = Duration.ofSeconds(1);
+            private Duration maxBackoff = Duration.ofSeconds(30);
+            private double multiplier = 2;
+            private int maxRestarts = 5;
+            private Duration window = Duration.ofMinutes(5);
+
+            /**
+             * The backoff before the first restart attempt, defaults to 1 second.
+             *
+             * @throws IllegalArgumentException The argument was invalid.
+             */
+            public Builder withInitialBackoff(final Duration initialBackoff) {
+                if (initialBackoff.isNegative()) {
+                    throw new IllegalArgumentException("\"initialBackoff\" cannot be negative.");
+                }
+
+                this.initialBackoff = initialBackoff;
+                return this;
+            }
+
+            /**
+             * The max backoff between restart attempts, defaults to 30 seconds.
+             *
+             * @throws IllegalArgumentException The argument was invalid.
+             */
+            public Builder withMaxBackoff(final Duration maxBackoff) {
+                if (maxBackoff.isNegative()) {
+                    throw new IllegalArgumentException("\"maxBackoff\" cannot be negative.");
+                }
+
+                this.maxBackoff = maxBackoff;
+                return this;
+            }
+
+            /**
+             * The multiplier applied to the backoff after each consecutive failed attempt, defaults to 2.
+             *
+             * @throws IllegalArgumentException The argument was invalid.
+             */
+            public Builder withMultiplier(final double multiplier) {
+                if (multiplier < 1) {
+                    throw new IllegalArgumentException("\"multiplier\" must be at least 1.");
+                }
+
+                this.multiplier = multiplier;
+                return this;
+            }
+
+            /**
+             * The max number of restarts within the window, after which the supervisor gives up, defaults to 5.
+             *
+             * @throws IllegalArgumentException The argument was invalid.
+             */
+            public Builder withMaxRestarts(final int maxRestarts) {
+                if (maxRestarts < 1) {
+                    throw new IllegalArgumentException("\"maxRestarts\" must be greater than 0.");
+                }
+
+                this.maxRestarts = maxRestarts;
+                return this;
+            }
+
+            /**
+             * The sliding window in which restarts are counted, defaults to 5 minutes.
+             *
+             * @throws IllegalArgumentException The argument was invalid.
+             */
+            public Builder withWindow(final Duration window) {
+                if (window.isNegative() || window.isZero()) {
+                    throw new IllegalArgumentException("\"window\" must be positive.");
+                }
+
+                this.window = window;
+                return this;
+            }
+
+            /**
+             * Build the {@link RestartPolicy}.
+             */
+            public RestartPolicy build() {
+                return new RestartPolicy(this);
+            }
+        }
+    }
+
+    /**
+     * Builder for a {@link NgrokSupervisor}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final NgrokClient ngrokClient;
+        private final List<Listener> listeners = new ArrayList<>();
+        private RestartPolicy restartPolicy;
+        private LongSupplier nanoTime = System::nanoTime;
+
+        /**
+         * Construct a NgrokSupervisor Builder for the given client.
+         *
+         * @param ngrokClient The client to supervise.
+         */
+        public Builder(final NgrokClient ngrokClient) {
+            this.ngrokClient = Objects.requireNonNull(ngrokClient);
+        }
+
+        /**
+         * The policy governing restarts, defaults to {@link RestartPolicy.Builder}'s defaults.
+         */
+        public Builder withRestartPolicy(final RestartPolicy restartPolicy) {
+            this.restartPolicy = Objects.requireNonNull(restartPolicy);
+            return this;
+        }
+
+        /**
+         * A listener to be notified of supervision events.
+         */
+        public Builder withListener(final Listener listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
+        /**
+         * The time source, in nanoseconds, used to count restarts within the window.
+         */
+        public Builder withNanoTime(final LongSupplier nanoTime) {
+            this.nanoTime = Objects.requireNonNull(nanoTime);
+            return this;
+        }
+
+        /**
+         * Build the {@link NgrokSupervisor}, which begins supervising immediately.
+         */
+        public NgrokSupervisor build() {
+            if (isNull(restartPolicy)) {
+                restartPolicy = new RestartPolicy.Builder().build();
+            }
+
+            return new NgrokSupervisor(this);
+        }
+    }
+}
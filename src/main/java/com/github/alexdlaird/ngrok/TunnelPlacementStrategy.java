@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Decides which of a {@link NgrokClientPool}'s shards a new tunnel is placed on. Implementations must be safe to call
+ * from multiple threads.
+ */
+public interface TunnelPlacementStrategy {
+
+    /**
+     * Choose the shard on which to open the given tunnel.
+     *
+     * @param createTunnel The tunnel definition.
+     * @param shards       The pool's shards, of which there is at least one.
+     * @return The index of the chosen shard in <code>shards</code>.
+     */
+    int place(CreateTunnel createTunnel, List<NgrokClientPool.Shard> shards);
+
+    /**
+     * Place each tunnel on the shard with the fewest open tunnels.
+     *
+     * @return The strategy.
+     */
+    static TunnelPlacementStrategy leastTunnels() {
+        return (createTunnel, shards) -> {
+            int chosen = 0;
+            for (int i = 1; i < shards.size(); ++i) {
+                if (shards.get(i).getTunnelCount() < shards.get(chosen).getTunnelCount()) {
+                    chosen = i;
+                }
+            }
+
+            return chosen;
+        };
+    }
+
+    /**
+     * Place each tunnel on the shard with the fewest open connections, as last reported by its tunnels'
+     * <code>conns</code> {@link com.github.alexdlaird.ngrok.protocol.Tunnel.Metrics#getGauge()}, breaking ties by the
+     * fewest open tunnels.
+     *
+     * @return The strategy.
+     */
+    static TunnelPlacementStrategy leastGauge() {
+        return (createTunnel, shards) -> {
+            int chosen = 0;
+            for (int i = 1; i < shards.size(); ++i) {
+                final NgrokClientPool.Shard shard = shards.get(i);
+                final NgrokClientPool.Shard best = shards.get(chosen);
+                if (shard.getGauge() < best.getGauge()
+                    || (shard.getGauge() == best.getGauge() && shard.getTunnelCount() < best.getTunnelCount())) {
+                    chosen = i;
+                }
+            }
+
+            return chosen;
+        };
+    }
+
+    /**
+     * Place each tunnel on a shard chosen by a consistent hash of its name, so the same named tunnel is always placed
+     * on the same shard. Unnamed tunnels are placed as by {@link #leastTunnels()}.
+     *
+     * @return The strategy.
+     */
+    static TunnelPlacementStrategy consistentHash() {
+        return new ConsistentHash();
+    }
+
+    /**
+     * A hash ring with a number of virtual nodes per shard, so names are spread evenly across shards.
+     */
+    class ConsistentHash implements TunnelPlacementStrategy {
+
+        private static final int VIRTUAL_NODES = 128;
+
+        private final TunnelPlacementStrategy fallback = leastTunnels();
+
+        private volatile Ring ring = new Ring(0);
+
+        @Override
+        public int place(final CreateTunnel createTunnel,
+                         final List<NgrokClientPool.Shard> shards) {
+            if (isNull(createTunnel.getName())) {
+                return fallback.place(createTunnel, shards);
+            }
+
+            // The ring and its shard count are read and replaced together, so a concurrent rebuild is never seen
+            // half-published
+            Ring current = ring;
+            if (current.shardCount != shards.size()) {
+                current = new Ring(shards.size());
+                ring = current;
+            }
+
+            final Map.Entry<Long, Integer> entry = current.nodes.ceilingEntry(hash(createTunnel.getName()));
+            return isNull(entry) ? current.nodes.firstEntry().getValue() : entry.getValue();
+        }
+
+        // 64-bit FNV-1a, stable across JVMs unlike String.hashCode() spread
+        private static long hash(final String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+
+            return hash;
+        }
+
+        /**
+         * An immutable hash ring built for a number of shards.
+         */
+        private static final class Ring {
+
+            private final int shardCount;
+            private final NavigableMap<Long, Integer> nodes;
+
+            private Ring(final int shardCount) {
+                final TreeMap<Long, Integer> nodes = new TreeMap<>();
+                for (int shard = 0; shard < shardCount; ++shard) {
+                    for (int node = 0; node < VIRTUAL_NODES; ++node) {
+                        nodes.put(hash(String.format("shard-%s-%s", shard, node)), shard);
+                    }
+                }
+
+                this.shardCount = shardCount;
+                this.nodes = Collections.unmodifiableNavigableMap(nodes);
+            }
+        }
+    }
+}
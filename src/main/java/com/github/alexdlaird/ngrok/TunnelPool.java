@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.exception.JavaNgrokException;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A pool of tunnels pre-opened from a {@link CreateTunnel} template, so a tunnel can be leased without waiting on
+ * {@link NgrokClient#connect(CreateTunnel)}. When fewer than the low watermark are idle, the pool is refilled to the
+ * high watermark in the background. A lease that finds the pool empty is a miss, and opens a tunnel itself.
+ *
+ * <pre>
+ * final TunnelPool tunnelPool = new TunnelPool.Builder(ngrokClient, new CreateTunnel.Builder()
+ *         .withName("test-run")
+ *         .withAddr(8000)
+ *         .build())
+ *     .withLowWatermark(2)
+ *     .withHighWatermark(5)
+ *     .build();
+ *
+ * try (final TunnelPool.Lease lease = tunnelPool.lease()) {
+ *     final String publicUrl = lease.getTunnel().getPublicUrl();
+ * }
+ * </pre>
+ *
+ * <p>Because the agent names tunnels uniquely, each pooled tunnel is named from the template's name with a sequence
+ * number appended, so the template must have a name. A template with a fixed domain or url must enable pooling, see
+ * {@link CreateTunnel.Builder#withPoolingEnabled(Boolean)}.
+ */
+public class TunnelPool implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TunnelPool.class);
+
+    private final NgrokClient ngrokClient;
+    private final CreateTunnel template;
+    private final String baseName;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final ReturnPolicy returnPolicy;
+    private final BlockingDeque<Tunnel> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ngrok-tunnel-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CompletableFuture<Void> refilling = CompletableFuture.completedFuture(null);
+    private volatile boolean closed;
+
+    private TunnelPool(final Builder builder) {
+        this.ngrokClient = builder.ngrokClient;
+        this.template = builder.template;
+        this.baseName = template.getName();
+        this.lowWatermark = builder.lowWatermark;
+        this.highWatermark = builder.highWatermark;
+        this.returnPolicy = builder.returnPolicy;
+    }
+
+    /**
+     * Lease a tunnel, from the pool if one is idle, otherwise by opening one. Return it with {@link Lease#close()}.
+     *
+     * @return The lease.
+     * @throws JavaNgrokException The pool is closed, or it was empty and a tunnel could not be opened.
+     */
+    public Lease lease() {
+        if (closed) {
+            throw new JavaNgrokException("The TunnelPool is closed.");
+        }
+
+        Tunnel tunnel = idle.pollFirst();
+        if (nonNull(tunnel)) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+
+            tunnel = open();
+        }
+        leased.incrementAndGet();
+
+        if (idle.size() < lowWatermark) {
+            refill();
+        }
+
+        return new Lease(tunnel);
+    }
+
+    /**
+     * Refill the pool to the high watermark in the background, if it is not already being refilled.
+     *
+     * @return A future that completes when the pool is refilled, or completes exceptionally if a tunnel could not be
+     *     opened.
+     */
+    public synchronized CompletableFuture<Void> refill() {
+        if (closed || !refilling.isDone()) {
+            return refilling;
+        }
+
+        try {
+            refilling = CompletableFuture.runAsync(this::fill, refiller);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.trace("The TunnelPool is closed, not refilling", e);
+        }
+
+        return refilling;
+    }
+
+    /**
+     * Get the number of leases that were served by an idle tunnel.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of leases that found the pool empty, and had to open a tunnel.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of idle tunnels ready to be leased.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Get the number of tunnels currently leased.
+     */
+    public int getLeasedCount() {
+        return leased.get();
+    }
+
+    /**
+     * Get the template pooled tunnels are opened from.
+     */
+    public CreateTunnel getTemplate() {
+        return template;
+    }
+
+    /**
+     * Stop refilling, and disconnect the idle tunnels. Leased tunnels are disconnected when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        refiller.shutdownNow();
+
+        Tunnel tunnel;
+        while (nonNull(tunnel = idle.pollFirst())) {
+            disconnect(tunnel);
+        }
+    }
+
+    private Tunnel open() {
+        final CreateTunnel createTunnel = new CreateTunnel.Builder(template)
+            .withName(String.format("%s-%s", baseName, sequence.incrementAndGet()))
+            .build();
+
+        return ngrokClient.connect(createTunnel);
+    }
+
+    private void fill() {
+        try {
+            while (!closed && idle.size() < highWatermark) {
+                final Tunnel tunnel = open();
+                if (closed) {
+                    disconnect(tunnel);
+                } else {
+                    idle.offerLast(tunnel);
+                }
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.warn("An error occurred while refilling the TunnelPool", e);
+
+            throw e;
+        }
+    }
+
+    private void giveBack(final Tunnel tunnel) {
+        leased.decrementAndGet();
+
+        if (closed) {
+            disconnect(tunnel);
+        } else if (returnPolicy == ReturnPolicy.REUSE && idle.size() < highWatermark) {
+            idle.offerLast(tunnel);
+        } else {
+            try {
+                refiller.execute(() -> disconnect(tunnel));
+            } catch (final RejectedExecutionException e) {
+                disconnect(tunnel);
+            }
+
+            if (idle.size() < lowWatermark) {
+                refill();
+            }
+        }
+    }
+
+    private void disconnect(final Tunnel tunnel) {
+        try {
+            ngrokClient.disconnect(tunnel.getPublicUrl());
+        } catch (final RuntimeException e) {
+            LOGGER.warn(String.format("An error occurred while disconnecting the pooled tunnel %s",
+                tunnel.getPublicUrl()), e);
+        }
+    }
+
+    /**
+     * What happens to a tunnel when its {@link Lease} is returned.
+     */
+    public enum ReturnPolicy {
+        /**
+         * Put the tunnel back in the pool as is, so its public URL is leased again. If the pool is already at its
+         * high watermark, it is disconnected instead.
+         */
+        REUSE,
+        /**
+         * Disconnect the tunnel, so no lease ever sees a public URL that was handed out before. The pool is refilled
+         * with new tunnels.
+         */
+        RECYCLE
+    }
+
+    /**
+     * A tunnel leased from a {@link TunnelPool}, returned to it when closed.
+     */
+    public class Lease implements AutoCloseable {
+
+        private final Tunnel tunnel;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private Lease(final Tunnel tunnel) {
+            this.tunnel = tunnel;
+        }
+
+        /**
+         * Get the leased tunnel.
+         */
+        public Tunnel getTunnel() {
+            return tunnel;
+        }
+
+        /**
+         * Return the tunnel to the pool, handling it with the pool's {@link ReturnPolicy}. Only the first call has any
+         * effect.
+         */
+        @Override
+        public void close() {
+            if (returned.compareAndSet(false, true)) {
+                giveBack(tunnel);
+            }
+        }
+    }
+
+    /**
+     * Builder for a {@link TunnelPool}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final NgrokClient ngrokClient;
+        private final CreateTunnel template;
+
+        private int lowWatermark = 1;
+        private int highWatermark = 3;
+        private ReturnPolicy returnPolicy = ReturnPolicy.RECYCLE;
+
+        /**
+         * Construct a builder for a pool of tunnels opened by the given client from the given template.
+         *
+         * @param ngrokClient The client.
+         * @param template    The template.
+         */
+        public Builder(final NgrokClient ngrokClient,
+                       final CreateTunnel template) {
+            this.ngrokClient = Objects.requireNonNull(ngrokClient);
+            this.template = Objects.requireNonNull(template);
+        }
+
+        /**
+         * When fewer than this many tunnels are idle, the pool is refilled in the background, defaults to 1.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withLowWatermark(final int lowWatermark) {
+            if (lowWatermark < 0) {
+                throw new IllegalArgumentException("\"lowWatermark\" must not be negative.");
+            }
+
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * The number of idle tunnels the pool is refilled to, defaults to 3.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withHighWatermark(final int highWatermark) {
+            if (highWatermark < 1) {
+                throw new IllegalArgumentException("\"highWatermark\" must be greater than 0.");
+            }
+
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
+        /**
+         * What happens to a tunnel when its lease is returned, defaults to {@link ReturnPolicy#RECYCLE}.
+         */
+        public Builder withReturnPolicy(final ReturnPolicy returnPolicy) {
+            this.returnPolicy = Objects.requireNonNull(returnPolicy);
+            return this;
+        }
+
+        /**
+         * Build the {@link TunnelPool}, and start filling it to the high watermark in the background.
+         *
+         * @throws IllegalArgumentException The low watermark is greater than the high watermark, the template has no
+         *                                  name, or the template has a fixed domain or url but does not enable
+         *                                  pooling.
+         */
+        public TunnelPool build() {
+            if (lowWatermark > highWatermark) {
+                throw new IllegalArgumentException("\"lowWatermark\" must not be greater than \"highWatermark\".");
+            }
+            if (isNull(template.getName())) {
+                throw new IllegalArgumentException("\"template\" must have a \"name\".");
+            }
+            if ((nonNull(template.getDomain()) || nonNull(template.getUrl()))
+                && !Boolean.TRUE.equals(template.isPoolingEnabled())) {
+                throw new IllegalArgumentException("\"template\" with a fixed \"domain\" or \"url\" must enable "
+                                                   + "\"poolingEnabled\".");
+            }
+
+            final TunnelPool tunnelPool = new TunnelPool(this);
+            tunnelPool.refill();
+
+            return tunnelPool;
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.exception.JavaNgrokException;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.ProtocolTypeAdapterFactory;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Converges a {@link NgrokClient}'s tunnels on a desired set of named {@link CreateTunnel}s. Each call to
+ * {@link #reconcile()} lists the live tunnels once, computes the minimal diff against the desired set by name, then
+ * applies it with bounded parallelism: tunnels that are missing are added, those no longer desired are removed, and
+ * those whose definition changed are re-created. Reconciling an already converged set makes no changes, so it is safe
+ * to run periodically with {@link #schedule(Duration)}.
+ *
+ * <pre>
+ * final TunnelReconciler tunnelReconciler = new TunnelReconciler.Builder(ngrokClient)
+ *     .withDesiredTunnels(Set.of(
+ *         new CreateTunnel.Builder().withName("web").withAddr(8000).build(),
+ *         new CreateTunnel.Builder().withName("api").withAddr(8001).build()))
+ *     .build();
+ *
+ * final TunnelReconciler.Result result = tunnelReconciler.reconcile();
+ * </pre>
+ *
+ * <p>Only tunnels the reconciler has created, or live tunnels with a desired name (or that name with "-api" appended,
+ * see {@link NgrokClient#connect(CreateTunnel)}), are managed. A live tunnel with a desired name that was not created
+ * from an identical definition by the same client is re-created.
+ */
+public class TunnelReconciler implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TunnelReconciler.class);
+
+    private static final Gson GSON = new GsonBuilder()
+        .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+        .create();
+
+    private final NgrokClient ngrokClient;
+    private final int maxParallelism;
+    private final Map<String, Applied> applied = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ngrok-tunnel-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, CreateTunnel> desiredTunnels;
+    private ScheduledFuture<?> scheduled;
+
+    private TunnelReconciler(final Builder builder) {
+        this.ngrokClient = builder.ngrokClient;
+        this.maxParallelism = builder.maxParallelism;
+        this.desiredTunnels = builder.desiredTunnels;
+    }
+
+    /**
+     * Get the client whose tunnels are reconciled.
+     */
+    public NgrokClient getNgrokClient() {
+        return ngrokClient;
+    }
+
+    /**
+     * Get the desired tunnels.
+     */
+    public Set<CreateTunnel> getDesiredTunnels() {
+        return Set.copyOf(desiredTunnels.values());
+    }
+
+    /**
+     * Replace the desired tunnels, which take effect on the next {@link #reconcile()}.
+     *
+     * @param desiredTunnels The desired tunnels.
+     * @throws IllegalArgumentException A tunnel has no name, or two tunnels have the same name.
+     */
+    public void setDesiredTunnels(final Set<CreateTunnel> desiredTunnels) {
+        this.desiredTunnels = byName(desiredTunnels);
+    }
+
+    /**
+     * Replace the desired tunnels and reconcile them. See {@link #reconcile()}.
+     *
+     * @param desiredTunnels The desired tunnels.
+     * @return The result.
+     */
+    public Result reconcile(final Set<CreateTunnel> desiredTunnels) {
+        setDesiredTunnels(desiredTunnels);
+
+        return reconcile();
+    }
+
+    /**
+     * Converge the client's tunnels on the desired tunnels. Failures to add, remove, or re-create individual tunnels
+     * do not stop the others from being applied, they are reported in the result and retried on the next call.
+     *
+     * <p>If <code>ngrok</code> is not running, calling this method will first start a process.
+     *
+     * @return The result.
+     * @throws JavaNgrokException The live tunnels could not be listed.
+     */
+    public synchronized Result reconcile() {
+        final Map<String, CreateTunnel> desired = desiredTunnels;
+
+        final Map<String, Tunnel> live = new HashMap<>();
+        final Map<String, Tunnel> liveByName = new HashMap<>();
+        for (final Tunnel tunnel : ngrokClient.getTunnels()) {
+            live.put(tunnel.getPublicUrl(), tunnel);
+            if (nonNull(tunnel.getName())) {
+                liveByName.put(tunnel.getName(), tunnel);
+            }
+        }
+
+        // Forget tunnels that are no longer live, so they are added again
+        applied.values().removeIf(a -> !live.containsKey(a.publicUrl));
+
+        final Map<String, Runnable> tasks = new LinkedHashMap<>();
+        final Result result = new Result();
+        for (final Map.Entry<String, CreateTunnel> entry : desired.entrySet()) {
+            final String name = entry.getKey();
+            final CreateTunnel createTunnel = entry.getValue();
+            final String definition = GSON.toJson(createTunnel);
+
+            Applied current = applied.get(name);
+            if (isNull(current)) {
+                current = adopt(name, definition, liveByName);
+            }
+
+            if (isNull(current)) {
+                tasks.put(name, () -> {
+                    connect(name, createTunnel, definition);
+                    result.added.add(name);
+                });
+            } else if (!current.definition.equals(definition)) {
+                final String publicUrl = current.publicUrl;
+                tasks.put(name, () -> {
+                    disconnect(name, publicUrl);
+                    connect(name, createTunnel, definition);
+                    result.recreated.add(name);
+                });
+            }
+        }
+        for (final Map.Entry<String, Applied> entry : applied.entrySet()) {
+            final String name = entry.getKey();
+            if (!desired.containsKey(name)) {
+                final String publicUrl = entry.getValue().publicUrl;
+                tasks.put(name, () -> {
+                    disconnect(name, publicUrl);
+                    result.removed.add(name);
+                });
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            LOGGER.info("Reconciling {} tunnels", tasks.size());
+
+            apply(tasks, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reconcile periodically, at a fixed delay after each reconciliation finishes, until {@link #close()} is called.
+     * Errors are logged, and retried on the next run. Calling this again replaces the previous schedule.
+     *
+     * @param interval The delay between reconciliations.
+     * @throws IllegalArgumentException The interval was not positive.
+     */
+    public synchronized void schedule(final Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("\"interval\" must be positive");
+        }
+
+        if (nonNull(scheduled)) {
+            scheduled.cancel(false);
+        }
+
+        scheduled = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                final Result result = reconcile();
+                if (!result.getFailures().isEmpty()) {
+                    LOGGER.warn("Failed to reconcile tunnels: {}", result.getFailures().keySet());
+                }
+            } catch (final RuntimeException e) {
+                LOGGER.warn("An error occurred while reconciling tunnels", e);
+            }
+        }, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop reconciling periodically. The tunnels are left as they are.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private Applied adopt(final String name,
+                          final String definition,
+                          final Map<String, Tunnel> liveByName) {
+        Tunnel tunnel = liveByName.get(name);
+        if (isNull(tunnel)) {
+            tunnel = liveByName.get(String.format("%s-api", name));
+        }
+        if (isNull(tunnel)) {
+            return null;
+        }
+
+        // A tunnel whose definition is unknown is recorded with none, so it is re-created
+        final CreateTunnel createTunnel = ngrokClient.getCreateTunnel(tunnel.getPublicUrl());
+        final Applied adopted = new Applied(tunnel.getPublicUrl(),
+            nonNull(createTunnel) ? GSON.toJson(createTunnel) : "");
+        applied.put(name, adopted);
+
+        return adopted;
+    }
+
+    private void connect(final String name,
+                         final CreateTunnel createTunnel,
+                         final String definition) {
+        final Tunnel tunnel = ngrokClient.connect(createTunnel);
+
+        applied.put(name, new Applied(tunnel.getPublicUrl(), definition));
+    }
+
+    private void disconnect(final String name,
+                            final String publicUrl) {
+        ngrokClient.disconnect(publicUrl);
+
+        applied.remove(name);
+    }
+
+    private void apply(final Map<String, Runnable> tasks,
+                       final Result result) {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), maxParallelism));
+        try {
+            final Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+            for (final Map.Entry<String, Runnable> task : tasks.entrySet()) {
+                futures.put(task.getKey(), CompletableFuture.runAsync(task.getValue(), executor));
+            }
+
+            for (final Map.Entry<String, CompletableFuture<Void>> future : futures.entrySet()) {
+                try {
+                    future.getValue().join();
+                } catch (final RuntimeException e) {
+                    final Throwable cause = nonNull(e.getCause()) ? e.getCause() : e;
+                    LOGGER.warn(String.format("An error occurred while reconciling the tunnel %s", future.getKey()),
+                        cause);
+                    result.failures.put(future.getKey(), cause);
+                }
+            }
+        } catch (final RejectedExecutionException e) {
+            throw new JavaNgrokException("An error occurred while scheduling tunnel reconciliation.", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Map<String, CreateTunnel> byName(final Collection<CreateTunnel> createTunnels) {
+        final Map<String, CreateTunnel> byName = new LinkedHashMap<>();
+        for (final CreateTunnel createTunnel : createTunnels) {
+            if (isNull(createTunnel.getName())) {
+                throw new IllegalArgumentException("Each desired tunnel must have a name.");
+            }
+            if (nonNull(byName.put(createTunnel.getName(), createTunnel))) {
+                throw new IllegalArgumentException(String.format("More than one desired tunnel is named %s.",
+                    createTunnel.getName()));
+            }
+        }
+
+        return Map.copyOf(byName);
+    }
+
+    private static class Applied {
+
+        private final String publicUrl;
+        private final String definition;
+
+        private Applied(final String publicUrl,
+                        final String definition) {
+            this.publicUrl = publicUrl;
+            this.definition = definition;
+        }
+    }
+
+    /**
+     * The changes made by a {@link #reconcile()}, by tunnel name.
+     */
+    public static class Result {
+
+        private final List<String> added = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> removed = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> recreated = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+
+        private Result() {
+        }
+
+        /**
+         * Get the names of the tunnels that were added.
+         */
+        public List<String> getAdded() {
+            return List.copyOf(added);
+        }
+
+        /**
+         * Get the names of the tunnels that were removed.
+         */
+        public List<String> getRemoved() {
+            return List.copyOf(removed);
+        }
+
+        /**
+         * Get the names of the tunnels that were re-created because their definition changed.
+         */
+        public List<String> getRecreated() {
+            return List.copyOf(recreated);
+        }
+
+        /**
+         * Get the errors for the tunnels that could not be added, removed, or re-created.
+         */
+        public Map<String, Throwable> getFailures() {
+            return Map.copyOf(failures);
+        }
+
+        /**
+         * Whether no changes were needed, and none failed.
+         */
+        public boolean isConverged() {
+            return added.isEmpty() && removed.isEmpty() && recreated.isEmpty() && failures.isEmpty();
+        }
+    }
+
+    /**
+     * Builder for a {@link TunnelReconciler}, see docs for that class for example usage.
+     */
+    public static class Builder {
+
+        private final NgrokClient ngrokClient;
+
+        private int maxParallelism = 8;
+        private Map<String, CreateTunnel> desiredTunnels = Map.of();
+
+        /**
+         * Construct a builder for a reconciler of the given client's tunnels.
+         *
+         * @param ngrokClient The client.
+         */
+        public Builder(final NgrokClient ngrokClient) {
+            this.ngrokClient = Objects.requireNonNull(ngrokClient);
+        }
+
+        /**
+         * The max number of tunnels added, removed, or re-created at once, defaults to 8.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withMaxParallelism(final int maxParallelism) {
+            if (maxParallelism < 1) {
+                throw new IllegalArgumentException("\"maxParallelism\" must be at least 1");
+            }
+
+            this.maxParallelism = maxParallelism;
+            return this;
+        }
+
+        /**
+         * The desired tunnels, each of which must have a unique name.
+         *
+         * @throws IllegalArgumentException A tunnel has no name, or two tunnels have the same name.
+         */
+        public Builder withDesiredTunnels(final Set<CreateTunnel> desiredTunnels) {
+            this.desiredTunnels = byName(desiredTunnels);
+            return this;
+        }
+
+        /**
+         * Build the {@link TunnelReconciler}.
+         */
+        public TunnelReconciler build() {
+            return new TunnelReconciler(this);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.ProtocolTypeAdapterFactory;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A compact JSON snapshot of the tunnels opened by a {@link NgrokClient}, mapping each public URL to the
+ * {@link CreateTunnel} it was created from. Each write replaces the file atomically, so a reader never sees a partial
+ * snapshot.
+ */
+class TunnelStateFile {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TunnelStateFile.class);
+
+    private static final int VERSION = 1;
+
+    private final Gson gson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+        .registerTypeAdapterFactory(new SnapshotTypeAdapterFactory())
+        .create();
+
+    private final Path path;
+
+    TunnelStateFile(final Path path) {
+        this.path = path;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Read the snapshot, empty if the file does not exist or is not a valid snapshot.
+     *
+     * @return The {@link CreateTunnel}s, by the public URL they were opened on.
+     */
+    synchronized Map<String, CreateTunnel> read() {
+        if (!Files.exists(path)) {
+            return Map.of();
+        }
+
+        final Snapshot snapshot;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            snapshot = gson.fromJson(reader, Snapshot.class);
+        } catch (final IOException | JsonParseException e) {
+            LOGGER.warn(String.format("An error occurred while reading the tunnel state file: %s", path), e);
+
+            return Map.of();
+        }
+
+        if (isNull(snapshot) || snapshot.version != VERSION || isNull(snapshot.tunnels)) {
+            LOGGER.warn("Ignoring the tunnel state file {}, it is not a version {} snapshot", path, VERSION);
+
+            return Map.of();
+        }
+
+        final Map<String, CreateTunnel> createTunnels = new LinkedHashMap<>();
+        for (final Entry entry : snapshot.tunnels) {
+            if (nonNull(entry.publicUrl) && nonNull(entry.createTunnel)) {
+                createTunnels.put(entry.publicUrl, entry.createTunnel);
+            }
+        }
+
+        return createTunnels;
+    }
+
+    /**
+     * Replace the snapshot. The map is read while writing, so concurrent writers never leave an older snapshot in
+     * place of a newer one. Errors are logged, as the snapshot is only an optimization for the next restart.
+     *
+     * @param createTunnels The {@link CreateTunnel}s, by the public URL they were opened on.
+     */
+    synchronized void write(final Map<String, CreateTunnel> createTunnels) {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.version = VERSION;
+        snapshot.tunnels = new ArrayList<>();
+        for (final Map.Entry<String, CreateTunnel> createTunnel : createTunnels.entrySet()) {
+            final Entry entry = new Entry();
+            entry.publicUrl = createTunnel.getKey();
+            entry.createTunnel = createTunnel.getValue();
+            snapshot.tunnels.add(entry);
+        }
+
+        Path tempPath = null;
+        try {
+            final Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            tempPath = Files.createTempFile(parent, "java-ngrok", ".tunnels.tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException | JsonIOException e) {
+            LOGGER.warn(String.format("An error occurred while writing the tunnel state file: %s", path), e);
+        } finally {
+            // Once moved, the temp file no longer exists, so this only cleans up after a failed write or move
+            deleteTempFile(tempPath);
+        }
+    }
+
+    private void deleteTempFile(final Path tempPath) {
+        if (isNull(tempPath)) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (final IOException e) {
+            LOGGER.debug(String.format("An error occurred while deleting the temp file: %s", tempPath), e);
+        }
+    }
+
+    private static class Snapshot {
+
+        private int version;
+        private List<Entry> tunnels;
+    }
+
+    private static class Entry {
+
+        private String publicUrl;
+        private CreateTunnel createTunnel;
+    }
+
+    /**
+     * Reads and writes a {@link Snapshot} without reflection, so it works in native images.
+     */
+    private static class SnapshotTypeAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(final Gson gson,
+                                         final TypeToken<T> type) {
+            if (type.getRawType() != Snapshot.class) {
+                return null;
+            }
+
+            return (TypeAdapter<T>) new SnapshotAdapter(gson.getAdapter(CreateTunnel.class)).nullSafe();
+        }
+    }
+
+    private static class SnapshotAdapter extends TypeAdapter<Snapshot> {
+
+        private final TypeAdapter<CreateTunnel> createTunnelAdapter;
+
+        private SnapshotAdapter(final TypeAdapter<CreateTunnel> createTunnelAdapter) {
+            this.createTunnelAdapter = createTunnelAdapter;
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Snapshot snapshot)
+            throws IOException {
+            out.beginObject();
+            out.name("version").value(snapshot.version);
+            out.name("tunnels").beginArray();
+            for (final Entry entry : snapshot.tunnels) {
+                out.beginObject();
+                out.name("public_url").value(entry.publicUrl);
+                out.name("create_tunnel");
+                createTunnelAdapter.write(out, entry.createTunnel);
+                out.endObject();
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Snapshot read(final JsonReader in)
+            throws IOException {
+            final Snapshot snapshot = new Snapshot();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "version":
+                        try {
+                            snapshot.version = in.nextInt();
+                        } catch (final NumberFormatException e) {
+                            throw new JsonSyntaxException(e);
+                        }
+                        break;
+                    case "tunnels":
+                        snapshot.tunnels = new ArrayList<>();
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            snapshot.tunnels.add(readEntry(in));
+                        }
+                        in.endArray();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return snapshot;
+        }
+
+        private Entry readEntry(final JsonReader in)
+            throws IOException {
+            final Entry entry = new Entry();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "public_url":
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                        } else {
+                            entry.publicUrl = in.nextString();
+                        }
+                        break;
+                    case "create_tunnel":
+                        entry.createTunnel = createTunnelAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return entry;
+        }
+    }
+}
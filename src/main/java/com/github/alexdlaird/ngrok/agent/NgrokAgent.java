@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -15,9 +15,20 @@ import com.github.alexdlaird.ngrok.process.NgrokProcess;
 import com.github.alexdlaird.ngrok.protocol.AgentStatus;
 import com.github.alexdlaird.ngrok.protocol.CapturedRequest;
 import com.github.alexdlaird.ngrok.protocol.CapturedRequests;
+import com.github.alexdlaird.ngrok.protocol.ProtocolTypeAdapterFactory;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +44,11 @@ public class NgrokAgent {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NgrokAgent.class);
 
+    private static final TypeAdapter<CapturedRequest> CAPTURED_REQUEST_ADAPTER = new GsonBuilder()
+        .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+        .create()
+        .getAdapter(CapturedRequest.class);
+
     private final NgrokProcess ngrokProcess;
 
     private final HttpClient httpClient;
@@ -120,6 +136,78 @@ public class NgrokAgent {
         return httpClient.get(String.format("%s/api/requests/http/%s", apiUrl, requestId), CapturedRequest.class);
     }
 
+    /**
+     * Get the list of requests made to either all tunnels, or the given tunnel name, as the unparsed JSON response
+     * body, which is not buffered in memory when made with a {@link HttpClient} that streams, such as
+     * {@link DefaultHttpClient}. The caller must close the body when done.
+     *
+     * @param tunnelName The optional tunnel name to filter by.
+     */
+    public Response<ReadableByteChannel> streamRequests(final String tunnelName) {
+        if (!ngrokProcess.isRunning()) {
+            throw new JavaNgrokException("ngrok is not running.");
+        }
+        final List<Parameter> params = nonNull(tunnelName)
+            ? List.of(new Parameter("tunnel_name", tunnelName)) : List.of();
+
+        final String apiUrl = ngrokProcess.getApiUrl();
+
+        LOGGER.info("Streaming captured requests from {} with {}", apiUrl, params);
+
+        return httpClient.stream("GET", String.format("%s/api/requests/http", apiUrl), params, Map.of(), null, -1);
+    }
+
+    /**
+     * Get the given request as the unparsed JSON response body, see {@link #streamRequests(String)}.
+     *
+     * @param requestId The ID of the request to fetch.
+     */
+    public Response<ReadableByteChannel> streamRequest(final String requestId) {
+        if (!ngrokProcess.isRunning()) {
+            throw new JavaNgrokException("ngrok is not running.");
+        }
+
+        final String apiUrl = ngrokProcess.getApiUrl();
+
+        LOGGER.info("Streaming captured request {} from {}", requestId, apiUrl);
+
+        return httpClient.stream("GET", String.format("%s/api/requests/http/%s", apiUrl, requestId), List.of(),
+            Map.of(), null, -1);
+    }
+
+    /**
+     * Pass each request made to either all tunnels, or the given tunnel name, to the given consumer as it is parsed
+     * from {@link #streamRequests(String)}, so only one {@link CapturedRequest} (and its <code>raw</code> payloads) is
+     * held in memory at a time.
+     *
+     * @param tunnelName The optional tunnel name to filter by.
+     * @param consumer   The consumer of each request.
+     * @throws JavaNgrokException The response could not be read or parsed.
+     */
+    public void forEachRequest(final String tunnelName,
+                               final Consumer<CapturedRequest> consumer) {
+        final Response<ReadableByteChannel> response = streamRequests(tunnelName);
+
+        try (final JsonReader reader = new JsonReader(Channels.newReader(response.getBody(),
+            StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("requests") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        consumer.accept(CAPTURED_REQUEST_ADAPTER.read(reader));
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (final IOException | JsonParseException | IllegalStateException e) {
+            throw new JavaNgrokException("An error occurred while reading the captured requests.", e);
+        }
+    }
+
     /**
      * See {@link NgrokAgent#replayRequest(String, String)}.
      */
@@ -145,7 +233,7 @@ public class NgrokAgent {
 
         httpClient.post(String.format("%s/api/requests/http", apiUrl),
             new ReplayRequest(requestId, tunnelName),
-            Object.class);
+            Void.class);
     }
 
     /**
@@ -160,7 +248,7 @@ public class NgrokAgent {
 
         LOGGER.info("Deleting captured requests from {}", apiUrl);
 
-        httpClient.delete(String.format("%s/api/requests/http", apiUrl));
+        httpClient.delete(String.format("%s/api/requests/http", apiUrl), List.of(), Map.of(), Void.class);
     }
 
     private static class ReplayRequest {
@@ -1,17 +1,26 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
 
 package com.github.alexdlaird.ngrok.conf;
 
+import com.github.alexdlaird.ngrok.NgrokClient;
 import com.github.alexdlaird.ngrok.installer.ConfigVersion;
 import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
 import com.github.alexdlaird.ngrok.process.NgrokLog;
+import com.github.alexdlaird.ngrok.process.NgrokLogSpool;
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.process.NgrokProcessRegistry;
+import com.github.alexdlaird.ngrok.process.NgrokShutdownHook;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import com.github.alexdlaird.ngrok.protocol.Region;
 import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import static java.util.Objects.isNull;
@@ -25,9 +34,12 @@ import static java.util.Objects.nonNull;
  */
 public class JavaNgrokConfig {
 
+    private static final List<String> LOG_LEVELS = List.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
     private final NgrokVersion ngrokVersion;
     private final int maxLogs;
     private final int startupTimeout;
+    private final int stopTimeout;
     private final boolean keepMonitoring;
     private final Path ngrokPath;
     private final Path configPath;
@@ -36,11 +48,21 @@ public class JavaNgrokConfig {
     private final Function<NgrokLog, Void> logEventCallback;
     private final String apiKey;
     private final ConfigVersion configVersion;
+    private final String minLogLevel;
+    private final int logRateLimit;
+    private final Path logSpoolPath;
+    private final long logSpoolSegmentSize;
+    private final int logSpoolMaxSegments;
+    private final boolean attach;
+    private final Path lockFilePath;
+    private final List<CreateTunnel> bootTunnels;
+    private final Path tunnelStatePath;
 
     private JavaNgrokConfig(final Builder builder) {
         this.ngrokVersion = builder.ngrokVersion;
         this.maxLogs = builder.maxLogs;
         this.startupTimeout = builder.startupTimeout;
+        this.stopTimeout = builder.stopTimeout;
         this.keepMonitoring = builder.keepMonitoring;
         this.ngrokPath = builder.ngrokPath;
         this.configPath = builder.configPath;
@@ -49,6 +71,15 @@ public class JavaNgrokConfig {
         this.logEventCallback = builder.logEventCallback;
         this.apiKey = builder.apiKey;
         this.configVersion = builder.configVersion;
+        this.minLogLevel = builder.minLogLevel;
+        this.logRateLimit = builder.logRateLimit;
+        this.logSpoolPath = builder.logSpoolPath;
+        this.logSpoolSegmentSize = builder.logSpoolSegmentSize;
+        this.logSpoolMaxSegments = builder.logSpoolMaxSegments;
+        this.attach = builder.attach;
+        this.lockFilePath = builder.lockFilePath;
+        this.bootTunnels = builder.bootTunnels;
+        this.tunnelStatePath = builder.tunnelStatePath;
     }
 
     /**
@@ -72,6 +103,15 @@ public class JavaNgrokConfig {
         return startupTimeout;
     }
 
+    /**
+     * Get the max timeout, in seconds, to wait for <code>ngrok</code> to exit gracefully when it is stopped before it
+     * is forcibly killed. This applies to every stop: {@link NgrokProcess#stop()}, the last
+     * {@link NgrokProcessRegistry#release(NgrokProcess)}, and when the JVM shuts down.
+     */
+    public int getStopTimeout() {
+        return stopTimeout;
+    }
+
     /**
      * Whether the <code>ngrok</code> process will continue to be monitored after it finishes starting up.
      */
@@ -128,6 +168,87 @@ public class JavaNgrokConfig {
         return configVersion;
     }
 
+    /**
+     * Get the minimum level of <code>ngrok</code> logs that will be parsed and retained once <code>ngrok</code> has
+     * started.
+     */
+    public String getMinLogLevel() {
+        return minLogLevel;
+    }
+
+    /**
+     * Get the max number of <code>ngrok</code> logs per second, per distinct message, that will be forwarded to the
+     * logger. <code>0</code> if not rate limited.
+     */
+    public int getLogRateLimit() {
+        return logRateLimit;
+    }
+
+    /**
+     * Get the directory in which all raw <code>ngrok</code> logs are spooled, <code>null</code> if not spooled.
+     */
+    public Path getLogSpoolPath() {
+        return logSpoolPath;
+    }
+
+    /**
+     * Get the size, in bytes, of each log spool segment file.
+     */
+    public long getLogSpoolSegmentSize() {
+        return logSpoolSegmentSize;
+    }
+
+    /**
+     * Get the number of log spool segment files to keep.
+     */
+    public int getLogSpoolMaxSegments() {
+        return logSpoolMaxSegments;
+    }
+
+    /**
+     * Whether {@link NgrokProcess#start()} will first try to attach to an already running <code>ngrok</code> process,
+     * rather than always spawning a new one.
+     */
+    public boolean isAttach() {
+        return attach;
+    }
+
+    /**
+     * Get the path to the lock file that records the PID and API URL of a <code>ngrok</code> process started in attach
+     * mode, so it can be found by later processes.
+     */
+    public Path getLockFilePath() {
+        return lockFilePath;
+    }
+
+    /**
+     * Get the tunnels declared in a generated config and started with <code>ngrok</code>, rather than each being
+     * created with its own API call once it is running.
+     */
+    public List<CreateTunnel> getBootTunnels() {
+        return bootTunnels;
+    }
+
+    /**
+     * Get the path to the file in which {@link NgrokClient} snapshots its open tunnels, <code>null</code> if not
+     * snapshotted.
+     */
+    public Path getTunnelStatePath() {
+        return tunnelStatePath;
+    }
+
+    /**
+     * Whether a <code>ngrok</code> log at the given level meets {@link #getMinLogLevel()}. Logs with no recognized
+     * level always do.
+     *
+     * @param lvl The level of the log.
+     * @return <code>true</code> if logs at this level should be parsed and retained.
+     */
+    public boolean isMinLogLevel(final String lvl) {
+        final int index = LOG_LEVELS.indexOf(lvl);
+        return index < 0 || index >= LOG_LEVELS.indexOf(minLogLevel);
+    }
+
     /**
      * Builder for a {@link JavaNgrokConfig}, see docs for that class for example usage.
      */
@@ -136,8 +257,13 @@ public class JavaNgrokConfig {
         private NgrokVersion ngrokVersion = NgrokVersion.V3;
         private int maxLogs = 100;
         private int startupTimeout = 15;
+        private int stopTimeout = 5;
         private boolean keepMonitoring = true;
         private ConfigVersion configVersion = ConfigVersion.V2;
+        private String minLogLevel = "TRACE";
+        private int logRateLimit = 0;
+        private long logSpoolSegmentSize = NgrokLogSpool.DEFAULT_SEGMENT_SIZE;
+        private int logSpoolMaxSegments = NgrokLogSpool.DEFAULT_MAX_SEGMENTS;
 
         private Path ngrokPath;
         private Path configPath;
@@ -145,6 +271,11 @@ public class JavaNgrokConfig {
         private Region region;
         private Function<NgrokLog, Void> logEventCallback;
         private String apiKey;
+        private Path logSpoolPath;
+        private boolean attach;
+        private Path lockFilePath;
+        private List<CreateTunnel> bootTunnels = List.of();
+        private Path tunnelStatePath;
 
         /**
          * Construct a JavaNgrokConfig Builder.
@@ -161,6 +292,7 @@ public class JavaNgrokConfig {
             this.ngrokVersion = javaNgrokConfig.ngrokVersion;
             this.maxLogs = javaNgrokConfig.maxLogs;
             this.startupTimeout = javaNgrokConfig.startupTimeout;
+            this.stopTimeout = javaNgrokConfig.stopTimeout;
             this.keepMonitoring = javaNgrokConfig.keepMonitoring;
             this.ngrokPath = javaNgrokConfig.ngrokPath;
             this.configPath = javaNgrokConfig.configPath;
@@ -169,6 +301,15 @@ public class JavaNgrokConfig {
             this.logEventCallback = javaNgrokConfig.logEventCallback;
             this.apiKey = javaNgrokConfig.apiKey;
             this.configVersion = javaNgrokConfig.configVersion;
+            this.minLogLevel = javaNgrokConfig.minLogLevel;
+            this.logRateLimit = javaNgrokConfig.logRateLimit;
+            this.logSpoolPath = javaNgrokConfig.logSpoolPath;
+            this.logSpoolSegmentSize = javaNgrokConfig.logSpoolSegmentSize;
+            this.logSpoolMaxSegments = javaNgrokConfig.logSpoolMaxSegments;
+            this.attach = javaNgrokConfig.attach;
+            this.lockFilePath = javaNgrokConfig.lockFilePath;
+            this.bootTunnels = javaNgrokConfig.bootTunnels;
+            this.tunnelStatePath = javaNgrokConfig.tunnelStatePath;
         }
 
         /**
@@ -207,6 +348,22 @@ public class JavaNgrokConfig {
             return this;
         }
 
+        /**
+         * The max timeout, in seconds, to wait for <code>ngrok</code> to exit gracefully when it is stopped before it
+         * is forcibly killed, defaults to 5. This applies to {@link NgrokProcess#stop()}, the last
+         * {@link NgrokProcessRegistry#release(NgrokProcess)}, and the {@link NgrokShutdownHook}.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withStopTimeout(final int stopTimeout) {
+            if (stopTimeout < 1) {
+                throw new IllegalArgumentException("\"stopTimeout\" must be greater than 0.");
+            }
+
+            this.stopTimeout = stopTimeout;
+            return this;
+        }
+
         /**
          * Don't keep monitoring <code>ngrok</code> (for logs, etc.) after startup is complete.
          */
@@ -277,6 +434,140 @@ public class JavaNgrokConfig {
             return this;
         }
 
+        /**
+         * The minimum level of <code>ngrok</code> logs that will be parsed and retained (in
+         * {@link NgrokProcess#getLogStore()}, {@link NgrokProcess#getMetrics()}, and the log event callback) once
+         * <code>ngrok</code> has started, defaults to "TRACE". Lines below this level are not parsed at all unless the
+         * logger has their level enabled, which avoids most of the cost of noisy <code>ngrok</code> logs.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withMinLogLevel(final String minLogLevel) {
+            if (isNull(minLogLevel) || !LOG_LEVELS.contains(minLogLevel.toUpperCase())) {
+                throw new IllegalArgumentException(String.format("\"minLogLevel\" must be one of %s.", LOG_LEVELS));
+            }
+
+            this.minLogLevel = minLogLevel.toUpperCase();
+            return this;
+        }
+
+        /**
+         * The max number of <code>ngrok</code> logs per second, per distinct message, that will be forwarded to the
+         * logger. When logs are suppressed, a summary of how many is logged with the next log for that message that
+         * is forwarded. Defaults to <code>0</code>, which does not rate limit.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withLogRateLimit(final int logRateLimit) {
+            if (logRateLimit < 0) {
+                throw new IllegalArgumentException("\"logRateLimit\" cannot be negative.");
+            }
+
+            this.logRateLimit = logRateLimit;
+            return this;
+        }
+
+        /**
+         * A directory in which every raw <code>ngrok</code> log, regardless of level, will be spooled to rotating,
+         * memory-mapped segment files. See {@link NgrokLogSpool} and {@link NgrokProcess#getLogSpool()}. Defaults to
+         * <code>null</code>, which does not spool.
+         */
+        public Builder withLogSpoolPath(final Path logSpoolPath) {
+            this.logSpoolPath = logSpoolPath;
+            return this;
+        }
+
+        /**
+         * The size, in bytes, of each log spool segment file, defaults to
+         * {@link NgrokLogSpool#DEFAULT_SEGMENT_SIZE}.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withLogSpoolSegmentSize(final long logSpoolSegmentSize) {
+            if (logSpoolSegmentSize < NgrokLogSpool.MIN_SEGMENT_SIZE || logSpoolSegmentSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(String.format("\"logSpoolSegmentSize\" must be between %s and %s.",
+                    NgrokLogSpool.MIN_SEGMENT_SIZE, Integer.MAX_VALUE));
+            }
+
+            this.logSpoolSegmentSize = logSpoolSegmentSize;
+            return this;
+        }
+
+        /**
+         * The number of log spool segment files to keep, the oldest is deleted when a new one is needed. Defaults to
+         * {@link NgrokLogSpool#DEFAULT_MAX_SEGMENTS}.
+         *
+         * @throws IllegalArgumentException The argument was invalid.
+         */
+        public Builder withLogSpoolMaxSegments(final int logSpoolMaxSegments) {
+            if (logSpoolMaxSegments < 1) {
+                throw new IllegalArgumentException("\"logSpoolMaxSegments\" must be greater than 0.");
+            }
+
+            this.logSpoolMaxSegments = logSpoolMaxSegments;
+            return this;
+        }
+
+        /**
+         * Attach to an already running <code>ngrok</code> process when one is found, rather than spawning a new one.
+         * {@link NgrokProcess#start()} will first check the lock file (see {@link #withLockFilePath(Path)}) left by a
+         * previous owner, then probe the <code>web_addr</code> from <code>ngrok</code>'s config, verifying each
+         * with <code>ngrok</code>'s <code>/api/status</code> endpoint. When attached, {@link NgrokProcess#stop()}
+         * detaches rather than killing the process. When a process is spawned instead, its lock file is written so
+         * later processes can attach to it.
+         */
+        public Builder withAttach() {
+            this.attach = true;
+            return this;
+        }
+
+        /**
+         * The path to the lock file used by {@link #withAttach()}, defaults to <code>java-ngrok.lock</code> in the same
+         * directory as the <code>ngrok</code> config file.
+         */
+        public Builder withLockFilePath(final Path lockFilePath) {
+            this.lockFilePath = lockFilePath;
+            return this;
+        }
+
+        /**
+         * Tunnels to start with <code>ngrok</code>. Rather than being created with one API call each after
+         * <code>ngrok</code> is running, they are rendered in to a generated config alongside the
+         * <code>ngrok</code> config file (<code>&lt;config&gt;.boot.yml</code>) and started by name, and
+         * {@link NgrokProcess#start()} waits for each to log that it started. Call {@link NgrokClient#getTunnels()}
+         * once to get them. Because they are part of <code>ngrok</code>'s config, they are started again whenever
+         * <code>ngrok</code> is restarted.
+         *
+         * @throws IllegalArgumentException A tunnel has no name, or two tunnels have the same name.
+         */
+        public Builder withBootTunnels(final List<CreateTunnel> bootTunnels) {
+            final Set<String> names = new HashSet<>();
+            for (final CreateTunnel createTunnel : bootTunnels) {
+                if (isNull(createTunnel.getName())) {
+                    throw new IllegalArgumentException("Each of \"bootTunnels\" must have a name.");
+                }
+                if (!names.add(createTunnel.getName())) {
+                    throw new IllegalArgumentException(String.format("\"bootTunnels\" has more than one tunnel "
+                                                                     + "named %s.", createTunnel.getName()));
+                }
+            }
+
+            this.bootTunnels = List.copyOf(bootTunnels);
+            return this;
+        }
+
+        /**
+         * A file in which {@link NgrokClient} keeps a snapshot of its open tunnels and the {@link CreateTunnel} each
+         * was created from, replaced atomically on each {@link NgrokClient#connect(CreateTunnel)} and
+         * {@link NgrokClient#disconnect(String)}. After a restart, {@link NgrokClient#restoreTunnelState()} reloads it
+         * and re-creates only the tunnels that are no longer open. Defaults to <code>null</code>, which does not
+         * snapshot.
+         */
+        public Builder withTunnelStatePath(final Path tunnelStatePath) {
+            this.tunnelStatePath = tunnelStatePath;
+            return this;
+        }
+
         /**
          * Build the {@link JavaNgrokConfig}.
          */
@@ -287,6 +578,9 @@ public class JavaNgrokConfig {
             if (isNull(configPath)) {
                 configPath = NgrokInstaller.DEFAULT_CONFIG_PATH;
             }
+            if (isNull(lockFilePath)) {
+                lockFilePath = configPath.toAbsolutePath().resolveSibling("java-ngrok.lock");
+            }
             final String envAuthToken = System.getenv("NGROK_AUTHTOKEN");
             if (isNull(authToken) && nonNull(envAuthToken)) {
                 authToken = envAuthToken;
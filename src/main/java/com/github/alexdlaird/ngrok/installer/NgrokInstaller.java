@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -12,19 +12,31 @@ import com.github.alexdlaird.exception.JavaNgrokSecurityException;
 import com.github.alexdlaird.http.DefaultHttpClient;
 import com.github.alexdlaird.http.HttpClient;
 import com.github.alexdlaird.http.HttpClientException;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.ProtocolTypeAdapterFactory;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
 
 import static com.github.alexdlaird.util.StringUtils.isBlank;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -59,7 +72,13 @@ public class NgrokInstaller {
     public static final Path DEFAULT_CONFIG_PATH = Path.of(getDefaultNgrokDir().toString(), "ngrok.yml");
     private final List<String> validLogLevels = List.of("info", "debug");
     private final Yaml yaml = new Yaml();
+    private final Gson gson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+        .create();
     private final Map<String, Map<String, Object>> configCache = new HashMap<>();
+    // The modified time and size of each config file when it last passed validation
+    private final Map<String, String> validatedConfigs = new HashMap<>();
 
     private final HttpClient httpClient;
 
@@ -180,6 +199,7 @@ public class NgrokInstaller {
             config.putAll(data);
 
             validateConfig(config);
+            validatedConfigs.remove(configPath.toString());
 
             LOGGER.trace("Installing default config to {} ...", configPath);
 
@@ -194,6 +214,102 @@ public class NgrokInstaller {
         }
     }
 
+    /**
+     * Render the given tunnels in to a <code>ngrok</code> config at the given path, replacing any config already
+     * there, so they can be started with <code>ngrok</code> by name. The config holds only the tunnels, and is meant
+     * to be passed to <code>ngrok</code> with a second <code>--config</code> alongside the main one. For
+     * {@link ConfigVersion#V3}, tunnels with a <code>url</code> or <code>upstream</code> are rendered as
+     * <code>endpoints</code>, and all others in the <code>tunnels</code> block.
+     *
+     * @param configPath    The path to where the config should be written.
+     * @param createTunnels The tunnels to render, each of which must have a name.
+     * @param configVersion The <code>ngrok</code> config version.
+     * @throws JavaNgrokInstallerException An error occurred writing the config.
+     */
+    public synchronized void installTunnelsConfig(final Path configPath,
+                                                  final List<CreateTunnel> createTunnels,
+                                                  final ConfigVersion configVersion) {
+        final Map<String, Object> tunnels = new LinkedHashMap<>();
+        final List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (final CreateTunnel createTunnel : createTunnels) {
+            // The API's request body and the config's definitions share field names, so render the tunnel with the
+            // same defaults that are applied when it is created through the API
+            final CreateTunnel withDefaults = new CreateTunnel.Builder(createTunnel).build();
+            final Map<String, Object> definition = toYamlMap(gson.toJsonTree(withDefaults).getAsJsonObject());
+            if (configVersion == ConfigVersion.V3
+                && (nonNull(createTunnel.getUrl()) || nonNull(createTunnel.getUpstream()))) {
+                endpoints.add(definition);
+            } else {
+                definition.remove("name");
+                tunnels.put(createTunnel.getName(), definition);
+            }
+        }
+
+        final Map<String, Object> config = new LinkedHashMap<>();
+        config.put("version", configVersion.getVersion());
+        if (!tunnels.isEmpty()) {
+            config.put("tunnels", tunnels);
+        }
+        if (!endpoints.isEmpty()) {
+            config.put("endpoints", endpoints);
+        }
+
+        try {
+            Files.createDirectories(configPath.toAbsolutePath().getParent());
+
+            LOGGER.trace("Installing tunnels config to {} ...", configPath);
+
+            Files.writeString(configPath, yaml.dump(config));
+        } catch (final IOException e) {
+            throw new JavaNgrokInstallerException(String.format("An error while installing the tunnels "
+                                                                + "config to %s.", configPath), e);
+        }
+        configCache.remove(configPath.toString());
+        validatedConfigs.remove(configPath.toString());
+    }
+
+    private static Map<String, Object> toYamlMap(final JsonObject jsonObject) {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        for (final Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+            map.put(entry.getKey(), toYamlValue(entry.getValue()));
+        }
+
+        return map;
+    }
+
+    private static Object toYamlValue(final JsonElement jsonElement) {
+        if (jsonElement.isJsonObject()) {
+            return toYamlMap(jsonElement.getAsJsonObject());
+        } else if (jsonElement.isJsonArray()) {
+            final List<Object> list = new ArrayList<>();
+            for (final JsonElement element : jsonElement.getAsJsonArray()) {
+                list.add(toYamlValue(element));
+            }
+
+            return list;
+        } else if (jsonElement.isJsonNull()) {
+            return null;
+        }
+
+        final JsonPrimitive jsonPrimitive = jsonElement.getAsJsonPrimitive();
+        if (jsonPrimitive.isBoolean()) {
+            return jsonPrimitive.getAsBoolean();
+        } else if (jsonPrimitive.isNumber()) {
+            // Keep whole numbers whole, so 10 isn't rendered as 10.0
+            final BigDecimal number = jsonPrimitive.getAsBigDecimal();
+            if (number.stripTrailingZeros().scale() <= 0) {
+                final BigInteger integer = number.toBigIntegerExact();
+
+                return integer.bitLength() < Integer.SIZE ? (Object) integer.intValue()
+                    : integer.bitLength() < Long.SIZE ? (Object) integer.longValue() : integer;
+            }
+
+            return number.doubleValue();
+        }
+
+        return jsonPrimitive.getAsString();
+    }
+
     /**
      * See {@link #installNgrok(Path, NgrokVersion)}.
      */
@@ -255,13 +371,31 @@ public class NgrokInstaller {
 
     /**
      * Validate that the config file at the given path is valid for <code>ngrok</code> and <code>java-ngrok</code>.
+     * The result is cached by the file's modified time and size, so a config that has not changed since it last
+     * passed validation is not parsed again, and one that has changed is re-read rather than served from the cache.
      *
      * @param configPath The config path to validate.
      */
     public synchronized void validateConfig(final Path configPath) {
-        final Map<String, Object> config = getNgrokConfig(configPath);
+        final String key = configPath.toString();
+
+        String stamp;
+        try {
+            stamp = String.format("%s/%s", Files.getLastModifiedTime(configPath), Files.size(configPath));
+        } catch (final IOException e) {
+            stamp = null;
+        }
+        if (nonNull(stamp) && stamp.equals(validatedConfigs.get(key))) {
+            return;
+        }
+
+        final Map<String, Object> config = getNgrokConfig(configPath, isNull(stamp));
 
         validateConfig(config);
+
+        if (nonNull(stamp)) {
+            validatedConfigs.put(key, stamp);
+        }
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2024 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -7,6 +7,11 @@
 package com.github.alexdlaird.ngrok.process;
 
 import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +26,20 @@ public class NgrokLog extends HashMap<String, String> {
 
     private static final List<String> VALID_LOG_LEVELS = List.of("ERROR", "WARN", "INFO", "DEBUG", "TRACE");
 
+    // ngrok emits offsets both with and without a colon (ex. -0600 and -06:00), as well as optional fractions
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = new DateTimeFormatterBuilder()
+        .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+        .optionalStart()
+        .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+        .optionalEnd()
+        .optionalStart()
+        .appendOffset("+HH:MM", "Z")
+        .optionalEnd()
+        .optionalStart()
+        .appendOffset("+HHMM", "Z")
+        .optionalEnd()
+        .toFormatter();
+
     private final String line;
 
     // CHECKSTYLE.SUPPRESS: MemberName
@@ -30,6 +49,8 @@ public class NgrokLog extends HashMap<String, String> {
     private String err;
     private String obj;
     private String addr;
+    private transient Instant timestamp;
+    private transient boolean timestampParsed;
 
     /**
      * Parse a String <code>ngrok</code> log to an object representation.
@@ -48,26 +69,7 @@ public class NgrokLog extends HashMap<String, String> {
             }
 
             if (key.equals("lvl")) {
-                if (isBlank(value)) {
-                    value = this.lvl;
-                }
-
-                value = value.toUpperCase();
-                switch (value) {
-                    case "CRIT":
-                    case "ERR":
-                    case "EROR":
-                        value = "ERROR";
-                        break;
-                    case "WARNING":
-                        value = "WARN";
-                        break;
-                    default:
-                }
-
-                if (!VALID_LOG_LEVELS.contains(value)) {
-                    value = this.lvl;
-                }
+                value = normalizeLvl(value);
             }
 
             switch (key) {
@@ -110,6 +112,21 @@ public class NgrokLog extends HashMap<String, String> {
         return t;
     }
 
+    /**
+     * Get the log's timestamp as an {@link Instant}. The value is parsed from {@link #getT()} the first time this
+     * method is called, then cached.
+     *
+     * @return The timestamp, or <code>null</code> if the log had no <code>t</code> or it could not be parsed.
+     */
+    public synchronized Instant getTimestamp() {
+        if (!timestampParsed) {
+            timestamp = parseTimestamp(t);
+            timestampParsed = true;
+        }
+
+        return timestamp;
+    }
+
     /**
      * Get the log's level.
      */
@@ -146,6 +163,101 @@ public class NgrokLog extends HashMap<String, String> {
         return addr;
     }
 
+    /**
+     * Find the level of a raw <code>ngrok</code> log line without fully parsing it. This is a cheap scan for the
+     * <code>lvl</code> key, so it can be used to decide whether a line is worth parsing at all.
+     *
+     * @param line The raw log line from <code>ngrok</code>.
+     * @return The normalized level, as it would be returned by {@link #getLvl()}.
+     */
+    public static String peekLvl(final String line) {
+        return normalizeLvl(peekValue(line, "lvl"));
+    }
+
+    /**
+     * Find the timestamp of a raw <code>ngrok</code> log line without fully parsing it. This is a cheap scan for the
+     * <code>t</code> key.
+     *
+     * @param line The raw log line from <code>ngrok</code>.
+     * @return The parsed timestamp, as it would be returned by {@link #getTimestamp()}.
+     */
+    public static Instant peekTimestamp(final String line) {
+        return parseTimestamp(peekValue(line, "t"));
+    }
+
+    /**
+     * Parse a <code>t</code> value from a <code>ngrok</code> log in to an {@link Instant}.
+     *
+     * @param t The timestamp to parse.
+     * @return The parsed timestamp, or <code>null</code> if it was blank or could not be parsed.
+     */
+    public static Instant parseTimestamp(final String t) {
+        if (isBlank(t)) {
+            return null;
+        }
+
+        try {
+            return TIMESTAMP_FORMATTER.parse(t, Instant::from);
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String peekValue(final String line,
+                                    final String key) {
+        final String prefix = key + "=";
+        int index = line.indexOf(prefix);
+        // Only match the key at the start of a token, not as a suffix of some other key or inside a value
+        while (index > 0 && !Character.isWhitespace(line.charAt(index - 1))) {
+            index = line.indexOf(prefix, index + prefix.length());
+        }
+        if (index < 0) {
+            return null;
+        }
+
+        final int start = index + prefix.length();
+        int end = start;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+            ++end;
+        }
+
+        final String value = line.substring(start, end);
+        if (value.length() > 1 && (value.charAt(0) == '"' || value.charAt(0) == '\'')
+            && value.charAt(value.length() - 1) == value.charAt(0)) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    private static String normalizeLvl(final String lvl) {
+        if (isBlank(lvl)) {
+            return "NOTSET";
+        }
+
+        String value = lvl.toUpperCase();
+        switch (value) {
+            case "CRIT":
+            case "ERR":
+            case "EROR":
+                value = "ERROR";
+                break;
+            case "WARNING":
+                value = "WARN";
+                break;
+            case "DBUG":
+                value = "DEBUG";
+                break;
+            default:
+        }
+
+        if (!VALID_LOG_LEVELS.contains(value)) {
+            return "NOTSET";
+        }
+
+        return value;
+    }
+
     private List<String> shellSplit(final CharSequence line) {
         final List<String> tokens = new ArrayList<>();
 
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A stage in {@link NgrokProcess}'s log pipeline that derives operational metrics from <code>ngrok</code>'s logs as
+ * they are emitted. It keeps running and rolling (over the last {@link #WINDOW_SECONDS} seconds of log time) counters
+ * of events per {@link Event} type and level, errors per <code>obj</code>, heartbeat latency, and the time between
+ * startup milestones. Get a point-in-time copy of these with {@link #getMetrics()}.
+ */
+public class NgrokLogAnalyzer {
+
+    /**
+     * The number of seconds of log time covered by rolling counters.
+     */
+    public static final int WINDOW_SECONDS = 60;
+
+    private static final List<String> LEVELS = List.of("ERROR", "WARN", "INFO", "DEBUG", "TRACE", "NOTSET");
+
+    private static final Pattern GO_DURATION =
+        Pattern.compile("^([0-9]*\\.?[0-9]+)(ns|us|\u00b5s|ms|s|m|h)$"); // Micro sign
+
+    private final Clock clock;
+
+    private final long[] eventCounts = new long[Event.values().length];
+    private final long[] lvlCounts = new long[LEVELS.size()];
+    private final Map<String, Long> errorCountsByObj = new HashMap<>();
+
+    private final long[] bucketSeconds = new long[WINDOW_SECONDS];
+    private final long[][] bucketEventCounts = new long[WINDOW_SECONDS][Event.values().length];
+    private final long[][] bucketLvlCounts = new long[WINDOW_SECONDS][LEVELS.size()];
+    private long latestSecond = Long.MIN_VALUE;
+
+    private Duration lastHeartbeatLatency;
+    private Duration maxHeartbeatLatency;
+    private Duration totalHeartbeatLatency = Duration.ZERO;
+    private long heartbeatLatencyCount;
+
+    private Instant processStarted;
+    private Instant webServiceStarted;
+    private Instant sessionEstablished;
+    private Instant tunnelSessionStarted;
+    private Instant lastEvent;
+
+    /**
+     * Construct an analyzer that uses the system clock for milestones.
+     */
+    public NgrokLogAnalyzer() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Construct an analyzer that uses the given clock for milestones, and for logs that have no parsable timestamp.
+     *
+     * @param clock The clock.
+     */
+    public NgrokLogAnalyzer(final Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+
+        for (int i = 0; i < WINDOW_SECONDS; ++i) {
+            bucketSeconds[i] = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Record that a new <code>ngrok</code> process was spawned, resetting the startup milestones. Each milestone is
+     * then recorded the first time it is seen, so a later reconnect does not replace it. Counters are kept across
+     * restarts.
+     */
+    public synchronized void processStarted() {
+        processStarted = clock.instant();
+        webServiceStarted = null;
+        sessionEstablished = null;
+        tunnelSessionStarted = null;
+    }
+
+    /**
+     * Analyze a log emitted by the <code>ngrok</code> process.
+     *
+     * @param ngrokLog The log to analyze.
+     */
+    public synchronized void accept(final NgrokLog ngrokLog) {
+        final Instant received = clock.instant();
+        final Instant timestamp = nonNull(ngrokLog.getTimestamp()) ? ngrokLog.getTimestamp() : received;
+        final int bucket = bucketFor(timestamp.getEpochSecond());
+
+        final int lvl = Math.max(LEVELS.indexOf(ngrokLog.getLvl()), 0);
+        ++lvlCounts[lvl];
+        if (bucket >= 0) {
+            ++bucketLvlCounts[bucket][lvl];
+        }
+
+        final Event event = Event.of(ngrokLog);
+        if (nonNull(event)) {
+            ++eventCounts[event.ordinal()];
+            if (bucket >= 0) {
+                ++bucketEventCounts[bucket][event.ordinal()];
+            }
+
+            switch (event) {
+                case WEB_SERVICE_STARTED:
+                    if (isNull(webServiceStarted)) {
+                        webServiceStarted = received;
+                    }
+                    break;
+                case SESSION_ESTABLISHED:
+                    if (isNull(sessionEstablished)) {
+                        sessionEstablished = received;
+                    }
+                    break;
+                case TUNNEL_SESSION_STARTED:
+                    if (isNull(tunnelSessionStarted)) {
+                        tunnelSessionStarted = received;
+                    }
+                    break;
+                case HEARTBEAT:
+                    recordHeartbeat(ngrokLog.get("latency"));
+                    break;
+                default:
+            }
+        }
+
+        if ("ERROR".equals(ngrokLog.getLvl())) {
+            errorCountsByObj.merge(nonNull(ngrokLog.getObj()) ? ngrokLog.getObj() : "", 1L, Long::sum);
+        }
+
+        if (isNull(lastEvent) || timestamp.isAfter(lastEvent)) {
+            lastEvent = timestamp;
+        }
+    }
+
+    /**
+     * Get a point-in-time copy of the metrics derived from logs so far.
+     */
+    public synchronized NgrokLogMetrics getMetrics() {
+        final Map<Event, Long> events = new EnumMap<>(Event.class);
+        final Map<Event, Long> recentEvents = new EnumMap<>(Event.class);
+        for (final Event event : Event.values()) {
+            events.put(event, eventCounts[event.ordinal()]);
+            recentEvents.put(event, 0L);
+        }
+        final Map<String, Long> lvls = new HashMap<>();
+        final Map<String, Long> recentLvls = new HashMap<>();
+        for (int i = 0; i < LEVELS.size(); ++i) {
+            lvls.put(LEVELS.get(i), lvlCounts[i]);
+            recentLvls.put(LEVELS.get(i), 0L);
+        }
+
+        for (int i = 0; i < WINDOW_SECONDS; ++i) {
+            if (bucketSeconds[i] != Long.MIN_VALUE && bucketSeconds[i] > latestSecond - WINDOW_SECONDS) {
+                for (final Event event : Event.values()) {
+                    recentEvents.merge(event, bucketEventCounts[i][event.ordinal()], Long::sum);
+                }
+                for (int j = 0; j < LEVELS.size(); ++j) {
+                    recentLvls.merge(LEVELS.get(j), bucketLvlCounts[i][j], Long::sum);
+                }
+            }
+        }
+
+        return new NgrokLogMetrics(events, recentEvents, lvls, recentLvls, errorCountsByObj,
+            lastHeartbeatLatency, maxHeartbeatLatency,
+            heartbeatLatencyCount > 0 ? totalHeartbeatLatency.dividedBy(heartbeatLatencyCount) : null,
+            between(processStarted, webServiceStarted),
+            between(processStarted, sessionEstablished),
+            between(processStarted, tunnelSessionStarted),
+            lastEvent);
+    }
+
+    private int bucketFor(final long second) {
+        if (second > latestSecond) {
+            latestSecond = second;
+        } else if (second <= latestSecond - WINDOW_SECONDS) {
+            // Older than the window, only counted in running totals
+            return -1;
+        }
+
+        final int bucket = (int) Math.floorMod(second, (long) WINDOW_SECONDS);
+        if (bucketSeconds[bucket] != second) {
+            bucketSeconds[bucket] = second;
+            for (int i = 0; i < bucketEventCounts[bucket].length; ++i) {
+                bucketEventCounts[bucket][i] = 0;
+            }
+            for (int i = 0; i < bucketLvlCounts[bucket].length; ++i) {
+                bucketLvlCounts[bucket][i] = 0;
+            }
+        }
+
+        return bucket;
+    }
+
+    private void recordHeartbeat(final String latency) {
+        final Duration duration = parseGoDuration(latency);
+        if (isNull(duration)) {
+            return;
+        }
+
+        lastHeartbeatLatency = duration;
+        if (isNull(maxHeartbeatLatency) || duration.compareTo(maxHeartbeatLatency) > 0) {
+            maxHeartbeatLatency = duration;
+        }
+        totalHeartbeatLatency = totalHeartbeatLatency.plus(duration);
+        ++heartbeatLatencyCount;
+    }
+
+    private Duration between(final Instant start,
+                             final Instant end) {
+        if (isNull(start) || isNull(end)) {
+            return null;
+        }
+
+        return Duration.between(start, end);
+    }
+
+    /**
+     * Parse a duration as formatted by Go's <code>time.Duration</code>, which is how <code>ngrok</code> emits
+     * latencies (ex. "23.456789ms").
+     *
+     * @param value The value to parse.
+     * @return The parsed duration, or <code>null</code> if it could not be parsed.
+     */
+    private static Duration parseGoDuration(final String value) {
+        if (isNull(value)) {
+            return null;
+        }
+
+        final Matcher matcher = GO_DURATION.matcher(value.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        final double amount = Double.parseDouble(matcher.group(1));
+        final double nanosPerUnit;
+        switch (matcher.group(2)) {
+            case "ns":
+                nanosPerUnit = 1;
+                break;
+            case "us":
+            case "\u00b5s": // Micro sign
+                nanosPerUnit = 1_000;
+                break;
+            case "ms":
+                nanosPerUnit = 1_000_000;
+                break;
+            case "m":
+                nanosPerUnit = 60_000_000_000D;
+                break;
+            case "h":
+                nanosPerUnit = 3_600_000_000_000D;
+                break;
+            case "s":
+            default:
+                nanosPerUnit = 1_000_000_000;
+        }
+
+        return Duration.ofNanos(Math.round(amount * nanosPerUnit));
+    }
+
+    /**
+     * Notable events emitted in <code>ngrok</code>'s logs.
+     */
+    public enum Event {
+        /**
+         * The <code>ngrok</code> web service started.
+         */
+        WEB_SERVICE_STARTED,
+        /**
+         * The <code>ngrok</code> client established its session.
+         */
+        SESSION_ESTABLISHED,
+        /**
+         * The <code>ngrok</code> tunnel session started.
+         */
+        TUNNEL_SESSION_STARTED,
+        /**
+         * The <code>ngrok</code> session is reconnecting, or failed to reconnect.
+         */
+        RECONNECT,
+        /**
+         * A heartbeat was received.
+         */
+        HEARTBEAT;
+
+        private static Event of(final NgrokLog ngrokLog) {
+            final String msg = ngrokLog.getMsg();
+            if (isNull(msg)) {
+                return null;
+            }
+
+            if (msg.contains("starting web service")) {
+                return WEB_SERVICE_STARTED;
+            } else if (msg.contains("client session established")) {
+                return SESSION_ESTABLISHED;
+            } else if (msg.contains("tunnel session started")) {
+                return TUNNEL_SESSION_STARTED;
+            } else if (msg.contains("reconnect")) {
+                return RECONNECT;
+            } else if (msg.contains("heartbeat")) {
+                return HEARTBEAT;
+            }
+
+            return null;
+        }
+    }
+}
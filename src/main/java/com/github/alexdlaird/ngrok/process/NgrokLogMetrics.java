@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.ngrok.process.NgrokLogAnalyzer.Event;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A point-in-time snapshot of the metrics {@link NgrokLogAnalyzer} derived from <code>ngrok</code>'s logs.
+ */
+public class NgrokLogMetrics {
+
+    private final Map<Event, Long> eventCounts;
+    private final Map<Event, Long> recentEventCounts;
+    private final Map<String, Long> lvlCounts;
+    private final Map<String, Long> recentLvlCounts;
+    private final Map<String, Long> errorCountsByObj;
+    private final Duration lastHeartbeatLatency;
+    private final Duration maxHeartbeatLatency;
+    private final Duration averageHeartbeatLatency;
+    private final Duration timeToWebService;
+    private final Duration timeToSession;
+    private final Duration timeToTunnelSession;
+    private final Instant lastEvent;
+
+    /**
+     * Construct a metrics snapshot.
+     *
+     * @param eventCounts             Running counts per event.
+     * @param recentEventCounts       Counts per event within the rolling window.
+     * @param lvlCounts               Running counts per level.
+     * @param recentLvlCounts         Counts per level within the rolling window.
+     * @param errorCountsByObj        Running counts of errors per <code>obj</code>.
+     * @param lastHeartbeatLatency    The most recent heartbeat latency.
+     * @param maxHeartbeatLatency     The max heartbeat latency.
+     * @param averageHeartbeatLatency The average heartbeat latency.
+     * @param timeToWebService        The time from process spawn to the web service starting.
+     * @param timeToSession           The time from process spawn to the client session being established.
+     * @param timeToTunnelSession     The time from process spawn to the tunnel session starting.
+     * @param lastEvent               The timestamp of the most recent log.
+     */
+    public NgrokLogMetrics(final Map<Event, Long> eventCounts,
+                           final Map<Event, Long> recentEventCounts,
+                           final Map<String, Long> lvlCounts,
+                           final Map<String, Long> recentLvlCounts,
+                           final Map<String, Long> errorCountsByObj,
+                           final Duration lastHeartbeatLatency,
+                           final Duration maxHeartbeatLatency,
+                           final Duration averageHeartbeatLatency,
+                           final Duration timeToWebService,
+                           final Duration timeToSession,
+                           final Duration timeToTunnelSession,
+                           final Instant lastEvent) {
+        this.eventCounts = Collections.unmodifiableMap(new EnumMap<>(eventCounts));
+        this.recentEventCounts = Collections.unmodifiableMap(new EnumMap<>(recentEventCounts));
+        this.lvlCounts = Map.copyOf(lvlCounts);
+        this.recentLvlCounts = Map.copyOf(recentLvlCounts);
+        this.errorCountsByObj = Map.copyOf(errorCountsByObj);
+        this.lastHeartbeatLatency = lastHeartbeatLatency;
+        this.maxHeartbeatLatency = maxHeartbeatLatency;
+        this.averageHeartbeatLatency = averageHeartbeatLatency;
+        this.timeToWebService = timeToWebService;
+        this.timeToSession = timeToSession;
+        this.timeToTunnelSession = timeToTunnelSession;
+        this.lastEvent = lastEvent;
+    }
+
+    /**
+     * Get the running count of each {@link Event}.
+     */
+    public Map<Event, Long> getEventCounts() {
+        return eventCounts;
+    }
+
+    /**
+     * Get the count of each {@link Event} within the last {@link NgrokLogAnalyzer#WINDOW_SECONDS} seconds of log
+     * time.
+     */
+    public Map<Event, Long> getRecentEventCounts() {
+        return recentEventCounts;
+    }
+
+    /**
+     * Get the running count of logs per level.
+     */
+    public Map<String, Long> getLvlCounts() {
+        return lvlCounts;
+    }
+
+    /**
+     * Get the count of logs per level within the last {@link NgrokLogAnalyzer#WINDOW_SECONDS} seconds of log time.
+     */
+    public Map<String, Long> getRecentLvlCounts() {
+        return recentLvlCounts;
+    }
+
+    /**
+     * Get the running count of errors per <code>obj</code>. Errors with no <code>obj</code> are keyed by an empty
+     * String.
+     */
+    public Map<String, Long> getErrorCountsByObj() {
+        return errorCountsByObj;
+    }
+
+    /**
+     * Get the most recent heartbeat latency, <code>null</code> if none has been logged.
+     */
+    public Duration getLastHeartbeatLatency() {
+        return lastHeartbeatLatency;
+    }
+
+    /**
+     * Get the max heartbeat latency, <code>null</code> if none has been logged.
+     */
+    public Duration getMaxHeartbeatLatency() {
+        return maxHeartbeatLatency;
+    }
+
+    /**
+     * Get the average heartbeat latency, <code>null</code> if none has been logged.
+     */
+    public Duration getAverageHeartbeatLatency() {
+        return averageHeartbeatLatency;
+    }
+
+    /**
+     * Get the time from the most recent process spawn to its web service starting, <code>null</code> if not yet
+     * reached.
+     */
+    public Duration getTimeToWebService() {
+        return timeToWebService;
+    }
+
+    /**
+     * Get the time from the most recent process spawn to its client session being established, <code>null</code> if
+     * not yet reached.
+     */
+    public Duration getTimeToSession() {
+        return timeToSession;
+    }
+
+    /**
+     * Get the time from the most recent process spawn to its tunnel session starting, <code>null</code> if not yet
+     * reached.
+     */
+    public Duration getTimeToTunnelSession() {
+        return timeToTunnelSession;
+    }
+
+    /**
+     * Get the timestamp of the most recent log, <code>null</code> if none has been logged.
+     */
+    public Instant getLastEvent() {
+        return lastEvent;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * A per-key token bucket used to rate limit how many <code>ngrok</code> logs are forwarded to the logger, as
+ * configured by {@link JavaNgrokConfig#getLogRateLimit()}. Each key (typically a log's level and message) may burst up
+ * to the limit, then is refilled at the limit per second. Suppressed logs are counted, so a summary can be emitted when
+ * the key is next permitted.
+ */
+public class NgrokLogRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // Bounds memory when ngrok emits many distinct messages, the least recently seen keys are dropped first
+    private static final int MAX_KEYS = 1024;
+
+    private final int permitsPerSecond;
+    private final LongSupplier nanoTime;
+    private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Bucket> eldest) {
+            return size() > MAX_KEYS;
+        }
+    };
+
+    /**
+     * Construct a rate limiter that permits the given number of logs per second, per key.
+     *
+     * @param permitsPerSecond The number of logs per second to permit.
+     */
+    public NgrokLogRateLimiter(final int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Construct a rate limiter that permits the given number of logs per second, per key, using the given time
+     * source.
+     *
+     * @param permitsPerSecond The number of logs per second to permit.
+     * @param nanoTime         The time source, in nanoseconds.
+     * @throws IllegalArgumentException The argument was invalid.
+     */
+    public NgrokLogRateLimiter(final int permitsPerSecond,
+                               final LongSupplier nanoTime) {
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("\"permitsPerSecond\" must be greater than 0.");
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoTime = Objects.requireNonNull(nanoTime);
+    }
+
+    /**
+     * Attempt to take a permit for the given key.
+     *
+     * @param key The key to rate limit by.
+     * @return <code>-1</code> if the log should be suppressed, otherwise the number of logs that were suppressed for
+     *     this key since it was last permitted.
+     */
+    public synchronized long acquire(final String key) {
+        final long now = nanoTime.getAsLong();
+        final Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(permitsPerSecond, now));
+
+        final double refill = (double) (now - bucket.lastRefill) * permitsPerSecond / NANOS_PER_SECOND;
+        bucket.tokens = Math.min(permitsPerSecond, bucket.tokens + refill);
+        bucket.lastRefill = now;
+
+        if (bucket.tokens < 1) {
+            ++bucket.suppressed;
+            return -1;
+        }
+
+        --bucket.tokens;
+        final long suppressed = bucket.suppressed;
+        bucket.suppressed = 0;
+        return suppressed;
+    }
+
+    /**
+     * Get and reset the number of logs suppressed for each key since it was last permitted. Keys with no suppressed
+     * logs are omitted.
+     *
+     * @return The suppressed counts, by key.
+     */
+    public synchronized Map<String, Long> drainSuppressed() {
+        final Map<String, Long> suppressed = new HashMap<>();
+        for (final Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            if (entry.getValue().suppressed > 0) {
+                suppressed.put(entry.getKey(), entry.getValue().suppressed);
+                entry.getValue().suppressed = 0;
+            }
+        }
+
+        return Map.copyOf(suppressed);
+    }
+
+    private static class Bucket {
+
+        private double tokens;
+        private long lastRefill;
+        private long suppressed;
+
+        private Bucket(final double tokens,
+                       final long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.exception.JavaNgrokException;
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An on-disk spool of every raw log line emitted by the <code>ngrok</code> process, as configured by
+ * {@link JavaNgrokConfig#getLogSpoolPath()}. Unlike {@link NgrokLogStore}, which only retains the most recent
+ * {@link JavaNgrokConfig#getMaxLogs()} logs on the heap, the spool keeps full history for incident analysis.
+ *
+ * <p>Lines are appended to fixed-size, memory-mapped segment files (<code>ngrok-spool-000001.log</code>,
+ * <code>ngrok-spool-000002.log</code>, ...), so an append is a copy in to the page cache rather than a syscall. When a
+ * segment is full, the spool rotates to a new one, deleting the oldest once there are more than
+ * {@link JavaNgrokConfig#getLogSpoolMaxSegments()}. Unused space at the end of a segment is zero-filled, so readers
+ * stop at the first <code>NUL</code> byte.
+ *
+ * <p>A sparse, in-memory index of timestamps to offsets is kept for each segment written by this spool, which lets
+ * {@link #replay(Instant, Instant, Consumer)} skip to the requested time range rather than scanning from the start.
+ * Segments left behind by a previous spool in the same directory are also replayed, but are scanned in full.
+ *
+ * <p>A spool holds a lock on <code>ngrok-spool.lock</code> in its directory until it is closed, so only one spool,
+ * in this or any other JVM, writes to a directory at a time.
+ */
+public class NgrokLogSpool implements Closeable {
+
+    /**
+     * The default size of each segment file, in bytes.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * The default number of segment files to keep.
+     */
+    public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+    /**
+     * The minimum size of each segment file, in bytes.
+     */
+    public static final long MIN_SEGMENT_SIZE = 4 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NgrokLogSpool.class);
+
+    private static final String LOCK_NAME = "ngrok-spool.lock";
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("^ngrok-spool-([0-9]+)\\.log$");
+
+    // Index one line in this many, so the index stays small relative to the segment
+    private static final int INDEX_INTERVAL = 64;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final FileLock lock;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence = 1;
+    private MappedByteBuffer buffer;
+    private int linesUntilIndex;
+    private boolean closed;
+
+    /**
+     * Construct a spool in the given directory, creating it if it does not exist. Segments already in the directory
+     * are kept, and appends start in a new segment.
+     *
+     * @param directory   The directory in which to write segment files.
+     * @param segmentSize The size of each segment file, in bytes.
+     * @param maxSegments The number of segment files to keep.
+     * @throws IOException              The directory or first segment could not be created, or the directory is in
+     *                                  use by another spool.
+     * @throws IllegalArgumentException An argument was invalid.
+     */
+    public NgrokLogSpool(final Path directory,
+                         final long segmentSize,
+                         final int maxSegments) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("\"segmentSize\" must be between %s and %s.",
+                MIN_SEGMENT_SIZE, Integer.MAX_VALUE));
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("\"maxSegments\" must be greater than 0.");
+        }
+
+        this.directory = Objects.requireNonNull(directory);
+        this.segmentSize = (int) segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        this.lock = lock(directory);
+        try {
+            try (Stream<Path> paths = Files.list(directory)) {
+                final List<Segment> existing = paths
+                    .map(Segment::existing)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingLong(segment -> segment.sequence))
+                    .collect(Collectors.toList());
+                for (final Segment segment : existing) {
+                    segments.add(segment);
+                    nextSequence = segment.sequence + 1;
+                }
+            }
+
+            rotate();
+        } catch (final IOException | RuntimeException e) {
+            unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Construct a spool as configured by {@link JavaNgrokConfig#getLogSpoolPath()},
+     * {@link JavaNgrokConfig#getLogSpoolSegmentSize()}, and {@link JavaNgrokConfig#getLogSpoolMaxSegments()}.
+     *
+     * @param javaNgrokConfig The config.
+     * @throws IOException The directory or first segment could not be created, or the directory is in use by
+     *                     another spool.
+     */
+    public NgrokLogSpool(final JavaNgrokConfig javaNgrokConfig) throws IOException {
+        this(javaNgrokConfig.getLogSpoolPath(), javaNgrokConfig.getLogSpoolSegmentSize(),
+            javaNgrokConfig.getLogSpoolMaxSegments());
+    }
+
+    /**
+     * Get the directory in which segment files are written.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the paths to the segment files currently in the spool, oldest first.
+     */
+    public synchronized List<Path> getSegments() {
+        return segments.stream().map(segment -> segment.path).collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Append a raw log line to the spool. Lines longer than a segment are truncated.
+     *
+     * @param line The raw log line from <code>ngrok</code>.
+     * @throws IllegalStateException The spool is closed.
+     * @throws JavaNgrokException    A new segment was needed, but could not be created.
+     */
+    public synchronized void append(final String line) {
+        if (closed) {
+            throw new IllegalStateException("The log spool is closed.");
+        }
+
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        final int length = Math.min(bytes.length, segmentSize - 1);
+        if (buffer.remaining() < length + 1) {
+            try {
+                rotate();
+            } catch (final IOException e) {
+                throw new JavaNgrokException("An error occurred while rotating the log spool.", e);
+            }
+        }
+
+        final Segment current = segments.getLast();
+        if (linesUntilIndex == 0) {
+            final Instant timestamp = NgrokLog.peekTimestamp(line);
+            // Lines without a timestamp can't be indexed, so try again with the next line
+            if (nonNull(timestamp)) {
+                current.index.putIfAbsent(timestamp, buffer.position());
+                linesUntilIndex = INDEX_INTERVAL;
+            }
+        } else {
+            --linesUntilIndex;
+        }
+
+        buffer.put(bytes, 0, length);
+        buffer.put((byte) '\n');
+        current.limit = buffer.position();
+    }
+
+    /**
+     * Flush appended lines in the current segment to disk. The spool does this itself when rotating and closing, so
+     * this only needs to be called to make lines durable sooner, for instance before the JVM might be killed.
+     */
+    public synchronized void force() {
+        if (nonNull(buffer)) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flush and close the spool, releasing its lock on the directory. Segment files are left on disk, and the spool
+     * can still be replayed.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        force();
+        buffer = null;
+        closed = true;
+        unlock();
+    }
+
+    /**
+     * Whether the spool has been closed.
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Replay every line in the spool, oldest first. See {@link #replay(Instant, Instant, Consumer)}.
+     *
+     * @param consumer The consumer to which each log is passed.
+     * @throws IOException A segment file could not be read.
+     */
+    public void replay(final Consumer<NgrokLog> consumer) throws IOException {
+        replay(null, null, consumer);
+    }
+
+    /**
+     * Replay lines in the spool as {@link NgrokLog}s, oldest first, without loading the spool on to the heap. When a
+     * time range is given, lines without a parsable timestamp are skipped. Appends are not blocked while replaying,
+     * and lines appended after the replay began may not be included.
+     *
+     * @param from     The earliest timestamp to include (inclusive), or <code>null</code> for no lower bound.
+     * @param until    The latest timestamp to include (exclusive), or <code>null</code> for no upper bound.
+     * @param consumer The consumer to which each log is passed.
+     * @throws IOException A segment file could not be read.
+     */
+    public void replay(final Instant from,
+                       final Instant until,
+                       final Consumer<NgrokLog> consumer) throws IOException {
+        Objects.requireNonNull(consumer);
+
+        for (final Range range : plan(from, until)) {
+            final MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(range.path, StandardOpenOption.READ)) {
+                final long size = range.limit >= 0 ? Math.min(range.limit, channel.size()) : channel.size();
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (final NoSuchFileException e) {
+                LOGGER.debug("Log spool segment was rotated out before it could be replayed: {}", range.path);
+                continue;
+            }
+
+            int lineStart = range.start;
+            for (int i = range.start; i < segment.limit(); ++i) {
+                final byte b = segment.get(i);
+                if (b == 0) {
+                    break;
+                } else if (b == '\n') {
+                    accept(segment, lineStart, i, from, until, consumer);
+                    lineStart = i + 1;
+                }
+            }
+        }
+    }
+
+    private synchronized List<Range> plan(final Instant from,
+                                          final Instant until) {
+        final List<Range> ranges = new ArrayList<>();
+        final List<Segment> snapshot = new ArrayList<>(segments);
+        for (int i = 0; i < snapshot.size(); ++i) {
+            final Segment segment = snapshot.get(i);
+
+            // Timestamps are emitted in order, so a segment ending before "from" is wholly before it
+            if (nonNull(from) && i + 1 < snapshot.size() && !snapshot.get(i + 1).index.isEmpty()
+                && snapshot.get(i + 1).index.firstKey().isBefore(from)) {
+                continue;
+            }
+            if (nonNull(until) && !segment.index.isEmpty() && !segment.index.firstKey().isBefore(until)) {
+                break;
+            }
+
+            int start = 0;
+            if (nonNull(from)) {
+                final Map.Entry<Instant, Integer> floor = segment.index.floorEntry(from);
+                if (nonNull(floor)) {
+                    start = floor.getValue();
+                }
+            }
+
+            ranges.add(new Range(segment.path, start, segment.limit));
+        }
+
+        return ranges;
+    }
+
+    private void accept(final MappedByteBuffer segment,
+                        final int start,
+                        final int end,
+                        final Instant from,
+                        final Instant until,
+                        final Consumer<NgrokLog> consumer) {
+        if (end == start) {
+            return;
+        }
+
+        final byte[] bytes = new byte[end - start];
+        final ByteBuffer slice = segment.duplicate();
+        slice.position(start);
+        slice.get(bytes);
+
+        final NgrokLog ngrokLog = new NgrokLog(new String(bytes, StandardCharsets.UTF_8));
+        if (nonNull(from) || nonNull(until)) {
+            final Instant timestamp = ngrokLog.getTimestamp();
+            if (isNull(timestamp) || (nonNull(from) && timestamp.isBefore(from))
+                || (nonNull(until) && !timestamp.isBefore(until))) {
+                return;
+            }
+        }
+
+        consumer.accept(ngrokLog);
+    }
+
+    private void rotate() throws IOException {
+        if (nonNull(buffer)) {
+            buffer.force();
+        }
+
+        while (segments.size() >= maxSegments) {
+            final Segment oldest = segments.removeFirst();
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (final IOException e) {
+                LOGGER.warn(String.format("An error occurred deleting log spool segment: %s", oldest.path), e);
+            }
+        }
+
+        final Path path = directory.resolve(String.format("ngrok-spool-%06d.log", nextSequence));
+        // The mapping outlives the channel, and mapping past the end of the file zero-fills it. Segments are never
+        // reused, so an existing file is an error rather than something to truncate.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        segments.add(new Segment(nextSequence, path, 0));
+        ++nextSequence;
+        linesUntilIndex = 0;
+    }
+
+    private static FileLock lock(final Path directory) throws IOException {
+        final Path path = directory.resolve(LOCK_NAME);
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (final OverlappingFileLockException e) {
+            // Another spool in this JVM already holds the lock
+            fileLock = null;
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        if (isNull(fileLock)) {
+            channel.close();
+            throw new IOException(String.format("The log spool directory is in use by another spool: %s", directory));
+        }
+
+        return fileLock;
+    }
+
+    private void unlock() {
+        try {
+            lock.release();
+            lock.channel().close();
+        } catch (final IOException e) {
+            LOGGER.warn(String.format("An error occurred releasing the log spool lock: %s", directory), e);
+        }
+    }
+
+    private static class Segment {
+
+        private final long sequence;
+        private final Path path;
+        private final TreeMap<Instant, Integer> index = new TreeMap<>();
+        // The offset after the last appended line, or -1 if not written by this spool
+        private int limit;
+
+        private Segment(final long sequence,
+                        final Path path,
+                        final int limit) {
+            this.sequence = sequence;
+            this.path = path;
+            this.limit = limit;
+        }
+
+        private static Segment existing(final Path path) {
+            final Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+            if (!matcher.matches()) {
+                return null;
+            }
+
+            return new Segment(Long.parseLong(matcher.group(1)), path, -1);
+        }
+    }
+
+    private static class Range {
+
+        private final Path path;
+        private final int start;
+        private final int limit;
+
+        private Range(final Path path,
+                      final int start,
+                      final int limit) {
+            this.path = path;
+            this.start = start;
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded store of {@link NgrokLog}s retained from the <code>ngrok</code> process, with secondary indexes on
+ * <code>lvl</code>, <code>obj</code>, <code>msg</code>, and the log's timestamp. Once
+ * {@link JavaNgrokConfig#getMaxLogs()} logs are retained, the oldest log is evicted (along with its index entries) as
+ * each new log is appended, so queries only ever touch the logs that match.
+ *
+ * <h2>Basic Usage</h2>
+ * <pre>
+ * final NgrokLogStore logStore = ngrokProcess.getLogStore();
+ *
+ * final List&lt;NgrokLog&gt; recentSessionErrors = logStore.query(new NgrokLogStore.Query.Builder()
+ *         .withLvl("ERROR")
+ *         .withObj("tunnels.session")
+ *         .withFrom(Instant.now().minus(Duration.ofMinutes(10)))
+ *         .build());
+ *
+ * final Map&lt;String, Integer&gt; countsByLvl = logStore.countBy(NgrokLogStore.Field.LVL);
+ * </pre>
+ */
+public class NgrokLogStore {
+
+    private final int maxLogs;
+    private final ArrayDeque<NgrokLog> logs = new ArrayDeque<>();
+    private final Map<String, ArrayDeque<NgrokLog>> lvlIndex = new HashMap<>();
+    private final Map<String, ArrayDeque<NgrokLog>> objIndex = new HashMap<>();
+    private final Map<String, ArrayDeque<NgrokLog>> msgIndex = new HashMap<>();
+    private final NavigableMap<Instant, ArrayDeque<NgrokLog>> timeIndex = new TreeMap<>();
+
+    /**
+     * Construct a store that retains at most the given number of logs.
+     *
+     * @param maxLogs The maximum number of logs to retain.
+     * @throws IllegalArgumentException The argument was invalid.
+     */
+    public NgrokLogStore(final int maxLogs) {
+        if (maxLogs < 1) {
+            throw new IllegalArgumentException("\"maxLogs\" must be greater than 0.");
+        }
+
+        this.maxLogs = maxLogs;
+    }
+
+    /**
+     * Append a log to the store, evicting the oldest log if the store is full.
+     *
+     * @param ngrokLog The log to append.
+     */
+    public synchronized void append(final NgrokLog ngrokLog) {
+        logs.addLast(ngrokLog);
+        index(lvlIndex, ngrokLog.getLvl(), ngrokLog);
+        index(objIndex, ngrokLog.getObj(), ngrokLog);
+        index(msgIndex, ngrokLog.getMsg(), ngrokLog);
+        if (nonNull(ngrokLog.getTimestamp())) {
+            timeIndex.computeIfAbsent(ngrokLog.getTimestamp(), k -> new ArrayDeque<>()).addLast(ngrokLog);
+        }
+
+        while (logs.size() > maxLogs) {
+            evict(logs.removeFirst());
+        }
+    }
+
+    /**
+     * Get all retained logs, oldest first.
+     */
+    public synchronized List<NgrokLog> getLogs() {
+        return List.of(logs.toArray(new NgrokLog[]{}));
+    }
+
+    /**
+     * Get the number of retained logs.
+     */
+    public synchronized int size() {
+        return logs.size();
+    }
+
+    /**
+     * Get the maximum number of logs this store will retain.
+     */
+    public int getMaxLogs() {
+        return maxLogs;
+    }
+
+    /**
+     * Remove all retained logs.
+     */
+    public synchronized void clear() {
+        logs.clear();
+        lvlIndex.clear();
+        objIndex.clear();
+        msgIndex.clear();
+        timeIndex.clear();
+    }
+
+    /**
+     * Find the retained logs that match the given {@link Query}. If {@link Query#getLimit()} is set, only the most
+     * recent matches are returned.
+     *
+     * @param query The query to match logs against.
+     * @return The matching logs, oldest first.
+     */
+    public synchronized List<NgrokLog> query(final Query query) {
+        final List<NgrokLog> matches = new ArrayList<>();
+
+        final Iterator<NgrokLog> candidates = candidates(query);
+        while (candidates.hasNext() && (query.limit == 0 || matches.size() < query.limit)) {
+            final NgrokLog ngrokLog = candidates.next();
+            if (query.matches(ngrokLog)) {
+                matches.add(ngrokLog);
+            }
+        }
+
+        Collections.reverse(matches);
+
+        return List.of(matches.toArray(new NgrokLog[]{}));
+    }
+
+    /**
+     * Count the number of retained logs that match the given {@link Query}, ignoring its limit.
+     *
+     * @param query The query to match logs against.
+     * @return The number of matching logs.
+     */
+    public synchronized int count(final Query query) {
+        if (query.isUnfiltered()) {
+            return logs.size();
+        }
+
+        int count = 0;
+        final Iterator<NgrokLog> candidates = candidates(query);
+        while (candidates.hasNext()) {
+            if (query.matches(candidates.next())) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Count all retained logs, grouped by the value of the given {@link Field}. Logs that have no value for the field
+     * are not counted.
+     *
+     * @param field The field to group by.
+     * @return The counts, keyed by the field's value.
+     */
+    public synchronized Map<String, Integer> countBy(final Field field) {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final Map.Entry<String, ArrayDeque<NgrokLog>> entry : indexFor(field).entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().size());
+        }
+
+        return Map.copyOf(counts);
+    }
+
+    /**
+     * Count the retained logs that match the given {@link Query} (ignoring its limit), grouped by the value of the
+     * given {@link Field}. Logs that have no value for the field are not counted.
+     *
+     * @param query The query to match logs against.
+     * @param field The field to group by.
+     * @return The counts, keyed by the field's value.
+     */
+    public synchronized Map<String, Integer> countBy(final Query query, final Field field) {
+        if (query.isUnfiltered()) {
+            return countBy(field);
+        }
+
+        final Map<String, Integer> counts = new HashMap<>();
+        final Iterator<NgrokLog> candidates = candidates(query);
+        while (candidates.hasNext()) {
+            final NgrokLog ngrokLog = candidates.next();
+            final String value = field.valueOf(ngrokLog);
+            if (nonNull(value) && query.matches(ngrokLog)) {
+                counts.merge(value, 1, Integer::sum);
+            }
+        }
+
+        return Map.copyOf(counts);
+    }
+
+    private Iterator<NgrokLog> candidates(final Query query) {
+        // Scan the smallest index that applies to the query, newest first
+        ArrayDeque<NgrokLog> smallest = null;
+        if (nonNull(query.lvl)) {
+            smallest = smaller(smallest, lvlIndex.get(query.lvl));
+        }
+        if (nonNull(query.obj)) {
+            smallest = smaller(smallest, objIndex.get(query.obj));
+        }
+        if (nonNull(query.msg)) {
+            smallest = smaller(smallest, msgIndex.get(query.msg));
+        }
+
+        if (nonNull(smallest)) {
+            return smallest.descendingIterator();
+        } else if (nonNull(query.from) || nonNull(query.until)) {
+            return new TimeRangeIterator(timeRange(query).descendingMap().values().iterator());
+        } else {
+            return logs.descendingIterator();
+        }
+    }
+
+    private ArrayDeque<NgrokLog> smaller(final ArrayDeque<NgrokLog> current,
+                                         final ArrayDeque<NgrokLog> candidate) {
+        final ArrayDeque<NgrokLog> indexed = nonNull(candidate) ? candidate : new ArrayDeque<>();
+        if (isNull(current) || indexed.size() < current.size()) {
+            return indexed;
+        }
+
+        return current;
+    }
+
+    private NavigableMap<Instant, ArrayDeque<NgrokLog>> timeRange(final Query query) {
+        if (nonNull(query.from) && nonNull(query.until)) {
+            if (!query.from.isBefore(query.until)) {
+                return Collections.emptyNavigableMap();
+            }
+            return timeIndex.subMap(query.from, true, query.until, false);
+        } else if (nonNull(query.from)) {
+            return timeIndex.tailMap(query.from, true);
+        } else {
+            return timeIndex.headMap(query.until, false);
+        }
+    }
+
+    private Map<String, ArrayDeque<NgrokLog>> indexFor(final Field field) {
+        switch (field) {
+            case OBJ:
+                return objIndex;
+            case MSG:
+                return msgIndex;
+            case LVL:
+            default:
+                return lvlIndex;
+        }
+    }
+
+    private void index(final Map<String, ArrayDeque<NgrokLog>> index,
+                       final String key,
+                       final NgrokLog ngrokLog) {
+        if (nonNull(key)) {
+            index.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(ngrokLog);
+        }
+    }
+
+    private void evict(final NgrokLog ngrokLog) {
+        unindex(lvlIndex, ngrokLog.getLvl());
+        unindex(objIndex, ngrokLog.getObj());
+        unindex(msgIndex, ngrokLog.getMsg());
+        if (nonNull(ngrokLog.getTimestamp())) {
+            unindex(timeIndex, ngrokLog.getTimestamp());
+        }
+    }
+
+    private <K> void unindex(final Map<K, ArrayDeque<NgrokLog>> index,
+                             final K key) {
+        if (isNull(key)) {
+            return;
+        }
+
+        // Logs are evicted in the order they were appended, so the evicted log is always the head of its index
+        final ArrayDeque<NgrokLog> indexed = index.get(key);
+        if (nonNull(indexed)) {
+            indexed.pollFirst();
+            if (indexed.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static class TimeRangeIterator implements Iterator<NgrokLog> {
+
+        private final Iterator<ArrayDeque<NgrokLog>> buckets;
+        private Iterator<NgrokLog> current = Collections.emptyIterator();
+
+        private TimeRangeIterator(final Iterator<ArrayDeque<NgrokLog>> buckets) {
+            this.buckets = buckets;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && buckets.hasNext()) {
+                current = buckets.next().descendingIterator();
+            }
+
+            return current.hasNext();
+        }
+
+        @Override
+        public NgrokLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return current.next();
+        }
+    }
+
+    /**
+     * The indexed fields of a {@link NgrokLog}.
+     */
+    public enum Field {
+        /**
+         * The log's <code>lvl</code>.
+         */
+        LVL,
+        /**
+         * The log's <code>obj</code>.
+         */
+        OBJ,
+        /**
+         * The log's <code>msg</code>.
+         */
+        MSG;
+
+        private String valueOf(final NgrokLog ngrokLog) {
+            switch (this) {
+                case OBJ:
+                    return ngrokLog.getObj();
+                case MSG:
+                    return ngrokLog.getMsg();
+                case LVL:
+                default:
+                    return ngrokLog.getLvl();
+            }
+        }
+    }
+
+    /**
+     * An object representing a query against a {@link NgrokLogStore}. All set filters must match for a log to be
+     * returned.
+     */
+    public static class Query {
+
+        private final String lvl;
+        private final String obj;
+        private final String msg;
+        private final Instant from;
+        private final Instant until;
+        private final int limit;
+
+        private Query(final Builder builder) {
+            this.lvl = builder.lvl;
+            this.obj = builder.obj;
+            this.msg = builder.msg;
+            this.from = builder.from;
+            this.until = builder.until;
+            this.limit = builder.limit;
+        }
+
+        /**
+         * Get the <code>lvl</code> to match.
+         */
+        public String getLvl() {
+            return lvl;
+        }
+
+        /**
+         * Get the <code>obj</code> to match.
+         */
+        public String getObj() {
+            return obj;
+        }
+
+        /**
+         * Get the <code>msg</code> to match.
+         */
+        public String getMsg() {
+            return msg;
+        }
+
+        /**
+         * Get the inclusive start of the time range to match.
+         */
+        public Instant getFrom() {
+            return from;
+        }
+
+        /**
+         * Get the exclusive end of the time range to match.
+         */
+        public Instant getUntil() {
+            return until;
+        }
+
+        /**
+         * Get the maximum number of logs to return, <code>0</code> if unlimited.
+         */
+        public int getLimit() {
+            return limit;
+        }
+
+        private boolean isUnfiltered() {
+            return isNull(lvl) && isNull(obj) && isNull(msg) && isNull(from) && isNull(until);
+        }
+
+        private boolean matches(final NgrokLog ngrokLog) {
+            if (nonNull(lvl) && !lvl.equals(ngrokLog.getLvl())) {
+                return false;
+            }
+            if (nonNull(obj) && !obj.equals(ngrokLog.getObj())) {
+                return false;
+            }
+            if (nonNull(msg) && !msg.equals(ngrokLog.getMsg())) {
+                return false;
+            }
+            if (nonNull(from) || nonNull(until)) {
+                final Instant timestamp = ngrokLog.getTimestamp();
+                if (isNull(timestamp)) {
+                    return false;
+                }
+                if (nonNull(from) && timestamp.isBefore(from)) {
+                    return false;
+                }
+                return isNull(until) || timestamp.isBefore(until);
+            }
+
+            return true;
+        }
+
+        /**
+         * Builder for a {@link Query}.
+         */
+        public static class Builder {
+
+            private String lvl;
+            private String obj;
+            private String msg;
+            private Instant from;
+            private Instant until;
+            private int limit;
+
+            /**
+             * Match logs with this <code>lvl</code> (ex. "ERROR").
+             */
+            public Builder withLvl(final String lvl) {
+                this.lvl = nonNull(lvl) ? lvl.toUpperCase() : null;
+                return this;
+            }
+
+            /**
+             * Match logs with this <code>obj</code> (ex. "tunnels.session").
+             */
+            public Builder withObj(final String obj) {
+                this.obj = obj;
+                return this;
+            }
+
+            /**
+             * Match logs with this <code>msg</code>.
+             */
+            public Builder withMsg(final String msg) {
+                this.msg = msg;
+                return this;
+            }
+
+            /**
+             * Match logs whose timestamp is at or after this time.
+             */
+            public Builder withFrom(final Instant from) {
+                this.from = from;
+                return this;
+            }
+
+            /**
+             * Match logs whose timestamp is before this time.
+             */
+            public Builder withUntil(final Instant until) {
+                this.until = until;
+                return this;
+            }
+
+            /**
+             * The maximum number of logs to return, the most recent matches are kept.
+             *
+             * @throws IllegalArgumentException The argument was invalid.
+             */
+            public Builder withLimit(final int limit) {
+                if (limit < 0) {
+                    throw new IllegalArgumentException("\"limit\" cannot be negative.");
+                }
+
+                this.limit = limit;
+                return this;
+            }
+
+            /**
+             * Build the {@link Query}.
+             */
+            public Query build() {
+                return new Query(this);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -17,17 +17,37 @@ import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
 import com.github.alexdlaird.ngrok.installer.ConfigVersion;
 import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
-import com.github.alexdlaird.ngrok.protocol.Tunnels;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,19 +68,44 @@ public class NgrokProcess {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NgrokProcess.class);
 
+    private static final Duration FORCIBLE_EXIT_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final String DEFAULT_WEB_ADDR = "127.0.0.1:4040";
+
+    // How often a process attached to without a PID is checked, and how many checks must fail before it is dead
+    private static final Duration ATTACHED_HEALTH_CHECK_INTERVAL = Duration.ofSeconds(5);
+    private static final int ATTACHED_HEALTH_CHECK_FAILURES = 3;
+
+    private static final ScheduledExecutorService HEALTH_CHECK_SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "ngrok-attached-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
     private final JavaNgrokConfig javaNgrokConfig;
     private final NgrokInstaller ngrokInstaller;
     private final HttpClient httpClient;
-    private final List<NgrokLog> logs = new ArrayList<>();
-
-    private Process process;
-    private ProcessMonitor processMonitor;
-
-    private String apiUrl;
-    private boolean tunnelStarted;
-    private boolean clientConnected;
-    private String startupError;
-    private BufferedReader reader;
+    private final NgrokLogStore logStore;
+    private final NgrokLogAnalyzer logAnalyzer = new NgrokLogAnalyzer();
+    private final NgrokLogRateLimiter logRateLimiter;
+    private volatile NgrokLogSpool logSpool;
+
+    private final AtomicReference<Lifecycle> lifecycle = new AtomicReference<>(Lifecycle.STOPPED);
+    private final List<IntConsumer> exitListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Process process;
+    private volatile ProcessMonitor processMonitor;
+
+    private volatile String apiUrl;
+    private volatile boolean tunnelStarted;
+    private volatile boolean clientConnected;
+    private volatile Set<String> pendingBootTunnels = ConcurrentHashMap.newKeySet();
+    private volatile String startupError;
+    private volatile BufferedReader reader;
+    private volatile boolean attached;
+    private volatile ProcessHandle attachedProcess;
+    private volatile ScheduledFuture<?> attachedHealthCheck;
 
     /**
      * If <code>ngrok</code> is not already installed at {@link JavaNgrokConfig#getNgrokPath()}, the given
@@ -77,6 +122,12 @@ public class NgrokProcess {
         this.javaNgrokConfig = Objects.requireNonNull(javaNgrokConfig);
         this.ngrokInstaller = Objects.requireNonNull(ngrokInstaller);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.logStore = new NgrokLogStore(javaNgrokConfig.getMaxLogs());
+        this.logRateLimiter = javaNgrokConfig.getLogRateLimit() > 0
+            ? new NgrokLogRateLimiter(javaNgrokConfig.getLogRateLimit()) : null;
+        if (nonNull(javaNgrokConfig.getLogSpoolPath())) {
+            this.logSpool = openLogSpool();
+        }
 
         if (!Files.exists(javaNgrokConfig.getNgrokPath())) {
             ngrokInstaller.installNgrok(javaNgrokConfig.getNgrokPath(), javaNgrokConfig.getNgrokVersion());
@@ -116,7 +167,32 @@ public class NgrokProcess {
      * Get the <code>ngrok</code> logs.
      */
     public List<NgrokLog> getLogs() {
-        return List.of(logs.toArray(new NgrokLog[]{}));
+        return logStore.getLogs();
+    }
+
+    /**
+     * Get the indexed store of retained <code>ngrok</code> logs, which can be queried by level, <code>obj</code>,
+     * <code>msg</code>, and time range.
+     */
+    public NgrokLogStore getLogStore() {
+        return logStore;
+    }
+
+    /**
+     * Get the spool to which every raw <code>ngrok</code> log is written, <code>null</code> if
+     * {@link JavaNgrokConfig#getLogSpoolPath()} is not set. The spool is closed when the <code>ngrok</code> process
+     * stops, and a new one is opened in the same directory the next time it starts.
+     */
+    public NgrokLogSpool getLogSpool() {
+        return logSpool;
+    }
+
+    /**
+     * Get a point-in-time snapshot of the operational metrics derived from <code>ngrok</code>'s logs, such as
+     * reconnects, errors per <code>obj</code>, heartbeat latency, and startup phase timings.
+     */
+    public NgrokLogMetrics getMetrics() {
+        return logAnalyzer.getMetrics();
     }
 
     /**
@@ -124,18 +200,152 @@ public class NgrokProcess {
      * <code>ngrok</code> web interface, against which HTTP requests can be made to create, interact with, and
      * destroy tunnels.
      *
+     * <p>This is safe to call from multiple threads. If a start is already in progress, this waits for it to finish
+     * (and throws its exception, if it fails) rather than spawning a second <code>ngrok</code> process.
+     *
      * @throws NgrokException             <code>ngrok</code> could not start.
      * @throws JavaNgrokSecurityException The URL was not supported.
      */
     public void start() {
-        if (isRunning()) {
-            return;
+        while (true) {
+            final Lifecycle current = lifecycle.get();
+            switch (current.state) {
+                case RUNNING:
+                    if (isRunning()) {
+                        return;
+                    }
+
+                    // The process exited without being stopped (and its exit hasn't been handled yet), so handle it
+                    // like any other unexpected exit before starting over
+                    processExited(true, exitCode());
+                    break;
+                case STARTING:
+                    awaitTransition(current);
+                    if (lifecycle.get().state == State.RUNNING) {
+                        return;
+                    }
+                    break;
+                case STOPPING:
+                    awaitTransition(current);
+                    break;
+                case STOPPED:
+                default:
+                    final Lifecycle starting = new Lifecycle(State.STARTING, new CompletableFuture<>());
+                    if (lifecycle.compareAndSet(current, starting)) {
+                        try {
+                            doStart(starting);
+                            starting.transition.complete(null);
+                        } catch (final RuntimeException e) {
+                            lifecycle.set(Lifecycle.STOPPED);
+                            starting.transition.completeExceptionally(e);
+                            throw e;
+                        }
+
+                        return;
+                    }
+            }
         }
+    }
+
+    /**
+     * Get the current state of the <code>ngrok</code> process's lifecycle. This is cheap and safe to call from any
+     * thread.
+     */
+    public State getState() {
+        return lifecycle.get().state;
+    }
+
+    /**
+     * Add a listener that is invoked with the exit code when a running <code>ngrok</code> process exits without
+     * being stopped, for instance if it crashes or is killed externally. Listeners are invoked on a background thread.
+     *
+     * @param listener The listener.
+     */
+    public void addExitListener(final IntConsumer listener) {
+        exitListeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Remove a listener added with {@link #addExitListener(IntConsumer)}.
+     *
+     * @param listener The listener.
+     */
+    public void removeExitListener(final IntConsumer listener) {
+        exitListeners.remove(listener);
+    }
+
+    /**
+     * Whether this object is currently managing a running <code>ngrok</code> process.
+     */
+    public boolean isRunning() {
+        if (attached) {
+            // Without a PID (when found by probing the API), the process is assumed running until its health check
+            // fails or it is detached
+            final ProcessHandle handle = attachedProcess;
+            return isNull(handle) || handle.isAlive();
+        }
+
+        final Process current = process;
+        return nonNull(current) && current.isAlive();
+    }
+
+    /**
+     * Whether this object is attached to a <code>ngrok</code> process it did not spawn, see
+     * {@link JavaNgrokConfig#isAttach()}.
+     */
+    public boolean isAttached() {
+        return attached;
+    }
+
+    /**
+     * Terminate the <code>ngrok</code> processes, if running. This method will not block, it will just issue a kill
+     * request. If a start is in progress, it will fail.
+     *
+     * <p>The state stays {@link State#STOPPING} until the process exits, so a subsequent {@link #start()} waits for
+     * it. If it has not exited within {@link JavaNgrokConfig#getStopTimeout()}, it is forcibly killed.
+     */
+    public void stop() {
+        doStop(null);
+    }
+
+    /**
+     * Terminate the <code>ngrok</code> processes, if running, and wait for it to exit. If it has not exited gracefully
+     * within the given timeout, it is forcibly killed. If a start is in progress, it will fail.
+     *
+     * @param timeout The max time to wait for a graceful exit.
+     * @return <code>true</code> if no <code>ngrok</code> process is left running.
+     */
+    public boolean stop(final Duration timeout) {
+        return doStop(Objects.requireNonNull(timeout));
+    }
+
+    /**
+     * Stop the <code>ngrok</code> process when the JVM is shutting down, see {@link NgrokShutdownHook}.
+     */
+    void stopOnShutdown() {
+        if (!stop(Duration.ofSeconds(javaNgrokConfig.getStopTimeout()))) {
+            LOGGER.warn("ngrok process could not be stopped before the JVM exited");
+        }
+    }
 
+    private void doStart(final Lifecycle starting) {
         apiUrl = null;
         tunnelStarted = false;
         clientConnected = false;
+        pendingBootTunnels = ConcurrentHashMap.newKeySet();
         processMonitor = null;
+        attached = false;
+        attachedProcess = null;
+        cancelAttachedHealthCheck();
+
+        if (javaNgrokConfig.isAttach() && attach()) {
+            if (!lifecycle.compareAndSet(starting, new Lifecycle(State.RUNNING, null))) {
+                destroyProcess();
+                throw new NgrokException("The ngrok process was stopped while starting.");
+            }
+
+            return;
+        }
 
         if (!Files.exists(javaNgrokConfig.getNgrokPath())) {
             throw new NgrokException(String.format("ngrok binary was not found. "
@@ -145,6 +355,22 @@ public class NgrokProcess {
         }
         ngrokInstaller.validateConfig(javaNgrokConfig.getConfigPath());
 
+        if (nonNull(logSpool) && logSpool.isClosed()) {
+            logSpool = openLogSpool();
+        }
+
+        final List<String> bootTunnelNames = new ArrayList<>();
+        for (final CreateTunnel createTunnel : javaNgrokConfig.getBootTunnels()) {
+            bootTunnelNames.add(createTunnel.getName());
+        }
+        final Path bootConfigPath = getBootConfigPath();
+        if (!bootTunnelNames.isEmpty()) {
+            ngrokInstaller.installTunnelsConfig(bootConfigPath, javaNgrokConfig.getBootTunnels(),
+                javaNgrokConfig.getConfigVersion());
+
+            pendingBootTunnels.addAll(bootTunnelNames);
+        }
+
         final ProcessBuilder processBuilder = new ProcessBuilder();
         processBuilder.redirectErrorStream(true);
         processBuilder.inheritIO().redirectOutput(ProcessBuilder.Redirect.PIPE);
@@ -152,7 +378,12 @@ public class NgrokProcess {
         final List<String> command = new ArrayList<>();
         command.add(javaNgrokConfig.getNgrokPath().toString());
         command.add("start");
-        command.add("--none");
+        if (bootTunnelNames.isEmpty()) {
+            command.add("--none");
+        } else {
+            LOGGER.info("Starting ngrok with boot tunnels: {}", bootTunnelNames);
+            command.addAll(bootTunnelNames);
+        }
         command.add("--log");
         command.add("stdout");
 
@@ -161,6 +392,10 @@ public class NgrokProcess {
             command.add("--config");
             command.add(javaNgrokConfig.getConfigPath().toString());
         }
+        if (!bootTunnelNames.isEmpty()) {
+            command.add("--config");
+            command.add(bootConfigPath.toString());
+        }
         if (nonNull(javaNgrokConfig.getAuthToken())) {
             LOGGER.info("Overriding default auth token");
             command.add("--authtoken");
@@ -175,7 +410,14 @@ public class NgrokProcess {
         processBuilder.command(command);
         try {
             process = processBuilder.start();
-            Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+            if (lifecycle.get() != starting) {
+                destroyProcess();
+                throw new NgrokException("The ngrok process was stopped while starting.");
+            }
+            logAnalyzer.processStarted();
+            final Process started = process;
+            NgrokShutdownHook.getInstance().register(this);
+            started.onExit().thenRun(() -> processExited(process == started, started.exitValue()));
 
             LOGGER.trace("ngrok process starting with PID: {}", process.pid());
 
@@ -201,6 +443,10 @@ public class NgrokProcess {
 
                     processMonitor = new ProcessMonitor(this, javaNgrokConfig);
                     new Thread(processMonitor).start();
+
+                    if (javaNgrokConfig.isAttach()) {
+                        writeLockFile();
+                    }
                 }
 
                 if (healthy() || !isRunning()) {
@@ -210,45 +456,216 @@ public class NgrokProcess {
 
             if (!healthy()) {
                 // If the process did not come up in a healthy state, clean up the state
-                stop();
+                destroyProcess();
 
                 if (nonNull(startupError)) {
                     throw new NgrokException(String.format("The ngrok process errored on start: %s.",
-                        startupError), logs, startupError);
+                        startupError), logStore.getLogs(), startupError);
                 } else {
-                    throw new NgrokException("The ngrok process was unable to start.", logs);
+                    throw new NgrokException("The ngrok process was unable to start.", logStore.getLogs());
                 }
             }
         } catch (final IOException e) {
+            destroyProcess();
             throw new NgrokException("An error occurred while starting ngrok.", e);
         }
+
+        if (!lifecycle.compareAndSet(starting, new Lifecycle(State.RUNNING, null))) {
+            destroyProcess();
+            throw new NgrokException("The ngrok process was stopped while starting.");
+        }
     }
 
-    /**
-     * Whether this object is currently managing a running <code>ngrok</code> process.
-     */
-    public boolean isRunning() {
-        return nonNull(process) && process.isAlive();
+    private boolean doStop(final Duration timeout) {
+        while (true) {
+            final Lifecycle current = lifecycle.get();
+            final Process stopped = process;
+            if (current.state == State.STOPPED) {
+                LOGGER.debug("\"ngrokPath\" {} is not running a process", javaNgrokConfig.getNgrokPath());
+
+                return isNull(timeout) || awaitExit(stopped, timeout);
+            } else if (current.state == State.STOPPING) {
+                if (nonNull(timeout)) {
+                    awaitTransition(current);
+                }
+
+                return isNull(timeout) || awaitExit(process, timeout);
+            }
+
+            if (current.state == State.STARTING) {
+                // The starting thread finishes the transition once it sees the process was destroyed
+                final Lifecycle stopping = new Lifecycle(State.STOPPING, current.transition);
+                if (lifecycle.compareAndSet(current, stopping)) {
+                    destroyProcess();
+                    if (nonNull(timeout)) {
+                        awaitTransition(stopping);
+                    }
+
+                    return isNull(timeout) || awaitExit(process, timeout);
+                }
+            } else {
+                final Lifecycle stopping = new Lifecycle(State.STOPPING, new CompletableFuture<>());
+                if (lifecycle.compareAndSet(current, stopping)) {
+                    // Holding STOPPING until the process exits keeps a concurrent start() from racing it
+                    if (isNull(timeout)) {
+                        destroyProcess();
+                        stopOnExit(stopped, stopping);
+
+                        return true;
+                    }
+
+                    try {
+                        destroyProcess();
+
+                        return awaitExit(stopped, timeout);
+                    } finally {
+                        lifecycle.set(Lifecycle.STOPPED);
+                        stopping.transition.complete(null);
+                    }
+                }
+            }
+        }
     }
 
-    /**
-     * Terminate the <code>ngrok</code> processes, if running. This method will not block, it will just issue a kill
-     * request.
-     */
-    public void stop() {
-        if (!isRunning()) {
-            LOGGER.debug("\"ngrokPath\" {} is not running a process", javaNgrokConfig.getNgrokPath());
+    private void stopOnExit(final Process exiting,
+                            final Lifecycle stopping) {
+        final Runnable stopped = () -> {
+            lifecycle.compareAndSet(stopping, Lifecycle.STOPPED);
+            stopping.transition.complete(null);
+        };
+        if (isNull(exiting) || !exiting.isAlive()) {
+            stopped.run();
+
+            return;
+        }
+
+        exiting.onExit()
+               .completeOnTimeout(exiting, javaNgrokConfig.getStopTimeout(), TimeUnit.SECONDS)
+               .thenRun(() -> {
+                   if (exiting.isAlive()) {
+                       LOGGER.warn("ngrok process {} did not exit within {} seconds, forcibly killing it",
+                           exiting.pid(), javaNgrokConfig.getStopTimeout());
+
+                       destroyForcibly(exiting);
+                   }
+
+                   stopped.run();
+               });
+    }
+
+    private boolean awaitExit(final Process exiting,
+                              final Duration timeout) {
+        if (isNull(exiting) || !exiting.isAlive()) {
+            return true;
+        }
+
+        try {
+            exiting.onExit().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            return true;
+        } catch (final TimeoutException e) {
+            LOGGER.warn("ngrok process {} did not exit within {}, forcibly killing it", exiting.pid(), timeout);
+
+            destroyForcibly(exiting);
+            try {
+                exiting.onExit().get(FORCIBLE_EXIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException | ExecutionException ex) {
+                LOGGER.debug("ngrok process {} did not exit after being forcibly killed", exiting.pid());
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        } catch (final ExecutionException e) {
+            LOGGER.debug("An error occurred while waiting for the ngrok process to exit", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return !exiting.isAlive();
+    }
+
+    private void destroyForcibly(final Process exiting) {
+        exiting.descendants().forEach(ProcessHandle::destroyForcibly);
+        exiting.destroyForcibly();
+    }
+
+    private void awaitTransition(final Lifecycle current) {
+        try {
+            current.transition.join();
+        } catch (final CompletionException e) {
+            // Failures to start are shared with every caller waiting on that start
+            if (current.state == State.STARTING && e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+    }
+
+    private void processExited(final boolean isCurrent,
+                               final int exitCode) {
+        if (!isCurrent) {
+            return;
+        }
+
+        NgrokShutdownHook.getInstance().unregister(this);
+
+        final Lifecycle current = lifecycle.get();
+        if (current.state == State.RUNNING && lifecycle.compareAndSet(current, Lifecycle.STOPPED)) {
+            LOGGER.warn("ngrok process exited unexpectedly with code: {}", exitCode);
+            attached = false;
+            cancelAttachedHealthCheck();
+
+            if (nonNull(processMonitor)) {
+                processMonitor.stop();
+            }
+            closeLogSpool();
+
+            for (final IntConsumer listener : exitListeners) {
+                try {
+                    listener.accept(exitCode);
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("An error occurred in a ngrok process exit listener", e);
+                }
+            }
+        }
+    }
+
+    private int exitCode() {
+        final Process current = process;
+        if (!attached && nonNull(current) && !current.isAlive()) {
+            return current.exitValue();
+        }
+
+        // The exit code of a process that was attached to, rather than spawned, can't be known
+        return -1;
+    }
+
+    private void destroyProcess() {
+        if (attached) {
+            LOGGER.info("Detaching from ngrok process with API URL: {}", apiUrl);
+
+            attached = false;
+            attachedProcess = null;
+            cancelAttachedHealthCheck();
+
+            return;
+        }
+
+        final Process current = process;
+        if (isNull(current) || !current.isAlive()) {
+            closeLogSpool();
 
             return;
         }
 
-        LOGGER.info("Killing ngrok process: {}", process.pid());
+        LOGGER.info("Killing ngrok process: {}", current.pid());
 
         if (nonNull(processMonitor)) {
             processMonitor.stop();
         }
-        process.descendants().forEach(ProcessHandle::destroy);
-        process.destroy();
+        current.descendants().forEach(ProcessHandle::destroy);
+        current.destroy();
+        if (javaNgrokConfig.isAttach()) {
+            deleteLockFile(current.pid());
+        }
         try {
             if (nonNull(reader)) {
                 reader.close();
@@ -256,6 +673,30 @@ public class NgrokProcess {
         } catch (final IOException e) {
             LOGGER.warn("An error occurred when closing \"reader\"", e);
         }
+
+        if (nonNull(logRateLimiter)) {
+            for (final Map.Entry<String, Long> entry : logRateLimiter.drainSuppressed().entrySet()) {
+                LOGGER.info("{} similar ngrok logs were suppressed: {}", entry.getValue(), entry.getKey());
+            }
+        }
+
+        closeLogSpool();
+    }
+
+    private NgrokLogSpool openLogSpool() {
+        try {
+            return new NgrokLogSpool(javaNgrokConfig);
+        } catch (final IOException e) {
+            throw new JavaNgrokException(String.format("An error occurred while creating the log spool: %s",
+                javaNgrokConfig.getLogSpoolPath()), e);
+        }
+    }
+
+    private void closeLogSpool() {
+        final NgrokLogSpool current = logSpool;
+        if (nonNull(current)) {
+            current.close();
+        }
     }
 
     /**
@@ -363,7 +804,7 @@ public class NgrokProcess {
     }
 
     private boolean healthy() {
-        if (isNull(apiUrl) || !tunnelStarted || !clientConnected) {
+        if (isNull(apiUrl) || !tunnelStarted || !clientConnected || !pendingBootTunnels.isEmpty()) {
             return false;
         }
 
@@ -373,24 +814,200 @@ public class NgrokProcess {
 
         final String apiPath = javaNgrokConfig.getConfigVersion() == ConfigVersion.V3
             ? "/api/endpoints" : "/api/tunnels";
-        if (!apiPathOk(apiPath, Tunnels.class)) {
+        if (!apiPathOk(apiUrl, apiPath)) {
             return false;
         }
 
-        return nonNull(process) && process.isAlive();
+        return isRunning();
     }
 
-    private boolean apiPathOk(final String path, final Class<?> responseType) {
+    private boolean apiPathOk(final String url,
+                              final String path) {
         try {
-            final Response<?> response = httpClient.get(String.format("%s%s", apiUrl, path), responseType);
+            final Response<Void> response = httpClient.get(String.format("%s%s", url, path), Void.class);
             return response.getStatusCode() == HTTP_OK;
         } catch (final RuntimeException e) {
             return false;
         }
     }
 
+    private boolean attach() {
+        final Properties lock = readLockFile();
+        if (nonNull(lock)) {
+            final String lockApiUrl = lock.getProperty("api_url");
+            final Optional<ProcessHandle> handle = Optional.ofNullable(lock.getProperty("pid"))
+                .map(this::parsePid)
+                .flatMap(ProcessHandle::of);
+            if (handle.isPresent() && handle.get().isAlive() && lockStatusOk(lockApiUrl)) {
+                adopt(lockApiUrl, handle.get());
+
+                return true;
+            }
+        }
+
+        final String probedApiUrl = String.format("http://%s", getWebAddr());
+        if (statusOk(probedApiUrl)) {
+            adopt(probedApiUrl, null);
+
+            return true;
+        }
+
+        LOGGER.debug("No running ngrok process was found to attach to, one will be started");
+
+        return false;
+    }
+
+    private void adopt(final String adoptedApiUrl,
+                       final ProcessHandle handle) {
+        process = null;
+        apiUrl = adoptedApiUrl;
+        tunnelStarted = true;
+        clientConnected = true;
+        attachedProcess = handle;
+        attached = true;
+
+        if (nonNull(handle)) {
+            LOGGER.info("Attached to ngrok process {} with API URL: {}", handle.pid(), adoptedApiUrl);
+
+            handle.onExit().thenRun(() -> processExited(attachedProcess == handle, -1));
+        } else {
+            LOGGER.info("Attached to ngrok process with API URL: {}", adoptedApiUrl);
+
+            // Without a PID there is no exit to be notified of, so poll its API instead
+            final AtomicInteger failures = new AtomicInteger();
+            final long interval = ATTACHED_HEALTH_CHECK_INTERVAL.toMillis();
+            attachedHealthCheck = HEALTH_CHECK_SCHEDULER.scheduleWithFixedDelay(
+                () -> checkAttachedHealth(adoptedApiUrl, failures), interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void checkAttachedHealth(final String adoptedApiUrl,
+                                     final AtomicInteger failures) {
+        if (!attached || !adoptedApiUrl.equals(apiUrl)) {
+            return;
+        }
+
+        if (statusOk(adoptedApiUrl)) {
+            failures.set(0);
+        } else if (failures.incrementAndGet() >= ATTACHED_HEALTH_CHECK_FAILURES) {
+            LOGGER.debug("ngrok process with API URL {} failed {} health checks", adoptedApiUrl, failures.get());
+
+            processExited(true, -1);
+        }
+    }
+
+    private void cancelAttachedHealthCheck() {
+        final ScheduledFuture<?> healthCheck = attachedHealthCheck;
+        if (nonNull(healthCheck)) {
+            healthCheck.cancel(false);
+            attachedHealthCheck = null;
+        }
+    }
+
+    private boolean lockStatusOk(final String lockApiUrl) {
+        try {
+            return statusOk(lockApiUrl);
+        } catch (final JavaNgrokSecurityException e) {
+            LOGGER.debug("The lock file has an invalid \"api_url\", so it is stale: {}", lockApiUrl);
+
+            return false;
+        }
+    }
+
+    private boolean statusOk(final String url) {
+        if (isNull(url)) {
+            return false;
+        }
+        if (!url.toLowerCase().startsWith("http")) {
+            throw new JavaNgrokSecurityException(String.format("URL must start with \"http\": %s", url));
+        }
+
+        return apiPathOk(url, "/api/status");
+    }
+
+    private Path getBootConfigPath() {
+        final Path configPath = javaNgrokConfig.getConfigPath().toAbsolutePath();
+        final String fileName = configPath.getFileName().toString();
+        final int extension = fileName.lastIndexOf('.');
+
+        return configPath.resolveSibling(String.format("%s.boot.yml",
+            extension > 0 ? fileName.substring(0, extension) : fileName));
+    }
+
+    private String getWebAddr() {
+        if (!Files.exists(javaNgrokConfig.getConfigPath())) {
+            return DEFAULT_WEB_ADDR;
+        }
+
+        Map<?, ?> config = ngrokInstaller.getNgrokConfig(javaNgrokConfig.getConfigPath());
+        if ("3".equals(String.valueOf(config.get("version"))) && config.get("agent") instanceof Map) {
+            config = (Map<?, ?>) config.get("agent");
+        }
+
+        final Object webAddr = config.get("web_addr");
+        return nonNull(webAddr) ? String.valueOf(webAddr) : DEFAULT_WEB_ADDR;
+    }
+
+    private Long parsePid(final String pid) {
+        try {
+            return Long.parseLong(pid.trim());
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Properties readLockFile() {
+        final Path lockFilePath = javaNgrokConfig.getLockFilePath();
+        if (!Files.exists(lockFilePath)) {
+            return null;
+        }
+
+        final Properties lock = new Properties();
+        try (BufferedReader lockReader = Files.newBufferedReader(lockFilePath, StandardCharsets.UTF_8)) {
+            lock.load(lockReader);
+        } catch (final IOException e) {
+            LOGGER.debug("An error occurred while reading the lock file", e);
+
+            return null;
+        }
+
+        return lock;
+    }
+
+    private void writeLockFile() {
+        final Path lockFilePath = javaNgrokConfig.getLockFilePath();
+        final Properties lock = new Properties();
+        lock.setProperty("pid", String.valueOf(process.pid()));
+        lock.setProperty("api_url", apiUrl);
+
+        try {
+            final Path tempPath = Files.createTempFile(lockFilePath.toAbsolutePath().getParent(), "java-ngrok",
+                ".lock.tmp");
+            try (BufferedWriter lockWriter = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                lock.store(lockWriter, "java-ngrok");
+            }
+            Files.move(tempPath, lockFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            LOGGER.warn(String.format("An error occurred while writing the lock file: %s", lockFilePath), e);
+        }
+    }
+
+    private void deleteLockFile(final long pid) {
+        // Only remove the lock file if it still points at this process
+        final Properties lock = readLockFile();
+        if (isNull(lock) || !String.valueOf(pid).equals(lock.getProperty("pid"))) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(javaNgrokConfig.getLockFilePath());
+        } catch (final IOException e) {
+            LOGGER.debug("An error occurred while deleting the lock file", e);
+        }
+    }
+
     private void logStartupLine(final String line) {
-        final NgrokLog ngrokLog = logLine(line);
+        final NgrokLog ngrokLog = logLine(line, true);
 
         if (isNull(ngrokLog)) {
             return;
@@ -406,47 +1023,144 @@ public class NgrokProcess {
                 this.tunnelStarted = true;
             } else if (ngrokLog.getMsg().contains("client session established")) {
                 this.clientConnected = true;
+            } else if (ngrokLog.getMsg().contains("started tunnel") && nonNull(ngrokLog.get("name"))) {
+                pendingBootTunnels.remove(ngrokLog.get("name"));
             }
         }
     }
 
-    private NgrokLog logLine(final String line) {
-        final NgrokLog ngrokLog = new NgrokLog(line);
+    private NgrokLog logLine(final String line,
+                             final boolean startup) {
+        if (isBlank(line)) {
+            return null;
+        }
+
+        // The spool keeps full history, so it gets every line before any filtering
+        final NgrokLogSpool spool = logSpool;
+        if (nonNull(spool)) {
+            try {
+                spool.append(line);
+            } catch (final IllegalStateException e) {
+                LOGGER.debug("ngrok log was emitted after the log spool was closed: {}", line);
+            } catch (final JavaNgrokException e) {
+                LOGGER.warn("An error occurred while spooling a ngrok log", e);
+            }
+        }
 
-        if (isBlank(ngrokLog.getLine())) {
+        // Decide from the level alone whether anything consumes this line before paying to parse it, startup needs
+        // every line to detect state changes
+        final String lvl = NgrokLog.peekLvl(line);
+        final boolean retained = startup || javaNgrokConfig.isMinLogLevel(lvl);
+        final boolean forwarded = isLoggable(lvl);
+        if (!retained && !forwarded) {
             return null;
         }
 
-        ngrokLog(ngrokLog);
-        logs.add(ngrokLog);
-        if (logs.size() > javaNgrokConfig.getMaxLogs()) {
-            logs.remove(0);
+        final NgrokLog ngrokLog = new NgrokLog(line);
+
+        if (forwarded) {
+            forward(ngrokLog);
         }
 
-        if (nonNull(javaNgrokConfig.getLogEventCallback())) {
-            javaNgrokConfig.getLogEventCallback().apply(ngrokLog);
+        if (retained) {
+            logStore.append(ngrokLog);
+            logAnalyzer.accept(ngrokLog);
+
+            if (nonNull(javaNgrokConfig.getLogEventCallback())) {
+                javaNgrokConfig.getLogEventCallback().apply(ngrokLog);
+            }
         }
 
         return ngrokLog;
     }
 
-    private void ngrokLog(final NgrokLog ngrokLog) {
-        switch (ngrokLog.getLvl()) {
+    private void forward(final NgrokLog ngrokLog) {
+        if (nonNull(logRateLimiter)) {
+            final String key = String.format("%s %s", ngrokLog.getLvl(),
+                nonNull(ngrokLog.getMsg()) ? ngrokLog.getMsg() : ngrokLog.getLine());
+            final long suppressed = logRateLimiter.acquire(key);
+            if (suppressed < 0) {
+                return;
+            } else if (suppressed > 0) {
+                ngrokLog(ngrokLog.getLvl(), String.format("%s similar ngrok logs were suppressed: %s", suppressed,
+                    key));
+            }
+        }
+
+        ngrokLog(ngrokLog.getLvl(), ngrokLog.getLine());
+    }
+
+    private boolean isLoggable(final String lvl) {
+        switch (lvl) {
+            case "ERROR":
+                return LOGGER.isErrorEnabled();
+            case "WARN":
+                return LOGGER.isWarnEnabled();
+            case "DEBUG":
+                return LOGGER.isDebugEnabled();
+            case "TRACE":
+                return LOGGER.isTraceEnabled();
+            case "INFO":
+            default:
+                return LOGGER.isInfoEnabled();
+        }
+    }
+
+    private void ngrokLog(final String lvl,
+                          final String line) {
+        switch (lvl) {
             case "ERROR":
-                LOGGER.error(ngrokLog.getLine());
+                LOGGER.error(line);
                 break;
             case "WARN":
-                LOGGER.warn(ngrokLog.getLine());
+                LOGGER.warn(line);
                 break;
             case "DEBUG":
-                LOGGER.debug(ngrokLog.getLine());
+                LOGGER.debug(line);
                 break;
             case "TRACE":
-                LOGGER.trace(ngrokLog.getLine());
+                LOGGER.trace(line);
                 break;
             case "INFO":
             default:
-                LOGGER.info(ngrokLog.getLine());
+                LOGGER.info(line);
+        }
+    }
+
+    /**
+     * The states of a <code>ngrok</code> process's lifecycle.
+     */
+    public enum State {
+        /**
+         * No <code>ngrok</code> process is running.
+         */
+        STOPPED,
+        /**
+         * A <code>ngrok</code> process is being started.
+         */
+        STARTING,
+        /**
+         * A <code>ngrok</code> process is running and healthy.
+         */
+        RUNNING,
+        /**
+         * The <code>ngrok</code> process is being stopped.
+         */
+        STOPPING
+    }
+
+    private static class Lifecycle {
+
+        private static final Lifecycle STOPPED = new Lifecycle(State.STOPPED, null);
+
+        private final State state;
+        // Completes when a STARTING or STOPPING transition finishes, so other callers can wait on it
+        private final CompletableFuture<Void> transition;
+
+        private Lifecycle(final State state,
+                          final CompletableFuture<Void> transition) {
+            this.state = state;
+            this.transition = transition;
         }
     }
 
@@ -485,7 +1199,7 @@ public class NgrokProcess {
                         continue;
                     }
 
-                    ngrokProcess.logLine(line);
+                    ngrokProcess.logLine(line, false);
                 }
 
                 alive = false;
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.ngrok.NgrokClient;
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.protocol.Region;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A JVM-wide registry of shared, reference-counted {@link NgrokProcess}es, so that clients with the same config share
+ * one <code>ngrok</code> process rather than each spawning their own (which would then contend for the same
+ * <code>web_addr</code>). Processes are keyed by {@link JavaNgrokConfig#getNgrokPath()},
+ * {@link JavaNgrokConfig#getConfigPath()}, {@link JavaNgrokConfig#getAuthToken()}, and
+ * {@link JavaNgrokConfig#getRegion()}, and the first acquirer's config is used for any other settings.
+ *
+ * <p>A process acquired with {@link #acquire(JavaNgrokConfig, NgrokInstaller)} is stopped only when the last
+ * reference to it is released with {@link #release(NgrokProcess)}. See
+ * {@link NgrokClient.Builder#withSharedNgrokProcess()}.
+ */
+public class NgrokProcessRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NgrokProcessRegistry.class);
+
+    private static final NgrokProcessRegistry INSTANCE = new NgrokProcessRegistry();
+
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private final Map<NgrokProcess, Entry> entriesByProcess = new IdentityHashMap<>();
+
+    NgrokProcessRegistry() {
+    }
+
+    /**
+     * Get the JVM-wide registry.
+     */
+    public static NgrokProcessRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the shared {@link NgrokProcess} for the given config, constructing it if no reference to one is held, and
+     * take a reference to it. If the last reference to a process for the same config was just released, this waits
+     * for that process to stop before constructing a new one, so the two never contend for the same
+     * <code>web_addr</code>.
+     *
+     * @param javaNgrokConfig The config to use when interacting with the <code>ngrok</code> binary.
+     * @param ngrokInstaller  The class used to download and install <code>ngrok</code>.
+     * @return The shared process.
+     */
+    public NgrokProcess acquire(final JavaNgrokConfig javaNgrokConfig,
+                                final NgrokInstaller ngrokInstaller) {
+        final Key key = new Key(javaNgrokConfig);
+
+        while (true) {
+            final Entry entry;
+            final boolean constructing;
+            final CompletableFuture<Void> stopping;
+            synchronized (this) {
+                final Entry existing = entries.get(key);
+                constructing = isNull(existing);
+                if (constructing) {
+                    entry = new Entry(key, Duration.ofSeconds(javaNgrokConfig.getStopTimeout()));
+                    entries.put(key, entry);
+                } else {
+                    entry = existing;
+                }
+
+                stopping = entry.stopped;
+                if (isNull(stopping)) {
+                    ++entry.referenceCount;
+                }
+            }
+
+            if (nonNull(stopping)) {
+                LOGGER.debug("Waiting for the released shared ngrok process to stop");
+
+                stopping.join();
+
+                continue;
+            }
+
+            // Construct outside the lock, since it may install ngrok, so acquiring other processes isn't blocked on it
+            if (constructing) {
+                try {
+                    final NgrokProcess ngrokProcess = new NgrokProcess(javaNgrokConfig, ngrokInstaller);
+                    synchronized (this) {
+                        entriesByProcess.put(ngrokProcess, entry);
+                    }
+                    entry.ngrokProcess.complete(ngrokProcess);
+                } catch (final RuntimeException e) {
+                    synchronized (this) {
+                        entries.remove(key, entry);
+                    }
+                    entry.ngrokProcess.completeExceptionally(e);
+
+                    throw e;
+                }
+            }
+
+            try {
+                return entry.ngrokProcess.join();
+            } catch (final CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Release a reference to a process acquired with {@link #acquire(JavaNgrokConfig, NgrokInstaller)}. When the last
+     * reference is released, the process is stopped, waiting up to {@link JavaNgrokConfig#getStopTimeout()} for it to
+     * exit, and then removed from the registry.
+     *
+     * @param ngrokProcess The process to release.
+     * @return <code>true</code> if this was the last reference, and the process was stopped.
+     * @throws IllegalArgumentException The process is not held in the registry.
+     */
+    public boolean release(final NgrokProcess ngrokProcess) {
+        final Entry entry;
+        synchronized (this) {
+            entry = entriesByProcess.get(ngrokProcess);
+            if (isNull(entry)) {
+                throw new IllegalArgumentException("\"ngrokProcess\" is not held in the registry.");
+            }
+
+            if (entry.referenceCount > 1) {
+                --entry.referenceCount;
+
+                return false;
+            }
+
+            entriesByProcess.remove(ngrokProcess);
+            entry.referenceCount = 0;
+            entry.stopped = new CompletableFuture<>();
+        }
+
+        // Stop outside the lock, so acquiring other processes isn't blocked on it, while acquirers of this key wait
+        LOGGER.debug("Last reference to shared ngrok process released, stopping it");
+        try {
+            if (!ngrokProcess.stop(entry.stopTimeout)) {
+                LOGGER.warn("Shared ngrok process could not be stopped");
+            }
+        } finally {
+            synchronized (this) {
+                entries.remove(entry.key, entry);
+            }
+            entry.stopped.complete(null);
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of references held to the given process, <code>0</code> if it is not held in the registry.
+     *
+     * @param ngrokProcess The process.
+     * @return The reference count.
+     */
+    public synchronized int getReferenceCount(final NgrokProcess ngrokProcess) {
+        final Entry entry = entriesByProcess.get(ngrokProcess);
+
+        return nonNull(entry) ? entry.referenceCount : 0;
+    }
+
+    private static class Entry {
+
+        private final Key key;
+        private final Duration stopTimeout;
+        private final CompletableFuture<NgrokProcess> ngrokProcess = new CompletableFuture<>();
+        // Guarded by the registry, "stopped" is set when the last reference is released and completed once the
+        // process has stopped
+        private int referenceCount;
+        private CompletableFuture<Void> stopped;
+
+        private Entry(final Key key,
+                      final Duration stopTimeout) {
+            this.key = key;
+            this.stopTimeout = stopTimeout;
+        }
+    }
+
+    private static class Key {
+
+        private final Path ngrokPath;
+        private final Path configPath;
+        private final String authToken;
+        private final Region region;
+
+        private Key(final JavaNgrokConfig javaNgrokConfig) {
+            this.ngrokPath = javaNgrokConfig.getNgrokPath().toAbsolutePath().normalize();
+            this.configPath = javaNgrokConfig.getConfigPath().toAbsolutePath().normalize();
+            this.authToken = javaNgrokConfig.getAuthToken();
+            this.region = javaNgrokConfig.getRegion();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (isNull(o) || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return ngrokPath.equals(key.ngrokPath)
+                   && configPath.equals(key.configPath)
+                   && Objects.equals(authToken, key.authToken)
+                   && region == key.region;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ngrokPath, configPath, authToken, region);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide registry of live <code>ngrok</code> processes, backed by a single JVM shutdown hook. Each
+ * {@link NgrokProcess} registers itself when it spawns <code>ngrok</code> and is unregistered when that process exits,
+ * so restarting <code>ngrok</code> any number of times does not accumulate shutdown hooks.
+ *
+ * <p>When the JVM shuts down, every registered process is stopped in parallel, each waiting up to
+ * {@link JavaNgrokConfig#getStopTimeout()} for a graceful exit before it is forcibly killed.
+ */
+public class NgrokShutdownHook {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NgrokShutdownHook.class);
+
+    private static final NgrokShutdownHook INSTANCE = new NgrokShutdownHook();
+
+    private final Set<NgrokProcess> ngrokProcesses = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean hookAdded = new AtomicBoolean();
+
+    NgrokShutdownHook() {
+    }
+
+    /**
+     * Get the process-wide registry.
+     */
+    public static NgrokShutdownHook getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the <code>ngrok</code> processes that will be stopped when the JVM shuts down.
+     */
+    public Set<NgrokProcess> getNgrokProcesses() {
+        return Set.copyOf(ngrokProcesses);
+    }
+
+    /**
+     * Stop the given <code>ngrok</code> process when the JVM shuts down, unless it is unregistered first. The JVM
+     * shutdown hook is added the first time this is called.
+     *
+     * @param ngrokProcess The process to register.
+     */
+    public void register(final NgrokProcess ngrokProcess) {
+        ngrokProcesses.add(ngrokProcess);
+
+        if (hookAdded.compareAndSet(false, true)) {
+            try {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::stopAll, "ngrok-shutdown-hook"));
+            } catch (final IllegalStateException e) {
+                LOGGER.debug("JVM is already shutting down, the shutdown hook was not added");
+            }
+        }
+    }
+
+    /**
+     * Stop tracking the given <code>ngrok</code> process.
+     *
+     * @param ngrokProcess The process to unregister.
+     */
+    public void unregister(final NgrokProcess ngrokProcess) {
+        ngrokProcesses.remove(ngrokProcess);
+    }
+
+    /**
+     * Stop every registered <code>ngrok</code> process in parallel, waiting for each to exit (or be forcibly killed)
+     * before returning.
+     */
+    void stopAll() {
+        final List<Thread> threads = new ArrayList<>();
+        for (final NgrokProcess ngrokProcess : getNgrokProcesses()) {
+            final Thread thread = new Thread(ngrokProcess::stopOnShutdown, "ngrok-shutdown");
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (final Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+        }
+    }
+}
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -81,4 +86,141 @@ public class AgentStatus {
             }
         }
     }
+
+    /**
+     * Reads and writes an {@link AgentStatus} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<AgentStatus> {
+
+        private final TypeAdapter<Session> sessionAdapter;
+
+        Adapter(final Gson gson) {
+            this.sessionAdapter = gson.getAdapter(Session.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final AgentStatus value)
+            throws IOException {
+            out.beginObject();
+            out.name("status");
+            out.value(value.status);
+            out.name("agent_version");
+            out.value(value.agentVersion);
+            out.name("session");
+            sessionAdapter.write(out, value.session);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+
+        @Override
+        public AgentStatus read(final JsonReader in)
+            throws IOException {
+            final AgentStatus agentStatus = new AgentStatus();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        agentStatus.status = ProtocolJson.readString(in);
+                        break;
+                    case "agent_version":
+                        agentStatus.agentVersion = ProtocolJson.readString(in);
+                        break;
+                    case "session":
+                        agentStatus.session = sessionAdapter.read(in);
+                        break;
+                    case "uri":
+                        agentStatus.uri = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return agentStatus;
+        }
+    }
+
+    /**
+     * Reads and writes a {@link Session} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class SessionAdapter extends TypeAdapter<Session> {
+
+        private final TypeAdapter<List<Session.Leg>> sessionLegListAdapter;
+
+        SessionAdapter(final Gson gson) {
+            this.sessionLegListAdapter = ProtocolJson.listAdapter(gson, Session.Leg.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Session value)
+            throws IOException {
+            out.beginObject();
+            out.name("legs");
+            sessionLegListAdapter.write(out, value.legs);
+            out.endObject();
+        }
+
+        @Override
+        public Session read(final JsonReader in)
+            throws IOException {
+            final Session session = new Session();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "legs":
+                        session.legs = sessionLegListAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return session;
+        }
+    }
+
+    /**
+     * Reads and writes a {@link Session.Leg} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class LegAdapter extends TypeAdapter<Session.Leg> {
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Session.Leg value)
+            throws IOException {
+            out.beginObject();
+            out.name("region");
+            out.value(value.region);
+            out.name("latency");
+            out.value(value.latency);
+            out.endObject();
+        }
+
+        @Override
+        public Session.Leg read(final JsonReader in)
+            throws IOException {
+            final Session.Leg leg = new Session.Leg();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "region":
+                        leg.region = ProtocolJson.readString(in);
+                        break;
+                    case "latency":
+                        leg.latency = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return leg;
+        }
+    }
 }
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -112,4 +117,55 @@ public class AgentTlsTermination {
             return new AgentTlsTermination(this);
         }
     }
+
+    /**
+     * Reads and writes an {@link AgentTlsTermination} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<AgentTlsTermination> {
+
+        private final TypeAdapter<List<String>> stringListAdapter;
+
+        Adapter(final Gson gson) {
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final AgentTlsTermination value)
+            throws IOException {
+            out.beginObject();
+            out.name("server_certificate");
+            out.value(value.serverCertificate);
+            out.name("server_private_key");
+            out.value(value.serverPrivateKey);
+            out.name("mutual_tls_certificate_authorities");
+            stringListAdapter.write(out, value.mutualTlsCertificateAuthorities);
+            out.endObject();
+        }
+
+        @Override
+        public AgentTlsTermination read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "server_certificate":
+                        builder.serverCertificate = ProtocolJson.readString(in);
+                        break;
+                    case "server_private_key":
+                        builder.serverPrivateKey = ProtocolJson.readString(in);
+                        break;
+                    case "mutual_tls_certificate_authorities":
+                        builder.mutualTlsCertificateAuthorities = stringListAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new AgentTlsTermination(builder);
+        }
+    }
 }
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -172,4 +177,204 @@ public class CapturedRequest {
             return raw;
         }
     }
+
+    /**
+     * Reads and writes a {@link CapturedRequest} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<CapturedRequest> {
+
+        private final TypeAdapter<Request> requestAdapter;
+        private final TypeAdapter<Response> responseAdapter;
+
+        Adapter(final Gson gson) {
+            this.requestAdapter = gson.getAdapter(Request.class);
+            this.responseAdapter = gson.getAdapter(Response.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final CapturedRequest value)
+            throws IOException {
+            out.beginObject();
+            out.name("uri");
+            out.value(value.uri);
+            out.name("id");
+            out.value(value.id);
+            out.name("tunnel_name");
+            out.value(value.tunnelName);
+            out.name("remote_addr");
+            out.value(value.remoteAddr);
+            out.name("start");
+            out.value(value.start);
+            out.name("duration");
+            out.value(value.duration);
+            out.name("request");
+            requestAdapter.write(out, value.request);
+            out.name("response");
+            responseAdapter.write(out, value.response);
+            out.endObject();
+        }
+
+        @Override
+        public CapturedRequest read(final JsonReader in)
+            throws IOException {
+            final CapturedRequest capturedRequest = new CapturedRequest();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "uri":
+                        capturedRequest.uri = ProtocolJson.readString(in);
+                        break;
+                    case "id":
+                        capturedRequest.id = ProtocolJson.readString(in);
+                        break;
+                    case "tunnel_name":
+                        capturedRequest.tunnelName = ProtocolJson.readString(in);
+                        break;
+                    case "remote_addr":
+                        capturedRequest.remoteAddr = ProtocolJson.readString(in);
+                        break;
+                    case "start":
+                        capturedRequest.start = ProtocolJson.readString(in);
+                        break;
+                    case "duration":
+                        capturedRequest.duration = ProtocolJson.readInt(in, capturedRequest.duration);
+                        break;
+                    case "request":
+                        capturedRequest.request = requestAdapter.read(in);
+                        break;
+                    case "response":
+                        capturedRequest.response = responseAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return capturedRequest;
+        }
+    }
+
+    /**
+     * Reads and writes a {@link Request} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class RequestAdapter extends TypeAdapter<Request> {
+
+        private final TypeAdapter<Map<String, List<String>>> headersAdapter;
+
+        RequestAdapter(final Gson gson) {
+            this.headersAdapter = ProtocolJson.adapter(gson, ProtocolJson.HEADERS);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Request value)
+            throws IOException {
+            out.beginObject();
+            out.name("method");
+            out.value(value.method);
+            out.name("proto");
+            out.value(value.proto);
+            out.name("headers");
+            headersAdapter.write(out, value.headers);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("raw");
+            out.value(value.raw);
+            out.endObject();
+        }
+
+        @Override
+        public Request read(final JsonReader in)
+            throws IOException {
+            final Request request = new Request();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "method":
+                        request.method = ProtocolJson.readString(in);
+                        break;
+                    case "proto":
+                        request.proto = ProtocolJson.readString(in);
+                        break;
+                    case "headers":
+                        request.headers = headersAdapter.read(in);
+                        break;
+                    case "uri":
+                        request.uri = ProtocolJson.readString(in);
+                        break;
+                    case "raw":
+                        request.raw = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return request;
+        }
+    }
+
+    /**
+     * Reads and writes a {@link Response} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class ResponseAdapter extends TypeAdapter<Response> {
+
+        private final TypeAdapter<Map<String, List<String>>> headersAdapter;
+
+        ResponseAdapter(final Gson gson) {
+            this.headersAdapter = ProtocolJson.adapter(gson, ProtocolJson.HEADERS);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Response value)
+            throws IOException {
+            out.beginObject();
+            out.name("status");
+            out.value(value.status);
+            out.name("status_code");
+            out.value(value.statusCode);
+            out.name("proto");
+            out.value(value.proto);
+            out.name("headers");
+            headersAdapter.write(out, value.headers);
+            out.name("raw");
+            out.value(value.raw);
+            out.endObject();
+        }
+
+        @Override
+        public Response read(final JsonReader in)
+            throws IOException {
+            final Response response = new Response();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        response.status = ProtocolJson.readString(in);
+                        break;
+                    case "status_code":
+                        response.statusCode = ProtocolJson.readInt(in, response.statusCode);
+                        break;
+                    case "proto":
+                        response.proto = ProtocolJson.readString(in);
+                        break;
+                    case "headers":
+                        response.headers = headersAdapter.read(in);
+                        break;
+                    case "raw":
+                        response.raw = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return response;
+        }
+    }
 }
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -29,4 +34,50 @@ public class CapturedRequests {
     public String getUri() {
         return uri;
     }
+
+    /**
+     * Reads and writes a {@link CapturedRequests} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<CapturedRequests> {
+
+        private final TypeAdapter<List<CapturedRequest>> capturedRequestListAdapter;
+
+        Adapter(final Gson gson) {
+            this.capturedRequestListAdapter = ProtocolJson.listAdapter(gson, CapturedRequest.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final CapturedRequests value)
+            throws IOException {
+            out.beginObject();
+            out.name("requests");
+            capturedRequestListAdapter.write(out, value.requests);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+
+        @Override
+        public CapturedRequests read(final JsonReader in)
+            throws IOException {
+            final CapturedRequests capturedRequests = new CapturedRequests();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "requests":
+                        capturedRequests.requests = capturedRequestListAdapter.read(in);
+                        break;
+                    case "uri":
+                        capturedRequests.uri = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return capturedRequests;
+        }
+    }
 }
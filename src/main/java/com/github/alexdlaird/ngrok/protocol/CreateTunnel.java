@@ -10,6 +10,11 @@ import com.github.alexdlaird.http.HttpClient;
 import com.github.alexdlaird.ngrok.NgrokClient;
 import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -1088,4 +1093,249 @@ public class CreateTunnel {
             return new CreateTunnel(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link CreateTunnel} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<CreateTunnel> {
+
+        private final TypeAdapter<Proto> protoAdapter;
+        private final TypeAdapter<BindTls> bindTlsAdapter;
+        private final TypeAdapter<List<String>> stringListAdapter;
+        private final TypeAdapter<TunnelOAuth> tunnelOAuthAdapter;
+        private final TypeAdapter<Float> floatAdapter;
+        private final TypeAdapter<TunnelHeader> tunnelHeaderAdapter;
+        private final TypeAdapter<TunnelIPRestriction> tunnelIPRestrictionAdapter;
+        private final TypeAdapter<TunnelVerifyWebhook> tunnelVerifyWebhookAdapter;
+        private final TypeAdapter<TunnelUserAgentFilter> tunnelUserAgentFilterAdapter;
+        private final TypeAdapter<TunnelPolicy> tunnelPolicyAdapter;
+        private final TypeAdapter<Upstream> upstreamAdapter;
+        private final TypeAdapter<Map<String, Object>> objectMapAdapter;
+        private final TypeAdapter<AgentTlsTermination> agentTlsTerminationAdapter;
+
+        Adapter(final Gson gson) {
+            this.protoAdapter = gson.getAdapter(Proto.class);
+            this.bindTlsAdapter = gson.getAdapter(BindTls.class);
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+            this.tunnelOAuthAdapter = gson.getAdapter(TunnelOAuth.class);
+            this.floatAdapter = gson.getAdapter(Float.class);
+            this.tunnelHeaderAdapter = gson.getAdapter(TunnelHeader.class);
+            this.tunnelIPRestrictionAdapter = gson.getAdapter(TunnelIPRestriction.class);
+            this.tunnelVerifyWebhookAdapter = gson.getAdapter(TunnelVerifyWebhook.class);
+            this.tunnelUserAgentFilterAdapter = gson.getAdapter(TunnelUserAgentFilter.class);
+            this.tunnelPolicyAdapter = gson.getAdapter(TunnelPolicy.class);
+            this.upstreamAdapter = gson.getAdapter(Upstream.class);
+            this.objectMapAdapter = ProtocolJson.mapAdapter(gson, Object.class);
+            this.agentTlsTerminationAdapter = gson.getAdapter(AgentTlsTermination.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final CreateTunnel value)
+            throws IOException {
+            out.beginObject();
+            out.name("name");
+            out.value(value.name);
+            out.name("proto");
+            protoAdapter.write(out, value.proto);
+            out.name("domain");
+            out.value(value.domain);
+            out.name("addr");
+            out.value(value.addr);
+            out.name("inspect");
+            out.value(value.inspect);
+            out.name("auth");
+            out.value(value.auth);
+            out.name("host_header");
+            out.value(value.hostHeader);
+            out.name("bind_tls");
+            bindTlsAdapter.write(out, value.bindTls);
+            out.name("subdomain");
+            out.value(value.subdomain);
+            out.name("crt");
+            out.value(value.crt);
+            out.name("key");
+            out.value(value.key);
+            out.name("remote_addr");
+            out.value(value.remoteAddr);
+            out.name("metadata");
+            out.value(value.metadata);
+            out.name("schemes");
+            stringListAdapter.write(out, value.schemes);
+            out.name("basic_auth");
+            stringListAdapter.write(out, value.basicAuth);
+            out.name("oauth");
+            tunnelOAuthAdapter.write(out, value.oauth);
+            out.name("circuit_breaker");
+            floatAdapter.write(out, value.circuitBreaker);
+            out.name("compression");
+            out.value(value.compression);
+            out.name("mutual_tls_cas");
+            out.value(value.mutualTlsCas);
+            out.name("proxy_proto");
+            out.value(value.proxyProto);
+            out.name("websocket_tcp_converter");
+            out.value(value.websocketTcpConverter);
+            out.name("terminate_at");
+            out.value(value.terminateAt);
+            out.name("request_header");
+            tunnelHeaderAdapter.write(out, value.requestHeader);
+            out.name("response_header");
+            tunnelHeaderAdapter.write(out, value.responseHeader);
+            out.name("ip_restriction");
+            tunnelIPRestrictionAdapter.write(out, value.ipRestriction);
+            out.name("verify_webhook");
+            tunnelVerifyWebhookAdapter.write(out, value.verifyWebhook);
+            out.name("user_agent_filter");
+            tunnelUserAgentFilterAdapter.write(out, value.userAgentFilter);
+            out.name("policy_inbound");
+            tunnelPolicyAdapter.write(out, value.policyInbound);
+            out.name("policy_outbound");
+            tunnelPolicyAdapter.write(out, value.policyOutbound);
+            out.name("pooling_enabled");
+            out.value(value.poolingEnabled);
+            out.name("url");
+            out.value(value.url);
+            out.name("upstream");
+            upstreamAdapter.write(out, value.upstream);
+            out.name("traffic_policy");
+            objectMapAdapter.write(out, value.trafficPolicy);
+            out.name("traffic_policy_file");
+            out.value(value.trafficPolicyFile);
+            out.name("bindings");
+            stringListAdapter.write(out, value.bindings);
+            out.name("description");
+            out.value(value.description);
+            out.name("agent_tls_termination");
+            agentTlsTerminationAdapter.write(out, value.agentTlsTermination);
+            out.endObject();
+        }
+
+        @Override
+        public CreateTunnel read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        builder.name = ProtocolJson.readString(in);
+                        break;
+                    case "proto":
+                        builder.proto = protoAdapter.read(in);
+                        break;
+                    case "domain":
+                        builder.domain = ProtocolJson.readString(in);
+                        break;
+                    case "addr":
+                        builder.addr = ProtocolJson.readString(in);
+                        break;
+                    case "inspect":
+                        builder.inspect = ProtocolJson.readBoolean(in);
+                        break;
+                    case "auth":
+                        builder.auth = ProtocolJson.readString(in);
+                        break;
+                    case "host_header":
+                        builder.hostHeader = ProtocolJson.readString(in);
+                        break;
+                    case "bind_tls":
+                        builder.bindTls = bindTlsAdapter.read(in);
+                        break;
+                    case "subdomain":
+                        builder.subdomain = ProtocolJson.readString(in);
+                        break;
+                    case "crt":
+                        builder.crt = ProtocolJson.readString(in);
+                        break;
+                    case "key":
+                        builder.key = ProtocolJson.readString(in);
+                        break;
+                    case "remote_addr":
+                        builder.remoteAddr = ProtocolJson.readString(in);
+                        break;
+                    case "metadata":
+                        builder.metadata = ProtocolJson.readString(in);
+                        break;
+                    case "schemes":
+                        builder.schemes = stringListAdapter.read(in);
+                        break;
+                    case "basic_auth":
+                        builder.basicAuth = stringListAdapter.read(in);
+                        break;
+                    case "oauth":
+                        builder.oauth = tunnelOAuthAdapter.read(in);
+                        break;
+                    case "circuit_breaker":
+                        builder.circuitBreaker = floatAdapter.read(in);
+                        break;
+                    case "compression":
+                        builder.compression = ProtocolJson.readBoolean(in);
+                        break;
+                    case "mutual_tls_cas":
+                        builder.mutualTlsCas = ProtocolJson.readString(in);
+                        break;
+                    case "proxy_proto":
+                        builder.proxyProto = ProtocolJson.readString(in);
+                        break;
+                    case "websocket_tcp_converter":
+                        builder.websocketTcpConverter = ProtocolJson.readBoolean(in);
+                        break;
+                    case "terminate_at":
+                        builder.terminateAt = ProtocolJson.readString(in);
+                        break;
+                    case "request_header":
+                        builder.requestHeader = tunnelHeaderAdapter.read(in);
+                        break;
+                    case "response_header":
+                        builder.responseHeader = tunnelHeaderAdapter.read(in);
+                        break;
+                    case "ip_restriction":
+                        builder.ipRestriction = tunnelIPRestrictionAdapter.read(in);
+                        break;
+                    case "verify_webhook":
+                        builder.verifyWebhook = tunnelVerifyWebhookAdapter.read(in);
+                        break;
+                    case "user_agent_filter":
+                        builder.userAgentFilter = tunnelUserAgentFilterAdapter.read(in);
+                        break;
+                    case "policy_inbound":
+                        builder.policyInbound = tunnelPolicyAdapter.read(in);
+                        break;
+                    case "policy_outbound":
+                        builder.policyOutbound = tunnelPolicyAdapter.read(in);
+                        break;
+                    case "pooling_enabled":
+                        builder.poolingEnabled = ProtocolJson.readBoolean(in);
+                        break;
+                    case "url":
+                        builder.url = ProtocolJson.readString(in);
+                        break;
+                    case "upstream":
+                        builder.upstream = upstreamAdapter.read(in);
+                        break;
+                    case "traffic_policy":
+                        builder.trafficPolicy = objectMapAdapter.read(in);
+                        break;
+                    case "traffic_policy_file":
+                        builder.trafficPolicyFile = ProtocolJson.readString(in);
+                        break;
+                    case "bindings":
+                        builder.bindings = stringListAdapter.read(in);
+                        break;
+                    case "description":
+                        builder.description = ProtocolJson.readString(in);
+                        break;
+                    case "agent_tls_termination":
+                        builder.agentTlsTermination = agentTlsTerminationAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new CreateTunnel(builder);
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Helpers shared by the hand-written {@link TypeAdapter}s of the protocol classes. Values are read the same way
+ * Gson's built-in adapters read them, so the hand-written adapters accept the same JSON as reflection did.
+ */
+final class ProtocolJson {
+
+    static final Type HEADERS = TypeToken.getParameterized(Map.class, String.class,
+        TypeToken.getParameterized(List.class, String.class).getType()).getType();
+
+    private ProtocolJson() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> TypeAdapter<T> adapter(final Gson gson,
+                                      final Type type) {
+        return (TypeAdapter<T>) gson.getAdapter(TypeToken.get(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> TypeAdapter<List<T>> listAdapter(final Gson gson,
+                                                final Class<T> elementClass) {
+        return (TypeAdapter<List<T>>) gson.getAdapter(TypeToken.getParameterized(List.class, elementClass));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> TypeAdapter<Map<String, T>> mapAdapter(final Gson gson,
+                                                      final Class<T> valueClass) {
+        return (TypeAdapter<Map<String, T>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class,
+            valueClass));
+    }
+
+    static String readString(final JsonReader in)
+        throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+
+        return in.nextString();
+    }
+
+    static Boolean readBoolean(final JsonReader in)
+        throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+
+        return in.nextBoolean();
+    }
+
+    static boolean readBoolean(final JsonReader in,
+                               final boolean current)
+        throws IOException {
+        final Boolean value = readBoolean(in);
+
+        return nonNull(value) ? value : current;
+    }
+
+    static int readInt(final JsonReader in,
+                       final int current)
+        throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+
+        try {
+            return in.nextInt();
+        } catch (final NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static double readDouble(final JsonReader in,
+                             final double current)
+        throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+
+        return in.nextDouble();
+    }
+
+    /**
+     * Reads and writes an enum by the names in its {@link SerializedName} annotations (or its constants' names, if it
+     * has none), falling back to its <code>toString()</code> when reading, as Gson's built-in enum adapter does.
+     */
+    static final class EnumAdapter<E extends Enum<E>> extends TypeAdapter<E> {
+
+        private final Map<E, String> constantToName;
+        private final Map<String, E> nameToConstant = new HashMap<>();
+        private final Map<String, E> stringToConstant = new HashMap<>();
+
+        EnumAdapter(final Class<E> enumClass) {
+            this.constantToName = new EnumMap<>(enumClass);
+            for (final E constant : enumClass.getEnumConstants()) {
+                final SerializedName serializedName = serializedName(enumClass, constant);
+                final String name = nonNull(serializedName) ? serializedName.value() : constant.name();
+                constantToName.put(constant, name);
+                nameToConstant.put(name, constant);
+                if (nonNull(serializedName)) {
+                    for (final String alternate : serializedName.alternate()) {
+                        nameToConstant.put(alternate, constant);
+                    }
+                }
+                stringToConstant.put(constant.toString(), constant);
+            }
+        }
+
+        private static <E extends Enum<E>> SerializedName serializedName(final Class<E> enumClass,
+                                                                         final E constant) {
+            try {
+                return enumClass.getField(constant.name()).getAnnotation(SerializedName.class);
+            } catch (final NoSuchFieldException e) {
+                throw new IllegalStateException(String.format("The enum constant %s has no field.", constant), e);
+            }
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final E value)
+            throws IOException {
+            out.value(isNull(value) ? null : constantToName.get(value));
+        }
+
+        @Override
+        public E read(final JsonReader in)
+            throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            final String key = in.nextString();
+            final E constant = nameToConstant.get(key);
+
+            return nonNull(constant) ? constant : stringToConstant.get(key);
+        }
+    }
+}
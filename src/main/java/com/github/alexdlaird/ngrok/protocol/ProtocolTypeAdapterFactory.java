@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link TypeAdapterFactory} with hand-written {@link TypeAdapter}s for the classes in this package, so they are
+ * serialized and deserialized without reflection. This is faster, especially the first time a class is used, and
+ * works where reflection is restricted, such as in native images. {@link com.github.alexdlaird.http.DefaultHttpClient}
+ * registers it by default.
+ *
+ * <pre>
+ * final Gson gson = new GsonBuilder()
+ *     .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+ *     .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+ *     .build();
+ * </pre>
+ *
+ * <p>The adapters produce the same JSON as reflective Gson with
+ * {@link com.google.gson.FieldNamingPolicy#LOWER_CASE_WITH_UNDERSCORES}, which is the naming <code>ngrok</code>'s API
+ * uses, regardless of the field naming policy of the {@link Gson} they are registered with.
+ */
+public class ProtocolTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final Map<Class<?>, Function<Gson, TypeAdapter<?>>> ADAPTERS = Map.ofEntries(
+        Map.entry(AgentStatus.class, AgentStatus.Adapter::new),
+        Map.entry(AgentStatus.Session.class, AgentStatus.SessionAdapter::new),
+        Map.entry(AgentStatus.Session.Leg.class, gson -> new AgentStatus.LegAdapter()),
+        Map.entry(AgentTlsTermination.class, AgentTlsTermination.Adapter::new),
+        Map.entry(CapturedRequest.class, CapturedRequest.Adapter::new),
+        Map.entry(CapturedRequest.Request.class, CapturedRequest.RequestAdapter::new),
+        Map.entry(CapturedRequest.Response.class, CapturedRequest.ResponseAdapter::new),
+        Map.entry(CapturedRequests.class, CapturedRequests.Adapter::new),
+        Map.entry(CreateTunnel.class, CreateTunnel.Adapter::new),
+        Map.entry(Tunnel.class, Tunnel.Adapter::new),
+        Map.entry(Tunnel.TunnelConfig.class, gson -> new Tunnel.TunnelConfigAdapter()),
+        Map.entry(Tunnel.Metrics.class, Tunnel.MetricsAdapter::new),
+        Map.entry(TunnelHeader.class, TunnelHeader.Adapter::new),
+        Map.entry(TunnelIPRestriction.class, TunnelIPRestriction.Adapter::new),
+        Map.entry(TunnelOAuth.class, TunnelOAuth.Adapter::new),
+        Map.entry(TunnelPolicy.class, TunnelPolicy.Adapter::new),
+        Map.entry(TunnelPolicyActions.class, gson -> new TunnelPolicyActions.Adapter()),
+        Map.entry(TunnelUserAgentFilter.class, TunnelUserAgentFilter.Adapter::new),
+        Map.entry(TunnelVerifyWebhook.class, gson -> new TunnelVerifyWebhook.Adapter()),
+        Map.entry(Tunnels.class, Tunnels.Adapter::new),
+        Map.entry(Upstream.class, gson -> new Upstream.Adapter()),
+        Map.entry(Version.class, gson -> new Version.Adapter()),
+        Map.entry(BindTls.class, gson -> new ProtocolJson.EnumAdapter<>(BindTls.class)),
+        Map.entry(Proto.class, gson -> new ProtocolJson.EnumAdapter<>(Proto.class)),
+        Map.entry(Region.class, gson -> new ProtocolJson.EnumAdapter<>(Region.class))
+    );
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson,
+                                     final TypeToken<T> type) {
+        final Function<Gson, TypeAdapter<?>> adapter = ADAPTERS.get(type.getRawType());
+        if (isNull(adapter)) {
+            return null;
+        }
+
+        return (TypeAdapter<T>) adapter.apply(gson).nullSafe();
+    }
+}
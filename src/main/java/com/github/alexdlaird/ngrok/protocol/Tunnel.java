@@ -6,7 +6,12 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -269,4 +274,236 @@ public class Tunnel {
             return p99;
         }
     }
+
+    /**
+     * Reads and writes a {@link Tunnel} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<Tunnel> {
+
+        private final TypeAdapter<TunnelConfig> tunnelConfigAdapter;
+        private final TypeAdapter<Upstream> upstreamAdapter;
+        private final TypeAdapter<Map<String, Object>> objectMapAdapter;
+        private final TypeAdapter<List<String>> stringListAdapter;
+        private final TypeAdapter<Map<String, Metrics>> metricsMapAdapter;
+
+        Adapter(final Gson gson) {
+            this.tunnelConfigAdapter = gson.getAdapter(TunnelConfig.class);
+            this.upstreamAdapter = gson.getAdapter(Upstream.class);
+            this.objectMapAdapter = ProtocolJson.mapAdapter(gson, Object.class);
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+            this.metricsMapAdapter = ProtocolJson.mapAdapter(gson, Metrics.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Tunnel value)
+            throws IOException {
+            out.beginObject();
+            out.name("ID");
+            out.value(value.id);
+            out.name("name");
+            out.value(value.name);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("public_url");
+            out.value(value.publicUrl);
+            out.name("proto");
+            out.value(value.proto);
+            out.name("config");
+            tunnelConfigAdapter.write(out, value.config);
+            out.name("upstream");
+            upstreamAdapter.write(out, value.upstream);
+            out.name("pooling_enabled");
+            out.value(value.poolingEnabled);
+            out.name("traffic_policy");
+            objectMapAdapter.write(out, value.trafficPolicy);
+            out.name("bindings");
+            stringListAdapter.write(out, value.bindings);
+            out.name("description");
+            out.value(value.description);
+            out.name("metadata");
+            out.value(value.metadata);
+            out.name("metrics");
+            metricsMapAdapter.write(out, value.metrics);
+            out.endObject();
+        }
+
+        @Override
+        public Tunnel read(final JsonReader in)
+            throws IOException {
+            final Tunnel tunnel = new Tunnel();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "ID":
+                    case "id":
+                        tunnel.id = ProtocolJson.readString(in);
+                        break;
+                    case "name":
+                        tunnel.name = ProtocolJson.readString(in);
+                        break;
+                    case "uri":
+                        tunnel.uri = ProtocolJson.readString(in);
+                        break;
+                    case "public_url":
+                    case "url":
+                        tunnel.publicUrl = ProtocolJson.readString(in);
+                        break;
+                    case "proto":
+                        tunnel.proto = ProtocolJson.readString(in);
+                        break;
+                    case "config":
+                        tunnel.config = tunnelConfigAdapter.read(in);
+                        break;
+                    case "upstream":
+                        tunnel.upstream = upstreamAdapter.read(in);
+                        break;
+                    case "pooling_enabled":
+                        tunnel.poolingEnabled = ProtocolJson.readBoolean(in);
+                        break;
+                    case "traffic_policy":
+                        tunnel.trafficPolicy = objectMapAdapter.read(in);
+                        break;
+                    case "bindings":
+                        tunnel.bindings = stringListAdapter.read(in);
+                        break;
+                    case "description":
+                        tunnel.description = ProtocolJson.readString(in);
+                        break;
+                    case "metadata":
+                        tunnel.metadata = ProtocolJson.readString(in);
+                        break;
+                    case "metrics":
+                        tunnel.metrics = metricsMapAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return tunnel;
+        }
+    }
+
+    /**
+     * Reads and writes a {@link TunnelConfig} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class TunnelConfigAdapter extends TypeAdapter<TunnelConfig> {
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelConfig value)
+            throws IOException {
+            out.beginObject();
+            out.name("addr");
+            out.value(value.addr);
+            out.name("inspect");
+            out.value(value.inspect);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelConfig read(final JsonReader in)
+            throws IOException {
+            final TunnelConfig tunnelConfig = new TunnelConfig();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "addr":
+                        tunnelConfig.addr = ProtocolJson.readString(in);
+                        break;
+                    case "inspect":
+                        tunnelConfig.inspect = ProtocolJson.readBoolean(in, tunnelConfig.inspect);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return tunnelConfig;
+        }
+    }
+
+    /**
+     * Reads and writes a {@link Metrics} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class MetricsAdapter extends TypeAdapter<Metrics> {
+
+        private final TypeAdapter<Double> doubleAdapter;
+
+        MetricsAdapter(final Gson gson) {
+            this.doubleAdapter = gson.getAdapter(Double.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Metrics value)
+            throws IOException {
+            out.beginObject();
+            out.name("count");
+            out.value(value.count);
+            out.name("gauge");
+            out.value(value.gauge);
+            out.name("rate1");
+            doubleAdapter.write(out, value.rate1);
+            out.name("rate5");
+            doubleAdapter.write(out, value.rate5);
+            out.name("rate15");
+            doubleAdapter.write(out, value.rate15);
+            out.name("p50");
+            doubleAdapter.write(out, value.p50);
+            out.name("p90");
+            doubleAdapter.write(out, value.p90);
+            out.name("p95");
+            doubleAdapter.write(out, value.p95);
+            out.name("p99");
+            doubleAdapter.write(out, value.p99);
+            out.endObject();
+        }
+
+        @Override
+        public Metrics read(final JsonReader in)
+            throws IOException {
+            final Metrics metrics = new Metrics();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "count":
+                        metrics.count = ProtocolJson.readInt(in, metrics.count);
+                        break;
+                    case "gauge":
+                        metrics.gauge = ProtocolJson.readInt(in, metrics.gauge);
+                        break;
+                    case "rate1":
+                        metrics.rate1 = doubleAdapter.read(in);
+                        break;
+                    case "rate5":
+                        metrics.rate5 = doubleAdapter.read(in);
+                        break;
+                    case "rate15":
+                        metrics.rate15 = doubleAdapter.read(in);
+                        break;
+                    case "p50":
+                        metrics.p50 = doubleAdapter.read(in);
+                        break;
+                    case "p90":
+                        metrics.p90 = doubleAdapter.read(in);
+                        break;
+                    case "p95":
+                        metrics.p95 = doubleAdapter.read(in);
+                        break;
+                    case "p99":
+                        metrics.p99 = doubleAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return metrics;
+        }
+    }
 }
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -93,4 +98,50 @@ public class TunnelHeader {
             return new TunnelHeader(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelHeader} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelHeader> {
+
+        private final TypeAdapter<List<String>> stringListAdapter;
+
+        Adapter(final Gson gson) {
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelHeader value)
+            throws IOException {
+            out.beginObject();
+            out.name("add");
+            stringListAdapter.write(out, value.add);
+            out.name("remove");
+            stringListAdapter.write(out, value.remove);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelHeader read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "add":
+                        builder.add = stringListAdapter.read(in);
+                        break;
+                    case "remove":
+                        builder.remove = stringListAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelHeader(builder);
+        }
+    }
 }
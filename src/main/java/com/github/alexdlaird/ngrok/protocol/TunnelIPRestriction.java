@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -92,4 +97,50 @@ public class TunnelIPRestriction {
             return new TunnelIPRestriction(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelIPRestriction} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelIPRestriction> {
+
+        private final TypeAdapter<List<String>> stringListAdapter;
+
+        Adapter(final Gson gson) {
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelIPRestriction value)
+            throws IOException {
+            out.beginObject();
+            out.name("allow_cidrs");
+            stringListAdapter.write(out, value.allowCidrs);
+            out.name("deny_cidrs");
+            stringListAdapter.write(out, value.denyCidrs);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelIPRestriction read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "allow_cidrs":
+                        builder.allowCidrs = stringListAdapter.read(in);
+                        break;
+                    case "deny_cidrs":
+                        builder.denyCidrs = stringListAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelIPRestriction(builder);
+        }
+    }
 }
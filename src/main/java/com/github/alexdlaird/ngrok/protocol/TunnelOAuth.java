@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -139,4 +144,60 @@ public class TunnelOAuth {
             return new TunnelOAuth(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelOAuth} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelOAuth> {
+
+        private final TypeAdapter<List<String>> stringListAdapter;
+
+        Adapter(final Gson gson) {
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelOAuth value)
+            throws IOException {
+            out.beginObject();
+            out.name("provider");
+            out.value(value.provider);
+            out.name("scopes");
+            stringListAdapter.write(out, value.scopes);
+            out.name("allow_emails");
+            stringListAdapter.write(out, value.allowEmails);
+            out.name("allow_domains");
+            stringListAdapter.write(out, value.allowDomains);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelOAuth read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "provider":
+                        builder.provider = ProtocolJson.readString(in);
+                        break;
+                    case "scopes":
+                        builder.scopes = stringListAdapter.read(in);
+                        break;
+                    case "allow_emails":
+                        builder.allowEmails = stringListAdapter.read(in);
+                        break;
+                    case "allow_domains":
+                        builder.allowDomains = stringListAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelOAuth(builder);
+        }
+    }
 }
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -113,4 +118,57 @@ public class TunnelPolicy {
             return new TunnelPolicy(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelPolicy} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelPolicy> {
+
+        private final TypeAdapter<List<String>> stringListAdapter;
+        private final TypeAdapter<TunnelPolicyActions> tunnelPolicyActionsAdapter;
+
+        Adapter(final Gson gson) {
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+            this.tunnelPolicyActionsAdapter = gson.getAdapter(TunnelPolicyActions.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelPolicy value)
+            throws IOException {
+            out.beginObject();
+            out.name("name");
+            out.value(value.name);
+            out.name("expressions");
+            stringListAdapter.write(out, value.expressions);
+            out.name("actions");
+            tunnelPolicyActionsAdapter.write(out, value.actions);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelPolicy read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        builder.name = ProtocolJson.readString(in);
+                        break;
+                    case "expressions":
+                        builder.expressions = stringListAdapter.read(in);
+                        break;
+                    case "actions":
+                        builder.actions = tunnelPolicyActionsAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelPolicy(builder);
+        }
+    }
 }
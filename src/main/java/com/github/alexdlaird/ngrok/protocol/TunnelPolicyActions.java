@@ -6,6 +6,10 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -87,4 +91,44 @@ public class TunnelPolicyActions {
             return new TunnelPolicyActions(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelPolicyActions} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelPolicyActions> {
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelPolicyActions value)
+            throws IOException {
+            out.beginObject();
+            out.name("type");
+            out.value(value.type);
+            out.name("config");
+            out.value(value.config);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelPolicyActions read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        builder.type = ProtocolJson.readString(in);
+                        break;
+                    case "config":
+                        builder.config = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelPolicyActions(builder);
+        }
+    }
 }
@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -92,4 +97,50 @@ public class TunnelUserAgentFilter {
             return new TunnelUserAgentFilter(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelUserAgentFilter} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelUserAgentFilter> {
+
+        private final TypeAdapter<List<String>> stringListAdapter;
+
+        Adapter(final Gson gson) {
+            this.stringListAdapter = ProtocolJson.listAdapter(gson, String.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelUserAgentFilter value)
+            throws IOException {
+            out.beginObject();
+            out.name("allow");
+            stringListAdapter.write(out, value.allow);
+            out.name("deny");
+            stringListAdapter.write(out, value.deny);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelUserAgentFilter read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "allow":
+                        builder.allow = stringListAdapter.read(in);
+                        break;
+                    case "deny":
+                        builder.deny = stringListAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelUserAgentFilter(builder);
+        }
+    }
 }
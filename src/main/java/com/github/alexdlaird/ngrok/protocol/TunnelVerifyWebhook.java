@@ -6,6 +6,10 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -86,4 +90,44 @@ public class TunnelVerifyWebhook {
             return new TunnelVerifyWebhook(this);
         }
     }
+
+    /**
+     * Reads and writes a {@link TunnelVerifyWebhook} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<TunnelVerifyWebhook> {
+
+        @Override
+        public void write(final JsonWriter out,
+                          final TunnelVerifyWebhook value)
+            throws IOException {
+            out.beginObject();
+            out.name("provider");
+            out.value(value.provider);
+            out.name("secret");
+            out.value(value.secret);
+            out.endObject();
+        }
+
+        @Override
+        public TunnelVerifyWebhook read(final JsonReader in)
+            throws IOException {
+            final Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "provider":
+                        builder.provider = ProtocolJson.readString(in);
+                        break;
+                    case "secret":
+                        builder.secret = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new TunnelVerifyWebhook(builder);
+        }
+    }
 }
@@ -6,7 +6,12 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.List;
 
 import static java.util.Objects.nonNull;
@@ -34,4 +39,50 @@ public class Tunnels {
         return uri;
     }
 
+    /**
+     * Reads and writes a {@link Tunnels} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<Tunnels> {
+
+        private final TypeAdapter<List<Tunnel>> tunnelListAdapter;
+
+        Adapter(final Gson gson) {
+            this.tunnelListAdapter = ProtocolJson.listAdapter(gson, Tunnel.class);
+        }
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Tunnels value)
+            throws IOException {
+            out.beginObject();
+            out.name("tunnels");
+            tunnelListAdapter.write(out, value.tunnels);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+
+        @Override
+        public Tunnels read(final JsonReader in)
+            throws IOException {
+            final Tunnels tunnels = new Tunnels();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "tunnels":
+                    case "endpoints":
+                        tunnels.tunnels = tunnelListAdapter.read(in);
+                        break;
+                    case "uri":
+                        tunnels.uri = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return tunnels;
+        }
+    }
 }
@@ -6,6 +6,10 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.Map;
 
 import static java.util.Objects.isNull;
@@ -121,4 +125,49 @@ public class Upstream {
             return new Upstream(this);
         }
     }
+
+    /**
+     * Reads and writes an {@link Upstream} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<Upstream> {
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Upstream value)
+            throws IOException {
+            out.beginObject();
+            out.name("url");
+            out.value(value.url);
+            out.name("protocol");
+            out.value(value.protocol);
+            out.name("proxy_protocol");
+            out.value(value.proxyProtocol);
+            out.endObject();
+        }
+
+        @Override
+        public Upstream read(final JsonReader in)
+            throws IOException {
+            final Upstream upstream = new Upstream();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "url":
+                        upstream.url = ProtocolJson.readString(in);
+                        break;
+                    case "protocol":
+                        upstream.protocol = ProtocolJson.readString(in);
+                        break;
+                    case "proxy_protocol":
+                        upstream.proxyProtocol = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return upstream;
+        }
+    }
 }
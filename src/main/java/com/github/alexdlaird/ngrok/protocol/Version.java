@@ -6,6 +6,11 @@
 
 package com.github.alexdlaird.ngrok.protocol;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
 /**
  * An object representing <code>ngrok</code>'s version and <code>java-ngrok</code>'s version.
  */
@@ -38,4 +43,45 @@ public class Version {
     public String getJavaNgrokVersion() {
         return javaNgrokVersion;
     }
+
+    /**
+     * Reads and writes a {@link Version} without reflection, see {@link ProtocolTypeAdapterFactory}.
+     */
+    static final class Adapter extends TypeAdapter<Version> {
+
+        @Override
+        public void write(final JsonWriter out,
+                          final Version value)
+            throws IOException {
+            out.beginObject();
+            out.name("ngrok_version");
+            out.value(value.ngrokVersion);
+            out.name("java_ngrok_version");
+            out.value(value.javaNgrokVersion);
+            out.endObject();
+        }
+
+        @Override
+        public Version read(final JsonReader in)
+            throws IOException {
+            String ngrokVersion = null;
+            String javaNgrokVersion = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "ngrok_version":
+                        ngrokVersion = ProtocolJson.readString(in);
+                        break;
+                    case "java_ngrok_version":
+                        javaNgrokVersion = ProtocolJson.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new Version(ngrokVersion, javaNgrokVersion);
+        }
+    }
 }
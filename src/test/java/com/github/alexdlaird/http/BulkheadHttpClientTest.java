@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkheadHttpClientTest {
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch requesting = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpClient httpClientMock;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        httpClientMock = mock(HttpClient.class);
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class))).thenAnswer(invocation -> {
+            executed.add("GET " + invocation.getArgument(0));
+            requesting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Response<>(200, Map.of(), "{}", Map.of());
+        });
+        when(httpClientMock.post(anyString(), any(), any(), any(), eq(Map.class))).thenAnswer(invocation -> {
+            executed.add("POST " + invocation.getArgument(0));
+            return new Response<>(201, Map.of(), "{}", Map.of());
+        });
+        when(httpClientMock.delete(anyString(), any(), any(), eq(Map.class))).thenAnswer(invocation -> {
+            executed.add("DELETE " + invocation.getArgument(0));
+            return new Response<>(204, Map.of(), "", Map.of());
+        });
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testQueuedRequestsAdmittedByPriority()
+        throws Exception {
+        // GIVEN
+        final BulkheadHttpClient bulkheadHttpClient = new BulkheadHttpClient.Builder(httpClientMock)
+            .withMaxInFlight(1)
+            .build();
+        final Future<?> blocking = executor.submit(() -> bulkheadHttpClient.get("http://localhost:4040/api/tunnels",
+            Map.class));
+        assertTrue(requesting.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        final Future<?> create = executor.submit(() -> bulkheadHttpClient.post("http://localhost:4040/api/tunnels",
+            Map.of(), Map.class));
+        awaitQueueDepth(bulkheadHttpClient, 1);
+        final Future<?> disconnect = executor.submit(() -> bulkheadHttpClient.delete(
+            "http://localhost:4040/api/tunnels/my-tunnel"));
+        awaitQueueDepth(bulkheadHttpClient, 2);
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        create.get(5, TimeUnit.SECONDS);
+        disconnect.get(5, TimeUnit.SECONDS);
+
+        // THEN
+        assertEquals(List.of("GET http://localhost:4040/api/tunnels",
+            "DELETE http://localhost:4040/api/tunnels/my-tunnel",
+            "POST http://localhost:4040/api/tunnels"), executed);
+        final BulkheadHttpClient.Stats stats = bulkheadHttpClient.getStats().get("http://localhost:4040");
+        assertEquals(3, stats.getAdmitted());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(0, stats.getQueueDepth());
+        assertTrue(stats.getMaxWait().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    public void testQueueFullAndTimeout()
+        throws Exception {
+        // GIVEN
+        final BulkheadHttpClient bulkheadHttpClient = new BulkheadHttpClient.Builder(httpClientMock)
+            .withMaxInFlight(1)
+            .withMaxQueueDepth(1)
+            .withQueueTimeout(Duration.ofMillis(200))
+            .build();
+        executor.submit(() -> bulkheadHttpClient.get("http://localhost:4040/api/tunnels", Map.class));
+        assertTrue(requesting.await(5, TimeUnit.SECONDS));
+        final Future<?> queued = executor.submit(() -> bulkheadHttpClient.post("http://localhost:4040/api/tunnels",
+            Map.of(), Map.class));
+        awaitQueueDepth(bulkheadHttpClient, 1);
+
+        // WHEN
+        final HttpClientException rejected = assertThrows(HttpClientException.class,
+            () -> bulkheadHttpClient.delete("http://localhost:4040/api/tunnels/my-tunnel"));
+        final Exception timedOut = assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS));
+
+        // THEN
+        assertEquals(-1, rejected.getStatusCode());
+        assertTrue(timedOut.getCause() instanceof HttpClientException);
+        final BulkheadHttpClient.Stats stats = bulkheadHttpClient.getStats().get("http://localhost:4040");
+        assertEquals(1, stats.getRejected());
+        assertEquals(1, stats.getTimedOut());
+    }
+
+    @Test
+    public void testSeparateAgentsHaveSeparateLimits()
+        throws Exception {
+        // GIVEN
+        final BulkheadHttpClient bulkheadHttpClient = new BulkheadHttpClient.Builder(httpClientMock)
+            .withMaxInFlight(1)
+            .withMaxQueueDepth(0)
+            .build();
+        executor.submit(() -> bulkheadHttpClient.get("http://localhost:4040/api/tunnels", Map.class));
+        assertTrue(requesting.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        bulkheadHttpClient.delete("http://localhost:4041/api/tunnels/my-tunnel");
+
+        // THEN
+        assertEquals(Map.of("http://localhost:4040", 1, "http://localhost:4041", 0),
+            Map.of("http://localhost:4040", bulkheadHttpClient.getStats().get("http://localhost:4040").getInFlight(),
+                "http://localhost:4041", bulkheadHttpClient.getStats().get("http://localhost:4041").getInFlight()));
+    }
+
+    @Test
+    public void testStreamHoldsPermitUntilChannelClosed()
+        throws IOException {
+        // GIVEN
+        when(httpClientMock.stream(anyString(), anyString(), any(), any(), any(), anyLong()))
+            .thenReturn(new Response<>(200, Channels.newChannel(new ByteArrayInputStream(new byte[0])), null,
+                Map.of()));
+        final BulkheadHttpClient bulkheadHttpClient = new BulkheadHttpClient.Builder(httpClientMock)
+            .withMaxInFlight(1)
+            .withMaxQueueDepth(0)
+            .build();
+
+        // WHEN
+        final Response<ReadableByteChannel> response = bulkheadHttpClient.stream("GET",
+            "http://localhost:4040/api/requests/http", List.of(), Map.of(), null, -1);
+        final int inFlight = bulkheadHttpClient.getStats().get("http://localhost:4040").getInFlight();
+        assertThrows(HttpClientException.class, () -> bulkheadHttpClient.delete(
+            "http://localhost:4040/api/tunnels/my-tunnel"));
+        response.getBody().close();
+        response.getBody().close();
+
+        // THEN
+        assertEquals(1, inFlight);
+        assertEquals(0, bulkheadHttpClient.getStats().get("http://localhost:4040").getInFlight());
+        bulkheadHttpClient.delete("http://localhost:4040/api/tunnels/my-tunnel");
+    }
+
+    @Test
+    public void testBuilderInvalid() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadHttpClient.Builder(httpClientMock)
+            .withMaxInFlight(0));
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadHttpClient.Builder(httpClientMock)
+            .withMaxQueueDepth(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadHttpClient.Builder(httpClientMock)
+            .withQueueTimeout(Duration.ofSeconds(-1)));
+    }
+
+    private void awaitQueueDepth(final BulkheadHttpClient bulkheadHttpClient,
+                                 final int queueDepth)
+        throws InterruptedException {
+        for (int i = 0; i < 500; ++i) {
+            final BulkheadHttpClient.Stats stats = bulkheadHttpClient.getStats().get("http://localhost:4040");
+            if (stats.getQueueDepth() == queueDepth) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.github.alexdlaird.http.CircuitBreakerHttpClient.State.CLOSED;
+import static com.github.alexdlaird.http.CircuitBreakerHttpClient.State.OPEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CircuitBreakerHttpClientTest {
+
+    private static final String URL = "http://localhost:4040/api/tunnels";
+    private static final String BASE_URL = "http://localhost:4040";
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private HttpClient httpClientMock;
+    private CircuitBreakerHttpClient circuitBreakerHttpClient;
+
+    @BeforeEach
+    public void setUp() {
+        httpClientMock = mock(HttpClient.class);
+        circuitBreakerHttpClient = new CircuitBreakerHttpClient.Builder(httpClientMock)
+            .withWindowSize(4)
+            .withMinimumRequests(2)
+            .withOpenDuration(Duration.ofSeconds(1))
+            .withNanoTime(nanoTime::get)
+            .withListener((baseUrl, from, to) -> events.add(String.format("%s %s->%s", baseUrl, from, to)))
+            .build();
+    }
+
+    @Test
+    public void testOpensAndFailsFast() {
+        // GIVEN
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class)))
+            .thenThrow(new HttpClientException("agent unavailable", new ConnectException("Connection refused")));
+        assertThrows(HttpClientException.class, () -> circuitBreakerHttpClient.get(URL, Map.class));
+        assertThrows(HttpClientException.class, () -> circuitBreakerHttpClient.get(URL, Map.class));
+
+        // WHEN
+        final HttpClientException exception = assertThrows(HttpClientException.class,
+            () -> circuitBreakerHttpClient.get(URL, Map.class));
+
+        // THEN
+        assertEquals(OPEN, circuitBreakerHttpClient.getState(BASE_URL));
+        assertEquals(-1, exception.getStatusCode());
+        assertEquals(CLOSED, circuitBreakerHttpClient.getState("http://localhost:4041"));
+        assertEquals(List.of(BASE_URL + " CLOSED->OPEN"), events);
+        verify(httpClientMock, times(2)).get(anyString(), any(), any(), eq(Map.class));
+    }
+
+    @Test
+    public void testHalfOpenProbeClosesOrReopens() {
+        // GIVEN
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class)))
+            .thenThrow(new HttpClientException("agent error", null, URL, 502, "Bad Gateway"))
+            .thenThrow(new HttpClientException("agent error", null, URL, 502, "Bad Gateway"))
+            .thenThrow(new HttpClientException("agent error", null, URL, 502, "Bad Gateway"))
+            .thenReturn(new Response<>(200, Map.of(), "{}", Map.of()));
+        assertThrows(HttpClientException.class, () -> circuitBreakerHttpClient.get(URL, Map.class));
+        assertThrows(HttpClientException.class, () -> circuitBreakerHttpClient.get(URL, Map.class));
+
+        // WHEN
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThrows(HttpClientException.class, () -> circuitBreakerHttpClient.get(URL, Map.class));
+        final CircuitBreakerHttpClient.State reopened = circuitBreakerHttpClient.getState(BASE_URL);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        final Response<Map> response = circuitBreakerHttpClient.get(URL, Map.class);
+
+        // THEN
+        assertEquals(OPEN, reopened);
+        assertEquals(200, response.getStatusCode());
+        assertEquals(CLOSED, circuitBreakerHttpClient.getState(BASE_URL));
+        assertEquals(List.of(BASE_URL + " CLOSED->OPEN",
+            BASE_URL + " OPEN->HALF_OPEN",
+            BASE_URL + " HALF_OPEN->OPEN",
+            BASE_URL + " OPEN->HALF_OPEN",
+            BASE_URL + " HALF_OPEN->CLOSED"), events);
+    }
+
+    @Test
+    public void testClientErrorsAreNotFailures() {
+        // GIVEN
+        when(httpClientMock.delete(anyString(), any(), any(), eq(Map.class)))
+            .thenThrow(new HttpClientException("tunnel not found", null, URL, 404, "{}"));
+
+        // WHEN
+        for (int i = 0; i < 4; ++i) {
+            assertThrows(HttpClientException.class,
+                () -> circuitBreakerHttpClient.delete(URL + "/my-tunnel", List.of(), Map.of(), Map.class));
+        }
+
+        // THEN
+        assertEquals(CLOSED, circuitBreakerHttpClient.getState(BASE_URL));
+        verify(httpClientMock, times(4)).delete(anyString(), any(), any(), eq(Map.class));
+    }
+
+    @Test
+    public void testBuilderInvalid() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerHttpClient.Builder(httpClientMock)
+            .withWindowSize(0));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerHttpClient.Builder(httpClientMock)
+            .withFailureRateThreshold(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerHttpClient.Builder(httpClientMock)
+            .withOpenDuration(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerHttpClient.Builder(httpClientMock)
+            .withWindowSize(2)
+            .withMinimumRequests(3)
+            .build());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CoalescingHttpClientTest {
+
+    private HttpClient httpClientMock;
+
+    @BeforeEach
+    public void setUp() {
+        httpClientMock = mock(HttpClient.class);
+    }
+
+    @Test
+    public void testConcurrentGetsShareOneRequest()
+        throws InterruptedException, ExecutionException {
+        // GIVEN
+        final Response<Map> response = new Response<>(200, Map.of(), "{}", Map.of());
+        final CountDownLatch requesting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class))).thenAnswer(invocation -> {
+            requesting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        final CoalescingHttpClient coalescingHttpClient = new CoalescingHttpClient.Builder(httpClientMock).build();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        final List<Future<Response<Map>>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> coalescingHttpClient.get("http://localhost:4040/api/status", Map.class)));
+        assertTrue(requesting.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; ++i) {
+            futures.add(executor.submit(() -> coalescingHttpClient.get("http://localhost:4040/api/status",
+                Map.class)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // THEN
+        for (final Future<Response<Map>> future : futures) {
+            assertSame(response, future.get());
+        }
+        assertEquals(1, coalescingHttpClient.getRequestCount());
+        assertEquals(3, coalescingHttpClient.getCoalescedCount());
+        verify(httpClientMock, times(1)).get(anyString(), any(), any(), eq(Map.class));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTtlServesRecentResponseUntilWrite() {
+        // GIVEN
+        final Response<Map> response = new Response<>(200, Map.of(), "{}", Map.of());
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class))).thenReturn(response);
+        final CoalescingHttpClient coalescingHttpClient = new CoalescingHttpClient.Builder(httpClientMock)
+            .withTtl(Duration.ofMinutes(1))
+            .build();
+
+        // WHEN
+        coalescingHttpClient.get("http://localhost:4040/api/tunnels", Map.class);
+        coalescingHttpClient.get("http://localhost:4040/api/tunnels", Map.class);
+        coalescingHttpClient.get("http://localhost:4040/api/tunnels", List.of(new Parameter("limit", "1")),
+            Map.of(), Map.class);
+        coalescingHttpClient.delete("http://localhost:4040/api/tunnels/my-tunnel");
+        coalescingHttpClient.get("http://localhost:4040/api/tunnels", Map.class);
+
+        // THEN
+        assertEquals(3, coalescingHttpClient.getRequestCount());
+        assertEquals(1, coalescingHttpClient.getCoalescedCount());
+        verify(httpClientMock, times(2)).get(eq("http://localhost:4040/api/tunnels"), eq(List.of()), eq(Map.of()),
+            eq(Map.class));
+    }
+
+    @Test
+    public void testResponseOverlappingWriteIsNotCached() {
+        // GIVEN
+        final Response<Map> response = new Response<>(200, Map.of(), "{}", Map.of());
+        final CoalescingHttpClient coalescingHttpClient = new CoalescingHttpClient.Builder(httpClientMock)
+            .withTtl(Duration.ofMinutes(1))
+            .build();
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class))).thenAnswer(invocation -> {
+            coalescingHttpClient.delete("http://localhost:4040/api/tunnels/my-tunnel");
+            return response;
+        }).thenReturn(response);
+
+        // WHEN
+        coalescingHttpClient.get("http://localhost:4040/api/tunnels", Map.class);
+        coalescingHttpClient.get("http://localhost:4040/api/tunnels", Map.class);
+
+        // THEN
+        assertEquals(2, coalescingHttpClient.getRequestCount());
+        assertEquals(0, coalescingHttpClient.getCoalescedCount());
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        // GIVEN
+        when(httpClientMock.get(anyString(), any(), any(), eq(Map.class)))
+            .thenThrow(new HttpClientException("agent unavailable", new ConnectException("Connection refused")))
+            .thenReturn(new Response<>(200, Map.of(), "{}", Map.of()));
+        final CoalescingHttpClient coalescingHttpClient = new CoalescingHttpClient.Builder(httpClientMock)
+            .withTtl(Duration.ofMinutes(1))
+            .build();
+
+        // WHEN
+        assertThrows(HttpClientException.class, () -> coalescingHttpClient.get("http://localhost:4040/api/status",
+            Map.class));
+        final Response<Map> response = coalescingHttpClient.get("http://localhost:4040/api/status", Map.class);
+
+        // THEN
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, coalescingHttpClient.getRequestCount());
+    }
+
+    @Test
+    public void testTtlInvalid() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new CoalescingHttpClient.Builder(httpClientMock)
+            .withTtl(Duration.ofMillis(-1)));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -15,15 +15,21 @@ import com.github.alexdlaird.ngrok.protocol.CapturedRequests;
 import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import com.github.alexdlaird.ngrok.protocol.Tunnel;
 import com.github.alexdlaird.ngrok.protocol.Tunnels;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -37,6 +43,7 @@ import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -212,6 +219,171 @@ public class DefaultHttpClientTest extends NgrokTestCase {
         verify(defaultHttpClient, times(4)).getInputStream(any(), any(), any(), any());
     }
 
+    @Test
+    public void testInterceptorSeesEachAttempt()
+        throws IOException {
+        // GIVEN
+        final List<Integer> statusCodes = new CopyOnWriteArrayList<>();
+        final DefaultHttpClient interceptingHttpClient = spy(new DefaultHttpClient.Builder()
+            .withRetryCount(2)
+            .withInterceptor(chain -> {
+                try {
+                    return chain.proceed(chain.getRequest());
+                } catch (final HttpClientException e) {
+                    statusCodes.add(e.getStatusCode());
+                    throw e;
+                }
+            })
+            .build());
+        final HttpURLConnection mockHttpUrlConnection = mock(HttpURLConnection.class);
+        doReturn(mockHttpUrlConnection).when(interceptingHttpClient).createHttpUrlConnection(any());
+        doAnswer(invocation -> {
+            throw new SocketTimeoutException("GET failed");
+        }).when(mockHttpUrlConnection).getInputStream();
+
+        // WHEN
+        assertThrows(HttpClientException.class, () -> interceptingHttpClient.get("/some-url", Tunnel.class));
+
+        // THEN
+        assertEquals(3, statusCodes.size());
+        verify(interceptingHttpClient, times(3)).getInputStream(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testGetDecodesBodyOnDemand()
+        throws IOException {
+        // GIVEN
+        final HttpURLConnection mockHttpUrlConnection = mock(HttpURLConnection.class);
+        doReturn(mockHttpUrlConnection).when(defaultHttpClient).createHttpUrlConnection(any());
+        doReturn(HTTP_OK).when(mockHttpUrlConnection).getResponseCode();
+        doReturn(Map.of()).when(mockHttpUrlConnection).getHeaderFields();
+        final String json = "{\"tunnels\":[{\"name\":\"my-tunnel\"}],\"uri\":\"/api/tunnels\"}";
+        doReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+            .when(defaultHttpClient).getInputStream(any(), any(), any(), any());
+
+        // WHEN
+        final Response<Tunnels> getResponse = defaultHttpClient.get("http://localhost:4040/api/tunnels",
+            Tunnels.class);
+
+        // THEN
+        assertEquals(HTTP_OK, getResponse.getStatusCode());
+        assertEquals(json, getResponse.getBodyRaw());
+        assertEquals("my-tunnel", getResponse.getBody().getTunnels().get(0).getName());
+        assertSame(getResponse.getBody(), getResponse.getBody());
+    }
+
+    @Test
+    public void testGetVoidDiscardsBody()
+        throws IOException {
+        // GIVEN
+        final HttpURLConnection mockHttpUrlConnection = mock(HttpURLConnection.class);
+        doReturn(mockHttpUrlConnection).when(defaultHttpClient).createHttpUrlConnection(any());
+        doReturn(HTTP_OK).when(mockHttpUrlConnection).getResponseCode();
+        doReturn(Map.of()).when(mockHttpUrlConnection).getHeaderFields();
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(
+            "{\"tunnels\":[],\"uri\":\"/api/tunnels\"}".getBytes(StandardCharsets.UTF_8));
+        doReturn(inputStream).when(defaultHttpClient).getInputStream(any(), any(), any(), any());
+
+        // WHEN
+        final Response<Void> getResponse = defaultHttpClient.get("http://localhost:4040/api/tunnels", Void.class);
+
+        // THEN
+        assertEquals(HTTP_OK, getResponse.getStatusCode());
+        assertNull(getResponse.getBody());
+        assertNull(getResponse.getBodyRaw());
+        assertEquals(0, inputStream.available());
+    }
+
+    @Test
+    public void testStreamSendsAndReturnsBytes()
+        throws IOException {
+        // GIVEN
+        final HttpURLConnection mockHttpUrlConnection = mock(HttpURLConnection.class);
+        doReturn(mockHttpUrlConnection).when(defaultHttpClient).createHttpUrlConnection(any());
+        doReturn(HTTP_CREATED).when(mockHttpUrlConnection).getResponseCode();
+        doReturn(Map.of()).when(mockHttpUrlConnection).getHeaderFields();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        doReturn(outputStream).when(mockHttpUrlConnection).getOutputStream();
+        doReturn(new ByteArrayInputStream("response bytes".getBytes(StandardCharsets.UTF_8)))
+            .when(mockHttpUrlConnection).getInputStream();
+        final ByteBuffer request = ByteBuffer.wrap("request bytes".getBytes(StandardCharsets.UTF_8));
+
+        // WHEN
+        final Response<ReadableByteChannel> streamResponse = defaultHttpClient.stream("POST",
+            "http://localhost:4040/some-url", request);
+
+        // THEN
+        assertEquals(HTTP_CREATED, streamResponse.getStatusCode());
+        assertEquals("request bytes", outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals(0, request.remaining());
+        verify(mockHttpUrlConnection).setFixedLengthStreamingMode(13L);
+        final ByteBuffer dest = ByteBuffer.allocate(64);
+        try (final ReadableByteChannel channel = streamResponse.getBody()) {
+            channel.read(dest);
+        }
+        assertEquals("response bytes", new String(dest.array(), 0, dest.position(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testInterceptorSeesStream()
+        throws IOException {
+        // GIVEN
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        final DefaultHttpClient interceptingHttpClient = spy(new DefaultHttpClient.Builder()
+            .withInterceptor(chain -> {
+                requests.add(String.format("%s %s %s", chain.getRequest().getMethod(), chain.getRequest().getUrl(),
+                    chain.getRequest().isStreamed()));
+                return chain.proceed(chain.getRequest());
+            })
+            .build());
+        final HttpURLConnection mockHttpUrlConnection = mock(HttpURLConnection.class);
+        doReturn(mockHttpUrlConnection).when(interceptingHttpClient).createHttpUrlConnection(any());
+        doReturn(HTTP_OK).when(mockHttpUrlConnection).getResponseCode();
+        doReturn(Map.of()).when(mockHttpUrlConnection).getHeaderFields();
+        doReturn(new ByteArrayInputStream("response bytes".getBytes(StandardCharsets.UTF_8)))
+            .when(mockHttpUrlConnection).getInputStream();
+
+        // WHEN
+        final Response<ReadableByteChannel> streamResponse = interceptingHttpClient.stream("GET",
+            "http://localhost:4040/api/requests/http", List.of(new Parameter("limit", "1")), Map.of(), null, -1);
+        streamResponse.getBody().close();
+
+        // THEN
+        assertEquals(HTTP_OK, streamResponse.getStatusCode());
+        assertEquals(List.of("GET http://localhost:4040/api/requests/http?limit=1 true"), requests);
+    }
+
+    @Test
+    public void testInterceptorInvalid() {
+        // WHEN
+        assertThrows(NullPointerException.class, () -> new DefaultHttpClient.Builder().withInterceptor(null));
+    }
+
+    @Test
+    public void testGetIntoBuffer()
+        throws IOException {
+        // GIVEN
+        final HttpURLConnection mockHttpUrlConnection = mock(HttpURLConnection.class);
+        doReturn(mockHttpUrlConnection).when(defaultHttpClient).createHttpUrlConnection(any());
+        doReturn(HTTP_OK).when(mockHttpUrlConnection).getResponseCode();
+        doReturn(Map.of()).when(mockHttpUrlConnection).getHeaderFields();
+        doAnswer(invocation -> new ByteArrayInputStream("response bytes".getBytes(StandardCharsets.UTF_8)))
+            .when(mockHttpUrlConnection).getInputStream();
+        final ByteBuffer dest = ByteBuffer.allocate(14);
+
+        // WHEN
+        final Response<ByteBuffer> getResponse = defaultHttpClient.get("http://localhost:4040/some-url", List.of(),
+            Map.of(), dest);
+        final HttpClientException httpClientException = assertThrows(HttpClientException.class,
+            () -> defaultHttpClient.get("http://localhost:4040/some-url", List.of(), Map.of(),
+                ByteBuffer.allocate(4)));
+
+        // THEN
+        assertSame(dest, getResponse.getBody());
+        assertEquals("response bytes", new String(dest.array(), StandardCharsets.UTF_8));
+        assertEquals(HTTP_OK, httpClientException.getStatusCode());
+    }
+
     @Test
     public void testGetThrowsException()
         throws UnsupportedEncodingException {
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpClientTest {
+
+    private HttpClient httpClientMock;
+
+    @BeforeEach
+    public void setUp() {
+        httpClientMock = mock(HttpClient.class);
+        when(httpClientMock.stream(anyString(), anyString(), any(), any(), any(), anyLong())).thenCallRealMethod();
+    }
+
+    @Test
+    public void testDefaultStreamBuffersResponse()
+        throws IOException {
+        // GIVEN
+        when(httpClientMock.get(eq("http://localhost:4040/api/requests/http"), eq(List.of()), eq(Map.of()),
+            eq(Object.class))).thenReturn(new Response<>(200, null, "{\"requests\":[]}", Map.of()));
+
+        // WHEN
+        final Response<ReadableByteChannel> streamResponse = httpClientMock.stream("GET",
+            "http://localhost:4040/api/requests/http", List.of(), Map.of(), null, -1);
+
+        // THEN
+        assertEquals(200, streamResponse.getStatusCode());
+        final ByteBuffer dest = ByteBuffer.allocate(64);
+        try (final ReadableByteChannel channel = streamResponse.getBody()) {
+            channel.read(dest);
+        }
+        assertEquals("{\"requests\":[]}", new String(dest.array(), 0, dest.position(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDefaultStreamRequestBodyNotSupported() {
+        // WHEN
+        assertThrows(UnsupportedOperationException.class, () -> httpClientMock.stream("POST",
+            "http://localhost:4040/some-url", List.of(), Map.of(),
+            Channels.newChannel(new ByteArrayInputStream(new byte[0])), -1));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.http;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InterceptingHttpClientTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private HttpClient httpClientMock;
+
+    @BeforeEach
+    public void setUp() {
+        httpClientMock = mock(HttpClient.class);
+    }
+
+    @Test
+    public void testInterceptorsRunInOrderAndModifyRequest() {
+        // GIVEN
+        final Response<Map> response = new Response<>(201, Map.of(), "{}", Map.of());
+        when(httpClientMock.post(anyString(), any(), any(), any(), eq(Map.class))).thenReturn(response);
+        final InterceptingHttpClient interceptingHttpClient = new InterceptingHttpClient.Builder(httpClientMock)
+            .withInterceptor(chain -> {
+                events.add("tracing");
+                return chain.proceed(new Request.Builder(chain.getRequest())
+                    .withHeaders(Map.of("X-Trace-Id", "abc123"))
+                    .build());
+            })
+            .withInterceptor(chain -> {
+                final Response<?> intercepted = chain.proceed(chain.getRequest());
+                events.add(String.format("%s %s %s %s", chain.getRequest().getMethod(), chain.getRequest().getUrl(),
+                    chain.getRequest().getHeaders(), intercepted.getStatusCode()));
+                return intercepted;
+            })
+            .build();
+
+        // WHEN
+        final Response<Map> postResponse = interceptingHttpClient.post("http://localhost:4040/api/tunnels",
+            Map.of("name", "my-tunnel"), Map.class);
+
+        // THEN
+        assertSame(response, postResponse);
+        assertEquals(List.of("tracing", "POST http://localhost:4040/api/tunnels {X-Trace-Id=abc123} 201"), events);
+        verify(httpClientMock).post(eq("http://localhost:4040/api/tunnels"), eq(Map.of("name", "my-tunnel")),
+            eq(List.of()), eq(Map.of("X-Trace-Id", "abc123")), eq(Map.class));
+    }
+
+    @Test
+    public void testInterceptorShortCircuitsAndSeesExceptions() {
+        // GIVEN
+        when(httpClientMock.delete(anyString(), any(), any(), eq(Map.class)))
+            .thenThrow(new HttpClientException("agent unavailable", new ConnectException("Connection refused")));
+        final Response<Map> cached = new Response<>(200, Map.of(), "{}", Map.of());
+        final InterceptingHttpClient interceptingHttpClient = new InterceptingHttpClient.Builder(httpClientMock)
+            .withInterceptor(chain -> {
+                if (chain.getRequest().getMethod().equals("GET")) {
+                    return cached;
+                }
+                try {
+                    return chain.proceed(chain.getRequest());
+                } catch (final HttpClientException e) {
+                    events.add(String.format("%s failed: %s", chain.getRequest().getMethod(), e.getMessage()));
+                    throw e;
+                }
+            })
+            .build();
+
+        // WHEN
+        final Response<Map> getResponse = interceptingHttpClient.get("http://localhost:4040/api/tunnels", Map.class);
+        assertThrows(HttpClientException.class,
+            () -> interceptingHttpClient.delete("http://localhost:4040/api/tunnels/my-tunnel"));
+
+        // THEN
+        assertSame(cached, getResponse);
+        assertEquals(List.of("DELETE failed: agent unavailable"), events);
+        verify(httpClientMock, never()).get(anyString(), any(), any(), eq(Map.class));
+    }
+
+    @Test
+    public void testStreamIsIntercepted() {
+        // GIVEN
+        final ReadableByteChannel body = Channels.newChannel(new ByteArrayInputStream(new byte[13]));
+        final Response<ReadableByteChannel> response = new Response<>(201,
+            Channels.newChannel(new ByteArrayInputStream(new byte[0])), null, Map.of());
+        when(httpClientMock.stream(anyString(), anyString(), any(), any(), any(), anyLong())).thenReturn(response);
+        final InterceptingHttpClient interceptingHttpClient = new InterceptingHttpClient.Builder(httpClientMock)
+            .withInterceptor(chain -> {
+                events.add(String.format("%s %s %s %s", chain.getRequest().getMethod(), chain.getRequest().getUrl(),
+                    chain.getRequest().isStreamed(), chain.getRequest().getBodySize()));
+                return chain.proceed(chain.getRequest());
+            })
+            .build();
+
+        // WHEN
+        final Response<ReadableByteChannel> streamResponse = interceptingHttpClient.stream("POST",
+            "http://localhost:4040/some-url", List.of(), Map.of(), body, 13);
+
+        // THEN
+        assertSame(response, streamResponse);
+        assertEquals(List.of("POST http://localhost:4040/some-url true 13"), events);
+        verify(httpClientMock).stream(eq("POST"), eq("http://localhost:4040/some-url"), eq(List.of()), eq(Map.of()),
+            same(body), eq(13L));
+    }
+
+    @Test
+    public void testStreamedIsExplicit() {
+        // GIVEN
+        final Response<ReadableByteChannel> response = new Response<>(200,
+            Channels.newChannel(new ByteArrayInputStream(new byte[0])), null, Map.of());
+        when(httpClientMock.stream(anyString(), anyString(), any(), any(), any(), anyLong())).thenReturn(response);
+        when(httpClientMock.get(anyString(), any(), any(), eq(ReadableByteChannel.class))).thenReturn(response);
+        final InterceptingHttpClient interceptingHttpClient = new InterceptingHttpClient.Builder(httpClientMock)
+            .withInterceptor(chain -> {
+                events.add(String.format("%s %s", chain.getRequest().getMethod(), chain.getRequest().isStreamed()));
+                return chain.proceed(new Request.Builder(chain.getRequest())
+                    .withHeaders(Map.of("X-Trace-Id", "abc123"))
+                    .build());
+            })
+            .build();
+
+        // WHEN
+        interceptingHttpClient.stream("GET", "http://localhost:4040/some-url", List.of(), Map.of(), null, -1);
+        interceptingHttpClient.get("http://localhost:4040/some-url", ReadableByteChannel.class);
+
+        // THEN
+        assertEquals(List.of("GET true", "GET false"), events);
+        verify(httpClientMock).stream(eq("GET"), eq("http://localhost:4040/some-url"), eq(List.of()),
+            eq(Map.of("X-Trace-Id", "abc123")), eq(null), eq(-1L));
+        verify(httpClientMock).get(eq("http://localhost:4040/some-url"), eq(List.of()),
+            eq(Map.of("X-Trace-Id", "abc123")), eq(ReadableByteChannel.class));
+    }
+}
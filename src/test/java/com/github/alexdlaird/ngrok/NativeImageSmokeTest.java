@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.conf.JavaNgrokVersion;
+import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises {@link NgrokClient} against a stub <code>ngrok</code> agent, without mocks, so it can also be run as a
+ * native image with <code>make test-native</code>.
+ */
+public class NativeImageSmokeTest {
+
+    private static final String TUNNEL = "{\"name\":\"my-tunnel\",\"uri\":\"/api/tunnels/my-tunnel\","
+        + "\"public_url\":\"https://my-tunnel.ngrok.app\",\"proto\":\"https\","
+        + "\"config\":{\"addr\":\"http://localhost:8080\",\"inspect\":true}}";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean open = new AtomicBoolean();
+
+    @TempDir
+    private Path tempDir;
+
+    private HttpServer agent;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException {
+        agent = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        agent.createContext("/api/tunnels", this::handle);
+        agent.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        agent.stop(0);
+    }
+
+    @Test
+    public void testConnectGetTunnelsDisconnect()
+        throws IOException {
+        // GIVEN
+        final JavaNgrokConfig javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withNgrokPath(Files.createFile(tempDir.resolve("ngrok")))
+            .withConfigPath(Files.writeString(tempDir.resolve("ngrok.yml"), "version: \"2\"\n"))
+            .build();
+        final String apiUrl = String.format("http://%s:%s", agent.getAddress().getHostString(),
+            agent.getAddress().getPort());
+        final NgrokProcess ngrokProcess = new NgrokProcess(javaNgrokConfig, new NgrokInstaller()) {
+            @Override
+            public void start() {
+            }
+
+            @Override
+            public boolean isRunning() {
+                return true;
+            }
+
+            @Override
+            public String getApiUrl() {
+                return apiUrl;
+            }
+        };
+        final NgrokClient ngrokClient = new NgrokClient.Builder()
+            .withJavaNgrokConfig(javaNgrokConfig)
+            .withNgrokProcess(ngrokProcess)
+            .build();
+
+        // WHEN
+        final Tunnel tunnel = ngrokClient.connect(new CreateTunnel.Builder()
+            .withName("my-tunnel")
+            .withAddr(8080)
+            .build());
+        final List<Tunnel> tunnels = ngrokClient.getTunnels();
+        ngrokClient.disconnect(tunnel.getPublicUrl());
+
+        // THEN
+        assertNotNull(JavaNgrokVersion.getInstance().getVersion());
+        assertEquals("https://my-tunnel.ngrok.app", tunnel.getPublicUrl());
+        assertTrue(tunnel.getConfig().isInspect());
+        assertEquals(1, tunnels.size());
+        assertEquals("my-tunnel", tunnels.get(0).getName());
+        assertEquals(0, ngrokClient.getTunnels().size());
+        assertEquals(4, requests.size());
+        assertTrue(requests.get(0).startsWith("POST /api/tunnels {"));
+        assertTrue(requests.get(0).contains("\"name\":\"my-tunnel\""));
+        assertTrue(requests.get(0).contains("\"addr\":\"8080\""));
+        assertEquals("DELETE /api/tunnels/my-tunnel ", requests.get(2));
+    }
+
+    private void handle(final HttpExchange exchange)
+        throws IOException {
+        final String method = exchange.getRequestMethod();
+        requests.add(String.format("%s %s %s", method, exchange.getRequestURI().getPath(),
+            new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+
+        if (method.equals("DELETE")) {
+            open.set(false);
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+            return;
+        }
+
+        final int statusCode;
+        final String body;
+        if (method.equals("POST")) {
+            open.set(true);
+            statusCode = 201;
+            body = TUNNEL;
+        } else {
+            statusCode = 200;
+            body = String.format("{\"tunnels\":[%s],\"uri\":\"/api/tunnels\"}", open.get() ? TUNNEL : "");
+        }
+
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.installer.ConfigVersion;
+import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedConstruction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NgrokClientPoolTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final NgrokInstaller ngrokInstaller = new NgrokInstaller();
+
+    private JavaNgrokConfig javaNgrokConfig;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException {
+        // A placeholder binary, so building the pool doesn't download ngrok
+        Files.createFile(tempDir.resolve("ngrok"));
+
+        javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withNgrokPath(tempDir.resolve("ngrok"))
+            .withConfigPath(tempDir.resolve("config.yml"))
+            .build();
+    }
+
+    @Test
+    public void testBuildGeneratesShardConfigs() {
+        // GIVEN
+        ngrokInstaller.installDefaultConfig(javaNgrokConfig.getConfigPath(), Map.of("log_level", "info"));
+
+        // WHEN
+        final NgrokClientPool ngrokClientPool = new NgrokClientPool.Builder()
+            .withJavaNgrokConfig(javaNgrokConfig)
+            .withShards(3)
+            .withBaseWebPort(5050)
+            .withNgrokInstaller(ngrokInstaller)
+            .build();
+
+        // THEN
+        assertEquals(3, ngrokClientPool.getShards().size());
+        for (int i = 0; i < 3; ++i) {
+            final NgrokClientPool.Shard shard = ngrokClientPool.getShards().get(i);
+            final Path configPath = shard.getNgrokClient().getJavaNgrokConfig().getConfigPath();
+            final Map<String, Object> config = ngrokInstaller.getNgrokConfig(configPath, false);
+            assertEquals(i, shard.getIndex());
+            assertEquals(tempDir.resolve(String.format("ngrok-shard-%s.yml", i)), configPath);
+            assertEquals(String.format("127.0.0.1:%s", 5050 + i), config.get("web_addr"));
+            assertEquals("info", config.get("log_level"));
+        }
+        assertNotEquals(ngrokClientPool.getShards().get(0).getNgrokClient().getJavaNgrokConfig().getLockFilePath(),
+            ngrokClientPool.getShards().get(1).getNgrokClient().getJavaNgrokConfig().getLockFilePath());
+    }
+
+    @Test
+    public void testBuildDerivesPerShardSettings() {
+        // GIVEN
+        final JavaNgrokConfig stateJavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withLogSpoolPath(tempDir.resolve("spool"))
+            .withTunnelStatePath(tempDir.resolve("tunnels.json"))
+            .withBootTunnels(List.of(new CreateTunnel.Builder().withName("web").withAddr(8000).build()))
+            .build();
+
+        // WHEN
+        final NgrokClientPool ngrokClientPool = new NgrokClientPool.Builder()
+            .withJavaNgrokConfig(stateJavaNgrokConfig)
+            .withShards(2)
+            .withNgrokInstaller(ngrokInstaller)
+            .build();
+
+        // THEN
+        final JavaNgrokConfig shard0Config = ngrokClientPool.getShards().get(0).getNgrokClient().getJavaNgrokConfig();
+        final JavaNgrokConfig shard1Config = ngrokClientPool.getShards().get(1).getNgrokClient().getJavaNgrokConfig();
+        assertEquals(tempDir.resolve("spool").resolve("shard-0"), shard0Config.getLogSpoolPath());
+        assertEquals(tempDir.resolve("spool").resolve("shard-1"), shard1Config.getLogSpoolPath());
+        assertEquals(tempDir.resolve("tunnels-shard-0.json"), shard0Config.getTunnelStatePath());
+        assertEquals(tempDir.resolve("tunnels-shard-1.json"), shard1Config.getTunnelStatePath());
+        assertEquals(1, shard0Config.getBootTunnels().size());
+        assertTrue(shard1Config.getBootTunnels().isEmpty());
+        ngrokClientPool.kill();
+    }
+
+    @Test
+    public void testBuildGeneratesV3ShardConfigs() {
+        // GIVEN
+        final JavaNgrokConfig v3JavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withConfigVersion(ConfigVersion.V3)
+            .build();
+
+        // WHEN
+        final NgrokClientPool ngrokClientPool = new NgrokClientPool.Builder()
+            .withJavaNgrokConfig(v3JavaNgrokConfig)
+            .withNgrokInstaller(ngrokInstaller)
+            .build();
+
+        // THEN
+        final Path configPath = ngrokClientPool.getShards().get(1).getNgrokClient().getJavaNgrokConfig()
+                                               .getConfigPath();
+        final Map<String, Object> config = ngrokInstaller.getNgrokConfig(configPath, false);
+        assertEquals("127.0.0.1:4041", ((Map<?, ?>) config.get("agent")).get("web_addr"));
+    }
+
+    @Test
+    public void testBuildInvalidPortRange() {
+        // GIVEN
+        final NgrokClientPool.Builder builder = new NgrokClientPool.Builder()
+            .withJavaNgrokConfig(javaNgrokConfig)
+            .withShards(2)
+            .withBaseWebPort(65535);
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new NgrokClientPool.Builder().withShards(0));
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    public void testConnectPlacesAndRoutesToOwningShard() {
+        try (final MockedConstruction<NgrokClient> ngrokClientMocks = mockConstruction(NgrokClient.class,
+            (ngrokClientMock, context) -> {
+                final NgrokProcess ngrokProcessMock = mock(NgrokProcess.class);
+                when(ngrokProcessMock.isRunning()).thenReturn(true);
+                when(ngrokClientMock.getNgrokProcess()).thenReturn(ngrokProcessMock);
+            })) {
+            // GIVEN
+            final NgrokClientPool ngrokClientPool = new NgrokClientPool.Builder()
+                .withJavaNgrokConfig(javaNgrokConfig)
+                .withPlacementStrategy((createTunnel, shards) -> 1)
+                .withNgrokInstaller(ngrokInstaller)
+                .build();
+            final NgrokClient shard0 = ngrokClientMocks.constructed().get(0);
+            final NgrokClient shard1 = ngrokClientMocks.constructed().get(1);
+            final Tunnel tunnel = mock(Tunnel.class);
+            when(tunnel.getPublicUrl()).thenReturn("https://some-domain.ngrok.io");
+            when(shard1.connect(any())).thenReturn(tunnel);
+            when(shard0.getTunnels()).thenReturn(List.of());
+            when(shard1.getTunnels()).thenReturn(List.of(tunnel));
+
+            // WHEN
+            final Tunnel connected = ngrokClientPool.connect(new CreateTunnel.Builder().withName("my-tunnel").build());
+            ngrokClientPool.refreshMetrics(connected);
+            final List<Tunnel> tunnels = ngrokClientPool.getTunnels();
+            ngrokClientPool.disconnect(connected.getPublicUrl());
+
+            // THEN
+            assertEquals(tunnel, connected);
+            assertEquals(List.of(tunnel), tunnels);
+            assertEquals(0, ngrokClientPool.getShards().get(1).getTunnelCount());
+            verify(shard1).refreshMetrics(tunnel);
+            verify(shard1).disconnect("https://some-domain.ngrok.io");
+            verify(shard0, never()).connect(any());
+            verify(shard0, never()).disconnect(any());
+        }
+    }
+
+    @Test
+    public void testPlacementStrategies() {
+        // GIVEN
+        final NgrokClientPool.Shard shard0 = mock(NgrokClientPool.Shard.class);
+        final NgrokClientPool.Shard shard1 = mock(NgrokClientPool.Shard.class);
+        final NgrokClientPool.Shard shard2 = mock(NgrokClientPool.Shard.class);
+        when(shard0.getTunnelCount()).thenReturn(3);
+        when(shard0.getGauge()).thenReturn(1L);
+        when(shard1.getTunnelCount()).thenReturn(1);
+        when(shard1.getGauge()).thenReturn(20L);
+        when(shard2.getTunnelCount()).thenReturn(2);
+        when(shard2.getGauge()).thenReturn(1L);
+        final List<NgrokClientPool.Shard> shards = List.of(shard0, shard1, shard2);
+        final CreateTunnel unnamed = new CreateTunnel.Builder().build();
+        final TunnelPlacementStrategy consistentHash = TunnelPlacementStrategy.consistentHash();
+
+        // WHEN
+        final int leastTunnels = TunnelPlacementStrategy.leastTunnels().place(unnamed, shards);
+        final int leastGauge = TunnelPlacementStrategy.leastGauge().place(unnamed, shards);
+        final int hashed = consistentHash.place(new CreateTunnel.Builder().withName("my-tunnel").build(), shards);
+
+        // THEN
+        assertEquals(1, leastTunnels);
+        assertEquals(2, leastGauge);
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(hashed, consistentHash.place(new CreateTunnel.Builder().withName("my-tunnel").build(),
+                shards));
+        }
+        assertEquals(hashed, TunnelPlacementStrategy.consistentHash()
+                                                    .place(new CreateTunnel.Builder().withName("my-tunnel").build(),
+                                                        shards));
+    }
+
+    @Test
+    public void testConsistentHashSpreadsNames() {
+        // GIVEN
+        final List<NgrokClientPool.Shard> shards = List.of(new NgrokClientPool.Shard(0, mock(NgrokClient.class)),
+            new NgrokClientPool.Shard(1, mock(NgrokClient.class)),
+            new NgrokClientPool.Shard(2, mock(NgrokClient.class)));
+        final TunnelPlacementStrategy consistentHash = TunnelPlacementStrategy.consistentHash();
+        final int[] placed = new int[shards.size()];
+
+        // WHEN
+        for (int i = 0; i < 300; ++i) {
+            ++placed[consistentHash.place(new CreateTunnel.Builder().withName("tunnel-" + i).build(), shards)];
+        }
+
+        // THEN
+        for (final int count : placed) {
+            assertTrue(count > 50);
+        }
+    }
+
+    @Test
+    public void testConsistentHashConcurrentShardCounts() throws Exception {
+        // GIVEN
+        final List<NgrokClientPool.Shard> threeShards = List.of(new NgrokClientPool.Shard(0, mock(NgrokClient.class)),
+            new NgrokClientPool.Shard(1, mock(NgrokClient.class)),
+            new NgrokClientPool.Shard(2, mock(NgrokClient.class)));
+        final List<NgrokClientPool.Shard> twoShards = threeShards.subList(0, 2);
+        final TunnelPlacementStrategy consistentHash = TunnelPlacementStrategy.consistentHash();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 4; ++t) {
+                final List<NgrokClientPool.Shard> shards = t % 2 == 0 ? threeShards : twoShards;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 1000; ++i) {
+                        final int placed = consistentHash.place(new CreateTunnel.Builder()
+                            .withName("tunnel-" + i)
+                            .build(), shards);
+                        assertTrue(placed >= 0 && placed < shards.size());
+                    }
+                }));
+            }
+
+            // THEN
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -17,6 +17,7 @@ import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
 import com.github.alexdlaird.ngrok.installer.ConfigVersion;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
 import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.process.NgrokProcessRegistry;
 import com.github.alexdlaird.ngrok.protocol.ApiResponse;
 import com.github.alexdlaird.ngrok.protocol.BindTls;
 import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
@@ -32,8 +33,19 @@ import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,13 +66,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -162,6 +177,30 @@ class NgrokClientTest extends NgrokTestCase {
         assertNotNull(ngrokClient.getHttpClient());
     }
 
+    @Test
+    public void testSharedNgrokProcess() {
+        // GIVEN
+        final NgrokClient ngrokClient1 = new NgrokClient.Builder().withJavaNgrokConfig(javaNgrokConfig)
+                                                                  .withNgrokInstaller(ngrokInstaller)
+                                                                  .withSharedNgrokProcess()
+                                                                  .build();
+        final NgrokClient ngrokClient2 = new NgrokClient.Builder().withJavaNgrokConfig(javaNgrokConfig)
+                                                                  .withNgrokInstaller(ngrokInstaller)
+                                                                  .withSharedNgrokProcess()
+                                                                  .build();
+        final NgrokProcessRegistry ngrokProcessRegistry = NgrokProcessRegistry.getInstance();
+
+        // WHEN
+        ngrokClient1.kill();
+        ngrokClient1.kill();
+
+        // THEN
+        assertSame(ngrokClient1.getNgrokProcess(), ngrokClient2.getNgrokProcess());
+        assertEquals(1, ngrokProcessRegistry.getReferenceCount(ngrokClient2.getNgrokProcess()));
+        ngrokClient2.kill();
+        assertEquals(0, ngrokProcessRegistry.getReferenceCount(ngrokClient2.getNgrokProcess()));
+    }
+
     @Test
     public void testConnect() {
         // GIVEN
@@ -837,7 +876,7 @@ class NgrokClientTest extends NgrokTestCase {
         doAnswer(invocation -> {
             throw new HttpClientException("some message", new SocketTimeoutException(),
                 "http://localhost:4040/api/tunnels", 500, "error body");
-        }).when(httpClient).delete(any());
+        }).when(httpClient).delete(any(), any(), any(), eq(Void.class));
         final Tunnel tunnel = mockNgrokClient.connect();
 
         // WHEN
@@ -900,6 +939,318 @@ class NgrokClientTest extends NgrokTestCase {
             eq(Tunnel.class));
     }
 
+    @Test
+    public void testIdleTimeoutStopsProcessAfterLastDisconnect()
+        throws InterruptedException {
+        // GIVEN
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.isRunning()).thenReturn(true);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        when(mockProcess.getNgrokInstaller()).thenReturn(ngrokInstaller);
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        final Tunnel stubTunnel = mock(Tunnel.class);
+        when(stubTunnel.getPublicUrl()).thenReturn("https://my.ngrok.dev");
+        when(stubTunnel.getUri()).thenReturn("/api/tunnels/my-tunnel");
+        when(mockHttpClient.post(any(), any(), eq(Tunnel.class)))
+            .thenReturn(new Response<>(201, stubTunnel, "", Map.of()));
+        final Tunnels noTunnels = mock(Tunnels.class);
+        when(noTunnels.getTunnels()).thenReturn(List.of());
+        when(mockHttpClient.get(any(), eq(Tunnels.class))).thenReturn(new Response<>(200, noTunnels, "", Map.of()));
+        final NgrokClient idleClient = new NgrokClient.Builder().withJavaNgrokConfig(javaNgrokConfig)
+                                                                .withNgrokProcess(mockProcess)
+                                                                .withHttpClient(mockHttpClient)
+                                                                .withIdleTimeout(Duration.ofMillis(100))
+                                                                .build();
+
+        // WHEN
+        final Tunnel tunnel = idleClient.connect(new CreateTunnel.Builder().withName("my-tunnel").build());
+        Thread.sleep(300);
+
+        // THEN
+        verify(mockProcess, never()).stop();
+        idleClient.disconnect(tunnel.getPublicUrl());
+        verify(mockProcess, timeout(5000)).stop();
+    }
+
+    @Test
+    public void testIdleTimeoutKeepsProcessWithAgentTunnels()
+        throws InterruptedException {
+        // GIVEN
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.isRunning()).thenReturn(true);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        final Tunnel bootTunnel = mock(Tunnel.class);
+        when(bootTunnel.getPublicUrl()).thenReturn("https://boot.ngrok.dev");
+        final Tunnels noTunnels = mock(Tunnels.class);
+        when(noTunnels.getTunnels()).thenReturn(List.of());
+        final Tunnels bootTunnels = mock(Tunnels.class);
+        when(bootTunnels.getTunnels()).thenReturn(List.of(bootTunnel));
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        when(mockHttpClient.get(any(), eq(Tunnels.class)))
+            .thenReturn(new Response<>(200, noTunnels, "", Map.of()))
+            .thenReturn(new Response<>(200, bootTunnels, "", Map.of()));
+        final NgrokClient idleClient = new NgrokClient.Builder().withJavaNgrokConfig(javaNgrokConfig)
+                                                                .withNgrokProcess(mockProcess)
+                                                                .withHttpClient(mockHttpClient)
+                                                                .withIdleTimeout(Duration.ofMillis(500))
+                                                                .build();
+
+        // WHEN the agent starts a tunnel this client didn't open, such as a boot tunnel
+        idleClient.getTunnels();
+        Thread.sleep(1000);
+
+        // THEN
+        verify(mockHttpClient, timeout(5000).times(2)).get(any(), eq(Tunnels.class));
+        verify(mockProcess, never()).stop();
+        idleClient.kill();
+    }
+
+    @Test
+    public void testIdleTimeoutInvalid() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new NgrokClient.Builder().withIdleTimeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new NgrokClient.Builder()
+            .withJavaNgrokConfig(javaNgrokConfig)
+            .withNgrokInstaller(ngrokInstaller)
+            .withSharedNgrokProcess()
+            .withIdleTimeout(Duration.ofMinutes(1))
+            .build());
+    }
+
+    @Test
+    public void testTunnelStateWriteFailureRemovesTempFile()
+        throws IOException {
+        // GIVEN
+        final Path tempDir = Files.createTempDirectory("java-ngrok");
+        final Path tunnelStatePath = Files.createDirectory(tempDir.resolve("tunnels.json"));
+        Files.createFile(tunnelStatePath.resolve("not-empty"));
+        final JavaNgrokConfig stateConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withTunnelStatePath(tunnelStatePath)
+            .build();
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.isRunning()).thenReturn(true);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        when(mockProcess.getNgrokInstaller()).thenReturn(ngrokInstaller);
+        final Tunnel webTunnel = mock(Tunnel.class);
+        when(webTunnel.getPublicUrl()).thenReturn("https://web.ngrok.dev");
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        when(mockHttpClient.post(any(), any(), eq(Tunnel.class)))
+            .thenReturn(new Response<>(201, webTunnel, "", Map.of()));
+        final NgrokClient stateClient = new NgrokClient.Builder().withJavaNgrokConfig(stateConfig)
+                                                                 .withNgrokProcess(mockProcess)
+                                                                 .withHttpClient(mockHttpClient)
+                                                                 .build();
+
+        // WHEN
+        final Tunnel tunnel = stateClient.connect(new CreateTunnel.Builder().withName("web").withAddr(8000).build());
+
+        // THEN
+        assertEquals(webTunnel, tunnel);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(tunnelStatePath), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testRestoreTunnelStateRecreatesOnlyMissingTunnels()
+        throws IOException {
+        // GIVEN
+        final Path tunnelStatePath = Files.createTempDirectory("java-ngrok").resolve("tunnels.json");
+        final JavaNgrokConfig stateConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withTunnelStatePath(tunnelStatePath)
+            .build();
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.isRunning()).thenReturn(true);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        when(mockProcess.getNgrokInstaller()).thenReturn(ngrokInstaller);
+        final Tunnel webTunnel = mock(Tunnel.class);
+        when(webTunnel.getPublicUrl()).thenReturn("https://web.ngrok.dev");
+        final Tunnel apiTunnel = mock(Tunnel.class);
+        when(apiTunnel.getPublicUrl()).thenReturn("https://api.ngrok.dev");
+        when(apiTunnel.getUri()).thenReturn("/api/tunnels/api");
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        when(mockHttpClient.post(any(), any(), eq(Tunnel.class)))
+            .thenReturn(new Response<>(201, webTunnel, "", Map.of()))
+            .thenReturn(new Response<>(201, apiTunnel, "", Map.of()));
+        final NgrokClient previousClient = new NgrokClient.Builder().withJavaNgrokConfig(stateConfig)
+                                                                    .withNgrokProcess(mockProcess)
+                                                                    .withHttpClient(mockHttpClient)
+                                                                    .build();
+        previousClient.connect(new CreateTunnel.Builder().withName("web").withAddr(8000).build());
+        previousClient.connect(new CreateTunnel.Builder().withName("api").withAddr(8001).build());
+        final HttpClient restartedHttpClient = mock(HttpClient.class);
+        final Tunnels stubTunnels = mock(Tunnels.class);
+        when(stubTunnels.getTunnels()).thenReturn(List.of(webTunnel));
+        when(restartedHttpClient.get(any(), eq(Tunnels.class)))
+            .thenReturn(new Response<>(200, stubTunnels, "", Map.of()));
+        when(restartedHttpClient.post(any(), any(), eq(Tunnel.class)))
+            .thenReturn(new Response<>(201, apiTunnel, "", Map.of()));
+        final NgrokClient restartedClient = new NgrokClient.Builder().withJavaNgrokConfig(stateConfig)
+                                                                     .withNgrokProcess(mockProcess)
+                                                                     .withHttpClient(restartedHttpClient)
+                                                                     .build();
+        final ArgumentCaptor<CreateTunnel> createTunnelCaptor = ArgumentCaptor.forClass(CreateTunnel.class);
+
+        // WHEN
+        final List<Tunnel> restored = restartedClient.restoreTunnelState();
+
+        // THEN
+        assertEquals(List.of(webTunnel, apiTunnel), restored);
+        verify(restartedHttpClient, times(1)).get(any(), eq(Tunnels.class));
+        verify(restartedHttpClient, times(1)).post(any(), createTunnelCaptor.capture(), eq(Tunnel.class));
+        assertEquals("api", createTunnelCaptor.getValue().getName());
+        assertEquals("8001", createTunnelCaptor.getValue().getAddr());
+        assertNotNull(restartedClient.getCreateTunnel("https://web.ngrok.dev"));
+        restartedClient.disconnect("https://api.ngrok.dev");
+        assertFalse(Files.readString(tunnelStatePath).contains("https://api.ngrok.dev"));
+        assertTrue(Files.readString(tunnelStatePath).contains("https://web.ngrok.dev"));
+    }
+
+    @Test
+    public void testRestoreTunnelsKeepsDefinitionsThatFailed()
+        throws IOException {
+        // GIVEN
+        final Path tunnelStatePath = Files.createTempDirectory("java-ngrok").resolve("tunnels.json");
+        final JavaNgrokConfig stateConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withTunnelStatePath(tunnelStatePath)
+            .build();
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.isRunning()).thenReturn(true);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        when(mockProcess.getNgrokInstaller()).thenReturn(ngrokInstaller);
+        final Tunnel webTunnel = mock(Tunnel.class);
+        when(webTunnel.getName()).thenReturn("web");
+        when(webTunnel.getPublicUrl()).thenReturn("https://web-1.ngrok.dev");
+        final Tunnel restoredWebTunnel = mock(Tunnel.class);
+        when(restoredWebTunnel.getName()).thenReturn("web");
+        when(restoredWebTunnel.getPublicUrl()).thenReturn("https://web-2.ngrok.dev");
+        final Tunnel apiTunnel = mock(Tunnel.class);
+        when(apiTunnel.getName()).thenReturn("api");
+        when(apiTunnel.getPublicUrl()).thenReturn("https://api.ngrok.dev");
+        final AtomicInteger webPosts = new AtomicInteger();
+        final AtomicInteger apiPosts = new AtomicInteger();
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        when(mockHttpClient.post(any(), any(), eq(Tunnel.class))).thenAnswer(invocation -> {
+            final CreateTunnel createTunnel = invocation.getArgument(1);
+            if (createTunnel.getName().equals("web")) {
+                return new Response<>(201, webPosts.getAndIncrement() == 0 ? webTunnel : restoredWebTunnel, "",
+                    Map.of());
+            } else if (apiPosts.getAndIncrement() == 1) {
+                throw new HttpClientException("Connection refused", new IOException());
+            }
+            return new Response<>(201, apiTunnel, "", Map.of());
+        });
+        final Tunnels noTunnels = mock(Tunnels.class);
+        when(noTunnels.getTunnels()).thenReturn(List.of());
+        final Tunnels restoredTunnels = mock(Tunnels.class);
+        when(restoredTunnels.getTunnels()).thenReturn(List.of(restoredWebTunnel));
+        when(mockHttpClient.get(any(), eq(Tunnels.class)))
+            .thenReturn(new Response<>(200, noTunnels, "", Map.of()))
+            .thenReturn(new Response<>(200, restoredTunnels, "", Map.of()));
+        final NgrokClient restoringClient = new NgrokClient.Builder().withJavaNgrokConfig(stateConfig)
+                                                                     .withNgrokProcess(mockProcess)
+                                                                     .withHttpClient(mockHttpClient)
+                                                                     .build();
+        restoringClient.connect(new CreateTunnel.Builder().withName("web").withAddr(8000).build());
+        restoringClient.connect(new CreateTunnel.Builder().withName("api").withAddr(8001).build());
+
+        // WHEN
+        assertThrows(JavaNgrokException.class, restoringClient::restoreTunnels);
+
+        // THEN
+        assertNull(restoringClient.getCreateTunnel("https://web-1.ngrok.dev"));
+        assertNotNull(restoringClient.getCreateTunnel("https://web-2.ngrok.dev"));
+        assertNotNull(restoringClient.getCreateTunnel("https://api.ngrok.dev"));
+        assertFalse(Files.readString(tunnelStatePath).contains("https://web-1.ngrok.dev"));
+        assertTrue(Files.readString(tunnelStatePath).contains("https://web-2.ngrok.dev"));
+        assertTrue(Files.readString(tunnelStatePath).contains("https://api.ngrok.dev"));
+
+        // WHEN
+        final List<Tunnel> restored = restoringClient.restoreTunnels();
+
+        // THEN only the tunnel that failed is re-created
+        assertEquals(2, restored.size());
+        assertEquals(2, webPosts.get());
+        assertEquals(3, apiPosts.get());
+        assertNotNull(restoringClient.getCreateTunnel("https://api.ngrok.dev"));
+    }
+
+    @Test
+    public void testConcurrentConnectsForSameNameShareOneRequest()
+        throws InterruptedException, ExecutionException {
+        // GIVEN
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        when(mockProcess.getNgrokInstaller()).thenReturn(ngrokInstaller);
+        final Tunnel stubTunnel = mock(Tunnel.class);
+        when(stubTunnel.getName()).thenReturn("my-tunnel");
+        when(stubTunnel.getPublicUrl()).thenReturn("https://my.ngrok.dev");
+        final CountDownLatch posting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        when(mockHttpClient.post(any(), any(), eq(Tunnel.class))).thenAnswer(invocation -> {
+            posting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Response<>(201, stubTunnel, "", Map.of());
+        });
+        final NgrokClient singleflightClient = new NgrokClient.Builder().withJavaNgrokConfig(javaNgrokConfig)
+                                                                        .withNgrokProcess(mockProcess)
+                                                                        .withHttpClient(mockHttpClient)
+                                                                        .build();
+        final CreateTunnel createTunnel = new CreateTunnel.Builder().withName("my-tunnel").build();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        final List<Future<Tunnel>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> singleflightClient.connect(createTunnel)));
+        assertTrue(posting.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; ++i) {
+            futures.add(executor.submit(() -> singleflightClient.connect(createTunnel)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        final Tunnel alreadyOpen = singleflightClient.connect(createTunnel);
+
+        // THEN
+        for (final Future<Tunnel> future : futures) {
+            assertSame(stubTunnel, future.get());
+        }
+        assertSame(stubTunnel, alreadyOpen);
+        verify(mockHttpClient, times(1)).post(any(), any(), eq(Tunnel.class));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testConnectSameNameRequiresSameDefinition() {
+        // GIVEN
+        final NgrokProcess mockProcess = mock(NgrokProcess.class);
+        when(mockProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        when(mockProcess.getNgrokInstaller()).thenReturn(ngrokInstaller);
+        final Tunnel stubTunnel = mock(Tunnel.class);
+        when(stubTunnel.getName()).thenReturn("my-tunnel");
+        when(stubTunnel.getPublicUrl()).thenReturn("https://my.ngrok.dev");
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        when(mockHttpClient.post(any(), any(), eq(Tunnel.class)))
+            .thenReturn(new Response<>(201, stubTunnel, "", Map.of()));
+        final NgrokClient definitionClient = new NgrokClient.Builder().withJavaNgrokConfig(javaNgrokConfig)
+                                                                      .withNgrokProcess(mockProcess)
+                                                                      .withHttpClient(mockHttpClient)
+                                                                      .build();
+        definitionClient.connect(new CreateTunnel.Builder().withName("my-tunnel").withAddr(8000).build());
+
+        // WHEN
+        final Tunnel alreadyOpen = definitionClient.connect(new CreateTunnel.Builder().withName("my-tunnel")
+                                                                                      .withAddr(8000).build());
+
+        // THEN
+        assertSame(stubTunnel, alreadyOpen);
+        assertThrows(JavaNgrokException.class, () -> definitionClient.connect(new CreateTunnel.Builder()
+            .withName("my-tunnel")
+            .withAddr(8001)
+            .build()));
+        verify(mockHttpClient, times(1)).post(any(), any(), eq(Tunnel.class));
+    }
+
     @Test
     public void testConfigV3TranslatesAddrToUpstream() {
         // GIVEN
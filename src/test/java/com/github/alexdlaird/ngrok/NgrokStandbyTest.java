@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.http.HttpClient;
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.process.NgrokLogSpool;
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NgrokStandbyTest {
+
+    private final LinkedBlockingQueue<NgrokClient> ready = new LinkedBlockingQueue<>();
+
+    @TempDir
+    private Path tempDir;
+
+    private NgrokClient primaryMock;
+    private NgrokProcess primaryProcessMock;
+    private NgrokClient standbyMock;
+    private NgrokProcess standbyProcessMock;
+    private NgrokStandby ngrokStandby;
+
+    @BeforeEach
+    public void setUp()
+        throws InterruptedException {
+        primaryMock = mock(NgrokClient.class);
+        primaryProcessMock = mock(NgrokProcess.class);
+        when(primaryMock.getNgrokProcess()).thenReturn(primaryProcessMock);
+        standbyMock = mock(NgrokClient.class);
+        standbyProcessMock = mock(NgrokProcess.class);
+        when(standbyMock.getNgrokProcess()).thenReturn(standbyProcessMock);
+
+        ngrokStandby = new NgrokStandby.Builder(primaryMock)
+            .withStandbyNgrokClient(standbyMock)
+            .withRetryInterval(Duration.ZERO)
+            .withListener(new NgrokStandby.Listener() {
+                @Override
+                public void onStandbyReady(final NgrokClient standby) {
+                    ready.add(standby);
+                }
+            })
+            .build();
+
+        assertSame(standbyMock, ready.poll(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ngrokStandby.close();
+    }
+
+    @Test
+    public void testConnectMirrorsPooledTunnelOnStandby() {
+        // GIVEN
+        final Tunnel tunnel = mock(Tunnel.class);
+        when(tunnel.getPublicUrl()).thenReturn("https://my-domain.ngrok.dev");
+        when(primaryMock.connect(any())).thenReturn(tunnel);
+        final ArgumentCaptor<CreateTunnel> createTunnelCaptor = ArgumentCaptor.forClass(CreateTunnel.class);
+
+        // WHEN
+        final Tunnel connected = ngrokStandby.connect(new CreateTunnel.Builder()
+            .withUrl("https://my-domain.ngrok.dev")
+            .build());
+
+        // THEN
+        assertSame(tunnel, connected);
+        verify(standbyMock).connect(createTunnelCaptor.capture());
+        assertTrue(createTunnelCaptor.getValue().isPoolingEnabled());
+        assertEquals("https://my-domain.ngrok.dev", createTunnelCaptor.getValue().getUrl());
+    }
+
+    @Test
+    public void testConnectRequiresFixedUrl() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class,
+            () -> ngrokStandby.connect(new CreateTunnel.Builder().withAddr(8000).build()));
+
+        // THEN
+        verify(primaryMock, never()).connect(any());
+        verify(standbyMock, never()).connect(any());
+    }
+
+    @Test
+    public void testBuildDerivesStandbySettings()
+        throws IOException {
+        // GIVEN
+        final JavaNgrokConfig javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withNgrokPath(Files.createFile(tempDir.resolve("ngrok")))
+            .withConfigPath(tempDir.resolve("ngrok.yml"))
+            .withLogSpoolPath(tempDir.resolve("spool"))
+            .withTunnelStatePath(tempDir.resolve("tunnels.json"))
+            .withBootTunnels(List.of(new CreateTunnel.Builder().withName("web").withAddr(8000).build()))
+            .build();
+        final NgrokClient primaryClientMock = mock(NgrokClient.class);
+        final NgrokProcess primaryClientProcessMock = mock(NgrokProcess.class);
+        when(primaryClientMock.getJavaNgrokConfig()).thenReturn(javaNgrokConfig);
+        when(primaryClientMock.getNgrokProcess()).thenReturn(primaryClientProcessMock);
+        when(primaryClientMock.getHttpClient()).thenReturn(mock(HttpClient.class));
+        when(primaryClientProcessMock.getNgrokInstaller()).thenReturn(new NgrokInstaller());
+
+        // WHEN
+        final JavaNgrokConfig standbyConfig;
+        try (final NgrokLogSpool primarySpool = new NgrokLogSpool(javaNgrokConfig)) {
+            final NgrokStandby derivedStandby = new NgrokStandby.Builder(primaryClientMock)
+                .withRetryInterval(Duration.ofMinutes(1))
+                .build();
+            derivedStandby.close();
+            standbyConfig = derivedStandby.getStandby().getJavaNgrokConfig();
+        }
+
+        // THEN
+        assertEquals(tempDir.resolve("spool").resolve("standby"), standbyConfig.getLogSpoolPath());
+        assertEquals(tempDir.resolve("tunnels-standby.json"), standbyConfig.getTunnelStatePath());
+        assertTrue(standbyConfig.getBootTunnels().isEmpty());
+        assertEquals(tempDir.resolve("ngrok-standby.yml"), standbyConfig.getConfigPath());
+    }
+
+    @Test
+    public void testPromotesStandbyAndRebuildsOnPrimaryExit()
+        throws InterruptedException {
+        // GIVEN
+        final Tunnel tunnel = mock(Tunnel.class);
+        when(tunnel.getPublicUrl()).thenReturn("https://my-domain.ngrok.dev");
+        when(primaryMock.connect(any())).thenReturn(tunnel);
+        ngrokStandby.connect(new CreateTunnel.Builder().withUrl("https://my-domain.ngrok.dev").build());
+        final CountDownLatch promoted = new CountDownLatch(1);
+        ngrokStandby.addListener(new NgrokStandby.Listener() {
+            @Override
+            public void onPromoted(final NgrokClient active) {
+                assertSame(standbyMock, active);
+                promoted.countDown();
+            }
+        });
+
+        // WHEN
+        final IntConsumer exitListener = captureExitListener(primaryProcessMock);
+        exitListener.accept(137);
+
+        // THEN
+        assertTrue(promoted.await(5, TimeUnit.SECONDS));
+        assertSame(standbyMock, ngrokStandby.getActive());
+        assertSame(primaryMock, ready.poll(5, TimeUnit.SECONDS));
+        assertSame(primaryMock, ngrokStandby.getStandby());
+        assertTrue(ngrokStandby.isStandbyReady());
+        verify(primaryProcessMock, timeout(5000)).start();
+        verify(primaryMock, timeout(5000).times(2)).connect(any());
+    }
+
+    @Test
+    public void testRebuildsStandbyOnStandbyExit()
+        throws InterruptedException {
+        // WHEN
+        final IntConsumer exitListener = captureExitListener(standbyProcessMock);
+        exitListener.accept(1);
+
+        // THEN
+        assertSame(standbyMock, ready.poll(5, TimeUnit.SECONDS));
+        assertSame(primaryMock, ngrokStandby.getActive());
+        verify(standbyProcessMock, timeout(5000).times(2)).start();
+    }
+
+    private IntConsumer captureExitListener(final NgrokProcess ngrokProcessMock) {
+        final ArgumentCaptor<IntConsumer> exitListenerCaptor = ArgumentCaptor.forClass(IntConsumer.class);
+        verify(ngrokProcessMock).addExitListener(exitListenerCaptor.capture());
+        return exitListenerCaptor.getValue();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.exception.JavaNgrokException;
+import com.github.alexdlaird.exception.NgrokException;
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NgrokSupervisorTest {
+
+    private final NgrokSupervisor.RestartPolicy noBackoffRestartPolicy = new NgrokSupervisor.RestartPolicy.Builder()
+        .withInitialBackoff(Duration.ZERO)
+        .withMaxRestarts(2)
+        .withWindow(Duration.ofMinutes(1))
+        .build();
+
+    private NgrokClient ngrokClientMock;
+    private NgrokProcess ngrokProcessMock;
+
+    @BeforeEach
+    public void setUp() {
+        ngrokClientMock = mock(NgrokClient.class);
+        ngrokProcessMock = mock(NgrokProcess.class);
+        when(ngrokClientMock.getNgrokProcess()).thenReturn(ngrokProcessMock);
+    }
+
+    @Test
+    public void testRestartsAndRestoresTunnelsOnExit()
+        throws InterruptedException {
+        // GIVEN
+        final Tunnel tunnel = mock(Tunnel.class);
+        when(ngrokClientMock.restoreTunnels()).thenReturn(List.of(tunnel));
+        final CountDownLatch restored = new CountDownLatch(1);
+        final AtomicInteger exitCode = new AtomicInteger();
+        final NgrokSupervisor ngrokSupervisor = new NgrokSupervisor.Builder(ngrokClientMock)
+            .withRestartPolicy(noBackoffRestartPolicy)
+            .withListener(new NgrokSupervisor.Listener() {
+                @Override
+                public void onExit(final int code) {
+                    exitCode.set(code);
+                }
+
+                @Override
+                public void onRestored(final List<Tunnel> tunnels) {
+                    assertEquals(List.of(tunnel), tunnels);
+                    restored.countDown();
+                }
+            })
+            .build();
+
+        // WHEN
+        final IntConsumer exitListener = captureExitListener();
+        exitListener.accept(137);
+
+        // THEN
+        assertTrue(restored.await(5, TimeUnit.SECONDS));
+        assertEquals(137, exitCode.get());
+        verify(ngrokProcessMock).start();
+        verify(ngrokClientMock).restoreTunnels();
+        ngrokSupervisor.close();
+        verify(ngrokProcessMock).removeExitListener(exitListener);
+    }
+
+    @Test
+    public void testRetriesTunnelsThatFailedToRestore()
+        throws InterruptedException {
+        // GIVEN
+        final Tunnel tunnel = mock(Tunnel.class);
+        when(ngrokProcessMock.isRunning()).thenReturn(true);
+        when(ngrokClientMock.restoreTunnels())
+            .thenThrow(new JavaNgrokException("An error occurred while restoring tunnels."))
+            .thenReturn(List.of(tunnel));
+        final CountDownLatch restored = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        final NgrokSupervisor ngrokSupervisor = new NgrokSupervisor.Builder(ngrokClientMock)
+            .withRestartPolicy(noBackoffRestartPolicy)
+            .withListener(new NgrokSupervisor.Listener() {
+                @Override
+                public void onRestartFailed(final Throwable cause) {
+                    failures.incrementAndGet();
+                }
+
+                @Override
+                public void onRestored(final List<Tunnel> tunnels) {
+                    restored.countDown();
+                }
+            })
+            .build();
+
+        // WHEN
+        captureExitListener().accept(1);
+
+        // THEN
+        assertTrue(restored.await(5, TimeUnit.SECONDS));
+        assertEquals(1, failures.get());
+        verify(ngrokClientMock, times(2)).restoreTunnels();
+        ngrokSupervisor.close();
+    }
+
+    @Test
+    public void testGivesUpAfterMaxRestarts()
+        throws InterruptedException {
+        // GIVEN
+        doThrow(new NgrokException("The ngrok process was unable to start.")).when(ngrokProcessMock).start();
+        final CountDownLatch gaveUp = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        final NgrokSupervisor ngrokSupervisor = new NgrokSupervisor.Builder(ngrokClientMock)
+            .withRestartPolicy(noBackoffRestartPolicy)
+            .withListener(new NgrokSupervisor.Listener() {
+                @Override
+                public void onRestartFailed(final Throwable cause) {
+                    failures.incrementAndGet();
+                }
+
+                @Override
+                public void onGaveUp() {
+                    gaveUp.countDown();
+                }
+            })
+            .build();
+
+        // WHEN
+        captureExitListener().accept(1);
+
+        // THEN
+        assertTrue(gaveUp.await(5, TimeUnit.SECONDS));
+        assertEquals(2, failures.get());
+        verify(ngrokProcessMock, times(2)).start();
+        verify(ngrokClientMock, never()).restoreTunnels();
+        ngrokSupervisor.close();
+    }
+
+    @Test
+    public void testRestartPolicyBackoff() {
+        // GIVEN
+        final NgrokSupervisor.RestartPolicy restartPolicy = new NgrokSupervisor.RestartPolicy.Builder()
+            .withInitialBackoff(Duration.ofSeconds(1))
+            .withMaxBackoff(Duration.ofSeconds(5))
+            .withMultiplier(2)
+            .build();
+
+        // THEN
+        assertEquals(Duration.ofSeconds(1), restartPolicy.getBackoff(0));
+        assertEquals(Duration.ofSeconds(2), restartPolicy.getBackoff(1));
+        assertEquals(Duration.ofSeconds(4), restartPolicy.getBackoff(2));
+        assertEquals(Duration.ofSeconds(5), restartPolicy.getBackoff(3));
+    }
+
+    @Test
+    public void testRestartPolicyInvalid() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class,
+            () -> new NgrokSupervisor.RestartPolicy.Builder().withMaxRestarts(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new NgrokSupervisor.RestartPolicy.Builder().withMultiplier(0.5));
+        assertThrows(IllegalArgumentException.class,
+            () -> new NgrokSupervisor.RestartPolicy.Builder().withWindow(Duration.ZERO));
+    }
+
+    private IntConsumer captureExitListener() {
+        final ArgumentCaptor<IntConsumer> exitListener = ArgumentCaptor.forClass(IntConsumer.class);
+        verify(ngrokProcessMock).addExitListener(exitListener.capture());
+        return exitListener.getValue();
+    }
+}
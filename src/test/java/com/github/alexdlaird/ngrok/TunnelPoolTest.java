@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static java.util.Objects.nonNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TunnelPoolTest {
+
+    private final CreateTunnel template = new CreateTunnel.Builder().withName("test-run").withAddr(8000).build();
+
+    private NgrokClient ngrokClientMock;
+    private TunnelPool tunnelPool;
+
+    @BeforeEach
+    public void setUp() {
+        ngrokClientMock = mock(NgrokClient.class);
+        when(ngrokClientMock.connect(any())).thenAnswer(invocation -> {
+            final CreateTunnel createTunnel = invocation.getArgument(0);
+            final Tunnel tunnel = mock(Tunnel.class);
+            when(tunnel.getPublicUrl()).thenReturn(String.format("https://%s.ngrok.io", createTunnel.getName()));
+            return tunnel;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (nonNull(tunnelPool)) {
+            tunnelPool.close();
+        }
+    }
+
+    @Test
+    public void testBuildFillsToHighWatermark() {
+        // WHEN
+        tunnelPool = new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(1)
+            .withHighWatermark(3)
+            .build();
+        tunnelPool.refill().join();
+
+        // THEN
+        assertEquals(3, tunnelPool.getIdleCount());
+        final ArgumentCaptor<CreateTunnel> createTunnelCaptor = ArgumentCaptor.forClass(CreateTunnel.class);
+        verify(ngrokClientMock, times(3)).connect(createTunnelCaptor.capture());
+        assertEquals("test-run-1", createTunnelCaptor.getAllValues().get(0).getName());
+        assertEquals("8000", createTunnelCaptor.getAllValues().get(0).getAddr());
+    }
+
+    @Test
+    public void testLeaseHitsAndMisses() {
+        // GIVEN
+        tunnelPool = new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(0)
+            .withHighWatermark(1)
+            .build();
+        tunnelPool.refill().join();
+
+        // WHEN
+        final TunnelPool.Lease hit = tunnelPool.lease();
+        final TunnelPool.Lease miss = tunnelPool.lease();
+
+        // THEN
+        assertEquals(1, tunnelPool.getHits());
+        assertEquals(1, tunnelPool.getMisses());
+        assertEquals(2, tunnelPool.getLeasedCount());
+        assertNotSame(hit.getTunnel(), miss.getTunnel());
+    }
+
+    @Test
+    public void testReturnRecycles() {
+        // GIVEN
+        tunnelPool = new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(2)
+            .withHighWatermark(2)
+            .build();
+        tunnelPool.refill().join();
+        final TunnelPool.Lease lease = tunnelPool.lease();
+        final String publicUrl = lease.getTunnel().getPublicUrl();
+
+        // WHEN
+        lease.close();
+        lease.close();
+
+        // THEN
+        verify(ngrokClientMock, timeout(5000)).disconnect(publicUrl);
+        tunnelPool.refill().join();
+        assertEquals(2, tunnelPool.getIdleCount());
+        assertEquals(0, tunnelPool.getLeasedCount());
+    }
+
+    @Test
+    public void testReturnReuses() {
+        // GIVEN
+        tunnelPool = new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(0)
+            .withHighWatermark(1)
+            .withReturnPolicy(TunnelPool.ReturnPolicy.REUSE)
+            .build();
+        tunnelPool.refill().join();
+        final TunnelPool.Lease lease = tunnelPool.lease();
+
+        // WHEN
+        lease.close();
+        final TunnelPool.Lease reused = tunnelPool.lease();
+
+        // THEN
+        assertSame(lease.getTunnel(), reused.getTunnel());
+        assertEquals(2, tunnelPool.getHits());
+        verify(ngrokClientMock, never()).disconnect(anyString());
+    }
+
+    @Test
+    public void testCloseDisconnectsIdleAndReturned() {
+        // GIVEN
+        tunnelPool = new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(0)
+            .withHighWatermark(2)
+            .build();
+        tunnelPool.refill().join();
+        final TunnelPool.Lease lease = tunnelPool.lease();
+
+        // WHEN
+        tunnelPool.close();
+        lease.close();
+
+        // THEN
+        verify(ngrokClientMock, times(2)).disconnect(anyString());
+        assertEquals(0, tunnelPool.getIdleCount());
+        assertThrows(RuntimeException.class, tunnelPool::lease);
+        assertTrue(tunnelPool.refill().isDone());
+    }
+
+    @Test
+    public void testWatermarksInvalid() {
+        // GIVEN
+        final TunnelPool.Builder builder = new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(3)
+            .withHighWatermark(2);
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new TunnelPool.Builder(ngrokClientMock, template)
+            .withLowWatermark(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TunnelPool.Builder(ngrokClientMock, template)
+            .withHighWatermark(0));
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    public void testFixedDomainRequiresPooling() {
+        // GIVEN
+        final CreateTunnel domainTemplate = new CreateTunnel.Builder(template).withDomain("my-domain.ngrok.dev")
+                                                                               .build();
+        final CreateTunnel urlTemplate = new CreateTunnel.Builder(template).withUrl("https://my-domain.ngrok.dev")
+                                                                            .build();
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new TunnelPool.Builder(ngrokClientMock, domainTemplate)
+            .build());
+        assertThrows(IllegalArgumentException.class, () -> new TunnelPool.Builder(ngrokClientMock, urlTemplate)
+            .build());
+    }
+
+    @Test
+    public void testUnnamedTemplateInvalid() {
+        // GIVEN
+        final CreateTunnel unnamedTemplate = new CreateTunnel.Builder().withAddr(8000).build();
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new TunnelPool.Builder(ngrokClientMock, unnamedTemplate)
+            .build());
+    }
+}
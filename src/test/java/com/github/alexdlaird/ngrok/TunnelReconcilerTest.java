@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok;
+
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TunnelReconcilerTest {
+
+    private final List<Tunnel> live = new CopyOnWriteArrayList<>();
+
+    private NgrokClient ngrokClientMock;
+
+    @BeforeEach
+    public void setUp() {
+        ngrokClientMock = mock(NgrokClient.class);
+        when(ngrokClientMock.getTunnels()).thenAnswer(invocation -> new ArrayList<>(live));
+        when(ngrokClientMock.connect(any())).thenAnswer(invocation -> {
+            final CreateTunnel createTunnel = invocation.getArgument(0);
+            final Tunnel tunnel = mock(Tunnel.class);
+            when(tunnel.getName()).thenReturn(createTunnel.getName());
+            when(tunnel.getPublicUrl()).thenReturn(String.format("https://%s.ngrok.io", createTunnel.getName()));
+            live.add(tunnel);
+            return tunnel;
+        });
+        doAnswer(invocation -> {
+            live.removeIf(tunnel -> tunnel.getPublicUrl().equals(invocation.getArgument(0)));
+            return null;
+        }).when(ngrokClientMock).disconnect(anyString());
+    }
+
+    @Test
+    public void testReconcileIsIdempotent() {
+        // GIVEN
+        final TunnelReconciler tunnelReconciler = new TunnelReconciler.Builder(ngrokClientMock)
+            .withMaxParallelism(2)
+            .withDesiredTunnels(Set.of(createTunnel("web", 8000), createTunnel("api", 8001),
+                createTunnel("admin", 8002)))
+            .build();
+
+        // WHEN
+        final TunnelReconciler.Result first = tunnelReconciler.reconcile();
+        clearInvocations(ngrokClientMock);
+        final TunnelReconciler.Result second = tunnelReconciler.reconcile();
+
+        // THEN
+        assertEquals(Set.of("web", "api", "admin"), Set.copyOf(first.getAdded()));
+        assertTrue(second.isConverged());
+        verify(ngrokClientMock).getTunnels();
+        verify(ngrokClientMock, never()).connect(any());
+        verify(ngrokClientMock, never()).disconnect(anyString());
+    }
+
+    @Test
+    public void testReconcileAppliesMinimalDiff() {
+        // GIVEN
+        final TunnelReconciler tunnelReconciler = new TunnelReconciler.Builder(ngrokClientMock)
+            .withDesiredTunnels(Set.of(createTunnel("web", 8000), createTunnel("api", 8001),
+                createTunnel("admin", 8002)))
+            .build();
+        tunnelReconciler.reconcile();
+        clearInvocations(ngrokClientMock);
+
+        // WHEN
+        final TunnelReconciler.Result result = tunnelReconciler.reconcile(Set.of(createTunnel("web", 8000),
+            createTunnel("api", 9001), createTunnel("docs", 8003)));
+
+        // THEN
+        assertEquals(List.of("docs"), result.getAdded());
+        assertEquals(List.of("api"), result.getRecreated());
+        assertEquals(List.of("admin"), result.getRemoved());
+        assertTrue(result.getFailures().isEmpty());
+        verify(ngrokClientMock).disconnect("https://api.ngrok.io");
+        verify(ngrokClientMock).disconnect("https://admin.ngrok.io");
+        verify(ngrokClientMock, never()).disconnect("https://web.ngrok.io");
+        assertEquals(3, live.size());
+    }
+
+    @Test
+    public void testReconcileReAddsDeadTunnelAndReportsFailures() {
+        // GIVEN
+        final TunnelReconciler tunnelReconciler = new TunnelReconciler.Builder(ngrokClientMock)
+            .withDesiredTunnels(Set.of(createTunnel("web", 8000)))
+            .build();
+        tunnelReconciler.reconcile();
+        live.clear();
+        when(ngrokClientMock.connect(any())).thenThrow(new RuntimeException("agent unavailable"));
+
+        // WHEN
+        final TunnelReconciler.Result result = tunnelReconciler.reconcile();
+
+        // THEN
+        assertTrue(result.getAdded().isEmpty());
+        assertEquals(Set.of("web"), result.getFailures().keySet());
+        assertEquals("agent unavailable", result.getFailures().get("web").getMessage());
+    }
+
+    @Test
+    public void testDesiredTunnelsInvalid() {
+        // GIVEN
+        final TunnelReconciler.Builder builder = new TunnelReconciler.Builder(ngrokClientMock);
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> builder.withDesiredTunnels(Set.of(
+            new CreateTunnel.Builder().withAddr(8000).build())));
+        assertThrows(IllegalArgumentException.class, () -> builder.withDesiredTunnels(Set.of(
+            createTunnel("web", 8000), createTunnel("web", 8001))));
+        assertThrows(IllegalArgumentException.class, () -> builder.withMaxParallelism(0));
+    }
+
+    @Test
+    public void testScheduleReplacesPreviousSchedule() throws InterruptedException {
+        // GIVEN
+        final TunnelReconciler tunnelReconciler = new TunnelReconciler.Builder(ngrokClientMock)
+            .withDesiredTunnels(Set.of(createTunnel("web", 8000)))
+            .build();
+
+        try {
+            // WHEN
+            tunnelReconciler.schedule(Duration.ofMillis(50));
+            tunnelReconciler.schedule(Duration.ofHours(1));
+            Thread.sleep(200);
+            clearInvocations(ngrokClientMock);
+            Thread.sleep(300);
+
+            // THEN
+            verify(ngrokClientMock, never()).getTunnels();
+        } finally {
+            tunnelReconciler.close();
+        }
+    }
+
+    private static CreateTunnel createTunnel(final String name,
+                                             final int addr) {
+        return new CreateTunnel.Builder().withName(name).withAddr(addr).build();
+    }
+}
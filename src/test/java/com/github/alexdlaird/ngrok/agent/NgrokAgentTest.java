@@ -5,14 +5,21 @@ import com.github.alexdlaird.http.HttpClient;
 import com.github.alexdlaird.http.Response;
 import com.github.alexdlaird.ngrok.NgrokTestCase;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
+import com.github.alexdlaird.ngrok.process.NgrokProcess;
 import com.github.alexdlaird.ngrok.protocol.AgentStatus;
 import com.github.alexdlaird.ngrok.protocol.CapturedRequest;
 import com.github.alexdlaird.ngrok.protocol.CapturedRequests;
 import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import java.io.ByteArrayInputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -20,6 +27,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class NgrokAgentTest extends NgrokTestCase {
     private final HttpClient httpClient = new DefaultHttpClient.Builder()
@@ -116,6 +128,33 @@ class NgrokAgentTest extends NgrokTestCase {
         assertEquals(0, response5.getBody().getRequests().size());
     }
 
+    @Test
+    public void testForEachRequest() {
+        // GIVEN
+        final NgrokProcess mockNgrokProcess = mock(NgrokProcess.class);
+        when(mockNgrokProcess.isRunning()).thenReturn(true);
+        when(mockNgrokProcess.getApiUrl()).thenReturn("http://localhost:4040");
+        final HttpClient mockHttpClient = mock(HttpClient.class);
+        final String json = "{\"requests\":[{\"id\":\"1\",\"tunnel_name\":\"my-tunnel\","
+            + "\"request\":{\"method\":\"GET\",\"raw\":\"R0VU\"}},{\"id\":\"2\",\"tunnel_name\":\"my-tunnel\"}],"
+            + "\"uri\":\"/api/requests/http\"}";
+        when(mockHttpClient.stream(eq("GET"), eq("http://localhost:4040/api/requests/http"), any(), any(),
+            isNull(), eq(-1L)))
+            .thenReturn(new Response<>(200, Channels.newChannel(new ByteArrayInputStream(
+                json.getBytes(StandardCharsets.UTF_8))), null, Map.of()));
+        final NgrokAgent mockNgrokAgent = new NgrokAgent(mockNgrokProcess, mockHttpClient);
+        final List<CapturedRequest> capturedRequests = new ArrayList<>();
+
+        // WHEN
+        mockNgrokAgent.forEachRequest("my-tunnel", capturedRequests::add);
+
+        // THEN
+        assertEquals(2, capturedRequests.size());
+        assertEquals("1", capturedRequests.get(0).getId());
+        assertEquals("R0VU", capturedRequests.get(0).getRequest().getRaw());
+        assertEquals("my-tunnel", capturedRequests.get(1).getTunnelName());
+    }
+
     @Test
     public void testGetAgentStatus() {
         testRequiresEnvVar("NGROK_AUTHTOKEN");
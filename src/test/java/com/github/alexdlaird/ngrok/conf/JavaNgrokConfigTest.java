@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -10,8 +10,10 @@ import com.github.alexdlaird.ngrok.TestCase;
 import com.github.alexdlaird.ngrok.installer.ConfigVersion;
 import com.github.alexdlaird.ngrok.installer.NgrokVersion;
 import com.github.alexdlaird.ngrok.process.NgrokLog;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import com.github.alexdlaird.ngrok.protocol.Region;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.SetEnvironmentVariable;
@@ -19,6 +21,7 @@ import org.junitpioneer.jupiter.SetEnvironmentVariable;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SetEnvironmentVariable(key = "NGROK_AUTHTOKEN", value = "some-auth-token")
 @SetEnvironmentVariable(key = "NGROK_API_KEY", value = "some-api-key")
@@ -40,6 +43,7 @@ public class JavaNgrokConfigTest extends TestCase {
             .withMaxLogs(50)
             .withLogEventCallback(logEventCallback)
             .withStartupTimeout(5)
+            .withStopTimeout(2)
             .withNgrokVersion(NgrokVersion.V3)
             .withApiKey("api-key")
             .withConfigVersion(ConfigVersion.V2)
@@ -54,6 +58,7 @@ public class JavaNgrokConfigTest extends TestCase {
         assertEquals(50, javaNgrokConfig.getMaxLogs());
         assertEquals(logEventCallback, javaNgrokConfig.getLogEventCallback());
         assertEquals(5, javaNgrokConfig.getStartupTimeout());
+        assertEquals(2, javaNgrokConfig.getStopTimeout());
         assertEquals(NgrokVersion.V3, javaNgrokConfig.getNgrokVersion());
         assertEquals("api-key", javaNgrokConfig.getApiKey());
         assertEquals(ConfigVersion.V2, javaNgrokConfig.getConfigVersion());
@@ -71,6 +76,112 @@ public class JavaNgrokConfigTest extends TestCase {
         assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder().withStartupTimeout(0));
     }
 
+    @Test
+    public void testJavaNgrokConfigWithInvalidStopTimeout() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder().withStopTimeout(0));
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithMinLogLevelAndLogRateLimit() {
+        // WHEN
+        final JavaNgrokConfig javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withMinLogLevel("warn")
+            .withLogRateLimit(10)
+            .build();
+
+        // THEN
+        assertEquals("WARN", javaNgrokConfig.getMinLogLevel());
+        assertEquals(10, javaNgrokConfig.getLogRateLimit());
+        assertTrue(javaNgrokConfig.isMinLogLevel("ERROR"));
+        assertTrue(javaNgrokConfig.isMinLogLevel("WARN"));
+        assertFalse(javaNgrokConfig.isMinLogLevel("INFO"));
+        assertTrue(javaNgrokConfig.isMinLogLevel("NOTSET"));
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithInvalidMinLogLevel() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder().withMinLogLevel("FAKE"));
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithInvalidLogRateLimit() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder().withLogRateLimit(-1));
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithLogSpool() {
+        // GIVEN
+        final Path logSpoolPath = Path.of("custom-spool");
+
+        // WHEN
+        final JavaNgrokConfig javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withLogSpoolPath(logSpoolPath)
+            .withLogSpoolSegmentSize(1024 * 1024)
+            .withLogSpoolMaxSegments(2)
+            .build();
+        final JavaNgrokConfig copiedJavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig).build();
+
+        // THEN
+        assertEquals(logSpoolPath, copiedJavaNgrokConfig.getLogSpoolPath());
+        assertEquals(1024 * 1024, copiedJavaNgrokConfig.getLogSpoolSegmentSize());
+        assertEquals(2, copiedJavaNgrokConfig.getLogSpoolMaxSegments());
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithInvalidLogSpool() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder().withLogSpoolSegmentSize(1));
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder().withLogSpoolMaxSegments(0));
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithAttach() {
+        // GIVEN
+        final Path configPath = Path.of("some-dir", "custom-config");
+
+        // WHEN
+        final JavaNgrokConfig javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withConfigPath(configPath)
+            .withAttach()
+            .build();
+
+        // THEN
+        assertTrue(javaNgrokConfig.isAttach());
+        assertEquals(configPath.toAbsolutePath().resolveSibling("java-ngrok.lock"),
+            javaNgrokConfig.getLockFilePath());
+        assertFalse(new JavaNgrokConfig.Builder().build().isAttach());
+    }
+
+    @Test
+    public void testJavaNgrokConfigWithBootTunnels() {
+        // GIVEN
+        final CreateTunnel createTunnel = new CreateTunnel.Builder().withName("boot-web").withAddr(8000).build();
+
+        // WHEN
+        final JavaNgrokConfig javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withBootTunnels(List.of(createTunnel))
+            .build();
+
+        // THEN
+        assertEquals(List.of(createTunnel), javaNgrokConfig.getBootTunnels());
+        assertEquals(List.of(), new JavaNgrokConfig.Builder().build().getBootTunnels());
+    }
+
+    @Test
+    public void testJavaNgrokConfigBootTunnelsInvalid() {
+        // GIVEN
+        final CreateTunnel createTunnel = new CreateTunnel.Builder().withName("boot-web").build();
+
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder()
+            .withBootTunnels(List.of(new CreateTunnel.Builder().withAddr(8000).build())));
+        assertThrows(IllegalArgumentException.class, () -> new JavaNgrokConfig.Builder()
+            .withBootTunnels(List.of(createTunnel, createTunnel)));
+    }
+
     @Test
     public void testAuthTokenSetFromEnv() {
         // WHEN
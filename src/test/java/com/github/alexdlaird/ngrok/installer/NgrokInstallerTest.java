@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2025 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -12,12 +12,14 @@ import com.github.alexdlaird.http.HttpClient;
 import com.github.alexdlaird.ngrok.NgrokTestCase;
 import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
 import com.github.alexdlaird.ngrok.process.NgrokProcess;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.ClearEnvironmentVariable;
@@ -161,6 +163,45 @@ class NgrokInstallerTest extends NgrokTestCase {
             javaNgrokConfig.getConfigPath(), Map.of("log_level", "warn")));
     }
 
+    @Test
+    public void testValidateConfigRereadsChangedConfig()
+        throws IOException {
+        // GIVEN
+        ngrokInstaller.installDefaultConfig(javaNgrokConfig.getConfigPath(), Map.of());
+        ngrokInstaller.validateConfig(javaNgrokConfig.getConfigPath());
+
+        // WHEN
+        Files.writeString(javaNgrokConfig.getConfigPath(), "version: \"2\"\nlog_format: json\n");
+
+        // THEN
+        assertThrows(JavaNgrokException.class, () -> ngrokInstaller.validateConfig(javaNgrokConfig.getConfigPath()));
+    }
+
+    @Test
+    public void testInstallTunnelsConfig() {
+        // GIVEN
+        final Path configPath = javaNgrokConfig.getConfigPath().resolveSibling("tunnels.yml");
+
+        // WHEN
+        ngrokInstaller.installTunnelsConfig(configPath, List.of(
+            new CreateTunnel.Builder().withName("web").withAddr(8000).withoutInspect().withCircuitBreaker(0.5f)
+                                      .build(),
+            new CreateTunnel.Builder().withName("endpoint").withUrl("https://my-domain.ngrok.dev")
+                                      .withUpstream("http://localhost:9000").build()), ConfigVersion.V3);
+
+        // THEN
+        final Map<String, Object> config = ngrokInstaller.getNgrokConfig(configPath, false);
+        assertEquals("3", config.get("version"));
+        final Map<String, Object> web = (Map<String, Object>) ((Map<String, Object>) config.get("tunnels")).get("web");
+        assertEquals("http", web.get("proto"));
+        assertEquals("8000", web.get("addr"));
+        assertEquals(false, web.get("inspect"));
+        assertEquals(0.5, web.get("circuit_breaker"));
+        final Map<String, Object> endpoint = ((List<Map<String, Object>>) config.get("endpoints")).get(0);
+        assertEquals("endpoint", endpoint.get("name"));
+        assertEquals("https://my-domain.ngrok.dev", endpoint.get("url"));
+    }
+
     @Test
     public void testV3AgentWebAddrFalseNotAllowed() {
         // WHEN
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.ngrok.process.NgrokLogAnalyzer.Event;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NgrokLogAnalyzerTest {
+
+    @Test
+    public void testStartupPhases() {
+        // GIVEN
+        final MutableClock clock = new MutableClock(Instant.parse("2024-03-08T14:45:00Z"));
+        final NgrokLogAnalyzer logAnalyzer = new NgrokLogAnalyzer(clock);
+
+        // WHEN
+        logAnalyzer.processStarted();
+        clock.advance(Duration.ofMillis(200));
+        logAnalyzer.accept(new NgrokLog("lvl=info msg=\"starting web service\" obj=web addr=127.0.0.1:4040"));
+        clock.advance(Duration.ofMillis(300));
+        logAnalyzer.accept(new NgrokLog("lvl=info msg=\"client session established\" obj=tunnels"));
+        clock.advance(Duration.ofMillis(100));
+        logAnalyzer.accept(new NgrokLog("lvl=info msg=\"tunnel session started\" obj=tunnels.session"));
+        clock.advance(Duration.ofSeconds(30));
+        logAnalyzer.accept(new NgrokLog("lvl=info msg=\"client session established\" obj=tunnels"));
+        logAnalyzer.accept(new NgrokLog("lvl=info msg=\"tunnel session started\" obj=tunnels.session"));
+        final NgrokLogMetrics metrics = logAnalyzer.getMetrics();
+
+        // THEN
+        assertEquals(Duration.ofMillis(200), metrics.getTimeToWebService());
+        assertEquals(Duration.ofMillis(500), metrics.getTimeToSession());
+        assertEquals(Duration.ofMillis(600), metrics.getTimeToTunnelSession());
+        assertEquals(2L, metrics.getEventCounts().get(Event.SESSION_ESTABLISHED));
+        assertEquals(5L, metrics.getLvlCounts().get("INFO"));
+    }
+
+    @Test
+    public void testCountersAndHeartbeats() {
+        // GIVEN
+        final NgrokLogAnalyzer logAnalyzer = new NgrokLogAnalyzer();
+
+        // WHEN
+        logAnalyzer.accept(new NgrokLog("t=2024-03-08T14:45:00Z lvl=eror msg=\"failed to reconnect session\" "
+                                        + "obj=tunnels.session"));
+        logAnalyzer.accept(new NgrokLog("t=2024-03-08T14:45:01Z lvl=eror msg=\"failed to reconnect session\" "
+                                        + "obj=tunnels.session"));
+        logAnalyzer.accept(new NgrokLog("t=2024-03-08T14:45:02Z lvl=debug msg=\"heartbeat received\" "
+                                        + "latency=20ms"));
+        logAnalyzer.accept(new NgrokLog("t=2024-03-08T14:45:03Z lvl=debug msg=\"heartbeat received\" "
+                                        + "latency=40.5ms"));
+        final NgrokLogMetrics metrics = logAnalyzer.getMetrics();
+
+        // THEN
+        assertEquals(2L, metrics.getEventCounts().get(Event.RECONNECT));
+        assertEquals(2L, metrics.getRecentEventCounts().get(Event.RECONNECT));
+        assertEquals(2L, metrics.getErrorCountsByObj().get("tunnels.session"));
+        assertEquals(Duration.parse("PT0.0405S"), metrics.getLastHeartbeatLatency());
+        assertEquals(Duration.parse("PT0.0405S"), metrics.getMaxHeartbeatLatency());
+        assertEquals(Duration.parse("PT0.03025S"), metrics.getAverageHeartbeatLatency());
+        assertEquals(Instant.parse("2024-03-08T14:45:03Z"), metrics.getLastEvent());
+        assertNull(metrics.getTimeToWebService());
+    }
+
+    @Test
+    public void testRollingWindow() {
+        // GIVEN
+        final NgrokLogAnalyzer logAnalyzer = new NgrokLogAnalyzer();
+        logAnalyzer.accept(new NgrokLog("t=2024-03-08T14:45:00Z lvl=warn msg=\"reconnecting\""));
+
+        // WHEN
+        logAnalyzer.accept(new NgrokLog("t=2024-03-08T14:47:00Z lvl=warn msg=\"reconnecting\""));
+        final NgrokLogMetrics metrics = logAnalyzer.getMetrics();
+
+        // THEN
+        assertEquals(2L, metrics.getEventCounts().get(Event.RECONNECT));
+        assertEquals(1L, metrics.getRecentEventCounts().get(Event.RECONNECT));
+        assertEquals(1L, metrics.getRecentLvlCounts().get("WARN"));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NgrokLogRateLimiterTest {
+
+    @Test
+    public void testAcquireSuppressesAndSummarizes() {
+        // GIVEN
+        final AtomicLong nanoTime = new AtomicLong();
+        final NgrokLogRateLimiter logRateLimiter = new NgrokLogRateLimiter(2, nanoTime::get);
+
+        // WHEN
+        final long first = logRateLimiter.acquire("WARN reconnecting");
+        final long second = logRateLimiter.acquire("WARN reconnecting");
+        final long third = logRateLimiter.acquire("WARN reconnecting");
+        final long fourth = logRateLimiter.acquire("WARN reconnecting");
+        final long otherKey = logRateLimiter.acquire("INFO other");
+        nanoTime.addAndGet(500_000_000L);
+        final long afterRefill = logRateLimiter.acquire("WARN reconnecting");
+
+        // THEN
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(-1, third);
+        assertEquals(-1, fourth);
+        assertEquals(0, otherKey);
+        assertEquals(2, afterRefill);
+    }
+
+    @Test
+    public void testDrainSuppressed() {
+        // GIVEN
+        final NgrokLogRateLimiter logRateLimiter = new NgrokLogRateLimiter(1, () -> 0L);
+        logRateLimiter.acquire("WARN reconnecting");
+        logRateLimiter.acquire("WARN reconnecting");
+        logRateLimiter.acquire("WARN reconnecting");
+
+        // WHEN
+        final Map<String, Long> suppressed = logRateLimiter.drainSuppressed();
+
+        // THEN
+        assertEquals(Map.of("WARN reconnecting", 2L), suppressed);
+        assertTrue(logRateLimiter.drainSuppressed().isEmpty());
+    }
+
+    @Test
+    public void testInvalidPermitsPerSecond() {
+        assertThrows(IllegalArgumentException.class, () -> new NgrokLogRateLimiter(0));
+    }
+}
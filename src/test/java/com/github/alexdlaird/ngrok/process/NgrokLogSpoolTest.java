@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NgrokLogSpoolTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testAppendAndReplay() throws IOException {
+        // GIVEN
+        final NgrokLogSpool logSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+        appendLines(logSpool, 10);
+        logSpool.append("not a timestamped line");
+
+        // WHEN
+        final List<NgrokLog> ngrokLogs = new ArrayList<>();
+        logSpool.replay(ngrokLogs::add);
+
+        // THEN
+        assertEquals(11, ngrokLogs.size());
+        assertEquals("line 0", ngrokLogs.get(0).getMsg());
+        assertEquals("INFO", ngrokLogs.get(0).getLvl());
+        assertEquals(START, ngrokLogs.get(0).getTimestamp());
+        assertEquals("not a timestamped line", ngrokLogs.get(10).getLine());
+    }
+
+    @Test
+    public void testRotateDeletesOldestSegment() throws IOException {
+        // GIVEN
+        final NgrokLogSpool logSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+
+        // WHEN
+        appendLines(logSpool, 500);
+
+        // THEN
+        assertEquals(3, logSpool.getSegments().size());
+        try (Stream<Path> paths = Files.list(tempDir)) {
+            assertEquals(3, paths.filter(path -> path.getFileName().toString().endsWith(".log")).count());
+        }
+        final List<NgrokLog> ngrokLogs = new ArrayList<>();
+        logSpool.replay(ngrokLogs::add);
+        assertEquals("line 499", ngrokLogs.get(ngrokLogs.size() - 1).getMsg());
+        assertEquals(START.plusSeconds(500 - ngrokLogs.size()), ngrokLogs.get(0).getTimestamp());
+    }
+
+    @Test
+    public void testReplayTimeRange() throws IOException {
+        // GIVEN
+        final NgrokLogSpool logSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+        appendLines(logSpool, 200);
+        logSpool.append("not a timestamped line");
+
+        // WHEN
+        final List<NgrokLog> ngrokLogs = new ArrayList<>();
+        logSpool.replay(START.plusSeconds(150), START.plusSeconds(160), ngrokLogs::add);
+
+        // THEN
+        assertEquals(10, ngrokLogs.size());
+        assertEquals("line 150", ngrokLogs.get(0).getMsg());
+        assertEquals("line 159", ngrokLogs.get(9).getMsg());
+    }
+
+    @Test
+    public void testReplayExistingSegments() throws IOException {
+        // GIVEN
+        final NgrokLogSpool logSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+        appendLines(logSpool, 10);
+        logSpool.close();
+
+        // WHEN
+        final NgrokLogSpool reopenedLogSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+        final List<NgrokLog> ngrokLogs = new ArrayList<>();
+        reopenedLogSpool.replay(ngrokLogs::add);
+
+        // THEN
+        assertEquals(2, reopenedLogSpool.getSegments().size());
+        assertEquals(10, ngrokLogs.size());
+        assertThrows(IllegalStateException.class, () -> logSpool.append("closed"));
+    }
+
+    @Test
+    public void testDirectoryInUse() throws IOException {
+        // GIVEN
+        final NgrokLogSpool logSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+        appendLines(logSpool, 10);
+
+        // WHEN
+        assertThrows(IOException.class, () -> new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3));
+        logSpool.close();
+        final NgrokLogSpool reopenedLogSpool = new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 3);
+        final List<NgrokLog> ngrokLogs = new ArrayList<>();
+        reopenedLogSpool.replay(ngrokLogs::add);
+
+        // THEN
+        assertTrue(logSpool.isClosed());
+        assertEquals(10, ngrokLogs.size());
+        reopenedLogSpool.close();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        // WHEN
+        assertThrows(IllegalArgumentException.class, () -> new NgrokLogSpool(tempDir, 1, 3));
+        assertThrows(IllegalArgumentException.class,
+            () -> new NgrokLogSpool(tempDir, NgrokLogSpool.MIN_SEGMENT_SIZE, 0));
+    }
+
+    private void appendLines(final NgrokLogSpool logSpool,
+                             final int count) {
+        for (int i = 0; i < count; ++i) {
+            logSpool.append(String.format("t=%s lvl=info msg=\"line %s\" obj=tunnels", START.plusSeconds(i), i));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NgrokLogStoreTest {
+
+    @Test
+    public void testQueryByLvlAndObj() {
+        // GIVEN
+        final NgrokLogStore logStore = new NgrokLogStore(10);
+        logStore.append(new NgrokLog("t=2024-03-08T08:45:07-0600 lvl=info msg=\"starting web service\" obj=web"));
+        logStore.append(new NgrokLog("t=2024-03-08T08:45:08-0600 lvl=eror msg=\"session closed\" "
+                                     + "obj=tunnels.session"));
+        logStore.append(new NgrokLog("t=2024-03-08T08:45:09-0600 lvl=eror msg=\"failed to dial\" obj=web"));
+        logStore.append(new NgrokLog("t=2024-03-08T08:45:10-0600 lvl=eror msg=\"session closed\" "
+                                     + "obj=tunnels.session"));
+
+        // WHEN
+        final List<NgrokLog> ngrokLogs = logStore.query(new NgrokLogStore.Query.Builder()
+            .withLvl("error")
+            .withObj("tunnels.session")
+            .build());
+
+        // THEN
+        assertEquals(2, ngrokLogs.size());
+        assertEquals("2024-03-08T08:45:08-0600", ngrokLogs.get(0).getT());
+        assertEquals("2024-03-08T08:45:10-0600", ngrokLogs.get(1).getT());
+    }
+
+    @Test
+    public void testQueryTimeRangeAndLimit() {
+        // GIVEN
+        final NgrokLogStore logStore = new NgrokLogStore(10);
+        for (int i = 0; i < 6; ++i) {
+            logStore.append(new NgrokLog(String.format("t=2024-03-08T14:45:0%sZ lvl=info msg=%s", i, i)));
+        }
+
+        // WHEN
+        final List<NgrokLog> ngrokLogs = logStore.query(new NgrokLogStore.Query.Builder()
+            .withFrom(Instant.parse("2024-03-08T14:45:01Z"))
+            .withUntil(Instant.parse("2024-03-08T14:45:05Z"))
+            .withLimit(2)
+            .build());
+
+        // THEN
+        assertEquals(2, ngrokLogs.size());
+        assertEquals("3", ngrokLogs.get(0).getMsg());
+        assertEquals("4", ngrokLogs.get(1).getMsg());
+        assertEquals(4, logStore.count(new NgrokLogStore.Query.Builder()
+            .withFrom(Instant.parse("2024-03-08T14:45:01Z"))
+            .withUntil(Instant.parse("2024-03-08T14:45:05Z"))
+            .build()));
+    }
+
+    @Test
+    public void testEvictionUpdatesIndexes() {
+        // GIVEN
+        final NgrokLogStore logStore = new NgrokLogStore(2);
+
+        // WHEN
+        logStore.append(new NgrokLog("t=2024-03-08T14:45:00Z lvl=warn msg=first obj=web"));
+        logStore.append(new NgrokLog("t=2024-03-08T14:45:01Z lvl=info msg=second obj=web"));
+        logStore.append(new NgrokLog("t=2024-03-08T14:45:02Z lvl=info msg=third obj=tunnels"));
+
+        // THEN
+        assertEquals(2, logStore.size());
+        assertEquals("second", logStore.getLogs().get(0).getMsg());
+        assertEquals(Map.of("INFO", 2), logStore.countBy(NgrokLogStore.Field.LVL));
+        assertEquals(Map.of("web", 1, "tunnels", 1), logStore.countBy(NgrokLogStore.Field.OBJ));
+        assertTrue(logStore.query(new NgrokLogStore.Query.Builder().withMsg("first").build()).isEmpty());
+        assertTrue(logStore.query(new NgrokLogStore.Query.Builder()
+            .withUntil(Instant.parse("2024-03-08T14:45:01Z"))
+            .build()).isEmpty());
+    }
+
+    @Test
+    public void testCountByWithQuery() {
+        // GIVEN
+        final NgrokLogStore logStore = new NgrokLogStore(10);
+        logStore.append(new NgrokLog("lvl=eror msg=a obj=web"));
+        logStore.append(new NgrokLog("lvl=eror msg=b obj=tunnels.session"));
+        logStore.append(new NgrokLog("lvl=eror msg=c obj=tunnels.session"));
+        logStore.append(new NgrokLog("lvl=info msg=d obj=tunnels.session"));
+
+        // WHEN
+        final Map<String, Integer> counts = logStore.countBy(new NgrokLogStore.Query.Builder()
+            .withLvl("ERROR")
+            .build(), NgrokLogStore.Field.OBJ);
+
+        // THEN
+        assertEquals(Map.of("web", 1, "tunnels.session", 2), counts);
+    }
+
+    @Test
+    public void testLogsWithoutTimestampExcludedFromTimeRange() {
+        // GIVEN
+        final NgrokLogStore logStore = new NgrokLogStore(10);
+        logStore.append(new NgrokLog("lvl=info msg=untimed"));
+
+        // WHEN
+        final List<NgrokLog> ngrokLogs = logStore.query(new NgrokLogStore.Query.Builder()
+            .withFrom(Instant.EPOCH)
+            .build());
+
+        // THEN
+        assertTrue(ngrokLogs.isEmpty());
+        assertFalse(logStore.getLogs().isEmpty());
+    }
+
+    @Test
+    public void testInvalidMaxLogs() {
+        assertThrows(IllegalArgumentException.class, () -> new NgrokLogStore(0));
+    }
+}
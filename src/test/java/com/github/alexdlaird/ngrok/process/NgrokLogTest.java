@@ -1,11 +1,12 @@
 /*
- * Copyright (c) 2021-2024 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
 
 package com.github.alexdlaird.ngrok.process;
 
+import java.time.Instant;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -123,4 +124,29 @@ public class NgrokLogTest {
         // THEN
         assertEquals("123456789", ngrokLog.getT());
     }
+
+    @Test
+    public void testNgrokLogParsedTimestamp() {
+        // WHEN
+        final NgrokLog ngrokLog1 = new NgrokLog("t=2024-03-08T08:45:07-0600 lvl=info");
+        final NgrokLog ngrokLog2 = new NgrokLog("t=2024-03-08T14:45:07.123Z lvl=info");
+        final NgrokLog ngrokLog3 = new NgrokLog("t=123456789 lvl=info");
+
+        // THEN
+        assertEquals(Instant.parse("2024-03-08T14:45:07Z"), ngrokLog1.getTimestamp());
+        assertEquals(Instant.parse("2024-03-08T14:45:07.123Z"), ngrokLog2.getTimestamp());
+        assertNull(ngrokLog3.getTimestamp());
+    }
+
+    @Test
+    public void testPeekLvl() {
+        // THEN
+        assertEquals("ERROR", NgrokLog.peekLvl("t=2024-03-08T08:45:07-0600 lvl=eror msg=\"failed\""));
+        assertEquals("WARN", NgrokLog.peekLvl("lvl=\"warning\" msg=Test"));
+        assertEquals("DEBUG", NgrokLog.peekLvl("t=2024-03-08T08:45:07-0600 lvl=dbug msg=\"heartbeat\""));
+        assertEquals("NOTSET", NgrokLog.peekLvl("msg=\"no level\" other_lvl=info"));
+        assertEquals("NOTSET", NgrokLog.peekLvl("lvl="));
+        assertEquals(new NgrokLog("lvl=CRIT err=\"Some error\"").getLvl(),
+            NgrokLog.peekLvl("lvl=CRIT err=\"Some error\""));
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import com.github.alexdlaird.exception.JavaNgrokException;
+import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
+import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.protocol.Region;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class NgrokProcessRegistryTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final NgrokInstaller ngrokInstallerMock = mock(NgrokInstaller.class);
+
+    private JavaNgrokConfig javaNgrokConfig;
+
+    @BeforeEach
+    public void setUp() {
+        javaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withNgrokPath(tempDir.resolve("ngrok"))
+            .withConfigPath(tempDir.resolve("config.yml"))
+            .withAuthToken("some-auth-token")
+            .build();
+    }
+
+    @Test
+    public void testAcquireSharesProcessForSameKey() {
+        // GIVEN
+        final NgrokProcessRegistry ngrokProcessRegistry = new NgrokProcessRegistry();
+        final JavaNgrokConfig sameKeyJavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withMaxLogs(5)
+            .build();
+        final JavaNgrokConfig otherRegionJavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withRegion(Region.EU)
+            .build();
+
+        // WHEN
+        final NgrokProcess ngrokProcess1 = ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock);
+        final NgrokProcess ngrokProcess2 = ngrokProcessRegistry.acquire(sameKeyJavaNgrokConfig, ngrokInstallerMock);
+        final NgrokProcess ngrokProcess3 = ngrokProcessRegistry.acquire(otherRegionJavaNgrokConfig,
+            ngrokInstallerMock);
+
+        // THEN
+        assertSame(ngrokProcess1, ngrokProcess2);
+        assertNotSame(ngrokProcess1, ngrokProcess3);
+        assertEquals(2, ngrokProcessRegistry.getReferenceCount(ngrokProcess1));
+        assertEquals(1, ngrokProcessRegistry.getReferenceCount(ngrokProcess3));
+    }
+
+    @Test
+    public void testReleaseLastReferenceRemovesProcess() {
+        // GIVEN
+        final NgrokProcessRegistry ngrokProcessRegistry = new NgrokProcessRegistry();
+        final NgrokProcess ngrokProcess = ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock);
+        ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock);
+
+        // WHEN
+        final boolean firstReleaseStopped = ngrokProcessRegistry.release(ngrokProcess);
+        final boolean secondReleaseStopped = ngrokProcessRegistry.release(ngrokProcess);
+
+        // THEN
+        assertFalse(firstReleaseStopped);
+        assertTrue(secondReleaseStopped);
+        assertEquals(0, ngrokProcessRegistry.getReferenceCount(ngrokProcess));
+        assertNotSame(ngrokProcess, ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock));
+        assertThrows(IllegalArgumentException.class, () -> ngrokProcessRegistry.release(ngrokProcess));
+    }
+
+    @Test
+    public void testAcquireAfterFailedConstruction() {
+        // GIVEN
+        final NgrokProcessRegistry ngrokProcessRegistry = new NgrokProcessRegistry();
+        doThrow(new JavaNgrokException("An error occurred while downloading ngrok."))
+            .doNothing()
+            .when(ngrokInstallerMock).installNgrok(any(), any());
+
+        // WHEN
+        assertThrows(JavaNgrokException.class,
+            () -> ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock));
+        final NgrokProcess ngrokProcess = ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock);
+
+        // THEN
+        assertEquals(1, ngrokProcessRegistry.getReferenceCount(ngrokProcess));
+    }
+
+    @Test
+    public void testConcurrentAcquireAndRelease()
+        throws InterruptedException, ExecutionException {
+        // GIVEN
+        final NgrokProcessRegistry ngrokProcessRegistry = new NgrokProcessRegistry();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            futures.add(executor.submit(() -> {
+                ngrokProcessRegistry.release(ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock));
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // THEN every reference was released, so a new process is constructed
+        final NgrokProcess ngrokProcess = ngrokProcessRegistry.acquire(javaNgrokConfig, ngrokInstallerMock);
+        assertEquals(1, ngrokProcessRegistry.getReferenceCount(ngrokProcess));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021-2024 Alex Laird
+ * Copyright (c) 2021-2026 Alex Laird
  *
  * SPDX-License-Identifier: MIT
  */
@@ -7,15 +7,33 @@
 package com.github.alexdlaird.ngrok.process;
 
 import com.github.alexdlaird.exception.NgrokException;
+import com.github.alexdlaird.ngrok.NgrokClient;
 import com.github.alexdlaird.ngrok.NgrokTestCase;
 import com.github.alexdlaird.ngrok.conf.JavaNgrokConfig;
 import com.github.alexdlaird.ngrok.installer.NgrokInstaller;
+import com.github.alexdlaird.ngrok.protocol.CreateTunnel;
+import com.github.alexdlaird.ngrok.protocol.Tunnel;
+import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import static com.github.alexdlaird.ngrok.installer.NgrokInstaller.WINDOWS;
@@ -37,12 +55,70 @@ public class NgrokProcessTest extends NgrokTestCase {
 
         // GIVEN
         assertFalse(ngrokProcess.isRunning());
+        assertEquals(NgrokProcess.State.STOPPED, ngrokProcess.getState());
 
         // WHEN
         ngrokProcess.start();
 
         // THEN
         assertTrue(ngrokProcess.isRunning());
+        assertEquals(NgrokProcess.State.RUNNING, ngrokProcess.getState());
+    }
+
+    @Test
+    public void testStartWithBootTunnels() {
+        testRequiresEnvVar("NGROK_AUTHTOKEN");
+
+        // GIVEN
+        final JavaNgrokConfig bootJavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withBootTunnels(List.of(
+                new CreateTunnel.Builder().withName("boot-web").withAddr(8000).build(),
+                new CreateTunnel.Builder().withName("boot-api").withAddr(8001).build()))
+            .build();
+        ngrokProcess = new NgrokProcess(bootJavaNgrokConfig, ngrokInstaller);
+        final NgrokClient ngrokClient = new NgrokClient.Builder().withJavaNgrokConfig(bootJavaNgrokConfig)
+                                                                 .withNgrokProcess(ngrokProcess)
+                                                                 .build();
+
+        // WHEN
+        ngrokProcess.start();
+        final List<Tunnel> tunnels = ngrokClient.getTunnels();
+
+        // THEN
+        assertTrue(ngrokProcess.isRunning());
+        assertTrue(Files.exists(javaNgrokConfig.getConfigPath().resolveSibling("config.boot.yml")));
+        final Set<String> names = new HashSet<>();
+        for (final Tunnel tunnel : tunnels) {
+            names.add(tunnel.getName());
+        }
+        assertTrue(names.containsAll(Set.of("boot-web", "boot-api")));
+    }
+
+    @Test
+    public void testConcurrentStartSpawnsOneProcess()
+        throws InterruptedException, ExecutionException {
+        testRequiresEnvVar("NGROK_AUTHTOKEN");
+
+        // GIVEN
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Callable<String>> starts = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            starts.add(() -> {
+                ngrokProcess.start();
+                return ngrokProcess.getApiUrl();
+            });
+        }
+
+        // WHEN
+        final List<Future<String>> apiUrls = executor.invokeAll(starts);
+        executor.shutdown();
+
+        // THEN
+        for (final Future<String> apiUrl : apiUrls) {
+            assertEquals(ngrokProcess.getApiUrl(), apiUrl.get());
+        }
+        assertEquals(NgrokProcess.State.RUNNING, ngrokProcess.getState());
+        assertEquals(1, ngrokProcess.getMetrics().getEventCounts().get(NgrokLogAnalyzer.Event.WEB_SERVICE_STARTED));
     }
 
     @Test
@@ -59,6 +135,111 @@ public class NgrokProcessTest extends NgrokTestCase {
 
         // THEN
         assertFalse(ngrokProcess.isRunning());
+        assertEquals(NgrokProcess.State.STOPPED, ngrokProcess.getState());
+    }
+
+    @Test
+    public void testStopThenStart() {
+        testRequiresEnvVar("NGROK_AUTHTOKEN");
+
+        // GIVEN
+        ngrokProcess.start();
+        final String apiUrl = ngrokProcess.getApiUrl();
+
+        // WHEN
+        ngrokProcess.stop();
+        ngrokProcess.start();
+
+        // THEN the old process exited before the new one started, so its web service address was free
+        assertTrue(ngrokProcess.isRunning());
+        assertEquals(NgrokProcess.State.RUNNING, ngrokProcess.getState());
+        assertEquals(apiUrl, ngrokProcess.getApiUrl());
+    }
+
+    @Test
+    public void testStopWithTimeout() {
+        testRequiresEnvVar("NGROK_AUTHTOKEN");
+
+        // GIVEN
+        ngrokProcess.start();
+        assertTrue(NgrokShutdownHook.getInstance().getNgrokProcesses().contains(ngrokProcess));
+
+        // WHEN
+        final boolean stopped = ngrokProcess.stop(Duration.ofSeconds(5));
+
+        // THEN
+        assertTrue(stopped);
+        assertFalse(ngrokProcess.isRunning());
+        assertEquals(NgrokProcess.State.STOPPED, ngrokProcess.getState());
+    }
+
+    @Test
+    public void testAttachToRunningProcess() {
+        testRequiresEnvVar("NGROK_AUTHTOKEN");
+
+        // GIVEN
+        final JavaNgrokConfig attachJavaNgrokConfig = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withAttach()
+            .build();
+        final NgrokProcess ownerNgrokProcess = new NgrokProcess(attachJavaNgrokConfig, ngrokInstaller);
+        ownerNgrokProcess.start();
+        assertFalse(ownerNgrokProcess.isAttached());
+        assertTrue(Files.exists(attachJavaNgrokConfig.getLockFilePath()));
+        ngrokProcess2 = new NgrokProcess(attachJavaNgrokConfig, ngrokInstaller);
+
+        // WHEN
+        ngrokProcess2.start();
+
+        // THEN
+        assertTrue(ngrokProcess2.isAttached());
+        assertTrue(ngrokProcess2.isRunning());
+        assertEquals(NgrokProcess.State.RUNNING, ngrokProcess2.getState());
+        assertEquals(ownerNgrokProcess.getApiUrl(), ngrokProcess2.getApiUrl());
+
+        // WHEN detaching
+        ngrokProcess2.stop();
+
+        // THEN the owner's process is left running
+        assertFalse(ngrokProcess2.isAttached());
+        assertFalse(ngrokProcess2.isRunning());
+        assertTrue(ownerNgrokProcess.isRunning());
+        assertTrue(ownerNgrokProcess.stop(Duration.ofSeconds(5)));
+        assertFalse(Files.exists(attachJavaNgrokConfig.getLockFilePath()));
+    }
+
+    @Test
+    public void testAttachTreatsInvalidLockFileAsStale(@TempDir final Path tempDir)
+        throws IOException {
+        // GIVEN
+        final HttpServer agent = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        agent.createContext("/api", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        agent.start();
+        final String webAddr = String.format("%s:%s", agent.getAddress().getHostString(),
+            agent.getAddress().getPort());
+        final JavaNgrokConfig attachJavaNgrokConfig = new JavaNgrokConfig.Builder()
+            .withNgrokPath(Files.createFile(tempDir.resolve("ngrok")))
+            .withConfigPath(Files.writeString(tempDir.resolve("ngrok.yml"),
+                String.format("version: \"2\"\nweb_addr: %s\n", webAddr)))
+            .withAttach()
+            .build();
+        Files.writeString(attachJavaNgrokConfig.getLockFilePath(),
+            String.format("pid=%s\napi_url=file:///not-ngrok\n", ProcessHandle.current().pid()));
+        ngrokProcess2 = new NgrokProcess(attachJavaNgrokConfig, ngrokInstaller);
+
+        try {
+            // WHEN
+            ngrokProcess2.start();
+
+            // THEN the process found by probing is attached to instead
+            assertTrue(ngrokProcess2.isAttached());
+            assertTrue(ngrokProcess2.isRunning());
+            assertEquals(String.format("http://%s", webAddr), ngrokProcess2.getApiUrl());
+        } finally {
+            agent.stop(0);
+        }
     }
 
     @Test
@@ -107,6 +288,8 @@ public class NgrokProcessTest extends NgrokTestCase {
         testRequiresEnvVar("NGROK_AUTHTOKEN");
 
         // GIVEN
+        final List<Integer> exitCodes = new CopyOnWriteArrayList<>();
+        ngrokProcess.addExitListener(exitCodes::add);
         ngrokProcess.start();
         assertTrue(ngrokProcess.isRunning());
         final ProcessHandle processHandle = ProcessHandle.allProcesses()
@@ -127,9 +310,10 @@ public class NgrokProcessTest extends NgrokTestCase {
         assertFalse(processHandle.isAlive());
         assertFalse(ngrokProcess.isRunning());
 
-        // THEN test we can successfully restart the process
+        // THEN test we can successfully restart the process, and exit listeners were notified of the exit once
         ngrokProcess.start();
         assertTrue(ngrokProcess.isRunning());
+        assertEquals(1, exitCodes.size());
     }
 
     @Test
@@ -204,6 +388,34 @@ public class NgrokProcessTest extends NgrokTestCase {
         assertEquals(5, ngrokProcess2.getLogs().size());
     }
 
+    @Test
+    public void testLogSpool(@TempDir final Path logSpoolPath)
+        throws InterruptedException, IOException {
+        testRequiresEnvVar("NGROK_AUTHTOKEN");
+
+        // GIVEN
+        final JavaNgrokConfig javaNgrokConfig2 = new JavaNgrokConfig.Builder(javaNgrokConfig)
+            .withLogSpoolPath(logSpoolPath)
+            .withMinLogLevel("ERROR")
+            .withMaxLogs(5)
+            .build();
+        ngrokProcess2 = new NgrokProcess(javaNgrokConfig2, ngrokInstaller);
+
+        // WHEN
+        ngrokProcess2.start();
+        Thread.sleep(1000);
+        final List<NgrokLog> spooledLogs = new ArrayList<>();
+        ngrokProcess2.getLogSpool().replay(spooledLogs::add);
+
+        // THEN
+        assertThat(spooledLogs.size(), greaterThan(ngrokProcess2.getLogs().size()));
+        assertTrue(spooledLogs.stream().anyMatch(ngrokLog -> ngrokLog.getMsg().contains("starting web service")));
+        final NgrokLogSpool logSpool = ngrokProcess2.getLogSpool();
+        ngrokProcess2.stop();
+        assertTrue(logSpool.isClosed());
+        new NgrokLogSpool(javaNgrokConfig2).close();
+    }
+
     @Test
     public void testNoMonitorThread()
         throws InterruptedException {
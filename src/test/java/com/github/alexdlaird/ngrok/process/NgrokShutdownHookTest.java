@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.process;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class NgrokShutdownHookTest {
+
+    @Test
+    public void testRegisterAndUnregister() {
+        // GIVEN
+        final NgrokShutdownHook ngrokShutdownHook = new NgrokShutdownHook();
+        final NgrokProcess ngrokProcess = mock(NgrokProcess.class);
+
+        // WHEN
+        ngrokShutdownHook.register(ngrokProcess);
+        ngrokShutdownHook.register(ngrokProcess);
+
+        // THEN
+        assertEquals(Set.of(ngrokProcess), ngrokShutdownHook.getNgrokProcesses());
+        ngrokShutdownHook.unregister(ngrokProcess);
+        assertTrue(ngrokShutdownHook.getNgrokProcesses().isEmpty());
+    }
+
+    @Test
+    public void testStopAllStopsRegisteredProcesses() {
+        // GIVEN
+        final NgrokShutdownHook ngrokShutdownHook = new NgrokShutdownHook();
+        final NgrokProcess ngrokProcess1 = mock(NgrokProcess.class);
+        final NgrokProcess ngrokProcess2 = mock(NgrokProcess.class);
+        final NgrokProcess ngrokProcess3 = mock(NgrokProcess.class);
+        ngrokShutdownHook.register(ngrokProcess1);
+        ngrokShutdownHook.register(ngrokProcess2);
+        ngrokShutdownHook.register(ngrokProcess3);
+        ngrokShutdownHook.unregister(ngrokProcess3);
+
+        // WHEN
+        ngrokShutdownHook.stopAll();
+
+        // THEN
+        verify(ngrokProcess1).stopOnShutdown();
+        verify(ngrokProcess2).stopOnShutdown();
+        verify(ngrokProcess3, never()).stopOnShutdown();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021-2026 Alex Laird
+ *
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.github.alexdlaird.ngrok.protocol;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProtocolTypeAdapterFactoryTest {
+
+    private static final String TUNNELS = "{\"endpoints\":[{\"id\":\"ep_1\",\"name\":\"my-tunnel\","
+        + "\"uri\":\"/api/tunnels/my-tunnel\",\"url\":\"https://my-tunnel.ngrok.app\",\"proto\":\"https\","
+        + "\"config\":{\"addr\":\"http://localhost:8080\",\"inspect\":true},\"upstream\":{\"url\":\"8080\"},"
+        + "\"pooling_enabled\":true,\"traffic_policy\":{\"on_http_request\":[]},\"bindings\":[\"public\"],"
+        + "\"metadata\":\"some-metadata\",\"metrics\":{\"conns\":{\"count\":3,\"gauge\":1,\"rate1\":0.5,"
+        + "\"p99\":1500000.0}},\"some_new_field\":{\"nested\":[1]}}],\"uri\":\"/api/tunnels\"}";
+
+    private static final String CAPTURED_REQUESTS = "{\"requests\":[{\"uri\":\"/api/requests/http/1\",\"id\":\"1\","
+        + "\"tunnel_name\":\"my-tunnel\",\"remote_addr\":\"127.0.0.1\",\"start\":\"2026-01-01T00:00:00Z\","
+        + "\"duration\":5,\"request\":{\"method\":\"GET\",\"proto\":\"HTTP/1.1\",\"headers\":{\"Accept\":[\"*/*\"]},"
+        + "\"uri\":\"/\",\"raw\":\"R0VU\"},\"response\":{\"status\":\"200 OK\",\"status_code\":200,"
+        + "\"proto\":\"HTTP/1.1\",\"headers\":{\"Content-Type\":[\"text/html\"]},\"raw\":\"SFRUUA==\"}}],"
+        + "\"uri\":\"/api/requests/http\"}";
+
+    private static final String AGENT_STATUS = "{\"status\":\"online\",\"agent_version\":\"3.20.0\","
+        + "\"session\":{\"legs\":[{\"region\":\"us\",\"latency\":\"12ms\"}]},\"uri\":\"/api/status\"}";
+
+    private final Gson reflectiveGson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .create();
+    private final Gson gson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapterFactory(new ProtocolTypeAdapterFactory())
+        .create();
+
+    @Test
+    public void testCreateTunnelSerializesAsReflectionDid() {
+        // GIVEN
+        final CreateTunnel createTunnel = new CreateTunnel.Builder(true)
+            .withName("my-tunnel")
+            .withProto(Proto.TLS)
+            .withAddr(443)
+            .withoutInspect()
+            .withBindTls(BindTls.BOTH)
+            .withOAuth(new TunnelOAuth.Builder()
+                .withProvider("google")
+                .withAllowEmails(List.of("one@email"))
+                .build())
+            .withCircuitBreaker(0.5f)
+            .withRequestHeader(new TunnelHeader.Builder().withAdd(List.of("req-addition")).build())
+            .withIpRestriction(new TunnelIPRestriction.Builder().withAllowCidrs(List.of("0.0.0.0/0")).build())
+            .withVerifyWebhook(new TunnelVerifyWebhook.Builder().withProvider("slack").withSecret("secret").build())
+            .withUserAgentFilter(new TunnelUserAgentFilter.Builder().withDeny(List.of("bot")).build())
+            .withPolicyInbound(new TunnelPolicy.Builder()
+                .withName("deny-all")
+                .withExpressions(List.of("true"))
+                .withActions(new TunnelPolicyActions.Builder().withType("deny").build())
+                .build())
+            .withTrafficPolicy(Map.of("on_http_request", List.of()))
+            .withAgentTlsTermination(new AgentTlsTermination.Builder().withServerCertificate("cert").build())
+            .build();
+
+        // WHEN
+        final String json = gson.toJson(createTunnel);
+
+        // THEN
+        assertEquals(reflectiveGson.toJson(createTunnel), json);
+        assertEquals(json, gson.toJson(gson.fromJson(json, CreateTunnel.class)));
+    }
+
+    @Test
+    public void testResponsesDeserializeAsReflectionDid() {
+        // WHEN
+        final Tunnels tunnels = gson.fromJson(TUNNELS, Tunnels.class);
+        final CapturedRequests capturedRequests = gson.fromJson(CAPTURED_REQUESTS, CapturedRequests.class);
+        final AgentStatus agentStatus = gson.fromJson(AGENT_STATUS, AgentStatus.class);
+
+        // THEN
+        final Tunnel tunnel = tunnels.getTunnels().get(0);
+        assertEquals("ep_1", tunnel.getId());
+        assertEquals("https://my-tunnel.ngrok.app", tunnel.getPublicUrl());
+        assertTrue(tunnel.getConfig().isInspect());
+        assertEquals(3, tunnel.getMetrics().get("conns").getCount());
+        assertEquals(1500000.0, tunnel.getMetrics().get("conns").getP99());
+        assertEquals(reflectiveGson.toJson(reflectiveGson.fromJson(TUNNELS, Tunnels.class)),
+            reflectiveGson.toJson(tunnels));
+        assertEquals(reflectiveGson.toJson(reflectiveGson.fromJson(CAPTURED_REQUESTS, CapturedRequests.class)),
+            gson.toJson(capturedRequests));
+        assertEquals(200, capturedRequests.getRequests().get(0).getResponse().getStatusCode());
+        assertEquals(reflectiveGson.toJson(reflectiveGson.fromJson(AGENT_STATUS, AgentStatus.class)),
+            gson.toJson(agentStatus));
+        assertEquals("us", agentStatus.getSession().getLegs().get(0).getRegion());
+    }
+
+    @Test
+    public void testEnums() {
+        // WHEN
+        final String json = gson.toJson(Region.US_CAL_1);
+
+        // THEN
+        assertEquals("\"us-cal-1\"", json);
+        assertEquals(Region.US_CAL_1, gson.fromJson(json, Region.class));
+        assertEquals(Region.US_CAL_1, gson.fromJson("\"us_cal_1\"", Region.class));
+        assertNull(gson.fromJson("\"not-a-region\"", Region.class));
+        assertEquals("\"both\"", gson.toJson(BindTls.BOTH));
+        assertEquals(Proto.TCP, gson.fromJson("\"tcp\"", Proto.class));
+    }
+
+    @Test
+    public void testMalformed() {
+        // WHEN
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson("\"not-an-object\"", Tunnels.class));
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson("{\"duration\":\"five\"}", CapturedRequest.class));
+    }
+}